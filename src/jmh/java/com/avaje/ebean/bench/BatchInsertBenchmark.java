@@ -0,0 +1,75 @@
+package com.avaje.ebean.bench;
+
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.EbeanServer;
+import com.avaje.ebean.Transaction;
+import com.avaje.ebean.config.BulkInsertMode;
+import com.avaje.tests.model.basic.EBasic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput through BatchControl in rows per millisecond.
+ * <p>
+ * Each invocation inserts {@link #ROWS} beans in a transaction that is rolled back so the
+ * table does not grow. A batch size of 1 is the non batched path for comparison.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BatchInsertBenchmark {
+
+  private static final int ROWS = 100;
+
+  @Param({"1", "20", "100"})
+  private int batchSize;
+
+  @Param({"NONE", "MULTI_ROW"})
+  private BulkInsertMode bulkInsert;
+
+  private EbeanServer server;
+
+  @Setup
+  public void setup() {
+    server = Ebean.getDefaultServer();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public void insert() {
+    Transaction transaction = server.beginTransaction();
+    try {
+      if (batchSize > 1) {
+        transaction.setBatchMode(true);
+        transaction.setBatchSize(batchSize);
+        transaction.setBulkInsert(bulkInsert);
+      }
+      for (int i = 0; i < ROWS; i++) {
+        EBasic bean = new EBasic();
+        bean.setName("batch-" + i);
+        bean.setStatus(EBasic.Status.NEW);
+        server.save(bean);
+      }
+      transaction.flushBatch();
+    } finally {
+      // rollback such that the table does not grow
+      transaction.end();
+    }
+  }
+}
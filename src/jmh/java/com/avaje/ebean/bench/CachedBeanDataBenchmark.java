@@ -0,0 +1,124 @@
+package com.avaje.ebean.bench;
+
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.bean.EntityBean;
+import com.avaje.ebeaninternal.api.SpiEbeanServer;
+import com.avaje.ebeaninternal.server.cache.CachedBeanData;
+import com.avaje.ebeaninternal.server.cache.CachedBeanDataFromBean;
+import com.avaje.ebeaninternal.server.deploy.BeanDescriptor;
+import com.avaje.tests.model.basic.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.sql.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean cache data held by property position versus held as a map keyed by property name.
+ * <p>
+ * Run with <code>-prof gc</code> to compare the heap per cached bean. The gc.alloc.rate.norm
+ * of the create benchmarks is the bytes allocated per cache entry. The serialise benchmarks
+ * include the serialised size as the length of the returned byte[].
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CachedBeanDataBenchmark {
+
+  private BeanDescriptor<Customer> desc;
+
+  private EntityBean customer;
+
+  private Map<String, Object> mapData;
+
+  private byte[] positionalBytes;
+
+  private byte[] mapBytes;
+
+  @Setup
+  public void setup() throws IOException {
+
+    SpiEbeanServer server = (SpiEbeanServer) Ebean.getDefaultServer();
+    desc = server.getBeanDescriptor(Customer.class);
+
+    Customer bean = new Customer();
+    bean.setId(42);
+    bean.setName("Rob Bygrave");
+    bean.setSmallnote("Some small note about the customer");
+    bean.setStatus(Customer.Status.ACTIVE);
+    bean.setAnniversary(new Date(System.currentTimeMillis()));
+    bean.setVersion(3L);
+    customer = (EntityBean) bean;
+    customer._ebean_getIntercept().setLoaded();
+    // read only such that the bean itself is used as the sharable bean (no copy)
+    customer._ebean_getIntercept().setReadOnly(true);
+
+    CachedBeanData positional = CachedBeanDataFromBean.extract(desc, customer);
+    mapData = new LinkedHashMap<>(positional.getData());
+
+    positionalBytes = serialise(positional);
+    mapBytes = serialise(new CachedBeanData(null, null, mapData, positional.getVersion()));
+  }
+
+  @Benchmark
+  public CachedBeanData create_positional() {
+    return CachedBeanDataFromBean.extract(desc, customer);
+  }
+
+  @Benchmark
+  public CachedBeanData create_map() {
+    return new CachedBeanData(null, null, new LinkedHashMap<>(mapData), 3);
+  }
+
+  @Benchmark
+  public byte[] serialise_positional() throws IOException {
+    return serialise(CachedBeanDataFromBean.extract(desc, customer));
+  }
+
+  @Benchmark
+  public byte[] serialise_map() throws IOException {
+    return serialise(new CachedBeanData(null, null, mapData, 3));
+  }
+
+  @Benchmark
+  public Object deserialise_positional() throws IOException, ClassNotFoundException {
+    return deserialise(positionalBytes);
+  }
+
+  @Benchmark
+  public Object deserialise_map() throws IOException, ClassNotFoundException {
+    return deserialise(mapBytes);
+  }
+
+  private static byte[] serialise(CachedBeanData data) throws IOException {
+    ByteArrayOutputStream os = new ByteArrayOutputStream(256);
+    ObjectOutputStream oos = new ObjectOutputStream(os);
+    oos.writeObject(data);
+    oos.close();
+    return os.toByteArray();
+  }
+
+  private static Object deserialise(byte[] bytes) throws IOException, ClassNotFoundException {
+    ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes));
+    return ois.readObject();
+  }
+}
@@ -0,0 +1,70 @@
+package com.avaje.ebean.bench;
+
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.EbeanServer;
+import com.avaje.ebean.Query;
+import com.avaje.ebeaninternal.server.core.DefaultServer;
+import com.avaje.ebeaninternal.server.grammer.EqlParser;
+import com.avaje.ebeaninternal.server.querydefn.DefaultOrmQuery;
+import com.avaje.tests.model.basic.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating a query from EQL - parsing each time versus using the cached parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EqlParseBenchmark {
+
+  private static final String EQL = "select (name, status) fetch billingAddress (city) where name istartsWith 'Rob' and status = 'NEW' order by name limit 100";
+
+  private static final String EQL_NAMED = "where name istartsWith :name and status = :status order by name limit 100";
+
+  private DefaultServer server;
+
+  @Setup
+  public void setup() {
+    EbeanServer defaultServer = Ebean.getDefaultServer();
+    server = (DefaultServer) defaultServer;
+  }
+
+  @Benchmark
+  public Query<Customer> parse() {
+    DefaultOrmQuery<Customer> query = server.createQuery(Customer.class);
+    EqlParser.parse(EQL, query);
+    return query;
+  }
+
+  @Benchmark
+  public Query<Customer> cached() {
+    return server.createQuery(Customer.class, EQL);
+  }
+
+  @Benchmark
+  public Query<Customer> parse_namedParams() {
+    DefaultOrmQuery<Customer> query = server.createQuery(Customer.class);
+    EqlParser.parse(EQL_NAMED, query);
+    return query.setParameter("name", "Rob").setParameter("status", Customer.Status.NEW);
+  }
+
+  @Benchmark
+  public Query<Customer> cached_namedParams() {
+    return server.createQuery(Customer.class, EQL_NAMED)
+      .setParameter("name", "Rob").setParameter("status", Customer.Status.NEW);
+  }
+}
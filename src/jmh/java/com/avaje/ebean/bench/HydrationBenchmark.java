@@ -0,0 +1,88 @@
+package com.avaje.ebean.bench;
+
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.EbeanServer;
+import com.avaje.ebean.Transaction;
+import com.avaje.tests.model.basic.EBasic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading rows into beans (SqlTreeNodeBean.load) for a query returning many rows from H2.
+ * <p>
+ * The L2 cache is not used so each invocation executes the query and builds the beans
+ * in a new persistence context.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HydrationBenchmark {
+
+  private static final String PREFIX = "hydrate-";
+
+  @Param({"10", "500"})
+  private int rows;
+
+  private EbeanServer server;
+
+  @Setup
+  public void setup() {
+    server = Ebean.getDefaultServer();
+    int existing = server.find(EBasic.class).where().startsWith("name", PREFIX).findCount();
+    if (existing < 500) {
+      Transaction transaction = server.beginTransaction();
+      try {
+        transaction.setBatchMode(true);
+        transaction.setBatchSize(100);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = existing; i < 500; i++) {
+          EBasic bean = new EBasic();
+          bean.setName(PREFIX + i);
+          bean.setDescription("description of bean " + i);
+          bean.setStatus(EBasic.Status.ACTIVE);
+          bean.setSomeDate(now);
+          server.save(bean);
+        }
+        transaction.commit();
+      } finally {
+        transaction.end();
+      }
+    }
+  }
+
+  @Benchmark
+  public List<EBasic> findList() {
+    return server.find(EBasic.class)
+      .setUseCache(false)
+      .where().startsWith("name", PREFIX)
+      .setMaxRows(rows)
+      .findList();
+  }
+
+  @Benchmark
+  public List<EBasic> findList_partial() {
+    return server.find(EBasic.class)
+      .setUseCache(false)
+      .select("name, status")
+      .where().startsWith("name", PREFIX)
+      .setMaxRows(rows)
+      .findList();
+  }
+}
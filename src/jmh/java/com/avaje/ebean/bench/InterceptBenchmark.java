@@ -0,0 +1,87 @@
+package com.avaje.ebean.bench;
+
+import com.avaje.ebean.ValuePair;
+import com.avaje.ebean.bean.EntityBean;
+import com.avaje.ebean.bean.EntityBeanIntercept;
+import com.avaje.tests.model.basic.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EntityBeanIntercept dirty tracking - setters on a loaded bean and the dirty checks used
+ * when the bean is saved (update plan hash, dirty values for the change log).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InterceptBenchmark {
+
+  private Customer customer;
+
+  private EntityBeanIntercept intercept;
+
+  private int counter;
+
+  @Setup
+  public void setup() {
+    customer = new Customer();
+    customer.setId(42);
+    customer.setName("Rob");
+    customer.setSmallnote("note");
+    customer.setStatus(Customer.Status.ACTIVE);
+    customer.setAnniversary(new Date(System.currentTimeMillis()));
+    intercept = ((EntityBean) customer)._ebean_getIntercept();
+    intercept.setLoaded();
+  }
+
+  private void modify() {
+    intercept.setLoaded();
+    counter++;
+    customer.setName((counter & 1) == 0 ? "Rob" : "Jim");
+    customer.setStatus((counter & 1) == 0 ? Customer.Status.ACTIVE : Customer.Status.INACTIVE);
+  }
+
+  @Benchmark
+  public boolean setter_isDirty() {
+    modify();
+    return intercept.isDirty();
+  }
+
+  @Benchmark
+  public int setter_dirtyPropertyHash() {
+    modify();
+    return intercept.getDirtyPropertyHash();
+  }
+
+  @Benchmark
+  public boolean[] setter_dirtyProperties() {
+    modify();
+    return intercept.getDirtyProperties();
+  }
+
+  @Benchmark
+  public Map<String, ValuePair> setter_dirtyValues() {
+    modify();
+    return intercept.getDirtyValues();
+  }
+
+  @Benchmark
+  public String getter_loaded() {
+    return customer.getName();
+  }
+}
@@ -0,0 +1,73 @@
+package com.avaje.ebean.bench;
+
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.text.json.JsonContext;
+import com.avaje.tests.model.basic.Address;
+import com.avaje.tests.model.basic.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON round trip of a bean with an embedded associated bean (WriteJson and ReadJson).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JsonBenchmark {
+
+  private JsonContext json;
+
+  private Customer customer;
+
+  private String customerJson;
+
+  @Setup
+  public void setup() {
+
+    json = Ebean.getDefaultServer().json();
+
+    Address address = new Address();
+    address.setId((short) 7);
+    address.setLine1("12 Queen St");
+    address.setCity("Auckland");
+
+    customer = new Customer();
+    customer.setId(42);
+    customer.setName("Rob");
+    customer.setSmallnote("note");
+    customer.setStatus(Customer.Status.ACTIVE);
+    customer.setAnniversary(new Date(System.currentTimeMillis()));
+    customer.setBillingAddress(address);
+
+    customerJson = json.toJson(customer);
+  }
+
+  @Benchmark
+  public String toJson() {
+    return json.toJson(customer);
+  }
+
+  @Benchmark
+  public Customer toBean() {
+    return json.toBean(Customer.class, customerJson);
+  }
+
+  @Benchmark
+  public Customer roundTrip() {
+    return json.toBean(Customer.class, json.toJson(customer));
+  }
+}
@@ -0,0 +1,72 @@
+package com.avaje.ebean.bench;
+
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.Query;
+import com.avaje.ebeaninternal.api.CQueryPlanKey;
+import com.avaje.ebeaninternal.api.SpiQuery;
+import com.avaje.ebeaninternal.server.core.OrmQueryRequest;
+import com.avaje.ebeaninternal.server.core.OrmQueryRequestTestHelper;
+import com.avaje.tests.model.basic.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query plan key computation (DefaultOrmQuery.prepare) and the hashCode/equals used to
+ * look up the query plan cache for a query with joins, predicates and an order by.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class QueryPlanKeyBenchmark {
+
+  private SpiQuery<Customer> query;
+
+  private OrmQueryRequest<Customer> request;
+
+  private CQueryPlanKey otherKey;
+
+  @Setup
+  public void setup() {
+    query = (SpiQuery<Customer>) createQuery("Rob");
+    request = OrmQueryRequestTestHelper.queryRequest(query);
+
+    SpiQuery<Customer> other = (SpiQuery<Customer>) createQuery("Jim");
+    otherKey = OrmQueryRequestTestHelper.queryRequest(other).getQueryPlanKey();
+  }
+
+  private static Query<Customer> createQuery(String name) {
+    return Ebean.find(Customer.class)
+      .select("name, status")
+      .fetch("billingAddress", "line1, city")
+      .where()
+      .startsWith("name", name)
+      .in("status", Customer.Status.NEW, Customer.Status.ACTIVE)
+      .gt("id", 0)
+      .orderBy("name desc, id")
+      .setMaxRows(100);
+  }
+
+  @Benchmark
+  public CQueryPlanKey prepare() {
+    return query.prepare(request);
+  }
+
+  @Benchmark
+  public boolean prepare_lookup() {
+    CQueryPlanKey key = query.prepare(request);
+    return key.hashCode() == otherKey.hashCode() && key.equals(otherKey);
+  }
+}
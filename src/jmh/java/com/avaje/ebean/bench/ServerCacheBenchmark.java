@@ -0,0 +1,82 @@
+package com.avaje.ebean.bench;
+
+import com.avaje.ebean.cache.ServerCache;
+import com.avaje.ebean.cache.ServerCacheOptions;
+import com.avaje.ebeaninternal.server.cache.DefaultServerCache;
+import com.avaje.ebeaninternal.server.cache.TinyLfuServerCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * L2 cache get and put under contention with 6 reading threads and 2 writing threads
+ * sharing the one cache.
+ * <p>
+ * Keys are drawn from a range twice the max size of the cache so that the puts trigger
+ * eviction (trimming for the default cache, admission for the TinyLFU cache).
+ * </p>
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ServerCacheBenchmark {
+
+  private static final int MAX_SIZE = 10000;
+
+  @Param({"default", "tinylfu"})
+  private String cacheType;
+
+  private ServerCache cache;
+
+  @Setup
+  public void setup() {
+    ServerCacheOptions options = new ServerCacheOptions();
+    options.setMaxSize(MAX_SIZE);
+    options.setMaxIdleSecs(600);
+    options.setTrimFrequency(1);
+
+    if ("tinylfu".equals(cacheType)) {
+      cache = new TinyLfuServerCache("bench", options);
+    } else {
+      cache = new DefaultServerCache("bench", options);
+    }
+    for (int i = 0; i < MAX_SIZE; i++) {
+      cache.put(i, "value-" + i);
+    }
+  }
+
+  private static int key() {
+    return ThreadLocalRandom.current().nextInt(MAX_SIZE * 2);
+  }
+
+  @Benchmark
+  @Group("readWrite")
+  @GroupThreads(6)
+  public Object get() {
+    return cache.get(key());
+  }
+
+  @Benchmark
+  @Group("readWrite")
+  @GroupThreads(2)
+  public Object put() {
+    int key = key();
+    return cache.put(key, "value-" + key);
+  }
+}
@@ -0,0 +1,63 @@
+package com.avaje.ebean;
+
+import java.util.List;
+
+/**
+ * Query returning plain DTO beans rather than entity beans.
+ * <p>
+ * The selected properties are read directly into the DTO beans via a constructor (matched by
+ * position when the DTO has a constructor with the same number of parameters as selected
+ * properties) or otherwise via setter methods (matched by property name).
+ * </p>
+ * <p>
+ * DTO beans are not enhanced and are not put into a persistence context so there is no dirty
+ * checking, lazy loading or L2 caching. This makes them cheaper to build than entity beans and
+ * a good fit for read only use like building a JSON response.
+ * </p>
+ * <pre>{@code
+ *
+ *   public class CustomerDto {
+ *     private Integer id;
+ *     private String name;
+ *     // getters and setters
+ *     ...
+ *   }
+ *
+ *   List<CustomerDto> customers =
+ *     Ebean.find(Customer.class)
+ *       .select("id, name")
+ *       .where().ilike("name", "rob%")
+ *       .asDto(CustomerDto.class)
+ *       .findList();
+ *
+ * }</pre>
+ *
+ * @param <T> the type of DTO bean returned
+ * @see Query#asDto(Class)
+ * @see SqlQuery#findDto(Class)
+ */
+public interface DtoQuery<T> {
+
+  /**
+   * Execute the query returning a list of DTO beans.
+   */
+  List<T> findList();
+
+  /**
+   * Execute the query processing the DTO beans one at a time.
+   */
+  void findEach(QueryEachConsumer<T> consumer);
+
+  /**
+   * Execute the query processing the DTO beans one at a time with the ability to stop
+   * processing by returning false.
+   */
+  void findEachWhile(QueryEachWhileConsumer<T> consumer);
+
+  /**
+   * Execute the query returning a single DTO bean or null.
+   *
+   * @throws javax.persistence.NonUniqueResultException if more than one row is found
+   */
+  T findUnique();
+}
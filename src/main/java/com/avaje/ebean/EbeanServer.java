@@ -15,6 +15,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Provides the API for fetching and saving beans to a particular DataSource.
@@ -773,6 +774,17 @@ public interface EbeanServer {
    */
   <T> QueryIterator<T> findIterate(Query<T> query, Transaction transaction);
 
+  /**
+   * Execute the query returning a Stream of the beans.
+   * <p>
+   * The beans are read from the underlying resultSet as the stream is consumed. The stream
+   * should be closed (typically via try with resources) to close the underlying resources.
+   * </p>
+   *
+   * @see Query#findStream()
+   */
+  <T> Stream<T> findStream(Query<T> query, Transaction transaction);
+
   /**
    * Execute the query visiting the each bean one at a time.
    * <p>
@@ -951,6 +963,17 @@ public interface EbeanServer {
    */
   <T> PagedList<T> findPagedList(Query<T> query, Transaction transaction);
 
+  /**
+   * Return a page of results using keyset (seek) pagination.
+   *
+   * @param query       the query to execute, with maxRows set as the page size
+   * @param cursor      the cursor from the prior page or null for the first page
+   * @param transaction the transaction to use (can be null)
+   * @return The page of results with the cursor to the next page
+   * @see Query#findKeysetPagedList(String)
+   */
+  <T> KeysetPagedList<T> findKeysetPagedList(Query<T> query, @Nullable String cursor, Transaction transaction);
+
   /**
    * Execute the query returning a set of entity beans.
    * <p>
@@ -1110,6 +1133,16 @@ public interface EbeanServer {
    */
   void findEachWhile(SqlQuery query, QueryEachWhileConsumer<SqlRow> consumer, Transaction transaction);
 
+  /**
+   * Execute the SqlQuery returning a Stream of the rows.
+   * <p>
+   * The stream should be closed (typically via try with resources) to close the underlying resources.
+   * </p>
+   *
+   * @see SqlQuery#findStream()
+   */
+  Stream<SqlRow> findStream(SqlQuery query, Transaction transaction);
+
   /**
    * Execute the sql query returning a single MapBean or null.
    * <p>
@@ -231,6 +231,13 @@ public interface ExpressionList<T> {
    */
   <A> List<A> findSingleAttributeList();
 
+  /**
+   * Convert the query to a DTO query reading the selected properties into plain DTO beans.
+   *
+   * @see Query#asDto(Class)
+   */
+  <D> DtoQuery<D> asDto(Class<D> dtoType);
+
   /**
    * Execute the query returning a single bean or null (if no matching
    * bean is found).
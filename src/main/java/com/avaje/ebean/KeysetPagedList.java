@@ -0,0 +1,56 @@
+package com.avaje.ebean;
+
+import java.util.List;
+
+/**
+ * A page of results using keyset (seek) pagination.
+ * <p>
+ * Rather than using an offset (that requires the database to read and discard all the rows
+ * of the prior pages) the next page is fetched using a predicate on the order by properties
+ * of the last row of the page. This means the cost of fetching a page does not depend on how
+ * deep the page is.
+ * </p>
+ * <p>
+ * The cursor returned by {@link #getNextCursor()} is an opaque string that is passed to
+ * {@link Query#findKeysetPagedList(String)} to fetch the next page.
+ * </p>
+ *
+ * <pre>{@code
+ *
+ *   KeysetPagedList<Order> page = ebeanServer.find(Order.class)
+ *       .where().eq("status", Order.Status.NEW)
+ *       .order().desc("orderDate")
+ *       .setMaxRows(50)
+ *       .findKeysetPagedList(cursor);
+ *
+ *   List<Order> orders = page.getList();
+ *
+ *   // null when this is the last page
+ *   String nextCursor = page.getNextCursor();
+ *
+ * }</pre>
+ *
+ * @param <T> the entity bean type
+ */
+public interface KeysetPagedList<T> {
+
+  /**
+   * Return the beans for this page.
+   */
+  List<T> getList();
+
+  /**
+   * Return the page size (maxRows) used.
+   */
+  int getPageSize();
+
+  /**
+   * Return true if there is a next page.
+   */
+  boolean hasNext();
+
+  /**
+   * Return the cursor used to fetch the next page or null if this is the last page.
+   */
+  String getNextCursor();
+}
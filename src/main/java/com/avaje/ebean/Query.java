@@ -7,6 +7,7 @@ import java.sql.Timestamp;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Object relational query for finding a List, Set, Map or single entity bean.
@@ -584,6 +585,37 @@ public interface Query<T> {
    */
   QueryIterator<T> findIterate();
 
+  /**
+   * Execute the query returning a Stream of the beans.
+   * <p>
+   * Like findIterate() and findEach() the beans are read from the underlying resultSet as
+   * the stream is consumed, with a "per graph" persistence context scope and the persistence
+   * context cleared for each batch of beans (that secondary queries are executed for). This
+   * is suitable for processing very large query results with constant memory.
+   * </p>
+   * <p>
+   * The stream holds the jdbc statement, resultSet and transaction (if one was created for the
+   * query). These are closed when the stream has been consumed fully but as the stream may
+   * not be fully consumed (limit(), findFirst() etc) the stream should be closed typically via
+   * try with resources.
+   * </p>
+   * <pre>{@code
+   *
+   *  try (Stream<Customer> stream =
+   *    ebeanServer.find(Customer.class)
+   *     .where().eq("status", Status.NEW)
+   *     .order().asc("id")
+   *     .findStream()) {
+   *
+   *    stream
+   *      .map(Customer::getName)
+   *      .forEach(name -> ...);
+   *  }
+   *
+   * }</pre>
+   */
+  Stream<T> findStream();
+
   /**
    * Execute the query processing the beans one at a time.
    * <p>
@@ -754,6 +786,30 @@ public interface Query<T> {
    */
   <A> List<A> findSingleAttributeList();
 
+  /**
+   * Convert the query to a DTO query reading the selected properties into plain DTO beans.
+   * <p>
+   * The DTO beans are built directly from the resultSet without creating entity beans so there
+   * is no persistence context, no dirty checking and no lazy loading. Only the properties of
+   * the root type can be selected (no fetch joins). When there is no select clause the
+   * properties the DTO has setter methods for are selected.
+   * </p>
+   * <pre>{@code
+   *
+   *  List<CustomerDto> customers =
+   *    Ebean.find(Customer.class)
+   *      .select("id, name")
+   *      .where().eq("status", Customer.Status.NEW)
+   *      .asDto(CustomerDto.class)
+   *      .findList();
+   *
+   * }</pre>
+   *
+   * @param dtoType the type of DTO bean the rows are read into
+   * @see DtoQuery
+   */
+  <D> DtoQuery<D> asDto(Class<D> dtoType);
+
   /**
    * Execute the query returning either a single bean or null (if no matching
    * bean is found).
@@ -909,6 +965,35 @@ public interface Query<T> {
    */
   PagedList<T> findPagedList();
 
+  /**
+   * Return a page of results using keyset (seek) pagination.
+   * <p>
+   * The page size is set by maxRows and firstRow must not be set. The order by properties must
+   * not contain null values and the id property is added to the order by (if not already
+   * included) such that the ordering is unique. The next page is then fetched using a predicate
+   * on the order by values of the last bean of the prior page rather than an offset such
+   * that fetching late pages is as fast as fetching the first page.
+   * </p>
+   * <pre>{@code
+   *
+   *  KeysetPagedList<Order> page = Ebean.find(Order.class)
+   *       .order().desc("orderDate")
+   *       .setMaxRows(20)
+   *       .findKeysetPagedList(null);
+   *
+   *  // ... and for the following page
+   *  KeysetPagedList<Order> nextPage = Ebean.find(Order.class)
+   *       .order().desc("orderDate")
+   *       .setMaxRows(20)
+   *       .findKeysetPagedList(page.getNextCursor());
+   *
+   * }</pre>
+   *
+   * @param cursor the cursor from the prior page or null for the first page
+   * @return The page of results with the cursor to the next page
+   */
+  KeysetPagedList<T> findKeysetPagedList(@Nullable String cursor);
+
   /**
    * Set a named bind parameter. Named parameters have a colon to prefix the name.
    * <pre>{@code
@@ -1339,6 +1424,32 @@ public interface Query<T> {
    */
   Query<T> setDisableLazyLoading(boolean disableLazyLoading);
 
+  /**
+   * Set true to execute the independent secondary queries ('query joins') of this query concurrently.
+   * <p>
+   * Each secondary query executes using its own connection via the BackgroundExecutor such that
+   * the total latency approaches that of the slowest secondary query rather than the sum of them.
+   * This is only used when the query runs in its own implicit transaction (not an explicit
+   * transaction as secondary queries on other connections would not see uncommitted changes)
+   * and when the secondary queries load different bean types. Otherwise they execute sequentially.
+   * </p>
+   * <p>
+   * When not set this defaults to {@link com.avaje.ebean.config.ServerConfig#isParallelSecondaryQueries()}.
+   * </p>
+   *
+   * <pre>{@code
+   *
+   *  List<Order> orders =
+   *    ebeanServer.find(Order.class)
+   *      .fetch("customer", new FetchConfig().query())
+   *      .fetch("details", new FetchConfig().query())
+   *      .setParallelSecondaryQueries(true)
+   *      .findList();
+   *
+   * }</pre>
+   */
+  Query<T> setParallelSecondaryQueries(boolean parallelSecondaryQueries);
+
   /**
    * Returns the set of properties or paths that are unknown (do not map to known properties or paths).
    * <p>
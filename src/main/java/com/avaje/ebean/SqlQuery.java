@@ -2,6 +2,7 @@ package com.avaje.ebean;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Query object for performing native SQL queries that return SqlRow's.
@@ -62,6 +63,38 @@ public interface SqlQuery extends Serializable {
    */
   void findEachWhile(QueryEachWhileConsumer<SqlRow> consumer);
 
+  /**
+   * Execute the query reading each row into a plain DTO bean.
+   * <p>
+   * Columns are matched to the DTO by column label either via a constructor with the same
+   * number of parameters as columns or otherwise via setter methods. Underscores and case are
+   * ignored when matching so a column labelled <code>first_name</code> maps to
+   * <code>setFirstName()</code>.
+   * </p>
+   * <pre>{@code
+   *
+   *   List<CustomerDto> customers =
+   *     Ebean.createSqlQuery("select id, name from o_customer where name like ?")
+   *       .setParameter(1, "Rob%")
+   *       .findDto(CustomerDto.class);
+   *
+   * }</pre>
+   *
+   * @param dtoType the type of DTO bean the rows are read into
+   */
+  <D> List<D> findDto(Class<D> dtoType);
+
+  /**
+   * Execute the SqlQuery returning a Stream of the rows.
+   * <p>
+   * The rows are read from the underlying resultSet as the stream is consumed. The stream
+   * holds the jdbc statement, resultSet and transaction (if one was created for the query)
+   * and these are closed when the stream is fully consumed or closed. The stream should be
+   * closed typically via try with resources.
+   * </p>
+   */
+  Stream<SqlRow> findStream();
+
   /**
    * Execute the query returning a single row or null.
    * <p>
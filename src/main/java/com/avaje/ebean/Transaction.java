@@ -1,6 +1,7 @@
 package com.avaje.ebean;
 
 import com.avaje.ebean.annotation.DocStoreMode;
+import com.avaje.ebean.config.BulkInsertMode;
 import com.avaje.ebean.config.DocStoreConfig;
 import com.avaje.ebean.config.PersistBatch;
 import com.avaje.ebean.config.ServerConfig;
@@ -51,6 +52,10 @@ public interface Transaction extends Closeable {
 
   /**
    * Set whether this transaction should be readOnly.
+   * <p>
+   * Note that this does not change the DataSource the connection was obtained from. To use the
+   * read only DataSource begin the transaction with a TxScope that is read only.
+   * </p>
    */
   void setReadOnly(boolean readOnly);
 
@@ -397,6 +402,59 @@ public interface Transaction extends Closeable {
    */
   void setBatchFlushOnMixed(boolean batchFlushOnMixed);
 
+  /**
+   * By default the batch is automatically flushed when the type of the top level
+   * bean being persisted changes (for example saving a Customer after saving an Order).
+   * <p>
+   * Set this to false to keep batching across interleaved bean types. The batched
+   * statements are then executed in foreign key dependency order (rather than the order
+   * the beans were saved) and the batch only flushes when the batch size is reached or
+   * when the statement order requires it (deletes or bean types with cyclic foreign keys).
+   * </p>
+   * <pre>{@code
+   *
+   *   try (Transaction transaction = ebeanServer.beginTransaction()) {
+   *     transaction.setBatchMode(true);
+   *     transaction.setBatchFlushOnTypeChange(false);
+   *
+   *     for (Order order : orders) {
+   *       ebeanServer.save(order.getCustomer());
+   *       ebeanServer.save(order);
+   *     }
+   *     transaction.commit();
+   *   }
+   *
+   * }</pre>
+   *
+   * @see com.avaje.ebean.meta.MetaInfoManager#collectBatchFlushStatistic(boolean)
+   */
+  void setBatchFlushOnTypeChange(boolean batchFlushOnTypeChange);
+
+  /**
+   * Set the bulk insert mode used for batched inserts.
+   * <p>
+   * Use this when inserting a large number of beans to use multi-row insert statements
+   * or Postgres COPY rather than JDBC batch with one row per batch entry.
+   * </p>
+   * <pre>{@code
+   *
+   *   try (Transaction transaction = ebeanServer.beginTransaction()) {
+   *     transaction.setBulkInsert(BulkInsertMode.MULTI_ROW);
+   *     transaction.setBatchSize(1000);
+   *
+   *     ebeanServer.saveAll(customers);
+   *     transaction.commit();
+   *   }
+   *
+   * }</pre>
+   */
+  void setBulkInsert(BulkInsertMode bulkInsert);
+
+  /**
+   * Return the bulk insert mode used for batched inserts.
+   */
+  BulkInsertMode getBulkInsert();
+
   /**
    * By default executing a query will automatically flush any batched
    * statements (persisted beans, executed UpdateSql etc).
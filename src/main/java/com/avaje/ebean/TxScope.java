@@ -231,6 +231,11 @@ public final class TxScope {
 
   /**
    * Set if the transaction should be treated as read only.
+   * <p>
+   * A new read only transaction obtains its connection from the read only DataSource
+   * (see {@link com.avaje.ebean.config.ServerConfig#setReadOnlyDataSource(javax.sql.DataSource)})
+   * when one is configured.
+   * </p>
    */
   public TxScope setReadOnly(boolean readOnly) {
     this.readOnly = readOnly;
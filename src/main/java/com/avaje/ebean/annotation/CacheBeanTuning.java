@@ -53,4 +53,19 @@ public @interface CacheBeanTuning {
    * </p>
    */
   int trimFrequency() default 0;
+
+  /**
+   * The time (in seconds) before maxSecsToLive that a read of an entry triggers a
+   * background reload of the entry.
+   * <p>
+   * This defaults to 0 which means no refresh ahead.
+   * </p>
+   */
+  int refreshAheadSecs() default 0;
+
+  /**
+   * Set to true to serve an entry that has passed maxSecsToLive while it is reloaded
+   * in the background.
+   */
+  boolean staleWhileRevalidate() default false;
 }
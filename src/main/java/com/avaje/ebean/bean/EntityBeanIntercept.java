@@ -11,6 +11,7 @@ import java.beans.PropertyChangeSupport;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -22,10 +23,18 @@ import java.util.Set;
  * This provides the mechanisms to support deferred fetching of reference beans
  * and oldValues generation for concurrency checking.
  * </p>
+ * <p>
+ * This is not thread safe. The loaded, changed and embedded dirty states of many properties
+ * share a single long such that setting the state of a property is a read-modify-write of
+ * that long. Two threads setting the state of different properties of the same bean can
+ * lose an update, so lazy loading different properties of the same bean concurrently is
+ * not safe. Parallel secondary queries are fine as they only run when each bean is
+ * populated by a single query.
+ * </p>
  */
 public final class EntityBeanIntercept implements Serializable {
 
-  private static final long serialVersionUID = -3664031775464862649L;
+  private static final long serialVersionUID = -3664031775464862650L;
 
   private static final int STATE_NEW = 0;
   private static final int STATE_REFERENCE = 1;
@@ -71,23 +80,34 @@ public final class EntityBeanIntercept implements Serializable {
   private boolean lazyLoadFailure;
 
   /**
-   * Used when a bean is partially filled.
+   * Bits of the loaded properties (used when a bean is partially filled).
+   * <p>
+   * The loaded, changed and embeddedDirty states each hold the bits of the first 64
+   * properties inline with the bits of any further properties in an additional array
+   * (only used by beans with more than 64 properties).
+   * </p>
    */
-  private final boolean[] loadedProps;
+  private long loaded;
+
+  private final long[] loadedMore;
 
   private boolean fullyLoadedBean;
 
   /**
-   * Set of changed properties.
+   * Bits of the changed properties.
    */
-  private boolean[] changedProps;
+  private long changed;
+
+  private long[] changedMore;
 
   /**
-   * Flags indicating if a property is a dirty embedded bean. Used to distingush
+   * Bits indicating if a property is a dirty embedded bean. Used to distingush
    * between an embedded bean being completely overwritten and one of its
    * embedded properties being made dirty.
    */
-  private boolean[] embeddedDirty;
+  private long embeddedDirty;
+
+  private long[] embeddedDirtyMore;
 
   private Object[] origValues;
 
@@ -103,7 +123,54 @@ public final class EntityBeanIntercept implements Serializable {
    */
   public EntityBeanIntercept(Object ownerBean) {
     this.owner = (EntityBean) ownerBean;
-    this.loadedProps = new boolean[owner._ebean_getPropertyNames().length];
+    this.loadedMore = newMoreWords(owner._ebean_getPropertyNames().length);
+  }
+
+  /**
+   * Return the additional words for the bits of properties beyond the first 64 (or null).
+   */
+  private static long[] newMoreWords(int propertyLength) {
+    return propertyLength > 64 ? new long[(propertyLength - 1) >> 6] : null;
+  }
+
+  /**
+   * Return the word holding the given bits where word 0 is the inline word.
+   */
+  private static long word(long inline, long[] more, int wordIndex) {
+    if (wordIndex == 0) {
+      return inline;
+    }
+    return more == null ? 0L : more[wordIndex - 1];
+  }
+
+  /**
+   * Return true if the bit for the property is set.
+   */
+  private static boolean isSet(long inline, long[] more, int propertyIndex) {
+    long bits = (propertyIndex < 64) ? inline : (more == null ? 0L : more[(propertyIndex >> 6) - 1]);
+    return (bits & (1L << propertyIndex)) != 0;
+  }
+
+  private long loadedWord(int wordIndex) {
+    return word(loaded, loadedMore, wordIndex);
+  }
+
+  private long dirtyWord(int wordIndex) {
+    return word(changed, changedMore, wordIndex) | word(embeddedDirty, embeddedDirtyMore, wordIndex);
+  }
+
+  private int wordCount() {
+    return (getPropertyLength() + 63) >> 6;
+  }
+
+  private void setLoadedBit(int propertyIndex, boolean value) {
+    long mask = 1L << propertyIndex;
+    if (propertyIndex < 64) {
+      loaded = value ? (loaded | mask) : (loaded & ~mask);
+    } else {
+      int pos = (propertyIndex >> 6) - 1;
+      loadedMore[pos] = value ? (loadedMore[pos] | mask) : (loadedMore[pos] & ~mask);
+    }
   }
 
   /**
@@ -240,8 +307,12 @@ public final class EntityBeanIntercept implements Serializable {
    * Check each property to see if the bean is partially loaded.
    */
   public boolean isPartial() {
-    for (boolean loadedProp : loadedProps) {
-      if (!loadedProp) {
+    int length = getPropertyLength();
+    int fullWords = length >> 6;
+    int words = wordCount();
+    for (int i = 0; i < words; i++) {
+      long expected = (i < fullWords) ? -1L : (1L << length) - 1;
+      if ((loadedWord(i) & expected) != expected) {
         return true;
       }
     }
@@ -286,14 +357,7 @@ public final class EntityBeanIntercept implements Serializable {
    * Return true if only the Id property has been loaded.
    */
   public boolean hasIdOnly(int idIndex) {
-    for (int i = 0; i < loadedProps.length; i++) {
-      if (i == idIndex) {
-        if (!loadedProps[i]) return false;
-      } else if (loadedProps[i]) {
-        return false;
-      }
-    }
-    return true;
+    return nextLoadedProperty(0) == idIndex && (idIndex == -1 || nextLoadedProperty(idIndex + 1) == -1);
   }
 
   /**
@@ -311,11 +375,12 @@ public final class EntityBeanIntercept implements Serializable {
     if (idPos > -1) {
       // For cases where properties are set on constructor
       // set every non Id property to unloaded (for lazy loading)
-      for (int i=0; i< loadedProps.length; i++) {
-        if (i != idPos) {
-          loadedProps[i] = false;
-        }
+      boolean idLoaded = isLoadedProperty(idPos);
+      loaded = 0;
+      if (loadedMore != null) {
+        Arrays.fill(loadedMore, 0L);
       }
+      setLoadedBit(idPos, idLoaded);
     }
   }
 
@@ -365,7 +430,8 @@ public final class EntityBeanIntercept implements Serializable {
     this.owner._ebean_setEmbeddedLoaded();
     this.lazyLoadProperty = -1;
     this.origValues = null;
-    this.changedProps = null;
+    this.changed = 0;
+    this.changedMore = null;
     this.dirty = false;
   }
 
@@ -488,7 +554,7 @@ public final class EntityBeanIntercept implements Serializable {
     if (position == -1) {
       throw new IllegalArgumentException("Property "+propertyName+" not found");
     }
-    loadedProps[position] = loaded;
+    setLoadedBit(position, loaded);
   }
 
   /**
@@ -496,28 +562,28 @@ public final class EntityBeanIntercept implements Serializable {
    * constructor.
    */
   public void setPropertyUnloaded(int propertyIndex) {
-    loadedProps[propertyIndex] = false;
+    setLoadedBit(propertyIndex, false);
   }
 
   /**
    * Set the property to be loaded.
    */
   public void setLoadedProperty(int propertyIndex) {
-    loadedProps[propertyIndex] = true;
+    setLoadedBit(propertyIndex, true);
   }
 
   /**
    * Return true if the property is loaded.
    */
   public boolean isLoadedProperty(int propertyIndex) {
-    return loadedProps[propertyIndex];
+    return isSet(loaded, loadedMore, propertyIndex);
   }
 
   /**
    * Return true if the property is considered changed.
    */
   public boolean isChangedProperty(int propertyIndex) {
-    return (changedProps != null && changedProps[propertyIndex]);
+    return isSet(changed, changedMore, propertyIndex);
   }
 
   /**
@@ -525,8 +591,69 @@ public final class EntityBeanIntercept implements Serializable {
    * embedded properties is dirty.
    */
   public boolean isDirtyProperty(int propertyIndex) {
-    return (changedProps != null && changedProps[propertyIndex]
-        || embeddedDirty != null && embeddedDirty[propertyIndex]);
+    return isSet(changed, changedMore, propertyIndex) || isSet(embeddedDirty, embeddedDirtyMore, propertyIndex);
+  }
+
+  /**
+   * Return the index of the next loaded property starting from the given index or -1 if
+   * there are no more loaded properties.
+   * <pre>{@code
+   *
+   *   for (int i = ebi.nextLoadedProperty(0); i > -1; i = ebi.nextLoadedProperty(i + 1)) {
+   *     ...
+   *   }
+   *
+   * }</pre>
+   */
+  public int nextLoadedProperty(int fromIndex) {
+    int wordIndex = fromIndex >> 6;
+    int words = wordCount();
+    if (wordIndex >= words) {
+      return -1;
+    }
+    long bits = loadedWord(wordIndex) & (-1L << fromIndex);
+    while (bits == 0) {
+      if (++wordIndex == words) {
+        return -1;
+      }
+      bits = loadedWord(wordIndex);
+    }
+    return (wordIndex << 6) + Long.numberOfTrailingZeros(bits);
+  }
+
+  /**
+   * Return the index of the next dirty property (changed or a dirty embedded bean) starting
+   * from the given index or -1 if there are no more dirty properties.
+   */
+  public int nextDirtyProperty(int fromIndex) {
+    int wordIndex = fromIndex >> 6;
+    int words = wordCount();
+    if (wordIndex >= words) {
+      return -1;
+    }
+    long bits = dirtyWord(wordIndex) & (-1L << fromIndex);
+    while (bits == 0) {
+      if (++wordIndex == words) {
+        return -1;
+      }
+      bits = dirtyWord(wordIndex);
+    }
+    return (wordIndex << 6) + Long.numberOfTrailingZeros(bits);
+  }
+
+  /**
+   * Return the dirty properties as bits (bit n of word n/64 set for dirty property n).
+   * <p>
+   * This is a copy and so remains unchanged when the bean is subsequently reset via setLoaded().
+   * </p>
+   */
+  public long[] getDirtyPropertyBits() {
+    int words = wordCount();
+    long[] bits = new long[words];
+    for (int i = 0; i < words; i++) {
+      bits[i] = dirtyWord(i);
+    }
+    return bits;
   }
 
   /**
@@ -538,20 +665,28 @@ public final class EntityBeanIntercept implements Serializable {
   }
 
   public void setChangedProperty(int propertyIndex) {
-    if (changedProps == null) {
-      changedProps = new boolean[owner._ebean_getPropertyNames().length];
+    if (propertyIndex < 64) {
+      changed |= (1L << propertyIndex);
+    } else {
+      if (changedMore == null) {
+        changedMore = newMoreWords(getPropertyLength());
+      }
+      changedMore[(propertyIndex >> 6) - 1] |= (1L << propertyIndex);
     }
-    changedProps[propertyIndex] = true;
   }
 
   /**
    * Set that an embedded bean has had one of its properties changed.
    */
   private void setEmbeddedPropertyDirty(int propertyIndex) {
-    if (embeddedDirty == null) {
-      embeddedDirty = new boolean[owner._ebean_getPropertyNames().length];
+    if (propertyIndex < 64) {
+      embeddedDirty |= (1L << propertyIndex);
+    } else {
+      if (embeddedDirtyMore == null) {
+        embeddedDirtyMore = newMoreWords(getPropertyLength());
+      }
+      embeddedDirtyMore[(propertyIndex >> 6) - 1] |= (1L << propertyIndex);
     }
-    embeddedDirty[propertyIndex] = true;
   }
 
   private void setOriginalValue(int propertyIndex, Object value) {
@@ -568,13 +703,13 @@ public final class EntityBeanIntercept implements Serializable {
    */
   public void setNewBeanForUpdate() {
 
-    if (changedProps == null) {
-      changedProps = new boolean[owner._ebean_getPropertyNames().length];
-    }
-
-    for (int i=0; i< loadedProps.length; i++) {
-      if (loadedProps[i]) {
-        changedProps[i] = true;
+    changed |= loaded;
+    if (loadedMore != null) {
+      if (changedMore == null) {
+        changedMore = newMoreWords(getPropertyLength());
+      }
+      for (int i = 0; i < loadedMore.length; i++) {
+        changedMore[i] |= loadedMore[i];
       }
     }
     setDirty(true);
@@ -588,10 +723,8 @@ public final class EntityBeanIntercept implements Serializable {
       return null;
     }
     Set<String> props = new LinkedHashSet<>();
-    for (int i=0; i<loadedProps.length; i++) {
-      if (loadedProps[i]) {
-        props.add(getProperty(i));
-      }
+    for (int i = nextLoadedProperty(0); i > -1; i = nextLoadedProperty(i + 1)) {
+      props.add(getProperty(i));
     }
     return props;
   }
@@ -600,15 +733,9 @@ public final class EntityBeanIntercept implements Serializable {
    * Return the array of flags indicating the dirty properties.
    */
   public boolean[] getDirtyProperties() {
-    int len = getPropertyLength();
-    boolean[] dirties = new boolean[len];
-    for (int i = 0; i < len; i++) {
-      if (changedProps != null && changedProps[i]) {
-        dirties[i] = true;
-      } else if (embeddedDirty != null && embeddedDirty[i]) {
-        // an embedded property has been changed - recurse
-        dirties[i] = true;
-      }
+    boolean[] dirties = new boolean[getPropertyLength()];
+    for (int i = nextDirtyProperty(0); i > -1; i = nextDirtyProperty(i + 1)) {
+      dirties[i] = true;
     }
     return dirties;
   }
@@ -626,13 +753,12 @@ public final class EntityBeanIntercept implements Serializable {
    * Recursively add dirty properties.
    */
   public void addDirtyPropertyNames(Set<String> props, String prefix) {
-    int len = getPropertyLength();
-    for (int i = 0; i < len; i++) {
-      if (changedProps != null && changedProps[i]) {
+    for (int i = nextDirtyProperty(0); i > -1; i = nextDirtyProperty(i + 1)) {
+      if (isChangedProperty(i)) {
         // the property has been changed on this bean
         String propName = (prefix == null ? getProperty(i) : prefix + getProperty(i));
         props.add(propName);
-      } else if (embeddedDirty != null && embeddedDirty[i]) {
+      } else {
         // an embedded property has been changed - recurse
         EntityBean embeddedBean = (EntityBean)owner._ebean_getField(i);
         embeddedBean._ebean_getIntercept().addDirtyPropertyNames(props, getProperty(i)+".");
@@ -646,17 +772,10 @@ public final class EntityBeanIntercept implements Serializable {
   public boolean hasDirtyProperty(Set<String> propertyNames) {
 
     String[] names = owner._ebean_getPropertyNames();
-    int len = getPropertyLength();
-    for (int i = 0; i < len; i++) {
-      if (changedProps != null && changedProps[i]) {
-        // the property has been changed on this bean
-        if (propertyNames.contains(names[i])) {
-          return true;
-        }
-      } else if (embeddedDirty != null && embeddedDirty[i]) {
-        if (propertyNames.contains(names[i])) {
-          return true;
-        }
+    for (int i = nextDirtyProperty(0); i > -1; i = nextDirtyProperty(i + 1)) {
+      // the property has been changed on this bean or is a dirty embedded bean
+      if (propertyNames.contains(names[i])) {
+        return true;
       }
     }
     return false;
@@ -675,9 +794,8 @@ public final class EntityBeanIntercept implements Serializable {
    * Recursively add dirty properties.
    */
   public void addDirtyPropertyValues(Map<String,ValuePair> dirtyValues, String prefix) {
-    int len = getPropertyLength();
-    for (int i = 0; i < len; i++) {
-      if (changedProps != null && changedProps[i]) {
+    for (int i = nextDirtyProperty(0); i > -1; i = nextDirtyProperty(i + 1)) {
+      if (isChangedProperty(i)) {
         // the property has been changed on this bean
         String propName = (prefix == null ? getProperty(i) : prefix + getProperty(i));
         Object newVal = owner._ebean_getField(i);
@@ -685,7 +803,7 @@ public final class EntityBeanIntercept implements Serializable {
 
         dirtyValues.put(propName, new ValuePair(newVal, oldVal));
 
-      } else if (embeddedDirty != null && embeddedDirty[i]) {
+      } else {
         // an embedded property has been changed - recurse
         EntityBean embeddedBean = (EntityBean)owner._ebean_getField(i);
         embeddedBean._ebean_getIntercept().addDirtyPropertyValues(dirtyValues, getProperty(i) + ".");
@@ -704,12 +822,11 @@ public final class EntityBeanIntercept implements Serializable {
    * Add and return a dirty property hash recursing into embedded beans.
    */
   public int addDirtyPropertyHash(int hash) {
-    int len = getPropertyLength();
-    for (int i = 0; i < len; i++) {
-      if (changedProps != null && changedProps[i]) {
+    for (int i = nextDirtyProperty(0); i > -1; i = nextDirtyProperty(i + 1)) {
+      if (isChangedProperty(i)) {
         // the property has been changed on this bean
         hash = hash * 31 + (i+1);
-      } else if (embeddedDirty != null && embeddedDirty[i]) {
+      } else {
         // an embedded property has been changed - recurse
         EntityBean embeddedBean = (EntityBean)owner._ebean_getField(i);
         hash = hash * 31 + embeddedBean._ebean_getIntercept().addDirtyPropertyHash(hash);
@@ -723,24 +840,42 @@ public final class EntityBeanIntercept implements Serializable {
    */
   public int getLoadedPropertyHash() {
     int hash = 37;
-    int len = getPropertyLength();
-    for (int i = 0; i < len; i++) {
-      if (isLoadedProperty(i)) {
-        hash = hash * 31 + (i+1);
-      }
+    for (int i = nextLoadedProperty(0); i > -1; i = nextLoadedProperty(i + 1)) {
+      hash = hash * 31 + (i+1);
     }
     return hash;
   }
 
   /**
-   * Return the set of property names for changed properties.
+   * Return the flags of the changed properties (null when no properties have changed).
+   * <p>
+   * This is a copy of the changed state.
+   * </p>
    */
   public boolean[] getChanged() {
-    return changedProps;
+    if (changed == 0 && changedMore == null) {
+      return null;
+    }
+    int len = getPropertyLength();
+    boolean[] flags = new boolean[len];
+    for (int i = 0; i < len; i++) {
+      flags[i] = isChangedProperty(i);
+    }
+    return flags;
   }
 
+  /**
+   * Return the flags of the loaded properties.
+   * <p>
+   * This is a copy of the loaded state.
+   * </p>
+   */
   public boolean[] getLoaded() {
-    return loadedProps;
+    boolean[] flags = new boolean[getPropertyLength()];
+    for (int i = nextLoadedProperty(0); i > -1; i = nextLoadedProperty(i + 1)) {
+      flags[i] = true;
+    }
+    return flags;
   }
 
   /**
@@ -788,7 +923,7 @@ public final class EntityBeanIntercept implements Serializable {
    */
   private void loadBeanInternal(int loadProperty, BeanLoader loader) {
 
-    if (loadedProps == null || loadedProps[loadProperty]) {
+    if (isLoadedProperty(loadProperty)) {
       // race condition where multiple threads calling preGetter concurrently
       return;
     }
@@ -854,7 +989,7 @@ public final class EntityBeanIntercept implements Serializable {
    * Called when a BeanCollection is initialised automatically.
    */
   public void initialisedMany(int propertyIndex) {
-    loadedProps[propertyIndex] = true;
+    setLoadedBit(propertyIndex, true);
   }
 
   private final void preGetterCallback() {
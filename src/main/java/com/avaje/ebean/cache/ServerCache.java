@@ -1,5 +1,10 @@
 package com.avaje.ebean.cache;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
 /**
  * Represents part of the "L2" server side cache.
  * <p>
@@ -30,6 +35,49 @@ public interface ServerCache {
    */
   Object remove(Object id);
 
+  /**
+   * Return the values for the given ids. Ids not found in the cache are not included
+   * in the returned map.
+   * <p>
+   * The default implementation calls get() for each id. Cache implementations that
+   * can fetch many entries in a single call (like remote caches) should override this.
+   * </p>
+   */
+  default Map<Object, Object> getAll(Set<Object> ids) {
+    Map<Object, Object> map = new LinkedHashMap<>();
+    for (Object id : ids) {
+      Object value = get(id);
+      if (value != null) {
+        map.put(id, value);
+      }
+    }
+    return map;
+  }
+
+  /**
+   * Put all the given id value pairs into the cache.
+   * <p>
+   * The default implementation calls put() for each entry.
+   * </p>
+   */
+  default void putAll(Map<Object, Object> keyValues) {
+    for (Map.Entry<Object, Object> entry : keyValues.entrySet()) {
+      put(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * Remove the entries for the given ids from the cache.
+   * <p>
+   * The default implementation calls remove() for each id.
+   * </p>
+   */
+  default void removeAll(Set<Object> ids) {
+    for (Object id : ids) {
+      remove(id);
+    }
+  }
+
   /**
    * Clear all entries from the cache.
    * <p>
@@ -40,6 +88,18 @@ public interface ServerCache {
    */
   void clear();
 
+  /**
+   * Remove the entries whose value matches the filter returning the number of entries removed.
+   * <p>
+   * This is used for fine grained invalidation of the query cache. The default implementation
+   * clears the whole cache (returning -1) as it can not iterate the entries.
+   * </p>
+   */
+  default int removeIf(Predicate<Object> valueFilter) {
+    clear();
+    return -1;
+  }
+
   /**
    * Return the number of entries in the cache.
    */
@@ -57,4 +117,27 @@ public interface ServerCache {
    *          if true the statistics are reset.
    */
   ServerCacheStatistics getStatistics(boolean reset);
+
+  /**
+   * Record that a cache miss waited for a concurrent load of the same key rather than loading it.
+   * <p>
+   * This is used to report the coalesced waits in the statistics. The default implementation
+   * does nothing.
+   * </p>
+   *
+   * @param timedOut true if the wait timed out and the caller loaded the value itself
+   */
+  default void coalescedLoad(boolean timedOut) {
+  }
+
+  /**
+   * Set the loader used to reload entries in the background.
+   * <p>
+   * This is used by caches that support refresh ahead or stale while revalidate
+   * (see {@link ServerCacheOptions#setRefreshAheadSecs(int)}). The default implementation
+   * ignores the loader.
+   * </p>
+   */
+  default void setLoader(ServerCacheLoader loader) {
+  }
 }
@@ -0,0 +1,26 @@
+package com.avaje.ebean.cache;
+
+/**
+ * The eviction policy used by the built in L2 cache.
+ *
+ * @see ServerCacheOptions#setEviction(ServerCacheEviction)
+ */
+public enum ServerCacheEviction {
+
+  /**
+   * Periodically trim the cache sorting entries by last access time.
+   * <p>
+   * The cache can exceed its maxSize between trims.
+   * </p>
+   */
+  PERIODIC_TRIM,
+
+  /**
+   * Frequency aware admission and eviction (W-TinyLFU) bounding the size continuously.
+   * <p>
+   * Eviction is O(1) per put and get and the cache does not exceed its maxSize. This
+   * generally gives a better hit ratio for scan heavy workloads.
+   * </p>
+   */
+  TINY_LFU
+}
@@ -0,0 +1,20 @@
+package com.avaje.ebean.cache;
+
+/**
+ * Reloads a cache entry from the database.
+ * <p>
+ * Used by caches to refresh entries in the background ahead of their time to live or
+ * while serving an expired entry.
+ * </p>
+ *
+ * @see ServerCache#setLoader(ServerCacheLoader)
+ */
+@FunctionalInterface
+public interface ServerCacheLoader {
+
+  /**
+   * Load the entry for the given key putting it into the cache (or removing it from the
+   * cache if it no longer exists).
+   */
+  void load(Object key);
+}
@@ -1,5 +1,8 @@
 package com.avaje.ebean.cache;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * The cache service for server side caching of beans and query results.
  */
@@ -49,4 +52,19 @@ public interface ServerCacheManager {
    */
   void clearAll();
 
+  /**
+   * Return the statistics of all the caches that have been created.
+   * <p>
+   * The cache names are prefixed with the type of cache (bean, query, naturalKey or collectionIds)
+   * as the bean and query caches of a bean type otherwise have the same name.
+   * </p>
+   * <p>
+   * The default implementation returns an empty list such that the caches are not
+   * included in the server metrics.
+   * </p>
+   */
+  default List<ServerCacheStatistics> collectStatistics(boolean reset) {
+    return Collections.emptyList();
+  }
+
 }
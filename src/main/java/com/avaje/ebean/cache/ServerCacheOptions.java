@@ -12,6 +12,9 @@ public class ServerCacheOptions {
   private int maxIdleSecs;
   private int maxSecsToLive;
   private int trimFrequency;
+  private ServerCacheEviction eviction;
+  private int refreshAheadSecs;
+  private boolean staleWhileRevalidate;
 
   /**
    * Construct with no set options.
@@ -28,6 +31,8 @@ public class ServerCacheOptions {
     this.maxIdleSecs = tuning.maxIdleSecs();
     this.maxSecsToLive = tuning.maxSecsToLive();
     this.trimFrequency = tuning.trimFrequency();
+    this.refreshAheadSecs = tuning.refreshAheadSecs();
+    this.staleWhileRevalidate = tuning.staleWhileRevalidate();
   }
 
   /**
@@ -57,6 +62,15 @@ public class ServerCacheOptions {
     if (trimFrequency == 0) {
       trimFrequency = defaults.getTrimFrequency();
     }
+    if (eviction == null) {
+      eviction = defaults.getEviction();
+    }
+    if (refreshAheadSecs == 0) {
+      refreshAheadSecs = defaults.getRefreshAheadSecs();
+    }
+    if (!staleWhileRevalidate) {
+      staleWhileRevalidate = defaults.isStaleWhileRevalidate();
+    }
   }
 
   /**
@@ -69,6 +83,9 @@ public class ServerCacheOptions {
     copy.maxIdleSecs = maxIdleSecs;
     copy.maxSecsToLive = maxSecsToLive;
     copy.trimFrequency = trimFrequency;
+    copy.eviction = eviction;
+    copy.refreshAheadSecs = refreshAheadSecs;
+    copy.staleWhileRevalidate = staleWhileRevalidate;
     return copy;
   }
 
@@ -127,4 +144,64 @@ public class ServerCacheOptions {
   public void setTrimFrequency(int trimFrequency) {
     this.trimFrequency = trimFrequency;
   }
+
+  /**
+   * Return the eviction policy (null means the default periodic trim).
+   */
+  public ServerCacheEviction getEviction() {
+    return eviction;
+  }
+
+  /**
+   * Set the eviction policy used by the built in cache.
+   */
+  public void setEviction(ServerCacheEviction eviction) {
+    this.eviction = eviction;
+  }
+
+  /**
+   * Return the seconds before the time to live that a read of an entry triggers a background reload.
+   */
+  public int getRefreshAheadSecs() {
+    return refreshAheadSecs;
+  }
+
+  /**
+   * Set the seconds before the time to live that a read of an entry triggers a background reload.
+   * <p>
+   * Entries that are read when nearing their maxSecsToLive are reloaded in the background
+   * such that they do not expire and the next reader does not pay the database latency.
+   * Entries that are not read are left to expire. This requires maxSecsToLive and defaults
+   * to 0 meaning no refresh ahead.
+   * </p>
+   */
+  public void setRefreshAheadSecs(int refreshAheadSecs) {
+    this.refreshAheadSecs = refreshAheadSecs;
+  }
+
+  /**
+   * Return true if expired entries are served while they are reloaded in the background.
+   */
+  public boolean isStaleWhileRevalidate() {
+    return staleWhileRevalidate;
+  }
+
+  /**
+   * Set to true to serve an entry that has passed its maxSecsToLive while it is reloaded
+   * in the background.
+   * <p>
+   * The first read of the expired entry triggers the reload. Reads of the expired entry are
+   * served until that reload completes (after which the entry is replaced or treated as expired).
+   * </p>
+   */
+  public void setStaleWhileRevalidate(boolean staleWhileRevalidate) {
+    this.staleWhileRevalidate = staleWhileRevalidate;
+  }
+
+  /**
+   * Return true if refresh ahead or stale while revalidate is enabled.
+   */
+  public boolean isRefresh() {
+    return maxSecsToLive > 0 && (refreshAheadSecs > 0 || staleWhileRevalidate);
+  }
 }
@@ -39,6 +39,14 @@ public class ServerCacheStatistics {
 
   protected long evictByLRU;
 
+  protected long coalescedCount;
+
+  protected long coalescedTimeoutCount;
+
+  protected long refreshCount;
+
+  protected long staleHitCount;
+
   public String toString() {
     //noinspection StringBufferReplaceableByString
     StringBuilder sb = new StringBuilder(80);
@@ -57,6 +65,10 @@ public class ServerCacheStatistics {
     sb.append(" evictByLRU:").append(evictByLRU);
     sb.append(" evictionRunCount:").append(evictionRunCount);
     sb.append(" evictionRunMicros:").append(evictionRunMicros);
+    sb.append(" coalesced:").append(coalescedCount);
+    sb.append(" coalescedTimeout:").append(coalescedTimeoutCount);
+    sb.append(" refresh:").append(refreshCount);
+    sb.append(" staleHit:").append(staleHitCount);
     return sb.toString();
   }
 
@@ -274,4 +286,61 @@ public class ServerCacheStatistics {
   public long getEvictByLRU() {
     return evictByLRU;
   }
+
+  /**
+   * Set the number of cache misses that waited for a concurrent load of the same key.
+   */
+  public void setCoalescedCount(long coalescedCount) {
+    this.coalescedCount = coalescedCount;
+  }
+
+  /**
+   * Return the number of cache misses that waited for a concurrent load of the same key
+   * (rather than each loading the value from the database).
+   */
+  public long getCoalescedCount() {
+    return coalescedCount;
+  }
+
+  /**
+   * Set the number of coalesced waits that timed out.
+   */
+  public void setCoalescedTimeoutCount(long coalescedTimeoutCount) {
+    this.coalescedTimeoutCount = coalescedTimeoutCount;
+  }
+
+  /**
+   * Return the number of coalesced waits that timed out (and then loaded the value).
+   */
+  public long getCoalescedTimeoutCount() {
+    return coalescedTimeoutCount;
+  }
+
+  /**
+   * Set the number of background refreshes of entries.
+   */
+  public void setRefreshCount(long refreshCount) {
+    this.refreshCount = refreshCount;
+  }
+
+  /**
+   * Return the number of background refreshes of entries (refresh ahead and stale while revalidate).
+   */
+  public long getRefreshCount() {
+    return refreshCount;
+  }
+
+  /**
+   * Set the number of hits that were served an expired entry.
+   */
+  public void setStaleHitCount(long staleHitCount) {
+    this.staleHitCount = staleHitCount;
+  }
+
+  /**
+   * Return the number of hits that were served an expired entry while it was being reloaded.
+   */
+  public long getStaleHitCount() {
+    return staleHitCount;
+  }
 }
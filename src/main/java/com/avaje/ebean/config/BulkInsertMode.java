@@ -0,0 +1,41 @@
+package com.avaje.ebean.config;
+
+/**
+ * Defines how batched bean inserts are executed.
+ * <p>
+ * By default batched inserts use JDBC batch with one bound row per batch entry. For loading
+ * large numbers of beans a bulk insert mode can be used on a per transaction basis.
+ * </p>
+ * <p>
+ * Bulk insert is used for beans that already have their id value (assigned, UUID or
+ * from a DB sequence). Beans that rely on DB identity (getGeneratedKeys) are still inserted
+ * using JDBC batch.
+ * </p>
+ *
+ * @see com.avaje.ebean.Transaction#setBulkInsert(BulkInsertMode)
+ */
+public enum BulkInsertMode {
+
+  /**
+   * Use JDBC batch with one row per batch entry (the default).
+   */
+  NONE,
+
+  /**
+   * Use multi-row insert statements (insert into ... values (...),(...),...) with the number of
+   * rows per statement limited by the platform maximum number of bind parameters.
+   * <p>
+   * When the platform does not support multi-row insert this falls back to JDBC batch.
+   * </p>
+   */
+  MULTI_ROW,
+
+  /**
+   * Use COPY ... FROM STDIN on Postgres (requires the Postgres JDBC driver).
+   * <p>
+   * For other platforms or when a bean type has columns that can not be loaded via COPY
+   * (for example encrypted properties or LOB streams) this falls back to MULTI_ROW.
+   * </p>
+   */
+  COPY
+}
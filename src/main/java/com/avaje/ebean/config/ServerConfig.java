@@ -3,6 +3,7 @@ package com.avaje.ebean.config;
 import com.avaje.ebean.EbeanServerFactory;
 import com.avaje.ebean.PersistenceContextScope;
 import com.avaje.ebean.annotation.Encrypted;
+import com.avaje.ebean.cache.ServerCacheEviction;
 import com.avaje.ebean.cache.ServerCacheManager;
 import com.avaje.ebean.cache.ServerCachePlugin;
 import com.avaje.ebean.config.dbplatform.DatabasePlatform;
@@ -22,6 +23,7 @@ import com.avaje.ebean.event.changelog.ChangeLogRegister;
 import com.avaje.ebean.event.readaudit.ReadAuditLogger;
 import com.avaje.ebean.event.readaudit.ReadAuditPrepare;
 import com.avaje.ebean.meta.MetaInfoManager;
+import com.avaje.ebean.meta.MetricsListener;
 import com.fasterxml.jackson.core.JsonFactory;
 import org.avaje.datasource.DataSourceConfig;
 
@@ -230,6 +232,11 @@ public class ServerConfig {
    */
   private int queryBatchSize = 100;
 
+  /**
+   * Set to true to execute independent 'query joins' concurrently.
+   */
+  private boolean parallelSecondaryQueries;
+
   private boolean eagerFetchLobs;
 
   /**
@@ -252,6 +259,16 @@ public class ServerConfig {
    */
   private boolean skipCacheAfterWrite = true;
 
+  /**
+   * Set to true to group commit implicit transactions.
+   */
+  private boolean groupCommit;
+
+  /**
+   * The number of writers (connections) used for group commit.
+   */
+  private int groupCommitWriters = 2;
+
   private boolean useJtaTransactionManager;
 
   /**
@@ -269,6 +286,21 @@ public class ServerConfig {
    */
   private DataSourceConfig dataSourceConfig = new DataSourceConfig();
 
+  /**
+   * The read only data source (if programmatically provided).
+   */
+  private DataSource readOnlyDataSource;
+
+  /**
+   * The read only data source config (typically a read replica).
+   */
+  private DataSourceConfig readOnlyDataSourceConfig = new DataSourceConfig();
+
+  /**
+   * Millis after a commit that queries from the same thread use the main DataSource.
+   */
+  private int readYourWritesMillis;
+
   /**
    * The db migration config (migration resource path etc).
    */
@@ -346,6 +378,17 @@ public class ServerConfig {
   private List<BeanQueryAdapter> queryAdapters = new ArrayList<>();
   private List<BulkTableEventListener> bulkTableEventListeners = new ArrayList<>();
   private List<ServerConfigStartup> configStartupListeners = new ArrayList<>();
+  private List<MetricsListener> metricsListeners = new ArrayList<>();
+
+  /**
+   * The frequency in seconds the metrics are collected and sent to the MetricsListeners.
+   */
+  private int metricsCollectionSecs = 60;
+
+  /**
+   * Set to true to periodically log the metrics (org.avaje.ebean.Metrics logger).
+   */
+  private boolean metricsLogging;
 
   /**
    * By default inserts are included in the change log.
@@ -378,6 +421,26 @@ public class ServerConfig {
 
   private boolean collectQueryOrigins = true;
 
+  /**
+   * The precision (bits per power of 2) of the execution time histograms.
+   */
+  private int statsHistogramPrecision = 3;
+
+  /**
+   * The maximum number of query plans held per bean type.
+   */
+  private int queryPlanCacheMaxSize = 1000;
+
+  /**
+   * The maximum number of query plans held across all the bean types.
+   */
+  private int queryPlanCacheMaxSizeTotal = 20000;
+
+  /**
+   * The maximum number of parsed EQL statements held.
+   */
+  private int eqlCacheMaxSize = 1000;
+
   /**
    * The default PersistenceContextScope used if one is not explicitly set on a query.
    */
@@ -409,6 +472,27 @@ public class ServerConfig {
   private int queryCacheMaxSize = 1000;
   private int queryCacheMaxIdleTime = 600;
   private int queryCacheMaxTimeToLive = 60 * 60 * 6;
+
+  /**
+   * The eviction policy used by the built in L2 cache.
+   */
+  private ServerCacheEviction cacheEviction = ServerCacheEviction.PERIODIC_TRIM;
+
+  /**
+   * Max time in millis a bean cache miss waits on a concurrent load of the same bean.
+   */
+  private int cacheLoadWaitMillis = 5000;
+
+  /**
+   * Seconds before the time to live that a read of a bean cache entry triggers a background reload.
+   */
+  private int cacheRefreshAheadSecs;
+
+  /**
+   * Set to true to serve expired bean cache entries while they are reloaded.
+   */
+  private boolean cacheStaleWhileRevalidate;
+
   private Object objectMapper;
 
   /**
@@ -749,6 +833,30 @@ public class ServerConfig {
     this.lazyLoadBatchSize = lazyLoadBatchSize;
   }
 
+  /**
+   * Return true if independent secondary queries ('query joins') execute concurrently by default.
+   */
+  public boolean isParallelSecondaryQueries() {
+    return parallelSecondaryQueries;
+  }
+
+  /**
+   * Set to true such that independent secondary queries ('query joins' via
+   * <code>fetch(path, new FetchConfig().query())</code>) execute concurrently by default.
+   * <p>
+   * The secondary queries each use their own connection and execute using the BackgroundExecutor
+   * such that the total latency approaches that of the slowest secondary query rather than the
+   * sum of them. This only applies when the origin query runs in its own implicit transaction
+   * (not an explicit transaction) and the secondary queries load different bean types.
+   * </p>
+   * <p>
+   * This can be set per query via {@link com.avaje.ebean.Query#setParallelSecondaryQueries(boolean)}.
+   * </p>
+   */
+  public void setParallelSecondaryQueries(boolean parallelSecondaryQueries) {
+    this.parallelSecondaryQueries = parallelSecondaryQueries;
+  }
+
   /**
    * Set the number of sequences to fetch/preallocate when using DB sequences.
    * <p>
@@ -1199,6 +1307,82 @@ public class ServerConfig {
     this.queryCacheMaxTimeToLive = queryCacheMaxTimeToLive;
   }
 
+  /**
+   * Return the eviction policy used by the built in L2 bean and query caches.
+   */
+  public ServerCacheEviction getCacheEviction() {
+    return cacheEviction;
+  }
+
+  /**
+   * Set the eviction policy used by the built in L2 bean and query caches.
+   * <p>
+   * Set this to {@link ServerCacheEviction#TINY_LFU} to continuously bound the cache size
+   * using frequency aware eviction rather than periodically trimming the cache.
+   * </p>
+   */
+  public void setCacheEviction(ServerCacheEviction cacheEviction) {
+    this.cacheEviction = cacheEviction;
+  }
+
+  /**
+   * Return the max time in millis a bean cache miss waits on a concurrent load of the same bean.
+   */
+  public int getCacheLoadWaitMillis() {
+    return cacheLoadWaitMillis;
+  }
+
+  /**
+   * Set the max time in millis a bean cache miss waits on a concurrent load of the same bean.
+   * Defaults to 5000.
+   * <p>
+   * When concurrent requests miss the bean cache (or natural key cache) for the same key only
+   * the first loads the bean from the database. The others wait for that load and then read
+   * the bean from the cache. If the load takes longer than this wait time the waiting requests
+   * fall back to loading the bean themselves. Set to 0 to turn this off.
+   * </p>
+   */
+  public void setCacheLoadWaitMillis(int cacheLoadWaitMillis) {
+    this.cacheLoadWaitMillis = cacheLoadWaitMillis;
+  }
+
+  /**
+   * Return the L2 bean cache default seconds before the time to live that a read of an
+   * entry triggers a background reload.
+   */
+  public int getCacheRefreshAheadSecs() {
+    return cacheRefreshAheadSecs;
+  }
+
+  /**
+   * Set the L2 bean cache default seconds before the time to live that a read of an
+   * entry triggers a background reload.
+   * <p>
+   * Defaults to 0 meaning entries are not refreshed ahead of expiry. This applies to the
+   * bean and natural key caches of the built in L2 cache.
+   * </p>
+   */
+  public void setCacheRefreshAheadSecs(int cacheRefreshAheadSecs) {
+    this.cacheRefreshAheadSecs = cacheRefreshAheadSecs;
+  }
+
+  /**
+   * Return true if expired L2 bean cache entries are served while they are reloaded.
+   */
+  public boolean isCacheStaleWhileRevalidate() {
+    return cacheStaleWhileRevalidate;
+  }
+
+  /**
+   * Set to true to serve expired L2 bean cache entries while they are reloaded in the background.
+   * <p>
+   * This applies to the bean and natural key caches of the built in L2 cache.
+   * </p>
+   */
+  public void setCacheStaleWhileRevalidate(boolean cacheStaleWhileRevalidate) {
+    this.cacheStaleWhileRevalidate = cacheStaleWhileRevalidate;
+  }
+
   /**
    * Return the NamingConvention.
    * <p>
@@ -1291,6 +1475,66 @@ public class ServerConfig {
     this.dataSourceConfig = dataSourceConfig;
   }
 
+  /**
+   * Return the read only DataSource.
+   */
+  public DataSource getReadOnlyDataSource() {
+    return readOnlyDataSource;
+  }
+
+  /**
+   * Set the read only DataSource.
+   * <p>
+   * When set, query only transactions (implicit transactions created to execute a query,
+   * lazy loading queries, future queries and transactions begun with a read only TxScope)
+   * obtain their connection from this DataSource. This is typically a pool of connections
+   * to a read replica.
+   * </p>
+   */
+  public void setReadOnlyDataSource(DataSource readOnlyDataSource) {
+    this.readOnlyDataSource = readOnlyDataSource;
+  }
+
+  /**
+   * Return the configuration for the read only DataSource.
+   */
+  public DataSourceConfig getReadOnlyDataSourceConfig() {
+    return readOnlyDataSourceConfig;
+  }
+
+  /**
+   * Set the configuration for the read only DataSource.
+   * <p>
+   * The read only DataSource is only created when this configuration has a url. The username,
+   * password and driver default to those of the main DataSource configuration. When loaded
+   * from properties the settings use the server name with a <code>-ro</code> suffix such as
+   * <code>datasource.db-ro.databaseUrl</code>.
+   * </p>
+   */
+  public void setReadOnlyDataSourceConfig(DataSourceConfig readOnlyDataSourceConfig) {
+    this.readOnlyDataSourceConfig = readOnlyDataSourceConfig;
+  }
+
+  /**
+   * Return the millis after a commit that queries from the same thread use the main DataSource.
+   */
+  public int getReadYourWritesMillis() {
+    return readYourWritesMillis;
+  }
+
+  /**
+   * Set the millis after a commit that queries from the same thread use the main DataSource
+   * rather than the read only DataSource.
+   * <p>
+   * With a read replica there is replication lag such that a thread that has just committed
+   * changes may not see them when querying the replica. Setting this to a value greater than
+   * the expected replication lag means a thread reads its own writes.
+   * </p>
+   */
+  public void setReadYourWritesMillis(int readYourWritesMillis) {
+    this.readYourWritesMillis = readYourWritesMillis;
+  }
+
   /**
    * Return the JNDI name of the DataSource to use.
    */
@@ -1879,6 +2123,48 @@ public class ServerConfig {
     this.skipCacheAfterWrite = skipCacheAfterWrite;
   }
 
+  /**
+   * Return true if implicit transactions are group committed.
+   */
+  public boolean isGroupCommit() {
+    return groupCommit;
+  }
+
+  /**
+   * Set to true to group commit implicit transactions.
+   * <p>
+   * When a bean is saved or deleted without a transaction (an implicit transaction) then
+   * rather than obtaining a connection and committing per save or delete, concurrent callers
+   * share a transaction that is committed once for the group. Each caller is blocked until
+   * the group has committed and a failure of one caller (rolled back to a savepoint) does
+   * not fail the other callers in the group.
+   * </p>
+   * <p>
+   * This is intended for high rates of small transactions where the cost of the commit
+   * dominates. It requires the JDBC driver to support savepoints.
+   * </p>
+   */
+  public void setGroupCommit(boolean groupCommit) {
+    this.groupCommit = groupCommit;
+  }
+
+  /**
+   * Return the number of writers (connections) used for group commit.
+   */
+  public int getGroupCommitWriters() {
+    return groupCommitWriters;
+  }
+
+  /**
+   * Set the number of writers (connections) used for group commit. Defaults to 2.
+   * <p>
+   * Fewer writers means larger groups (fewer commits) with callers waiting longer to join.
+   * </p>
+   */
+  public void setGroupCommitWriters(int groupCommitWriters) {
+    this.groupCommitWriters = groupCommitWriters;
+  }
+
   /**
    * Return true to only update changed properties.
    */
@@ -1974,6 +2260,138 @@ public class ServerConfig {
     this.collectQueryOrigins = collectQueryOrigins;
   }
 
+  /**
+   * Return the precision of the execution time and rows histograms of the query plan and
+   * persist statistics.
+   */
+  public int getStatsHistogramPrecision() {
+    return statsHistogramPrecision;
+  }
+
+  /**
+   * Set the precision of the execution time and rows histograms of the query plan and
+   * persist statistics.
+   * <p>
+   * This is the number of bits used to split each power of 2 range into buckets (0 to 6).
+   * Percentiles are reported with a relative error of at most 1/2^precision and each
+   * histogram holds (42 - precision) * 2^precision counters. Defaults to 3 which is a
+   * relative error of 12.5%.
+   * </p>
+   *
+   * @see MetaInfoManager
+   */
+  public void setStatsHistogramPrecision(int statsHistogramPrecision) {
+    this.statsHistogramPrecision = statsHistogramPrecision;
+  }
+
+  /**
+   * Return the MetricsListener instances.
+   */
+  public List<MetricsListener> getMetricsListeners() {
+    return metricsListeners;
+  }
+
+  /**
+   * Set the list of MetricsListener instances.
+   */
+  public void setMetricsListeners(List<MetricsListener> metricsListeners) {
+    this.metricsListeners = metricsListeners;
+  }
+
+  /**
+   * Register a MetricsListener instance that is periodically notified with the server metrics.
+   */
+  public void add(MetricsListener metricsListener) {
+    metricsListeners.add(metricsListener);
+  }
+
+  /**
+   * Return the frequency in seconds the metrics are collected and sent to the MetricsListeners.
+   */
+  public int getMetricsCollectionSecs() {
+    return metricsCollectionSecs;
+  }
+
+  /**
+   * Set the frequency in seconds the metrics are collected and sent to the MetricsListeners.
+   * Defaults to 60 seconds.
+   */
+  public void setMetricsCollectionSecs(int metricsCollectionSecs) {
+    this.metricsCollectionSecs = metricsCollectionSecs;
+  }
+
+  /**
+   * Return true if the metrics are periodically logged.
+   */
+  public boolean isMetricsLogging() {
+    return metricsLogging;
+  }
+
+  /**
+   * Set to true to periodically log the metrics as JSON to the <code>org.avaje.ebean.Metrics</code>
+   * logger (at INFO level) using the metrics collection frequency.
+   */
+  public void setMetricsLogging(boolean metricsLogging) {
+    this.metricsLogging = metricsLogging;
+  }
+
+  /**
+   * Return the maximum number of query plans held per bean type.
+   */
+  public int getQueryPlanCacheMaxSize() {
+    return queryPlanCacheMaxSize;
+  }
+
+  /**
+   * Set the maximum number of query plans held per bean type (defaults to 1000).
+   * <p>
+   * When exceeded the least recently executed query plans are evicted. Applications that
+   * build many dynamic queries (varying in list sizes, optional predicates etc) otherwise
+   * accumulate query plans without limit. Set to 0 for no limit.
+   * </p>
+   */
+  public void setQueryPlanCacheMaxSize(int queryPlanCacheMaxSize) {
+    this.queryPlanCacheMaxSize = queryPlanCacheMaxSize;
+  }
+
+  /**
+   * Return the maximum number of query plans held across all bean types.
+   */
+  public int getQueryPlanCacheMaxSizeTotal() {
+    return queryPlanCacheMaxSizeTotal;
+  }
+
+  /**
+   * Set the maximum number of query plans held across all bean types (defaults to 20000).
+   * <p>
+   * When exceeded the least recently executed query plans of the bean type adding a new
+   * query plan are evicted. Set to 0 for no limit.
+   * </p>
+   */
+  public void setQueryPlanCacheMaxSizeTotal(int queryPlanCacheMaxSizeTotal) {
+    this.queryPlanCacheMaxSizeTotal = queryPlanCacheMaxSizeTotal;
+  }
+
+  /**
+   * Return the maximum number of parsed EQL statements held.
+   */
+  public int getEqlCacheMaxSize() {
+    return eqlCacheMaxSize;
+  }
+
+  /**
+   * Set the maximum number of parsed EQL statements held (defaults to 1000).
+   * <p>
+   * Queries created via {@link com.avaje.ebean.EbeanServer#createQuery(Class, String)} use
+   * the cached parse of the EQL rather than parsing it again. Once full no more statements
+   * are added (EQL built with inlined literal values does not benefit from caching).
+   * Set to 0 to disable the cache.
+   * </p>
+   */
+  public void setEqlCacheMaxSize(int eqlCacheMaxSize) {
+    this.eqlCacheMaxSize = eqlCacheMaxSize;
+  }
+
   /**
    * Returns the resource directory.
    */
@@ -2372,6 +2790,9 @@ public class ServerConfig {
    */
   protected void loadDataSourceSettings(PropertiesWrapper p) {
     dataSourceConfig.loadSettings(p.properties, name);
+    if (readOnlyDataSourceConfig != null) {
+      readOnlyDataSourceConfig.loadSettings(p.properties, name + "-ro");
+    }
   }
 
   /**
@@ -2431,6 +2852,10 @@ public class ServerConfig {
     dbEncrypt = createInstance(p, DbEncrypt.class, "dbEncrypt", dbEncrypt);
     serverCachePlugin = createInstance(p, ServerCachePlugin.class, "serverCachePlugin", serverCachePlugin);
     serverCacheManager = createInstance(p, ServerCacheManager.class, "serverCacheManager", serverCacheManager);
+    cacheEviction = p.getEnum(ServerCacheEviction.class, "cacheEviction", cacheEviction);
+    cacheLoadWaitMillis = p.getInt("cacheLoadWaitMillis", cacheLoadWaitMillis);
+    cacheRefreshAheadSecs = p.getInt("cacheRefreshAheadSecs", cacheRefreshAheadSecs);
+    cacheStaleWhileRevalidate = p.getBoolean("cacheStaleWhileRevalidate", cacheStaleWhileRevalidate);
 
     if (packages != null) {
       String packagesProp = p.get("search.packages", p.get("packages", null));
@@ -2439,8 +2864,16 @@ public class ServerConfig {
 
     collectQueryStatsByNode = p.getBoolean("collectQueryStatsByNode", collectQueryStatsByNode);
     collectQueryOrigins = p.getBoolean("collectQueryOrigins", collectQueryOrigins);
+    statsHistogramPrecision = p.getInt("statsHistogramPrecision", statsHistogramPrecision);
+    metricsCollectionSecs = p.getInt("metricsCollectionSecs", metricsCollectionSecs);
+    metricsLogging = p.getBoolean("metricsLogging", metricsLogging);
+    queryPlanCacheMaxSize = p.getInt("queryPlanCacheMaxSize", queryPlanCacheMaxSize);
+    queryPlanCacheMaxSizeTotal = p.getInt("queryPlanCacheMaxSizeTotal", queryPlanCacheMaxSizeTotal);
+    eqlCacheMaxSize = p.getInt("eqlCacheMaxSize", eqlCacheMaxSize);
 
     skipCacheAfterWrite = p.getBoolean("skipCacheAfterWrite", skipCacheAfterWrite);
+    groupCommit = p.getBoolean("groupCommit", groupCommit);
+    groupCommitWriters = p.getInt("groupCommitWriters", groupCommitWriters);
     updateAllPropertiesInBatch = p.getBoolean("updateAllPropertiesInBatch", updateAllPropertiesInBatch);
     updateChangesOnly = p.getBoolean("updateChangesOnly", updateChangesOnly);
 
@@ -2468,6 +2901,7 @@ public class ServerConfig {
     asOfSysPeriod = p.get("asOfSysPeriod", asOfSysPeriod);
     historyTableSuffix = p.get("historyTableSuffix", historyTableSuffix);
     dataSourceJndiName = p.get("dataSourceJndiName", dataSourceJndiName);
+    readYourWritesMillis = p.getInt("readYourWritesMillis", readYourWritesMillis);
     jdbcFetchSizeFindEach = p.getInt("jdbcFetchSizeFindEach", jdbcFetchSizeFindEach);
     jdbcFetchSizeFindList = p.getInt("jdbcFetchSizeFindList", jdbcFetchSizeFindList);
     databaseSequenceBatchSize = p.getInt("databaseSequenceBatchSize", databaseSequenceBatchSize);
@@ -2482,6 +2916,7 @@ public class ServerConfig {
     jodaLocalTimeMode = p.get("jodaLocalTimeMode", jodaLocalTimeMode);
 
     lazyLoadBatchSize = p.getInt("lazyLoadBatchSize", lazyLoadBatchSize);
+    parallelSecondaryQueries = p.getBoolean("parallelSecondaryQueries", parallelSecondaryQueries);
     queryBatchSize = p.getInt("queryBatchSize", queryBatchSize);
 
     jsonInclude = p.getEnum(JsonConfig.Include.class, "jsonInclude", jsonInclude);
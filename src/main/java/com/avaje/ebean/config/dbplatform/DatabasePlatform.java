@@ -142,6 +142,21 @@ public class DatabasePlatform {
 
   protected boolean idInExpandedForm;
 
+  /**
+   * The maximum number of bind values in a single IN expression (0 for no limit).
+   */
+  protected int maxInBinding;
+
+  /**
+   * Set to false for platforms that do not support insert with multiple rows of values.
+   */
+  protected boolean multiRowInsert = true;
+
+  /**
+   * The maximum number of bind parameters in a single statement (0 for no limit).
+   */
+  protected int maxBindParameters;
+
   protected boolean selectCountWithAlias;
 
   /**
@@ -436,6 +451,55 @@ public class DatabasePlatform {
     return idInExpandedForm;
   }
 
+  /**
+   * Return the maximum number of bind values in a single IN expression (0 for no limit).
+   * <p>
+   * Larger id lists are broken up into multiple IN expressions (or statements for deletes)
+   * that are each within this limit.
+   * </p>
+   */
+  public int getMaxInBinding() {
+    return maxInBinding;
+  }
+
+  /**
+   * Set the maximum number of bind values in a single IN expression (0 for no limit).
+   */
+  public void setMaxInBinding(int maxInBinding) {
+    this.maxInBinding = maxInBinding;
+  }
+
+  /**
+   * Return true if the platform supports insert with multiple rows of values.
+   */
+  public boolean isMultiRowInsert() {
+    return multiRowInsert;
+  }
+
+  /**
+   * Set to false if the platform does not support insert with multiple rows of values.
+   */
+  public void setMultiRowInsert(boolean multiRowInsert) {
+    this.multiRowInsert = multiRowInsert;
+  }
+
+  /**
+   * Return the maximum number of bind parameters in a single statement (0 for no limit).
+   * <p>
+   * This limits the number of rows in a multi-row insert statement.
+   * </p>
+   */
+  public int getMaxBindParameters() {
+    return maxBindParameters;
+  }
+
+  /**
+   * Set the maximum number of bind parameters in a single statement (0 for no limit).
+   */
+  public void setMaxBindParameters(int maxBindParameters) {
+    this.maxBindParameters = maxBindParameters;
+  }
+
   /**
    * Return true if the ResultSet TYPE_FORWARD_ONLY Hint should be used on
    * findIterate() and findVisit() PreparedStatements.
@@ -21,6 +21,14 @@ public class H2SequenceIdGenerator extends SequenceIdGenerator {
     this.unionBaseSql = " union " + baseSql;
   }
 
+  /**
+   * The sql is a union per id so limit the number of ids loaded per query.
+   */
+  @Override
+  protected int getMaxBatchSize() {
+    return 100;
+  }
+
   public String getSql(int batchSize) {
 
     StringBuilder sb = new StringBuilder();
@@ -19,6 +19,9 @@ public class MsSqlServer2000Platform extends DatabasePlatform {
     super();
     this.name = "mssqlserver2000";
     this.persistBatchOnCascade = PersistBatch.NONE;
+    this.maxInBinding = 2000;
+    this.maxBindParameters = 2100;
+    this.multiRowInsert = false;
     this.dbIdentity.setIdType(IdType.IDENTITY);
     this.dbIdentity.setSupportsGetGeneratedKeys(false);
     this.dbIdentity.setSelectLastInsertedIdTemplate("select @@IDENTITY as X");
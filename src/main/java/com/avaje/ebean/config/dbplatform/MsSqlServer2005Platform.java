@@ -22,6 +22,10 @@ public class MsSqlServer2005Platform extends DatabasePlatform {
     // due to lack of support for getGeneratedKeys in batch mode
     this.persistBatchOnCascade = PersistBatch.NONE;
     this.idInExpandedForm = true;
+    // SQL Server supports a maximum of 2100 parameters per statement
+    this.maxInBinding = 2000;
+    this.maxBindParameters = 2100;
+    this.multiRowInsert = false;
     this.selectCountWithAlias = true;
     this.sqlLimiter = new MsSqlServer2005SqlLimiter();
     this.platformDdl = new MsSqlServerDdl(this);
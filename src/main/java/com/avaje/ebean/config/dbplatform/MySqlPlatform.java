@@ -21,6 +21,7 @@ public class MySqlPlatform extends DatabasePlatform {
   public MySqlPlatform() {
     super();
     this.name = "mysql";
+    this.maxBindParameters = 65535;
     this.useExtraTransactionOnIterateSecondaryQueries = true;
     this.likeClause = "like ? escape''";
     this.selectCountWithAlias = true;
@@ -29,6 +29,9 @@ public class OraclePlatform extends DatabasePlatform {
     dbIdentity.setSupportsSequence(true);
 
     this.treatEmptyStringsAsNull = true;
+    // ORA-01795 maximum number of expressions in a list is 1000
+    this.maxInBinding = 1000;
+    this.multiRowInsert = false;
 
     this.openQuote = "\"";
     this.closeQuote = "\"";
@@ -26,6 +26,9 @@ public class PostgresPlatform extends DatabasePlatform {
     this.blobDbType = Types.LONGVARBINARY;
     this.clobDbType = Types.VARCHAR;
     this.nativeUuidType = true;
+    // the protocol supports a maximum of 32767 bind parameters per statement
+    this.maxInBinding = 5000;
+    this.maxBindParameters = 32767;
 
     this.dbEncrypt = new PostgresDbEncrypt();
     this.historySupport = new PostgresHistorySupport();
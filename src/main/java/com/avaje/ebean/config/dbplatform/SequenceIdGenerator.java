@@ -5,6 +5,8 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.persistence.PersistenceException;
 import javax.sql.DataSource;
@@ -16,20 +18,32 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Database sequence based IdGenerator.
+ * <p>
+ * Sequence values are loaded in batches into a lock free pool. When the pool runs
+ * low another batch is loaded in the background. The size of the batches loaded
+ * in the background adapts to the rate the ids are consumed, growing (up to
+ * {@link #getMaxBatchSize()}) when batches are used up quickly and shrinking back
+ * towards the configured batchSize when consumption slows.
+ * </p>
  */
 public abstract class SequenceIdGenerator implements PlatformIdGenerator {
 
   private static final Logger logger = LoggerFactory.getLogger(SequenceIdGenerator.class);
 
   /**
-   * Used to synchronise the idList access.
+   * Default maximum number of ids loaded in a single query.
    */
-  protected final Object monitor = new Object();
+  private static final int MAX_BATCH_SIZE = 5000;
 
   /**
-   * Used to synchronise background loading (loadBatchInBackground).
+   * A batch used up within this time means the load size should grow.
    */
-  protected final Object backgroundLoadMonitor = new Object();
+  private static final long FAST_CONSUMPTION_MILLIS = 1000;
+
+  /**
+   * A batch taking longer than this to be used up means the load size should shrink.
+   */
+  private static final long SLOW_CONSUMPTION_MILLIS = 60000;
 
   /**
    * The actual sequence name.
@@ -40,10 +54,58 @@ public abstract class SequenceIdGenerator implements PlatformIdGenerator {
 
   protected final BackgroundExecutor backgroundExecutor;
 
-  protected final ArrayList<Long> idList = new ArrayList<>(50);
-
+  /**
+   * The configured (and minimum) number of ids to load at a time.
+   */
   protected final int batchSize;
 
+  private final SequenceIdPool pool = new SequenceIdPool();
+
+  /**
+   * Set when background loading such that only one background load runs at a time.
+   */
+  private final AtomicBoolean backgroundLoading = new AtomicBoolean();
+
+  /**
+   * The current number of ids to load which adapts to the consumption rate.
+   */
+  private volatile int loadSize;
+
+  /**
+   * The time of the last background load (guarded by backgroundLoading).
+   */
+  private long lastBackgroundLoad;
+
+  /**
+   * No longer used (the ids are held in a lock free pool).
+   *
+   * @deprecated retained for subclasses, not used
+   */
+  @Deprecated
+  protected final Object monitor = new Object();
+
+  /**
+   * No longer used (background loading is guarded by a compare and set).
+   *
+   * @deprecated retained for subclasses, not used
+   */
+  @Deprecated
+  protected final Object backgroundLoadMonitor = new Object();
+
+  /**
+   * No longer holds the ids (the ids are held in a lock free pool) and is always empty.
+   *
+   * @deprecated retained for subclasses, use {@link #getAvailable()}
+   */
+  @Deprecated
+  protected final ArrayList<Long> idList = new ArrayList<>(0);
+
+  /**
+   * No longer used (background loading is guarded by a compare and set).
+   *
+   * @deprecated retained for subclasses, not used
+   */
+  @Deprecated
   protected int currentlyBackgroundLoading;
 
   /**
@@ -54,10 +116,22 @@ public abstract class SequenceIdGenerator implements PlatformIdGenerator {
     this.dataSource = ds;
     this.seqName = seqName;
     this.batchSize = batchSize;
+    this.loadSize = batchSize;
+    this.lastBackgroundLoad = System.currentTimeMillis();
   }
 
   public abstract String getSql(int batchSize);
 
+  /**
+   * Return the maximum number of ids to load in a single query.
+   * <p>
+   * Platforms where the sql grows with the batch size should override this.
+   * </p>
+   */
+  protected int getMaxBatchSize() {
+    return MAX_BATCH_SIZE;
+  }
+
   /**
    * Returns the sequence name.
    */
@@ -76,18 +150,18 @@ public abstract class SequenceIdGenerator implements PlatformIdGenerator {
    * If allocateSize is large load some sequences in a background thread.
    * <p>
    * For example, when inserting a bean with a cascade on a OneToMany with many
-   * beans Ebean can call this to ensure .
+   * beans or with saveAll() Ebean calls this to ensure the ids are loaded ahead of
+   * the inserts. Only the shortfall relative to the ids already available is loaded.
    * </p>
    */
   public void preAllocateIds(int allocateSize) {
     if (batchSize > 1 && allocateSize > batchSize) {
       // only bother if allocateSize is bigger than
       // the normal loading batchSize
-      if (allocateSize > 100) {
-        // max out at 100 for now
-        allocateSize = 100;
+      int shortfall = allocateSize - pool.available();
+      if (shortfall > 0) {
+        loadLargeAllocation(shortfall);
       }
-      loadLargeAllocation(allocateSize);
     }
   }
 
@@ -108,21 +182,22 @@ public abstract class SequenceIdGenerator implements PlatformIdGenerator {
    * </p>
    */
   public Object nextId(Transaction t) {
-    synchronized (monitor) {
 
-      if (idList.isEmpty()) {
-        loadMoreIds(batchSize, t);
-      }
-      Long nextId = idList.remove(0);
-
-      if (batchSize > 1) {
-        if (idList.size() <= batchSize / 2) {
-          loadBatchInBackground();
-        }
+    Long nextId = pool.poll();
+    if (nextId == null) {
+      // load synchronously taking the first id for ourselves
+      long[] ids = loadIds(loadSize, t);
+      if (ids.length == 0) {
+        throw new PersistenceException("No sequence values loaded for " + seqName);
       }
+      pool.add(ids, 1);
+      nextId = ids[0];
+    }
 
-      return nextId;
+    if (batchSize > 1 && pool.available() <= loadSize / 2) {
+      loadBatchInBackground();
     }
+    return nextId;
   }
 
   /**
@@ -130,49 +205,101 @@ public abstract class SequenceIdGenerator implements PlatformIdGenerator {
    */
   protected void loadBatchInBackground() {
 
-    // single threaded processing...
-    synchronized (backgroundLoadMonitor) {
-
-      if (currentlyBackgroundLoading > 0) {
-        // skip as already background loading
-        logger.debug("... skip background sequence load (another load in progress)");
-        return;
-      }
-
-      currentlyBackgroundLoading = batchSize;
+    if (!backgroundLoading.compareAndSet(false, true)) {
+      // skip as already background loading
+      logger.debug("... skip background sequence load (another load in progress)");
+      return;
+    }
 
+    adaptLoadSize();
+    final int numberToLoad = loadSize;
+    try {
       backgroundExecutor.execute(() -> {
-        loadMoreIds(batchSize, null);
-        synchronized (backgroundLoadMonitor) {
-          currentlyBackgroundLoading = 0;
+        try {
+          loadMoreIds(numberToLoad, null);
+        } finally {
+          backgroundLoading.set(false);
         }
       });
+    } catch (RuntimeException e) {
+      backgroundLoading.set(false);
+      throw e;
     }
   }
 
-  protected void loadMoreIds(final int numberToLoad, Transaction t) {
+  /**
+   * Adjust the load size based on how quickly the last batch was consumed.
+   */
+  private void adaptLoadSize() {
 
-    ArrayList<Long> newIds = getMoreIds(numberToLoad, t);
+    long now = System.currentTimeMillis();
+    long sinceLastLoad = now - lastBackgroundLoad;
+    lastBackgroundLoad = now;
 
-    if (logger.isDebugEnabled()) {
-      logger.debug("... seq:" + seqName + " loaded:" + numberToLoad + " ids:" + newIds);
+    int current = loadSize;
+    if (sinceLastLoad < FAST_CONSUMPTION_MILLIS) {
+      loadSize = Math.min(current * 2, Math.max(batchSize, getMaxBatchSize()));
+    } else if (sinceLastLoad > SLOW_CONSUMPTION_MILLIS) {
+      loadSize = Math.max(current / 2, batchSize);
     }
+  }
+
+  /**
+   * Return the current number of ids loaded at a time (adapts to the consumption rate).
+   */
+  public int getLoadSize() {
+    return loadSize;
+  }
+
+  /**
+   * Return the number of ids currently loaded and available.
+   */
+  public int getAvailable() {
+    return pool.available();
+  }
+
+  protected void loadMoreIds(final int numberToLoad, Transaction t) {
 
-    synchronized (monitor) {
-      for (Long newId : newIds) {
-        idList.add(newId);
+    int maxBatchSize = Math.max(batchSize, getMaxBatchSize());
+    int remaining = numberToLoad;
+    while (remaining > 0) {
+      int loadCount = Math.min(remaining, maxBatchSize);
+      long[] newIds = loadIds(loadCount, t);
+      if (logger.isDebugEnabled()) {
+        logger.debug("... seq:" + seqName + " loaded:" + newIds.length);
       }
+      if (newIds.length == 0) {
+        return;
+      }
+      pool.add(newIds, 0);
+      remaining -= loadCount;
     }
   }
 
   /**
    * Get more Id's by executing a query and reading the Id's returned.
+   *
+   * @deprecated override {@link #loadIds(int, Transaction)} which returns the ids without boxing
    */
+  @Deprecated
   protected ArrayList<Long> getMoreIds(int loadSize, Transaction t) {
+    long[] ids = loadIds(loadSize, t);
+    ArrayList<Long> newIds = new ArrayList<>(ids.length);
+    for (long id : ids) {
+      newIds.add(id);
+    }
+    return newIds;
+  }
+
+  /**
+   * Load more Id's by executing a query and reading the Id's returned.
+   */
+  protected long[] loadIds(int loadSize, Transaction t) {
 
     String sql = getSql(loadSize);
 
-    ArrayList<Long> newIds = new ArrayList<>(loadSize);
+    long[] newIds = new long[loadSize];
+    int count = 0;
 
     boolean useTxnConnection = t != null;
 
@@ -185,20 +312,23 @@ public abstract class SequenceIdGenerator implements PlatformIdGenerator {
       pstmt = c.prepareStatement(sql);
       rset = pstmt.executeQuery();
       while (rset.next()) {
-        newIds.add(rset.getLong(1));
+        if (count == newIds.length) {
+          newIds = Arrays.copyOf(newIds, count * 2);
+        }
+        newIds[count++] = rset.getLong(1);
       }
-      if (newIds.isEmpty()) {
+      if (count == 0) {
         throw new PersistenceException("Always expecting more than 1 row from " + sql);
       }
 
-      return newIds;
+      return (count == newIds.length) ? newIds : Arrays.copyOf(newIds, count);
 
     } catch (SQLException e) {
       if (e.getMessage().contains("Database is already closed")) {
         String msg = "Error getting SEQ when DB shutting down " + e.getMessage();
         logger.info(msg);
         System.out.println(msg);
-        return newIds;
+        return Arrays.copyOf(newIds, count);
       } else {
         throw new PersistenceException("Error getting sequence nextval", e);
       }
@@ -0,0 +1,68 @@
+package com.avaje.ebean.config.dbplatform;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock free pool of sequence values loaded in batches.
+ * <p>
+ * Each loaded batch is held as a primitive long[] with an atomic index such that
+ * taking an id is a CAS on the index of the head batch (no locking, no boxing and
+ * no array shifting). Exhausted batches are removed from the head of the queue.
+ * </p>
+ */
+final class SequenceIdPool {
+
+  private final ConcurrentLinkedQueue<Batch> batches = new ConcurrentLinkedQueue<>();
+
+  private final AtomicInteger available = new AtomicInteger();
+
+  /**
+   * Return the next id or null if the pool is empty.
+   */
+  Long poll() {
+    Batch batch;
+    while ((batch = batches.peek()) != null) {
+      int index = batch.next.getAndIncrement();
+      if (index < batch.ids.length) {
+        available.decrementAndGet();
+        return batch.ids[index];
+      }
+      // exhausted so remove it (if not already removed by another thread)
+      batches.remove(batch);
+    }
+    return null;
+  }
+
+  /**
+   * Add the ids to the pool skipping the first start ids (already taken).
+   */
+  void add(long[] ids, int start) {
+    if (start < ids.length) {
+      available.addAndGet(ids.length - start);
+      batches.offer(new Batch(ids, start));
+    }
+  }
+
+  /**
+   * Return the number of ids available in the pool.
+   */
+  int available() {
+    return available.get();
+  }
+
+  /**
+   * A batch of loaded ids.
+   */
+  private static final class Batch {
+
+    private final long[] ids;
+
+    private final AtomicInteger next;
+
+    Batch(long[] ids, int start) {
+      this.ids = ids;
+      this.next = new AtomicInteger(start);
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package com.avaje.ebean.meta;
+
+/**
+ * The reason a JDBC batch was flushed.
+ *
+ * @see MetaBatchFlushStatistic
+ */
+public enum BatchFlushCause {
+
+  /**
+   * The batch size was reached.
+   */
+  BATCH_SIZE,
+
+  /**
+   * A bean of a different top level type was added to the batch (the default behaviour
+   * with <code>Transaction.setBatchFlushOnTypeChange(true)</code>).
+   */
+  TYPE_CHANGE,
+
+  /**
+   * With flush on type change turned off a flush was still required to maintain
+   * the statement order (deletes or bean types with cyclic foreign keys).
+   */
+  DEPENDENCY,
+
+  /**
+   * Beans and UpdateSql or CallableSql were mixed in the batch.
+   */
+  MIXED,
+
+  /**
+   * A request that is not batched was executed.
+   */
+  NON_BATCH,
+
+  /**
+   * A query was executed with flush on query turned on.
+   */
+  QUERY,
+
+  /**
+   * A getter was called on a bean in the batch (typically to read a generated id).
+   */
+  GETTER,
+
+  /**
+   * The end of a cascading save or delete.
+   */
+  CASCADE,
+
+  /**
+   * The transaction was committed.
+   */
+  COMMIT,
+
+  /**
+   * Explicitly flushed via <code>Transaction.flushBatch()</code>.
+   */
+  EXPLICIT
+}
@@ -0,0 +1,30 @@
+package com.avaje.ebean.meta;
+
+/**
+ * Counts of JDBC batch flushes by their cause.
+ * <p>
+ * Used to see why batches are broken into smaller batches than the batch size. For example,
+ * a high TYPE_CHANGE count suggests that interleaving bean types in a transaction is limiting
+ * the batch sizes and that <code>Transaction.setBatchFlushOnTypeChange(false)</code> may help.
+ * </p>
+ *
+ * @see MetaInfoManager#collectBatchFlushStatistic(boolean)
+ */
+public interface MetaBatchFlushStatistic {
+
+  /**
+   * Return the number of flushes for the given cause.
+   */
+  long getCount(BatchFlushCause cause);
+
+  /**
+   * Return the total number of flushes.
+   */
+  long getTotalCount();
+
+  /**
+   * Return the distribution of the number of statements executed per flush.
+   */
+  MetaHistogram getSizeHistogram();
+
+}
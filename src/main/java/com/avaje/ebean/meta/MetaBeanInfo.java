@@ -1,5 +1,6 @@
 package com.avaje.ebean.meta;
 
+import java.util.Collections;
 import java.util.List;
 
 public interface MetaBeanInfo {
@@ -14,4 +15,25 @@ public interface MetaBeanInfo {
    */  
   List<MetaQueryPlanStatistic> collectAllQueryPlanStatistics(boolean reset);
 
+  /**
+   * Return the query plan cache statistics (hits, misses, evictions) for this bean type.
+   * <p>
+   * The default implementation returns null such that the bean type is not included
+   * in the query plan cache statistics.
+   * </p>
+   */
+  default MetaQueryPlanCacheStatistic getQueryPlanCacheStatistic(boolean reset) {
+    return null;
+  }
+
+  /**
+   * Collect the insert, update and delete statement statistics returning the non-empty statistics.
+   * <p>
+   * The default implementation returns an empty list.
+   * </p>
+   */
+  default List<MetaPersistStatistic> collectPersistStatistics(boolean reset) {
+    return Collections.emptyList();
+  }
+
 }
@@ -0,0 +1,61 @@
+package com.avaje.ebean.meta;
+
+/**
+ * A snapshot of a distribution of values such as execution times in microseconds
+ * or rows per execution.
+ * <p>
+ * The values are recorded in log scaled buckets so the percentiles are approximate with
+ * a relative error determined by the histogram precision (see
+ * {@link com.avaje.ebean.config.ServerConfig#setStatsHistogramPrecision(int)}).
+ * </p>
+ *
+ * @see MetaQueryPlanStatistic#getTimeHistogram()
+ * @see MetaPersistStatistic#getTimeHistogram()
+ */
+public interface MetaHistogram {
+
+  /**
+   * Return the number of values recorded.
+   */
+  long getCount();
+
+  /**
+   * Return the total of the values recorded.
+   */
+  long getTotal();
+
+  /**
+   * Return the max value recorded.
+   */
+  long getMax();
+
+  /**
+   * Return the mean of the values recorded.
+   */
+  long getMean();
+
+  /**
+   * Return the value at the given percentile (for example 99.0 for the 99th percentile).
+   * <p>
+   * This is the upper bound of the bucket containing the percentile (capped by the max value)
+   * and returns 0 when no values were recorded.
+   * </p>
+   */
+  long getValueAtPercentile(double percentile);
+
+  /**
+   * Return the median value.
+   */
+  long getP50();
+
+  /**
+   * Return the 95th percentile value.
+   */
+  long getP95();
+
+  /**
+   * Return the 99th percentile value.
+   */
+  long getP99();
+
+}
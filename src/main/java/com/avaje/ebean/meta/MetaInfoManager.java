@@ -1,5 +1,6 @@
 package com.avaje.ebean.meta;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -26,6 +27,75 @@ public interface MetaInfoManager {
    */
   List<MetaQueryPlanStatistic> collectQueryPlanStatistics(boolean reset);
 
+  /**
+   * Collect and return the insert, update and delete statement statistics for all the beans.
+   * <p>
+   * These include the distribution of execution times (for tail latency) and rows per
+   * execution. Statements with no executions (since the last collection with reset) are
+   * excluded.
+   * </p>
+   * <p>
+   * The default implementation returns an empty list.
+   * </p>
+   *
+   * @param reset
+   *          Set to true to reset the statistics after collection.
+   */
+  default List<MetaPersistStatistic> collectPersistStatistics(boolean reset) {
+    return Collections.emptyList();
+  }
+
+  /**
+   * Collect and return the query plan cache statistics for all the beans.
+   * <p>
+   * Note that this excludes the bean types that have not used the query plan cache
+   * (since the last collection with reset).
+   * </p>
+   * <p>
+   * The default implementation returns an empty list.
+   * </p>
+   *
+   * @param reset
+   *          Set to true to reset the hit, miss and eviction counters after collection.
+   */
+  default List<MetaQueryPlanCacheStatistic> collectQueryPlanCacheStatistics(boolean reset) {
+    return Collections.emptyList();
+  }
+
+  /**
+   * Collect and return the counts of JDBC batch flushes by their cause.
+   * <p>
+   * Only flushes that executed statements are counted.
+   * </p>
+   * <p>
+   * The default implementation returns null as the batch flushes are not counted.
+   * </p>
+   *
+   * @param reset
+   *          Set to true to reset the counters after collection.
+   */
+  default MetaBatchFlushStatistic collectBatchFlushStatistic(boolean reset) {
+    return null;
+  }
+
+  /**
+   * Collect and return the server wide metrics for transactions, queries, batch flushes,
+   * the L2 caches and background processing.
+   * <p>
+   * The metrics are counted separately such that a reset does not reset the batch flush
+   * statistics or the L2 cache statistics.
+   * </p>
+   * <p>
+   * The default implementation returns null as the server metrics are not collected.
+   * </p>
+   *
+   * @param reset
+   *          Set to true to reset the counters after collection.
+   */
+  default MetaServerMetrics collectServerMetrics(boolean reset) {
+    return null;
+  }
+
   /**
    * Collect and return the ObjectGraphNode statistics.
    * <p>
@@ -0,0 +1,59 @@
+package com.avaje.ebean.meta;
+
+/**
+ * Execution statistics of an insert, update or delete statement of a bean type.
+ * <p>
+ * Updates have a statement per set of changed properties (update plan) so each has its
+ * own statistics. Batched statements record an execution per executed JDBC batch with the
+ * rows being the number of statements in the batch.
+ * </p>
+ *
+ * @see MetaInfoManager#collectPersistStatistics(boolean)
+ */
+public interface MetaPersistStatistic {
+
+  /**
+   * The type of DML statement.
+   */
+  enum Type {
+    INSERT,
+    UPDATE,
+    DELETE
+  }
+
+  /**
+   * Return the bean type the statement is for.
+   */
+  Class<?> getBeanType();
+
+  /**
+   * Return the type of statement.
+   */
+  Type getType();
+
+  /**
+   * Return the sql executed.
+   */
+  String getSql();
+
+  /**
+   * Return the number of executions.
+   */
+  long getExecutionCount();
+
+  /**
+   * Return the time collection started (or was last reset).
+   */
+  long getCollectionStart();
+
+  /**
+   * Return the distribution of the execution times in microseconds.
+   */
+  MetaHistogram getTimeHistogram();
+
+  /**
+   * Return the distribution of the rows per execution.
+   */
+  MetaHistogram getRowsHistogram();
+
+}
@@ -0,0 +1,46 @@
+package com.avaje.ebean.meta;
+
+/**
+ * Statistics for the query plan cache of a bean type.
+ * <p>
+ * Query plans are bounded per bean type and server wide with the least recently
+ * executed query plans evicted when the limit is exceeded. A high eviction count
+ * relative to the miss count suggests the queries are too dynamic (varying in list
+ * sizes, optional predicates etc) or that the limit should be increased.
+ * </p>
+ *
+ * @see MetaInfoManager#collectQueryPlanCacheStatistics(boolean)
+ */
+public interface MetaQueryPlanCacheStatistic {
+
+  /**
+   * Return the bean type the query plans are for.
+   */
+  Class<?> getBeanType();
+
+  /**
+   * Return the current number of query plans.
+   */
+  int getSize();
+
+  /**
+   * Return the maximum number of query plans for this bean type (0 for no limit).
+   */
+  int getMaxSize();
+
+  /**
+   * Return the number of times a query plan was found in the cache.
+   */
+  long getHitCount();
+
+  /**
+   * Return the number of times a query plan was not found in the cache.
+   */
+  long getMissCount();
+
+  /**
+   * Return the number of query plans evicted from the cache.
+   */
+  long getEvictCount();
+
+}
@@ -88,4 +88,17 @@ public interface MetaQueryPlanStatistic {
    */
   List<MetaQueryPlanOriginCount> getOrigins();
 
+  /**
+   * Return the distribution of the execution times in microseconds.
+   * <p>
+   * Use this for the tail latency (for example p99) of the query.
+   * </p>
+   */
+  MetaHistogram getTimeHistogram();
+
+  /**
+   * Return the distribution of the number of beans loaded per execution.
+   */
+  MetaHistogram getLoadedBeansHistogram();
+
 }
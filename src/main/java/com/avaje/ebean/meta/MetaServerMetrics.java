@@ -0,0 +1,95 @@
+package com.avaje.ebean.meta;
+
+import com.avaje.ebean.cache.ServerCacheStatistics;
+
+import java.util.List;
+
+/**
+ * Server wide metrics for the transaction, query, persist, cache and background layers.
+ * <p>
+ * The counters are pre-aggregated as the work is executed and collected (and optionally
+ * reset) as a snapshot. The post commit backlog and background active counts are current
+ * values that are not reset.
+ * </p>
+ *
+ * @see MetaInfoManager#collectServerMetrics(boolean)
+ * @see MetricsListener
+ */
+public interface MetaServerMetrics {
+
+  /**
+   * Return the time collection started (or was last reset).
+   */
+  long getCollectionStart();
+
+  /**
+   * Return the number of transactions started.
+   */
+  long getTransactionBeginCount();
+
+  /**
+   * Return the number of transactions committed.
+   */
+  long getTransactionCommitCount();
+
+  /**
+   * Return the number of transactions rolled back.
+   */
+  long getTransactionRollbackCount();
+
+  /**
+   * Return the distribution of the time in microseconds waiting to obtain a connection
+   * when starting a transaction.
+   */
+  MetaHistogram getConnectionWaitHistogram();
+
+  /**
+   * Return the distribution of the commit times in microseconds.
+   * <p>
+   * This includes the flush of any batched statements and the JDBC commit.
+   * </p>
+   */
+  MetaHistogram getCommitHistogram();
+
+  /**
+   * Return the number of committed transactions with post commit processing (L2 cache
+   * updates, persist listeners, cluster and doc store notification) still to complete.
+   */
+  long getPostCommitBacklog();
+
+  /**
+   * Return the number of queries executed.
+   */
+  long getQueryCount();
+
+  /**
+   * Return the number of those queries that were lazy loading.
+   */
+  long getLazyLoadCount();
+
+  /**
+   * Return the JDBC batch flush counts and sizes.
+   */
+  MetaBatchFlushStatistic getBatchFlushStatistic();
+
+  /**
+   * Return the total hits across the L2 caches.
+   */
+  long getCacheHitCount();
+
+  /**
+   * Return the total misses across the L2 caches.
+   */
+  long getCacheMissCount();
+
+  /**
+   * Return the statistics of the L2 caches that have been used.
+   */
+  List<ServerCacheStatistics> getCacheStatistics();
+
+  /**
+   * Return the number of background tasks currently executing.
+   */
+  int getBackgroundActiveCount();
+
+}
@@ -0,0 +1,30 @@
+package com.avaje.ebean.meta;
+
+/**
+ * Listener that is periodically notified with the server metrics.
+ * <p>
+ * Register via {@link com.avaje.ebean.config.ServerConfig#add(MetricsListener)}. The metrics
+ * are collected (with reset) every {@link com.avaje.ebean.config.ServerConfig#setMetricsCollectionSecs(int)}
+ * seconds in a background thread so each notification holds the counts for that period.
+ * A listener that also implements {@link com.avaje.ebean.plugin.Plugin} is configured with
+ * the server like any other plugin.
+ * </p>
+ * <pre>{@code
+ *
+ *   serverConfig.add((MetricsListener) metrics -> {
+ *     // send to the monitoring system
+ *     gauge("ebean.commit.p99", metrics.getCommitHistogram().getP99());
+ *     ...
+ *   });
+ *
+ * }</pre>
+ */
+@FunctionalInterface
+public interface MetricsListener {
+
+  /**
+   * Notify with the metrics collected for the period.
+   */
+  void metrics(MetaServerMetrics metrics);
+
+}
@@ -1,5 +1,7 @@
 package com.avaje.ebeaninternal.api;
 
+import com.avaje.ebeaninternal.server.deploy.BeanDescriptor;
+
 import java.util.Set;
 
 /**
@@ -7,14 +9,31 @@ import java.util.Set;
  */
 public class HashQueryPlanBuilder {
 
+  private final BeanDescriptor<?> descriptor;
+
   private int planHash;
   
   private int bindCount;
 
   public HashQueryPlanBuilder() {
+    this(null);
+  }
+
+  /**
+   * Create for a query on the given bean type.
+   */
+  public HashQueryPlanBuilder(BeanDescriptor<?> descriptor) {
+    this.descriptor = descriptor;
     this.planHash = 92821;
   }
 
+  /**
+   * Return the descriptor of the bean type being queried (null if not known).
+   */
+  public BeanDescriptor<?> getBeanDescriptor() {
+    return descriptor;
+  }
+
   public String toString() {
     return planHash+":"+bindCount;
   }
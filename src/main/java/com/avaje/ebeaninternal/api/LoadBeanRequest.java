@@ -35,16 +35,21 @@ public class LoadBeanRequest extends LoadRequest {
   }
 
   /**
-   * Construct for secondary query.
+   * Construct for secondary query (potentially using its own transaction).
    */
-  public LoadBeanRequest(LoadBeanBuffer LoadBuffer, OrmQueryRequest<?> parentRequest) {
-    this(LoadBuffer, parentRequest, false, null, false);
+  public LoadBeanRequest(LoadBeanBuffer LoadBuffer, OrmQueryRequest<?> parentRequest, boolean ownTransaction) {
+    this(LoadBuffer, parentRequest, false, null, false, ownTransaction);
   }
 
   private LoadBeanRequest(LoadBeanBuffer loadBuffer, OrmQueryRequest<?> parentRequest, boolean lazy,
                           String lazyLoadProperty, boolean loadCache) {
+    this(loadBuffer, parentRequest, lazy, lazyLoadProperty, loadCache, false);
+  }
+
+  private LoadBeanRequest(LoadBeanBuffer loadBuffer, OrmQueryRequest<?> parentRequest, boolean lazy,
+                          String lazyLoadProperty, boolean loadCache, boolean ownTransaction) {
 
-    super(parentRequest, lazy);
+    super(parentRequest, lazy, ownTransaction);
     this.loadBuffer = loadBuffer;
     this.batch = loadBuffer.getBatch();
     this.lazyLoadProperty = lazyLoadProperty;
@@ -36,14 +36,18 @@ public class LoadManyRequest extends LoadRequest {
   }
 
   /**
-   * Construct for secondary query.
+   * Construct for secondary query (potentially using its own transaction).
    */
-  public LoadManyRequest(LoadManyBuffer loadContext, OrmQueryRequest<?> parentRequest) {
-    this(loadContext, parentRequest, false, false, false);
+  public LoadManyRequest(LoadManyBuffer loadContext, OrmQueryRequest<?> parentRequest, boolean ownTransaction) {
+    this(loadContext, parentRequest, false, false, false, ownTransaction);
   }
 
   private LoadManyRequest(LoadManyBuffer loadContext, OrmQueryRequest<?> parentRequest,  boolean lazy, boolean onlyIds, boolean loadCache) {
-    super(parentRequest, lazy);
+    this(loadContext, parentRequest, lazy, onlyIds, loadCache, false);
+  }
+
+  private LoadManyRequest(LoadManyBuffer loadContext, OrmQueryRequest<?> parentRequest,  boolean lazy, boolean onlyIds, boolean loadCache, boolean ownTransaction) {
+    super(parentRequest, lazy, ownTransaction);
     this.loadContext = loadContext;
     this.batch = loadContext.getBatch();
     this.onlyIds = onlyIds;
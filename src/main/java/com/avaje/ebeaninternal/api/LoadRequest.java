@@ -15,9 +15,17 @@ public abstract class LoadRequest {
   protected final boolean lazy;
 
 	public LoadRequest(OrmQueryRequest<?> parentRequest, boolean lazy) {
+	  this(parentRequest, lazy, false);
+	}
+
+  /**
+   * Construct with ownTransaction true for a secondary query executing concurrently with
+   * other secondary queries (and hence not using the transaction of the parent request).
+   */
+	public LoadRequest(OrmQueryRequest<?> parentRequest, boolean lazy, boolean ownTransaction) {
 
 	  this.parentRequest = parentRequest;
-		this.transaction = parentRequest == null ? null : parentRequest.getTransaction();
+		this.transaction = (parentRequest == null || ownTransaction) ? null : parentRequest.getTransaction();
 		this.lazy = lazy;
 	}
 
@@ -32,7 +40,10 @@ public abstract class LoadRequest {
    */
   public void logSecondaryQuery(SpiQuery<?> query) {
     if (parentRequest != null && parentRequest.isLogSecondaryQuery()) {
-      parentRequest.getQuery().logSecondaryQuery(query);
+      // synchronized as secondary queries can execute concurrently
+      synchronized (parentRequest) {
+        parentRequest.getQuery().logSecondaryQuery(query);
+      }
     }
   }
   
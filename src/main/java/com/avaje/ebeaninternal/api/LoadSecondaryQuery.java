@@ -13,6 +13,11 @@ public interface LoadSecondaryQuery {
 
 	/**
 	 * Execute the secondary query with a given batch size.
+	 *
+	 * @param parentRequest  The request of the origin query
+	 * @param forEach        True if the origin query is a findEach() type query
+	 * @param ownTransaction True to execute using its own transaction (rather than the transaction of the
+	 *                       parent request) such that it can run concurrently with other secondary queries
 	 */
-	void loadSecondaryQuery(OrmQueryRequest<?> parentRequest, boolean forEach);
+	void loadSecondaryQuery(OrmQueryRequest<?> parentRequest, boolean forEach, boolean ownTransaction);
 }
@@ -3,6 +3,7 @@ package com.avaje.ebeaninternal.api;
 import com.avaje.ebean.TransactionCallback;
 import com.avaje.ebean.annotation.DocStoreMode;
 import com.avaje.ebean.bean.PersistenceContext;
+import com.avaje.ebean.config.BulkInsertMode;
 import com.avaje.ebean.config.PersistBatch;
 import com.avaje.ebean.event.changelog.BeanChange;
 import com.avaje.ebean.event.changelog.ChangeSet;
@@ -263,6 +264,21 @@ public class ScopedTransaction implements SpiTransaction {
     transaction.setBatchFlushOnMixed(batchFlushOnMixed);
   }
 
+  @Override
+  public void setBatchFlushOnTypeChange(boolean batchFlushOnTypeChange) {
+    transaction.setBatchFlushOnTypeChange(batchFlushOnTypeChange);
+  }
+
+  @Override
+  public void setBulkInsert(BulkInsertMode bulkInsert) {
+    transaction.setBulkInsert(bulkInsert);
+  }
+
+  @Override
+  public BulkInsertMode getBulkInsert() {
+    return transaction.getBulkInsert();
+  }
+
   @Override
   public void setBatchFlushOnQuery(boolean batchFlushOnQuery) {
     transaction.setBatchFlushOnQuery(batchFlushOnQuery);
@@ -368,6 +384,16 @@ public class ScopedTransaction implements SpiTransaction {
     transaction.flushBatchOnCascade();
   }
 
+  @Override
+  public void flushBatchOnQuery() {
+    transaction.flushBatchOnQuery();
+  }
+
+  @Override
+  public void flushBatchOnGetter() {
+    transaction.flushBatchOnGetter();
+  }
+
   @Override
   public void flushBatchOnRollback() {
     transaction.flushBatchOnRollback();
@@ -11,4 +11,9 @@ public interface SpiBackgroundExecutor extends BackgroundExecutor {
 	 * Shutdown any associated thread pools.
 	 */
 	void shutdown();
+
+	/**
+	 * Return the number of background tasks currently executing.
+	 */
+	int getActiveCount();
 }
@@ -3,6 +3,8 @@ package com.avaje.ebeaninternal.api;
 import com.avaje.ebean.EbeanServer;
 import com.avaje.ebean.PersistenceContextScope;
 import com.avaje.ebean.Query;
+import com.avaje.ebean.QueryEachWhileConsumer;
+import com.avaje.ebean.SqlQuery;
 import com.avaje.ebean.Transaction;
 import com.avaje.ebean.TxScope;
 import com.avaje.ebean.bean.BeanCollectionLoader;
@@ -152,6 +154,16 @@ public interface SpiEbeanServer extends EbeanServer, BeanLoader, BeanCollectionL
    */
   <T> int findRowCountWithCopy(Query<T> query, Transaction t);
 
+  /**
+   * Execute the ORM query reading the rows into DTO beans passed to the consumer.
+   */
+  <T, D> void findDtoEach(Query<T> query, Class<D> dtoType, QueryEachWhileConsumer<D> consumer, Transaction t);
+
+  /**
+   * Execute the SqlQuery reading the rows into DTO beans passed to the consumer.
+   */
+  <D> void findDtoEach(SqlQuery query, Class<D> dtoType, QueryEachWhileConsumer<D> consumer, Transaction t);
+
   /**
    * Load a batch of Associated One Beans.
    */
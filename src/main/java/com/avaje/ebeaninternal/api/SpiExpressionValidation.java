@@ -27,6 +27,14 @@ public class SpiExpressionValidation {
     }
   }
 
+  /**
+   * Register an expression that is raw sql or a sub-query (and as such depends on
+   * columns that are not known as properties).
+   */
+  public void validateRaw() {
+    // raw expressions are not validated
+  }
+
   /**
    * Return the set of properties considered as having unknown paths.
    */
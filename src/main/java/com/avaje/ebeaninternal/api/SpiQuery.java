@@ -83,6 +83,11 @@ public interface SpiQuery<T> extends Query<T> {
      */
     ATTRIBUTE,
 
+    /**
+     * Find returning DTO beans.
+     */
+    DTO,
+
     /**
      * Find rowCount.
      */
@@ -101,7 +106,14 @@ public interface SpiQuery<T> extends Query<T> {
     /**
      * Update query.
      */
-    UPDATE,
+    UPDATE;
+
+    /**
+     * Return true if this type modifies data (delete or update query).
+     */
+    public boolean isUpdate() {
+      return this == DELETE || this == UPDATE;
+    }
   }
 
   enum TemporalMode {
@@ -636,6 +648,11 @@ public interface SpiQuery<T> extends Query<T> {
    */
   boolean isDisableLazyLoading();
 
+  /**
+   * Return the parallel secondary queries setting (null means use the server default).
+   */
+  Boolean getParallelSecondaryQueries();
+
   /**
    * Internally set by Ebean when this query must use the DISTINCT keyword.
    * <p>
@@ -719,6 +736,11 @@ public interface SpiQuery<T> extends Query<T> {
    */
   Set<String> validate(BeanType<T> desc);
 
+  /**
+   * Visit the where, having and order by properties of the query with the given validation.
+   */
+  void validate(SpiExpressionValidation validation);
+
   /**
    * Return the properties for an update query.
    */
@@ -235,6 +235,16 @@ public interface SpiTransaction extends Transaction {
    */
   void flushBatchOnCascade();
 
+  /**
+   * Flush the batch prior to executing a query.
+   */
+  void flushBatchOnQuery();
+
+  /**
+   * Flush the batch as a getter was called on a bean in the batch.
+   */
+  void flushBatchOnGetter();
+
   /**
    * If batch was on then effectively clear the batch such that we can handle exceptions and continue.
    */
@@ -91,6 +91,27 @@ public class TransactionEvent implements Serializable {
     eventTables.add(table);
   }
 
+  /**
+   * Add all the tables, beans and deletes by id of another event to this event.
+   */
+  public void add(TransactionEvent other) {
+    if (other.eventTables != null) {
+      add(other.eventTables);
+    }
+    if (other.eventBeans != null) {
+      if (eventBeans == null) {
+        eventBeans = new TransactionEventBeans();
+      }
+      eventBeans.requests.addAll(other.eventBeans.requests);
+    }
+    if (other.deleteByIdMap != null) {
+      if (deleteByIdMap == null) {
+        deleteByIdMap = new DeleteByIdMap();
+      }
+      deleteByIdMap.addAll(other.deleteByIdMap);
+    }
+  }
+
   /**
    * Add a inserted updated or deleted bean to the event.
    */
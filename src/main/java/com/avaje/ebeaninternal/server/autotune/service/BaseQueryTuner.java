@@ -124,7 +124,7 @@ public class BaseQueryTuner {
   }
 
   /**
-   * Return false for row count, find ids, subQuery, delete and Versions queries.
+   * Return false for row count, find ids, DTO, subQuery, delete and Versions queries.
    * <p>
    * These queries are not applicable for autoTune in that they don't have a select/fetch (fetch group).
    * </p>
@@ -138,6 +138,7 @@ public class BaseQueryTuner {
     switch (type) {
       case ROWCOUNT:
       case ID_LIST:
+      case DTO:
       case DELETE:
       case SUBQUERY:
         return false;
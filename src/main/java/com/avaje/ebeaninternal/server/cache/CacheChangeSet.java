@@ -17,7 +17,7 @@ public class CacheChangeSet {
 
   private final List<CacheChange> entries = new ArrayList<>();
 
-  private final Set<BeanDescriptor<?>> queryCaches = new HashSet<>();
+  private final Map<BeanDescriptor<?>, QueryChange> queryChangeMap = new LinkedHashMap<>();
 
   private final Map<ManyKey, ManyChange> manyChangeMap = new HashMap<>();
 
@@ -41,8 +41,8 @@ public class CacheChangeSet {
    * Return the set of table changes to process invalidation for entities based on views.
    */
   public Set<String> apply() {
-    for (BeanDescriptor<?> entry : queryCaches) {
-      entry.queryCacheClear();
+    for (QueryChange entry : queryChangeMap.values()) {
+      entry.apply();
     }
     for (CacheChange entry : entries) {
       entry.apply();
@@ -57,7 +57,32 @@ public class CacheChangeSet {
    * Add an entry to clear a query cache.
    */
   public void addClearQuery(BeanDescriptor<?> descriptor) {
-    queryCaches.add(descriptor);
+    query(descriptor).setClear();
+  }
+
+  /**
+   * Add an insert (with the plain scalar values of the inserted bean) for query cache invalidation.
+   */
+  public void addQueryInsert(BeanDescriptor<?> descriptor, Map<String, Object> values) {
+    query(descriptor).addInsert(values);
+  }
+
+  /**
+   * Add an update (with the changed property names) for query cache invalidation.
+   */
+  public void addQueryUpdate(BeanDescriptor<?> descriptor, Object id, Set<String> changed) {
+    query(descriptor).addUpdate(id, changed);
+  }
+
+  /**
+   * Add a delete for query cache invalidation.
+   */
+  public void addQueryDelete(BeanDescriptor<?> descriptor, Object id) {
+    query(descriptor).addDelete(id);
+  }
+
+  private QueryChange query(BeanDescriptor<?> descriptor) {
+    return queryChangeMap.computeIfAbsent(descriptor, QueryChange::new);
   }
 
   /**
@@ -130,6 +155,84 @@ public class CacheChangeSet {
     return manyChange;
   }
 
+  /**
+   * Changes to invalidate the query cache of a bean type.
+   */
+  private static class QueryChange implements CacheChange {
+
+    final BeanDescriptor<?> desc;
+
+    final List<Map<String, Object>> inserts = new ArrayList<>();
+
+    final Map<Object, Set<String>> updates = new LinkedHashMap<>();
+
+    final Set<Object> deletes = new HashSet<>();
+
+    boolean clear;
+
+    QueryChange(BeanDescriptor<?> desc) {
+      this.desc = desc;
+    }
+
+    void setClear() {
+      clear = true;
+    }
+
+    void addInsert(Map<String, Object> values) {
+      if (!clear) {
+        inserts.add(values);
+      }
+    }
+
+    void addUpdate(Object id, Set<String> changed) {
+      if (!clear) {
+        Set<String> existing = updates.get(id);
+        if (existing == null || changed == null) {
+          updates.put(id, changed);
+        } else {
+          existing.addAll(changed);
+        }
+      }
+    }
+
+    void addDelete(Object id) {
+      if (!clear) {
+        deletes.add(id);
+      }
+    }
+
+    /**
+     * Return true if the query cache entry can be affected by these changes.
+     */
+    boolean isAffected(QueryCacheEntry entry) {
+      for (Map<String, Object> insert : inserts) {
+        if (entry.isAffectedByInsert(insert)) {
+          return true;
+        }
+      }
+      for (Map.Entry<Object, Set<String>> update : updates.entrySet()) {
+        if (entry.isAffectedByUpdate(update.getKey(), update.getValue())) {
+          return true;
+        }
+      }
+      for (Object id : deletes) {
+        if (entry.isAffectedByDelete(id)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public void apply() {
+      if (clear) {
+        desc.queryCacheClear();
+      } else {
+        desc.queryCacheRemoveIf(this::isAffected);
+      }
+    }
+  }
+
   /**
    * Changes for a specific many property.
    */
@@ -1,5 +1,7 @@
 package com.avaje.ebeaninternal.server.cache;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
@@ -10,14 +12,59 @@ import java.util.Map;
 
 /**
  * Data held in the bean cache for cached beans.
+ * <p>
+ * The data is held either by property position (with a bitmask of the loaded properties)
+ * when the bean type has a {@link CachedBeanSchema} or otherwise as a map keyed by property name.
+ * </p>
+ * <p>
+ * The serialised form starts with a marker (a negative long holding the format) that data written
+ * by earlier versions can not start with (as they start with the non-negative bean version). Data
+ * with an unrecognised marker (for example data written by an earlier version and still held in a
+ * distributed cache) reads as stale.
+ * </p>
  */
 public class CachedBeanData implements Externalizable {
 
+  /**
+   * Marker of the serialised form with the format in the low byte.
+   */
+  private static final long MARKER = 0xCBD0EBEA00000000L;
+
+  private static final long MARKER_MASK = 0xFFFFFFFFFFFFFF00L;
+
+  private static final byte FORMAT_MAP = 0;
+
+  private static final byte FORMAT_POSITIONAL = 1;
+
   private long whenCreated;
   private long version;
   private String discValue;
+
+  /**
+   * The data keyed by property name (null when held by position).
+   */
   private Map<String, Object> data;
 
+  /**
+   * The positional layout (null when held as a map).
+   */
+  private CachedBeanSchema schema;
+
+  /**
+   * The values by property position.
+   */
+  private Object[] values;
+
+  /**
+   * Bitmask of the loaded property positions.
+   */
+  private long[] loaded;
+
+  /**
+   * True when the data was written with a different layout of the bean type.
+   */
+  private transient boolean stale;
+
   /**
    * The sharable bean is effectively transient (near cache only).
    */
@@ -34,14 +81,65 @@ public class CachedBeanData implements Externalizable {
     this.version = version;
   }
 
+  /**
+   * Construct from a loaded bean with the values held by position.
+   */
+  public CachedBeanData(Object sharableBean, String discValue, CachedBeanSchema schema, Object[] values, long[] loaded, long version) {
+    this.whenCreated = System.currentTimeMillis();
+    this.sharableBean = sharableBean;
+    this.discValue = discValue;
+    this.schema = schema;
+    this.values = values;
+    this.loaded = loaded;
+    this.version = version;
+  }
+
   /**
    * Construct from serialisation.
    */
   public CachedBeanData() {
   }
 
+  /**
+   * Return a new loaded bitmask for the given number of positions.
+   */
+  static long[] newLoaded(int size) {
+    return new long[(size + 63) >>> 6];
+  }
+
+  /**
+   * Return true if the position is set in the loaded bitmask.
+   */
+  static boolean isSet(long[] loaded, int position) {
+    return (loaded[position >>> 6] & (1L << position)) != 0;
+  }
+
+  /**
+   * Set the position in the loaded bitmask.
+   */
+  static void set(long[] loaded, int position) {
+    loaded[position >>> 6] |= (1L << position);
+  }
+
   @Override
   public void writeExternal(ObjectOutput out) throws IOException {
+    if (schema != null) {
+      out.writeLong(MARKER | FORMAT_POSITIONAL);
+      out.writeLong(schema.getHash());
+      writeHeader(out);
+      schema.write(out, values, loaded);
+    } else {
+      out.writeLong(MARKER | FORMAT_MAP);
+      writeHeader(out);
+      out.writeInt(data.size());
+      for (Map.Entry<String, Object> entry : data.entrySet()) {
+        out.writeUTF(entry.getKey());
+        out.writeObject(entry.getValue());
+      }
+    }
+  }
+
+  private void writeHeader(ObjectOutput out) throws IOException {
     out.writeLong(version);
     out.writeLong(whenCreated);
     boolean hasDisc = discValue != null;
@@ -49,31 +147,91 @@ public class CachedBeanData implements Externalizable {
     if (hasDisc) {
       out.writeUTF(discValue);
     }
-    out.writeInt(data.size());
-    for (Map.Entry<String, Object> entry : data.entrySet()) {
-      out.writeUTF(entry.getKey());
-      out.writeObject(entry.getValue());
-    }
   }
 
   @Override
   public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+    long marker = in.readLong();
+    if ((marker & MARKER_MASK) != MARKER) {
+      // written by an earlier version (or not recognised) so reject the data
+      readStale();
+      return;
+    }
+    int format = (int) (marker & 0xFF);
+    if (format == FORMAT_POSITIONAL) {
+      long hash = in.readLong();
+      readHeader(in);
+      schema = CachedBeanSchema.forHash(hash);
+      if (schema == null) {
+        // written with a different layout of the bean type so reject the data
+        readStale();
+        return;
+      }
+      values = new Object[schema.size()];
+      loaded = newLoaded(schema.size());
+      schema.read(in, values, loaded);
+
+    } else if (format != FORMAT_MAP) {
+      readStale();
+
+    } else {
+      readHeader(in);
+      data = new LinkedHashMap<>();
+      int count = in.readInt();
+      for (int i = 0; i < count; i++) {
+        String key = in.readUTF();
+        Object val = in.readObject();
+        data.put(key, val);
+      }
+    }
+  }
+
+  private void readStale() {
+    stale = true;
+    data = new LinkedHashMap<>();
+  }
+
+  private void readHeader(ObjectInput in) throws IOException {
     version = in.readLong();
     whenCreated = in.readLong();
     if (in.readBoolean()) {
       discValue = in.readUTF();
     }
-    data = new LinkedHashMap<>();
-    int count = in.readInt();
-    for (int i = 0; i < count; i++) {
-      String key = in.readUTF();
-      Object val = in.readObject();
-      data.put(key, val);
+  }
+
+  /**
+   * Write the values of an embedded bean by position.
+   */
+  void writePositional(DataOutput out, CachedBeanSchema embeddedSchema) throws IOException {
+    if (schema == embeddedSchema) {
+      embeddedSchema.write(out, values, loaded);
+    } else {
+      // held as a map so convert to positional
+      Object[] embeddedValues = new Object[embeddedSchema.size()];
+      long[] embeddedLoaded = newLoaded(embeddedSchema.size());
+      for (Map.Entry<String, Object> entry : getData().entrySet()) {
+        int position = embeddedSchema.position(entry.getKey());
+        if (position > -1) {
+          embeddedValues[position] = entry.getValue();
+          set(embeddedLoaded, position);
+        }
+      }
+      embeddedSchema.write(out, embeddedValues, embeddedLoaded);
     }
   }
 
+  /**
+   * Read the values of an embedded bean by position.
+   */
+  static CachedBeanData readPositional(DataInput in, CachedBeanSchema embeddedSchema) throws IOException {
+    Object[] values = new Object[embeddedSchema.size()];
+    long[] loaded = newLoaded(embeddedSchema.size());
+    embeddedSchema.read(in, values, loaded);
+    return new CachedBeanData(null, null, embeddedSchema, values, loaded, 0);
+  }
+
   public String toString() {
-    return data.toString();
+    return getData().toString();
   }
 
   /**
@@ -82,8 +240,26 @@ public class CachedBeanData implements Externalizable {
    */
   public CachedBeanData update(Map<String, Object> changes, long version) {
 
+    if (schema != null) {
+      Object[] copyValues = values.clone();
+      long[] copyLoaded = loaded.clone();
+      for (Map.Entry<String, Object> entry : changes.entrySet()) {
+        int position = schema.position(entry.getKey());
+        if (position == -1) {
+          return updateMap(changes, version);
+        }
+        copyValues[position] = entry.getValue();
+        set(copyLoaded, position);
+      }
+      return new CachedBeanData(null, discValue, schema, copyValues, copyLoaded, version);
+    }
+    return updateMap(changes, version);
+  }
+
+  private CachedBeanData updateMap(Map<String, Object> changes, long version) {
+
     Map<String, Object> copy = new HashMap<>();
-    copy.putAll(data);
+    copy.putAll(getData());
     copy.putAll(changes);
     return new CachedBeanData(null, discValue, copy, version);
   }
@@ -109,6 +285,14 @@ public class CachedBeanData implements Externalizable {
     return discValue;
   }
 
+  /**
+   * Return true if the data was written with a different layout of the bean type
+   * and should be treated as a cache miss.
+   */
+  public boolean isStale() {
+    return stale;
+  }
+
   /**
    * Return a sharable (immutable read only) bean. Near cache only use.
    */
@@ -120,6 +304,10 @@ public class CachedBeanData implements Externalizable {
    * Return true if the property is held.
    */
   public boolean isLoaded(String propertyName) {
+    if (schema != null) {
+      int position = schema.position(propertyName);
+      return position > -1 && isSet(loaded, position);
+    }
     return data.containsKey(propertyName);
   }
 
@@ -127,6 +315,10 @@ public class CachedBeanData implements Externalizable {
    * Return the value for a given property name.
    */
   public Object getData(String propertyName) {
+    if (schema != null) {
+      int position = schema.position(propertyName);
+      return (position > -1) ? values[position] : null;
+    }
     return data.get(propertyName);
   }
 
@@ -134,6 +326,15 @@ public class CachedBeanData implements Externalizable {
    * Return all the property data.
    */
   public Map<String,Object> getData() {
-    return data;
+    if (schema == null) {
+      return data;
+    }
+    Map<String, Object> map = new LinkedHashMap<>();
+    for (int i = 0; i < values.length; i++) {
+      if (isSet(loaded, i)) {
+        map.put(schema.getProperty(i).getName(), values[i]);
+      }
+    }
+    return map;
   }
 }
@@ -15,6 +15,11 @@ public class CachedBeanDataFromBean {
 
     EntityBeanIntercept ebi = bean._ebean_getIntercept();
 
+    CachedBeanSchema schema = desc.getCacheBeanSchema();
+    if (schema != null) {
+      return extractPositional(desc, bean, ebi, schema);
+    }
+
     Map<String,Object> data = new LinkedHashMap<>();
 
     BeanProperty idProperty = desc.getIdProperty();
@@ -38,6 +43,27 @@ public class CachedBeanDataFromBean {
     return new CachedBeanData(sharableBean, desc.getDiscValue(), data, version);
   }
 
+  /**
+   * Extract the loaded properties by position.
+   */
+  private static CachedBeanData extractPositional(BeanDescriptor<?> desc, EntityBean bean, EntityBeanIntercept ebi, CachedBeanSchema schema) {
+
+    int size = schema.size();
+    Object[] values = new Object[size];
+    long[] loaded = CachedBeanData.newLoaded(size);
+    for (int i = 0; i < size; i++) {
+      BeanProperty prop = schema.getProperty(i);
+      if (ebi.isLoadedProperty(prop.getPropertyIndex())) {
+        values[i] = prop.getCacheDataValue(bean);
+        CachedBeanData.set(loaded, i);
+      }
+    }
+
+    long version = desc.getVersion(bean);
+    EntityBean sharableBean = createSharableBean(desc, bean, ebi);
+    return new CachedBeanData(sharableBean, desc.getDiscValue(), schema, values, loaded, version);
+  }
+
   private static EntityBean createSharableBean(BeanDescriptor<?> desc, EntityBean bean, EntityBeanIntercept beanEbi) {
 
     if (!desc.isCacheSharableBeans() || !beanEbi.isFullyLoadedBean()) {
@@ -0,0 +1,272 @@
+package com.avaje.ebeaninternal.server.cache;
+
+import com.avaje.ebeaninternal.server.deploy.BeanDescriptor;
+import com.avaje.ebeaninternal.server.deploy.BeanProperty;
+import com.avaje.ebeaninternal.server.deploy.BeanPropertyAssocOne;
+import com.avaje.ebeaninternal.server.deploy.BeanPropertyCompound;
+import com.avaje.ebeaninternal.server.type.ScalarType;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The positional layout of the cached data for a bean type.
+ * <p>
+ * The cached properties (id and non-many properties) are held by position with a bitmask of the
+ * loaded positions. This means the cached data does not hold the property names and is written
+ * using {@link BeanProperty#writeData(DataOutput, Object)} per property rather than with Java
+ * object serialisation.
+ * </p>
+ * <p>
+ * The schema hash is derived from the bean type, property names and scalar types such that a
+ * node with a different version of the bean type (a stale layout) can detect that it should
+ * not read the data.
+ * </p>
+ * <p>
+ * The schemas are registered by hash to read cached data on deserialisation (where there is no
+ * reference to the server). Each server registers its own schema instances and releases them
+ * on shutdown such that the registry does not hold on to the classes of a server that has
+ * been shutdown (for example after a redeploy).
+ * </p>
+ */
+public final class CachedBeanSchema {
+
+  private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  /**
+   * Schemas by hash used to read the cached data on deserialisation (one per server with the bean type).
+   */
+  private static final ConcurrentHashMap<Long, List<CachedBeanSchema>> schemas = new ConcurrentHashMap<>();
+
+  private final BeanProperty[] properties;
+
+  private final Map<String, Integer> positions;
+
+  private final long hash;
+
+  /**
+   * Return the schema for the given hash or null if there is no matching schema.
+   */
+  static CachedBeanSchema forHash(long hash) {
+    List<CachedBeanSchema> list = schemas.get(hash);
+    return (list == null) ? null : list.get(0);
+  }
+
+  /**
+   * Remove this schema from the registry (on server shutdown).
+   */
+  public void release() {
+    schemas.computeIfPresent(hash, (key, list) -> {
+      List<CachedBeanSchema> remaining = new ArrayList<>(list);
+      remaining.remove(this);
+      return remaining.isEmpty() ? null : remaining;
+    });
+  }
+
+  /**
+   * Return the number of schemas registered (for testing).
+   */
+  static int registeredCount(long hash) {
+    List<CachedBeanSchema> list = schemas.get(hash);
+    return (list == null) ? 0 : list.size();
+  }
+
+  /**
+   * Create and return the schema for the bean type or null if the bean type is not supported.
+   * <p>
+   * Bean types with compound scalar types are not supported and these continue to use
+   * the property name keyed map form.
+   * </p>
+   * <p>
+   * The schema is registered and is expected to be released when the server is shutdown.
+   * </p>
+   */
+  public static CachedBeanSchema of(BeanDescriptor<?> desc) {
+
+    BeanProperty idProperty = desc.getIdProperty();
+    BeanProperty[] nonMany = desc.propertiesNonMany();
+
+    int offset = (idProperty == null) ? 0 : 1;
+    BeanProperty[] properties = new BeanProperty[nonMany.length + offset];
+    if (idProperty != null) {
+      properties[0] = idProperty;
+    }
+    System.arraycopy(nonMany, 0, properties, offset, nonMany.length);
+
+    long hash = hash(FNV_OFFSET, desc.getFullName());
+    for (BeanProperty property : properties) {
+      hash = hash(hash, property.getName());
+      Long propertyHash = propertyHash(property);
+      if (propertyHash == null) {
+        return null;
+      }
+      hash = hash * FNV_PRIME ^ propertyHash;
+    }
+
+    CachedBeanSchema schema = new CachedBeanSchema(properties, hash);
+    schemas.compute(hash, (key, list) -> {
+      List<CachedBeanSchema> registered = (list == null) ? new ArrayList<>(1) : new ArrayList<>(list);
+      registered.add(schema);
+      return registered;
+    });
+    return schema;
+  }
+
+  private CachedBeanSchema(BeanProperty[] properties, long hash) {
+    this.properties = properties;
+    this.hash = hash;
+    this.positions = new HashMap<>(properties.length * 2);
+    for (int i = 0; i < properties.length; i++) {
+      positions.put(properties[i].getName(), i);
+    }
+  }
+
+  /**
+   * Return the hash of the scalar type (or target bean type) of the property or null if not supported.
+   */
+  private static Long propertyHash(BeanProperty property) {
+
+    if (property instanceof BeanPropertyAssocOne<?>) {
+      BeanPropertyAssocOne<?> one = (BeanPropertyAssocOne<?>) property;
+      if (one.isEmbedded()) {
+        CachedBeanSchema embedded = one.getTargetDescriptor().getCacheBeanSchema();
+        return (embedded == null) ? null : embedded.hash;
+      }
+      BeanProperty targetId = one.getTargetDescriptor().getIdProperty();
+      return (targetId == null) ? null : propertyHash(targetId);
+    }
+    if (property instanceof BeanPropertyCompound) {
+      return null;
+    }
+    ScalarType<?> scalarType = property.getScalarType();
+    if (scalarType == null) {
+      return null;
+    }
+    return hash(hash(FNV_OFFSET, scalarType.getClass().getName()), Integer.toString(scalarType.getJdbcType()));
+  }
+
+  private static long hash(long hash, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= FNV_PRIME;
+    }
+    return hash;
+  }
+
+  /**
+   * Return the schema hash.
+   */
+  public long getHash() {
+    return hash;
+  }
+
+  /**
+   * Return the number of property positions.
+   */
+  public int size() {
+    return properties.length;
+  }
+
+  /**
+   * Return the property at the given position.
+   */
+  public BeanProperty getProperty(int position) {
+    return properties[position];
+  }
+
+  /**
+   * Return the position of the property or -1 if the property is not in the schema.
+   */
+  public int position(String propertyName) {
+    Integer position = positions.get(propertyName);
+    return (position == null) ? -1 : position;
+  }
+
+  /**
+   * Write the loaded values.
+   */
+  void write(DataOutput out, Object[] values, long[] loaded) throws IOException {
+    for (long word : loaded) {
+      out.writeLong(word);
+    }
+    for (int i = 0; i < properties.length; i++) {
+      if (CachedBeanData.isSet(loaded, i)) {
+        writeValue(out, properties[i], values[i]);
+      }
+    }
+  }
+
+  /**
+   * Read the loaded values into the given arrays.
+   */
+  void read(DataInput in, Object[] values, long[] loaded) throws IOException {
+    for (int i = 0; i < loaded.length; i++) {
+      loaded[i] = in.readLong();
+    }
+    for (int i = 0; i < properties.length; i++) {
+      if (CachedBeanData.isSet(loaded, i)) {
+        values[i] = readValue(in, properties[i]);
+      }
+    }
+  }
+
+  /**
+   * Write the cache data value of a property.
+   * <p>
+   * Cache data values are the formatted (String) form of the value other than for binary types
+   * so they are parsed back and written with the scalar type.
+   * </p>
+   */
+  private static void writeValue(DataOutput out, BeanProperty property, Object value) throws IOException {
+
+    if (property instanceof BeanPropertyAssocOne<?>) {
+      BeanPropertyAssocOne<?> one = (BeanPropertyAssocOne<?>) property;
+      if (one.isEmbedded()) {
+        out.writeBoolean(value != null);
+        if (value != null) {
+          ((CachedBeanData) value).writePositional(out, one.getTargetDescriptor().getCacheBeanSchema());
+        }
+      } else {
+        // the value is the id of the associated bean
+        writeValue(out, one.getTargetDescriptor().getIdProperty(), value);
+      }
+      return;
+    }
+    ScalarType<Object> scalarType = property.getScalarType();
+    if (value instanceof String && !scalarType.isBinaryType()) {
+      value = scalarType.parse((String) value);
+    }
+    scalarType.writeData(out, value);
+  }
+
+  /**
+   * Read and return the cache data value of a property.
+   */
+  private static Object readValue(DataInput in, BeanProperty property) throws IOException {
+
+    if (property instanceof BeanPropertyAssocOne<?>) {
+      BeanPropertyAssocOne<?> one = (BeanPropertyAssocOne<?>) property;
+      if (one.isEmbedded()) {
+        if (!in.readBoolean()) {
+          return null;
+        }
+        return CachedBeanData.readPositional(in, one.getTargetDescriptor().getCacheBeanSchema());
+      }
+      return readValue(in, one.getTargetDescriptor().getIdProperty());
+    }
+    ScalarType<Object> scalarType = property.getScalarType();
+    Object value = scalarType.readData(in);
+    if (value == null || scalarType.isBinaryType()) {
+      return value;
+    }
+    // the same form as BeanProperty.getCacheDataValue()
+    return scalarType.format(value);
+  }
+}
@@ -5,9 +5,11 @@ import com.avaje.ebean.annotation.CacheBeanTuning;
 import com.avaje.ebean.cache.ServerCache;
 import com.avaje.ebean.cache.ServerCacheFactory;
 import com.avaje.ebean.cache.ServerCacheOptions;
+import com.avaje.ebean.cache.ServerCacheStatistics;
 import com.avaje.ebean.cache.ServerCacheType;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -78,6 +80,17 @@ public class DefaultCacheHolder {
     }
   }
 
+  /**
+   * Add the statistics of the caches to the list with the cache names prefixed by the cache type.
+   */
+  void collectStatistics(List<ServerCacheStatistics> list, boolean reset, String typePrefix) {
+    for (ServerCache serverCache : concMap.values()) {
+      ServerCacheStatistics statistics = serverCache.getStatistics(reset);
+      statistics.setCacheName(typePrefix + statistics.getCacheName());
+      list.add(statistics);
+    }
+  }
+
   /**
    * Return the cache options for a given bean type.
    */
@@ -2,6 +2,7 @@ package com.avaje.ebeaninternal.server.cache;
 
 import com.avaje.ebean.BackgroundExecutor;
 import com.avaje.ebean.cache.ServerCache;
+import com.avaje.ebean.cache.ServerCacheLoader;
 import com.avaje.ebean.cache.ServerCacheOptions;
 import com.avaje.ebean.cache.ServerCacheStatistics;
 
@@ -16,7 +17,9 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
 
 /**
  * The default cache implementation.
@@ -51,6 +54,10 @@ public class DefaultServerCache implements ServerCache {
   protected final LongAdder evictByLRU = new LongAdder();
   protected final LongAdder evictCount = new LongAdder();
   protected final LongAdder evictMicros = new LongAdder();
+  protected final LongAdder coalescedCount = new LongAdder();
+  protected final LongAdder coalescedTimeoutCount = new LongAdder();
+  protected final LongAdder refreshCount = new LongAdder();
+  protected final LongAdder staleHitCount = new LongAdder();
 
   protected final Object monitor = new Object();
 
@@ -64,6 +71,26 @@ public class DefaultServerCache implements ServerCache {
 
   protected int maxSecsToLive;
 
+  /**
+   * Millis before the time to live that a read triggers a background reload (0 for none).
+   */
+  protected long refreshAheadMillis;
+
+  /**
+   * Serve expired entries while they are reloaded.
+   */
+  protected boolean staleWhileRevalidate;
+
+  /**
+   * Executes the background reloads (null when not refreshing).
+   */
+  protected BackgroundExecutor refreshExecutor;
+
+  /**
+   * Reloads entries (null when not refreshing).
+   */
+  protected ServerCacheLoader loader;
+
   /**
    * Construct using a ConcurrentHashMap and cache options.
    */
@@ -76,6 +103,8 @@ public class DefaultServerCache implements ServerCache {
    */
   public DefaultServerCache(String name, Map<Object, CacheEntry> map, ServerCacheOptions options) {
     this(name, map, options.getMaxSize(), options.getMaxIdleSecs(), options.getMaxSecsToLive(), options.getTrimFrequency());
+    this.refreshAheadMillis = options.getRefreshAheadSecs() * 1000L;
+    this.staleWhileRevalidate = options.isStaleWhileRevalidate();
   }
 
   /**
@@ -115,6 +144,18 @@ public class DefaultServerCache implements ServerCache {
     executor.executePeriodically(trim, trimFreqSecs, TimeUnit.SECONDS);
   }
 
+  /**
+   * Set the executor used to reload entries for refresh ahead and stale while revalidate.
+   */
+  public void refreshWith(BackgroundExecutor executor) {
+    this.refreshExecutor = executor;
+  }
+
+  @Override
+  public void setLoader(ServerCacheLoader loader) {
+    this.loader = loader;
+  }
+
   @Override
   public ServerCacheStatistics getStatistics(boolean reset) {
 
@@ -138,6 +179,10 @@ public class DefaultServerCache implements ServerCache {
     long evictIdle = reset ? evictByIdle.sumThenReset() : evictByIdle.sum();
     long evictTTL = reset ? evictByTTL.sumThenReset() : evictByTTL.sum();
     long evictLRU = reset ? evictByLRU.sumThenReset() : evictByLRU.sum();
+    long coalesced = reset ? coalescedCount.sumThenReset() : coalescedCount.sum();
+    long coalescedTimeout = reset ? coalescedTimeoutCount.sumThenReset() : coalescedTimeoutCount.sum();
+    long refresh = reset ? refreshCount.sumThenReset() : refreshCount.sum();
+    long staleHit = reset ? staleHitCount.sumThenReset() : staleHitCount.sum();
 
     int size = size();
 
@@ -154,10 +199,22 @@ public class DefaultServerCache implements ServerCache {
     cacheStats.setEvictByIdle(evictIdle);
     cacheStats.setEvictByTTL(evictTTL);
     cacheStats.setEvictByLRU(evictLRU);
+    cacheStats.setCoalescedCount(coalesced);
+    cacheStats.setCoalescedTimeoutCount(coalescedTimeout);
+    cacheStats.setRefreshCount(refresh);
+    cacheStats.setStaleHitCount(staleHit);
 
     return cacheStats;
   }
 
+  @Override
+  public void coalescedLoad(boolean timedOut) {
+    coalescedCount.increment();
+    if (timedOut) {
+      coalescedTimeoutCount.increment();
+    }
+  }
+
   @Override
   public int getHitRatio() {
 
@@ -188,6 +245,20 @@ public class DefaultServerCache implements ServerCache {
     map.clear();
   }
 
+  /**
+   * Remove the entries whose value matches the filter.
+   */
+  @Override
+  public int removeIf(Predicate<Object> valueFilter) {
+    int count = 0;
+    for (CacheEntry entry : map.values()) {
+      if (valueFilter.test(entry.getValue()) && remove(entry.getKey()) != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+
   /**
    * Return a value from the cache.
    */
@@ -199,6 +270,11 @@ public class DefaultServerCache implements ServerCache {
       missCount.increment();
       return null;
 
+    } else if (isRefreshing() && !refreshCheck(entry, System.currentTimeMillis())) {
+      // expired, left for the trim to remove or a put to replace
+      missCount.increment();
+      return null;
+
     } else {
       // Important that hitCount.increment() MUST be low latency under concurrent
       // use hence must use LongAdder or better here
@@ -207,6 +283,76 @@ public class DefaultServerCache implements ServerCache {
     }
   }
 
+  /**
+   * Return true if refresh ahead or stale while revalidate is active.
+   */
+  protected boolean isRefreshing() {
+    return loader != null && refreshExecutor != null && maxSecsToLive > 0 && (refreshAheadMillis > 0 || staleWhileRevalidate);
+  }
+
+  /**
+   * Check the entry on read for refresh ahead and stale while revalidate.
+   * <p>
+   * Returns false if the entry has passed its time to live and can not be served.
+   * </p>
+   */
+  protected boolean refreshCheck(CacheEntry entry, long now) {
+
+    if (maxIdleSecs > 0 && (now - maxIdleSecs * 1000L) > entry.getLastAccessTime()) {
+      return false;
+    }
+    long age = now - entry.getCreateTime();
+    long ttlMillis = maxSecsToLive * 1000L;
+    if (age > ttlMillis) {
+      if (!staleWhileRevalidate) {
+        return false;
+      }
+      if (entry.startRefresh()) {
+        // the first read of the expired entry triggers the reload
+        refresh(entry);
+      } else if (!entry.isRefreshInProgress()) {
+        // the reload completed without replacing the entry
+        return false;
+      }
+      staleHitCount.increment();
+      return true;
+    }
+    if (refreshAheadMillis > 0 && age > ttlMillis - refreshAheadMillis && entry.startRefresh()) {
+      // a hot entry nearing its time to live
+      refresh(entry);
+    }
+    return true;
+  }
+
+  /**
+   * Return true if the trim should keep an expired entry as it was recently read and can be
+   * served while it is reloaded.
+   */
+  protected boolean keepStale(CacheEntry entry, long now) {
+    if (!staleWhileRevalidate || !isRefreshing() || entry.isRefreshComplete()) {
+      return false;
+    }
+    long trimMillis = ((trimFrequency <= 0) ? 60 : trimFrequency) * 1000L;
+    return (now - entry.getLastAccessTime()) < trimMillis;
+  }
+
+  /**
+   * Reload the entry in the background.
+   */
+  private void refresh(CacheEntry entry) {
+    refreshCount.increment();
+    Object key = entry.getKey();
+    refreshExecutor.execute(() -> {
+      try {
+        loader.load(key);
+      } catch (Exception e) {
+        logger.warn("Error refreshing cache " + name + " entry " + key, e);
+      } finally {
+        entry.refreshComplete();
+      }
+    });
+  }
+
   /**
    * Put a value into the cache.
    */
@@ -279,8 +425,9 @@ public class DefaultServerCache implements ServerCache {
 
     ArrayList<CacheEntry> activeList = new ArrayList<>();
 
-    long idleExpire = System.currentTimeMillis() - (maxIdleSecs * 1000);
-    long ttlExpire = System.currentTimeMillis() - (maxSecsToLive * 1000);
+    long now = System.currentTimeMillis();
+    long idleExpire = now - (maxIdleSecs * 1000);
+    long ttlExpire = now - (maxSecsToLive * 1000);
 
     Iterator<CacheEntry> it = map.values().iterator();
     while (it.hasNext()) {
@@ -289,7 +436,7 @@ public class DefaultServerCache implements ServerCache {
         it.remove();
         trimmedByIdle++;
 
-      } else if (maxSecsToLive > 0 && ttlExpire > cacheEntry.getCreateTime()) {
+      } else if (maxSecsToLive > 0 && ttlExpire > cacheEntry.getCreateTime() && !keepStale(cacheEntry, now)) {
         it.remove();
         trimmedByTTL++;
 
@@ -357,10 +504,18 @@ public class DefaultServerCache implements ServerCache {
    */
   public static class CacheEntry {
 
+    private static final int REFRESH_NONE = 0;
+    private static final int REFRESH_IN_PROGRESS = 1;
+    private static final int REFRESH_COMPLETE = 2;
+
+    private static final AtomicIntegerFieldUpdater<CacheEntry> REFRESH_STATE =
+        AtomicIntegerFieldUpdater.newUpdater(CacheEntry.class, "refreshState");
+
     private final Object key;
     private final Object value;
     private final long createTime;
     private long lastAccessTime;
+    private volatile int refreshState;
 
     public CacheEntry(Object key, Object value) {
       this.key = key;
@@ -399,6 +554,34 @@ public class DefaultServerCache implements ServerCache {
       return lastAccessTime;
     }
 
+    /**
+     * Return true if this call starts the (single) background reload of the entry.
+     */
+    boolean startRefresh() {
+      return REFRESH_STATE.compareAndSet(this, REFRESH_NONE, REFRESH_IN_PROGRESS);
+    }
+
+    /**
+     * Return true if the background reload of the entry is in progress.
+     */
+    boolean isRefreshInProgress() {
+      return refreshState == REFRESH_IN_PROGRESS;
+    }
+
+    /**
+     * Return true if a background reload of the entry has completed.
+     */
+    boolean isRefreshComplete() {
+      return refreshState == REFRESH_COMPLETE;
+    }
+
+    /**
+     * Mark the background reload as complete.
+     */
+    void refreshComplete() {
+      refreshState = REFRESH_COMPLETE;
+    }
+
   }
 
 }
@@ -2,6 +2,7 @@ package com.avaje.ebeaninternal.server.cache;
 
 import com.avaje.ebean.BackgroundExecutor;
 import com.avaje.ebean.cache.ServerCache;
+import com.avaje.ebean.cache.ServerCacheEviction;
 import com.avaje.ebean.cache.ServerCacheFactory;
 import com.avaje.ebean.cache.ServerCacheOptions;
 import com.avaje.ebean.cache.ServerCacheType;
@@ -9,16 +10,22 @@ import com.avaje.ebean.cache.ServerCacheType;
 
 /**
  * Default implementation of ServerCacheFactory.
+ * <p>
+ * Creates periodically trimmed caches or W-TinyLFU caches depending on the eviction
+ * policy of the cache options.
+ * </p>
  */
 class DefaultServerCacheFactory implements ServerCacheFactory {
 
   private final BackgroundExecutor executor;
 
+  private final TinyLfuServerCacheFactory tinyLfuFactory;
+
   /**
    * Construct when l2 cache is disabled.
    */
   public DefaultServerCacheFactory() {
-    this.executor = null;
+    this(null);
   }
 
   /**
@@ -26,13 +33,21 @@ class DefaultServerCacheFactory implements ServerCacheFactory {
    */
   public DefaultServerCacheFactory(BackgroundExecutor executor) {
     this.executor = executor;
+    this.tinyLfuFactory = new TinyLfuServerCacheFactory(executor);
   }
 
   public ServerCache createCache(ServerCacheType type, String cacheKey, ServerCacheOptions cacheOptions) {
 
+    if (cacheOptions.getEviction() == ServerCacheEviction.TINY_LFU) {
+      return tinyLfuFactory.createCache(type, cacheKey, cacheOptions);
+    }
+
     DefaultServerCache cache = new DefaultServerCache(cacheKey, cacheOptions);
     if (executor != null) {
       cache.periodicTrim(executor);
+      if (cacheOptions.isRefresh()) {
+        cache.refreshWith(executor);
+      }
     }
     return cache;
   }
@@ -4,8 +4,12 @@ import com.avaje.ebean.cache.ServerCache;
 import com.avaje.ebean.cache.ServerCacheFactory;
 import com.avaje.ebean.cache.ServerCacheManager;
 import com.avaje.ebean.cache.ServerCacheOptions;
+import com.avaje.ebean.cache.ServerCacheStatistics;
 import com.avaje.ebean.cache.ServerCacheType;
 
+import java.util.ArrayList;
+import java.util.List;
+
 
 /**
  * Manages the bean and query caches.
@@ -66,6 +70,16 @@ public class DefaultServerCacheManager implements ServerCacheManager {
     collectionIdsCache.clearAll();
   }
 
+  @Override
+  public List<ServerCacheStatistics> collectStatistics(boolean reset) {
+    List<ServerCacheStatistics> list = new ArrayList<>();
+    beanCache.collectStatistics(list, reset, "bean:");
+    queryCache.collectStatistics(list, reset, "query:");
+    naturalKeyCache.collectStatistics(list, reset, "naturalKey:");
+    collectionIdsCache.collectStatistics(list, reset, "collectionIds:");
+    return list;
+  }
+
   public ServerCache getCollectionIdsCache(Class<?> beanType, String propertyName) {
     return collectionIdsCache.getCache(beanType.getName() + "." + propertyName, ServerCacheType.COLLECTION_IDS);
   }
@@ -0,0 +1,128 @@
+package com.avaje.ebeaninternal.server.cache;
+
+/**
+ * A count-min sketch of 4-bit counters used to estimate the access frequency of cache keys.
+ * <p>
+ * Each key maps to 4 counters (one per hash function) packed into a long[] table. The
+ * estimated frequency is the minimum of those counters. When the number of increments
+ * reaches the sample size all counters are halved such that the sketch ages and
+ * favours recent popularity.
+ * </p>
+ * <p>
+ * This is NOT thread safe and is expected to be used under the eviction lock.
+ * </p>
+ */
+final class FrequencySketch {
+
+  private static final long[] SEED = {
+    0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+  private static final long RESET_MASK = 0x7777777777777777L;
+
+  private static final long ONE_MASK = 0x1111111111111111L;
+
+  private static final int MAX_TABLE_SIZE = 1 << 30;
+
+  private final long[] table;
+
+  private final int tableMask;
+
+  private final int sampleSize;
+
+  private int size;
+
+  /**
+   * Create with the maximum size of the cache the sketch is used for.
+   */
+  FrequencySketch(int maximumSize) {
+    int capacity = ceilingPowerOfTwo(Math.max(maximumSize, 16));
+    this.table = new long[capacity];
+    this.tableMask = capacity - 1;
+    this.sampleSize = (capacity > Integer.MAX_VALUE / 10) ? Integer.MAX_VALUE : 10 * capacity;
+  }
+
+  /**
+   * Return the estimated number of occurrences of the key (max 15).
+   */
+  int frequency(Object key) {
+    int hash = spread(key.hashCode());
+    int start = (hash & 3) << 2;
+    int frequency = Integer.MAX_VALUE;
+    for (int i = 0; i < 4; i++) {
+      int index = indexOf(hash, i);
+      int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /**
+   * Increment the frequency of the key (aging the sketch when the sample size is reached).
+   */
+  void increment(Object key) {
+    int hash = spread(key.hashCode());
+    int start = (hash & 3) << 2;
+    boolean added = false;
+    for (int i = 0; i < 4; i++) {
+      int index = indexOf(hash, i);
+      added |= incrementAt(index, start + i);
+    }
+    if (added && (++size == sampleSize)) {
+      reset();
+    }
+  }
+
+  /**
+   * Clear all the counters.
+   */
+  void clear() {
+    for (int i = 0; i < table.length; i++) {
+      table[i] = 0L;
+    }
+    size = 0;
+  }
+
+  /**
+   * Increment the counter j (0-15) in the table entry i returning false if it is at its max.
+   */
+  private boolean incrementAt(int i, int j) {
+    int offset = j << 2;
+    long mask = (0xfL << offset);
+    if ((table[i] & mask) != mask) {
+      table[i] += (1L << offset);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Halve all the counters.
+   */
+  private void reset() {
+    int count = 0;
+    for (int i = 0; i < table.length; i++) {
+      count += Long.bitCount(table[i] & ONE_MASK);
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+    size = (size >>> 1) - (count >>> 2);
+  }
+
+  private int indexOf(int item, int i) {
+    long hash = (item + SEED[i]) * SEED[i];
+    hash += (hash >>> 32);
+    return ((int) hash) & tableMask;
+  }
+
+  private static int spread(int x) {
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    return (x >>> 16) ^ x;
+  }
+
+  private static int ceilingPowerOfTwo(int x) {
+    if (x >= MAX_TABLE_SIZE) {
+      return MAX_TABLE_SIZE;
+    }
+    return 1 << -Integer.numberOfLeadingZeros(x - 1);
+  }
+}
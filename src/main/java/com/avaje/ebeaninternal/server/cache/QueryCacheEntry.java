@@ -0,0 +1,118 @@
+package com.avaje.ebeaninternal.server.cache;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A query cache entry holding the query result with what it depends on.
+ * <p>
+ * This supports fine grained invalidation of the query cache. Rather than clearing the whole
+ * query cache on any change to the bean type only the entries that can be affected by the
+ * change are removed.
+ * </p>
+ * <ul>
+ * <li>An update removes entries that contain the updated bean or that have predicates or
+ * ordering on one of the changed properties (the bean could now be included or reordered)</li>
+ * <li>A delete removes entries that contain the deleted bean</li>
+ * <li>An insert removes entries unless an equality predicate proves the bean can not match</li>
+ * </ul>
+ * <p>
+ * Results of findCount, findIds and findSingleAttributeList do not hold bean content so an
+ * update only affects them when one of the dependent properties changed.
+ * </p>
+ */
+public final class QueryCacheEntry implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Object value;
+
+  private final Set<String> dependentProperties;
+
+  private final Set<Object> ids;
+
+  private final Map<String, Object> equalTo;
+
+  private final boolean beanContent;
+
+  /**
+   * Create the entry.
+   *
+   * @param value               the query result
+   * @param dependentProperties the properties used in predicates and ordering (null means unknown)
+   * @param ids                 the ids of the beans in the result (null means unknown)
+   * @param equalTo             the properties and values of top level equality predicates
+   * @param beanContent         true if the result holds beans (rather than a count, ids or attribute values)
+   */
+  public QueryCacheEntry(Object value, Set<String> dependentProperties, Set<Object> ids, Map<String, Object> equalTo, boolean beanContent) {
+    this.value = value;
+    this.dependentProperties = dependentProperties;
+    this.ids = ids;
+    this.equalTo = equalTo;
+    this.beanContent = beanContent;
+  }
+
+  public String toString() {
+    return "depends:" + dependentProperties + " ids:" + ids + " equalTo:" + equalTo + " beans:" + beanContent;
+  }
+
+  /**
+   * Return the query result.
+   */
+  public Object getValue() {
+    return value;
+  }
+
+  /**
+   * Return true if the entry could be changed by the insert of a bean with the given values.
+   *
+   * @param values the plain scalar values of the inserted bean (null means unknown)
+   */
+  public boolean isAffectedByInsert(Map<String, Object> values) {
+    if (values == null || dependentProperties == null) {
+      return true;
+    }
+    for (Map.Entry<String, Object> entry : equalTo.entrySet()) {
+      Object inserted = values.get(entry.getKey());
+      Object predicate = entry.getValue();
+      if (inserted != null && predicate != null && inserted.getClass() == predicate.getClass() && !inserted.equals(predicate)) {
+        // the inserted bean does not match the equality predicate
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Return true if the entry could be changed by the update of a bean.
+   *
+   * @param id      the id of the updated bean
+   * @param changed the names of the changed properties (null means unknown)
+   */
+  public boolean isAffectedByUpdate(Object id, Set<String> changed) {
+    if (dependentProperties == null) {
+      return true;
+    }
+    if (beanContent && (ids == null || ids.contains(id))) {
+      // the result may hold the updated bean
+      return true;
+    }
+    if (changed == null) {
+      return !dependentProperties.isEmpty();
+    }
+    for (String property : changed) {
+      if (dependentProperties.contains(property)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Return true if the entry could be changed by the delete of a bean.
+   */
+  public boolean isAffectedByDelete(Object id) {
+    return ids == null || dependentProperties == null || ids.contains(id);
+  }
+}
@@ -0,0 +1,120 @@
+package com.avaje.ebeaninternal.server.cache;
+
+import com.avaje.ebean.cache.ServerCache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent cache miss loads of the same key.
+ * <p>
+ * The first miss for a key performs the load (which populates the cache). Concurrent misses
+ * for the same key wait for that load to complete and then read the value from the cache
+ * rather than all hitting the database with the same query.
+ * </p>
+ * <p>
+ * If the wait times out, the load fails or the value is not in the cache after the load
+ * (for example it was evicted or invalidated in the meantime) the waiting caller falls back
+ * to performing the load itself.
+ * </p>
+ */
+public final class SingleFlightLoader {
+
+  private final ConcurrentHashMap<Object, Flight> inFlight = new ConcurrentHashMap<>();
+
+  private final ServerCache cache;
+
+  private final long waitMillis;
+
+  /**
+   * Create with the cache that the coalesced waits are reported to.
+   */
+  public SingleFlightLoader(ServerCache cache, long waitMillis) {
+    this.cache = cache;
+    this.waitMillis = waitMillis;
+  }
+
+  /**
+   * Return the value for the key using the loader for the first caller and the reader for
+   * concurrent callers that waited on that load.
+   *
+   * @param key    the cache key being loaded
+   * @param loader loads the value from the database (and puts it into the cache)
+   * @param reader reads the value from the cache after a concurrent load completed
+   */
+  public <T> T load(Object key, Supplier<T> loader, Supplier<T> reader) {
+
+    Flight flight = new Flight();
+    Flight existing = inFlight.putIfAbsent(key, flight);
+    if (existing == null) {
+      return loadAndRelease(key, flight, loader);
+    }
+    if (existing.owner == Thread.currentThread()) {
+      // the loader itself is asking for the same key
+      return loader.get();
+    }
+
+    boolean completed = existing.await(waitMillis);
+    cache.coalescedLoad(!completed);
+    if (completed && !existing.failed) {
+      if (!existing.found) {
+        // the load found nothing (e.g. no row for that id)
+        return null;
+      }
+      T value = reader.get();
+      if (value != null) {
+        return value;
+      }
+    }
+    return loader.get();
+  }
+
+  private <T> T loadAndRelease(Object key, Flight flight, Supplier<T> loader) {
+    boolean failed = true;
+    boolean found = false;
+    try {
+      T value = loader.get();
+      found = (value != null);
+      failed = false;
+      return value;
+
+    } finally {
+      inFlight.remove(key, flight);
+      flight.complete(found, failed);
+    }
+  }
+
+  /**
+   * A load in progress.
+   */
+  private static final class Flight {
+
+    private final Thread owner = Thread.currentThread();
+
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    private volatile boolean found;
+
+    private volatile boolean failed;
+
+    void complete(boolean found, boolean failed) {
+      this.found = found;
+      this.failed = failed;
+      done.countDown();
+    }
+
+    /**
+     * Wait for the load returning false if the wait timed out.
+     */
+    boolean await(long waitMillis) {
+      try {
+        return done.await(waitMillis, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+  }
+}
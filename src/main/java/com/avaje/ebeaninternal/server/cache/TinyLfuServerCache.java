@@ -0,0 +1,500 @@
+package com.avaje.ebeaninternal.server.cache;
+
+import com.avaje.ebean.cache.ServerCacheOptions;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache implementation that bounds its size continuously using a W-TinyLFU eviction policy.
+ * <p>
+ * New entries go into a small LRU 'window' and on leaving the window compete for
+ * admission into the main space which is a segmented LRU (probation and protected
+ * segments). The candidate from the window is only admitted if its estimated access
+ * frequency (via a count-min sketch) is greater than that of the main space victim.
+ * This means a scan of many 'one hit' entries does not flush the frequently used entries.
+ * </p>
+ * <p>
+ * All the eviction maintenance is O(1) per put/get. Reads do not take the eviction lock
+ * but instead record the access into a lossy ring buffer that is drained periodically.
+ * Writes take the eviction lock and evict as required such that the cache never grows
+ * beyond its maxSize.
+ * </p>
+ * <p>
+ * Idle and time to live expiry are checked on read and also trimmed periodically.
+ * </p>
+ */
+public class TinyLfuServerCache extends DefaultServerCache {
+
+  private static final int WINDOW = 0;
+  private static final int PROBATION = 1;
+  private static final int PROTECTED = 2;
+  private static final int REMOVED = -1;
+
+  private static final int READ_BUFFER_SIZE = 128;
+  private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+
+  /**
+   * Attempt to drain the read buffer every 32 reads.
+   */
+  private static final int READ_DRAIN_MASK = 31;
+
+  private final ReentrantLock evictionLock = new ReentrantLock();
+
+  private final AtomicReferenceArray<Node> readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+
+  private final AtomicLong readCounter = new AtomicLong();
+
+  private final boolean bounded;
+
+  private final int maxWindow;
+
+  private final int maxMain;
+
+  private final int maxProtected;
+
+  private final FrequencySketch sketch;
+
+  private final AccessOrderQueue window = new AccessOrderQueue();
+
+  private final AccessOrderQueue probation = new AccessOrderQueue();
+
+  private final AccessOrderQueue protectedQueue = new AccessOrderQueue();
+
+  /**
+   * Construct with a name and cache options.
+   */
+  public TinyLfuServerCache(String name, ServerCacheOptions options) {
+    super(name, new ConcurrentHashMap<>(), options);
+    this.bounded = maxSize > 0;
+    this.maxWindow = bounded ? Math.max(1, maxSize / 100) : 0;
+    this.maxMain = bounded ? maxSize - maxWindow : 0;
+    this.maxProtected = maxMain * 80 / 100;
+    this.sketch = bounded ? new FrequencySketch(maxSize) : null;
+  }
+
+  /**
+   * Return the estimated access frequency of the given key (for testing).
+   */
+  int frequency(Object key) {
+    evictionLock.lock();
+    try {
+      drainReadBuffer();
+      return bounded ? sketch.frequency(key) : 0;
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public Object get(Object key) {
+
+    Node node = (Node) map.get(key);
+    if (node == null) {
+      missCount.increment();
+      return null;
+    }
+    long now = System.currentTimeMillis();
+    boolean expired = isRefreshing() ? !refreshCheck(node, now) : isExpired(node, now);
+    if (expired) {
+      missCount.increment();
+      removeExpired(node);
+      return null;
+    }
+    hitCount.increment();
+    if (bounded) {
+      recordRead(node);
+    }
+    return node.getValue();
+  }
+
+  @Override
+  public Object put(Object key, Object value) {
+
+    Node node = new Node(key, value);
+    evictionLock.lock();
+    try {
+      Node existing = (Node) map.put(key, node);
+      if (bounded) {
+        drainReadBuffer();
+        sketch.increment(key);
+      }
+      if (existing != null) {
+        updateCount.increment();
+        if (bounded) {
+          // the new entry takes the place of the existing one
+          queueFor(existing.queue).replace(existing, node);
+          node.queue = existing.queue;
+        }
+        existing.queue = REMOVED;
+        return existing.getValue();
+      }
+      insertCount.increment();
+      if (bounded) {
+        node.queue = WINDOW;
+        window.addLast(node);
+        evictEntries();
+      }
+      return null;
+
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  /**
+   * Put all the entries taking the eviction lock once.
+   */
+  @Override
+  public void putAll(Map<Object, Object> keyValues) {
+    evictionLock.lock();
+    try {
+      for (Map.Entry<Object, Object> entry : keyValues.entrySet()) {
+        put(entry.getKey(), entry.getValue());
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  /**
+   * Remove all the entries taking the eviction lock once.
+   */
+  @Override
+  public void removeAll(Set<Object> keys) {
+    evictionLock.lock();
+    try {
+      for (Object key : keys) {
+        remove(key);
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public Object remove(Object key) {
+
+    evictionLock.lock();
+    try {
+      Node node = (Node) map.remove(key);
+      if (node == null) {
+        return null;
+      }
+      removeCount.increment();
+      unlink(node);
+      return node.getValue();
+
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public void clear() {
+
+    evictionLock.lock();
+    try {
+      clearCount.increment();
+      for (CacheEntry entry : map.values()) {
+        ((Node) entry).queue = REMOVED;
+      }
+      map.clear();
+      if (bounded) {
+        for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+          readBuffer.lazySet(i, null);
+        }
+        window.clear();
+        probation.clear();
+        protectedQueue.clear();
+        sketch.clear();
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  /**
+   * Trim entries by idle time and time to live.
+   * <p>
+   * The size is already bounded by put() so there is no LRU trimming here.
+   * </p>
+   */
+  @Override
+  public void runEviction() {
+
+    if (maxIdleSecs == 0 && maxSecsToLive == 0) {
+      // size is bounded on put so nothing to trim
+      return;
+    }
+
+    long startNanos = System.nanoTime();
+    long now = System.currentTimeMillis();
+
+    long trimmed = 0;
+    Iterator<CacheEntry> it = map.values().iterator();
+    while (it.hasNext()) {
+      Node node = (Node) it.next();
+      if (isExpired(node, now) && !keepStale(node, now)) {
+        removeExpired(node);
+        trimmed++;
+      }
+    }
+
+    long exeMicros = TimeUnit.MICROSECONDS.convert(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    evictMicros.add(exeMicros);
+    evictCount.increment();
+
+    if (logger.isTraceEnabled()) {
+      logger.trace("Executed trim of cache {} in [{}]micros expired[{}]", name, exeMicros, trimmed);
+    }
+  }
+
+  private boolean isExpired(Node node, long now) {
+    return (maxIdleSecs > 0 && (now - maxIdleSecs * 1000L) > node.getLastAccessTime())
+      || (maxSecsToLive > 0 && (now - maxSecsToLive * 1000L) > node.getCreateTime());
+  }
+
+  /**
+   * Remove the expired node if it is still the mapped entry.
+   */
+  private void removeExpired(Node node) {
+
+    long now = System.currentTimeMillis();
+    evictionLock.lock();
+    try {
+      if (map.remove(node.getKey(), node)) {
+        if (maxSecsToLive > 0 && (now - maxSecsToLive * 1000L) > node.getCreateTime()) {
+          evictByTTL.increment();
+        } else {
+          evictByIdle.increment();
+        }
+        unlink(node);
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  /**
+   * Record the read in the lossy buffer and try to drain it periodically.
+   */
+  private void recordRead(Node node) {
+
+    long count = readCounter.getAndIncrement();
+    readBuffer.lazySet((int) (count & READ_BUFFER_MASK), node);
+    if ((count & READ_DRAIN_MASK) == 0 && evictionLock.tryLock()) {
+      try {
+        drainReadBuffer();
+      } finally {
+        evictionLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Apply the buffered reads to the eviction policy (under the eviction lock).
+   */
+  private void drainReadBuffer() {
+    for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+      Node node = readBuffer.getAndSet(i, null);
+      if (node != null) {
+        onAccess(node);
+      }
+    }
+  }
+
+  /**
+   * Update the frequency and recency for an accessed node.
+   */
+  private void onAccess(Node node) {
+
+    switch (node.queue) {
+      case WINDOW:
+        sketch.increment(node.getKey());
+        window.moveToBack(node);
+        break;
+      case PROBATION:
+        sketch.increment(node.getKey());
+        // promote to the protected segment
+        probation.remove(node);
+        node.queue = PROTECTED;
+        protectedQueue.addLast(node);
+        if (protectedQueue.size > maxProtected) {
+          // demote the least recently used protected entry
+          Node demoted = protectedQueue.pollFirst();
+          demoted.queue = PROBATION;
+          probation.addLast(demoted);
+        }
+        break;
+      case PROTECTED:
+        sketch.increment(node.getKey());
+        protectedQueue.moveToBack(node);
+        break;
+      default:
+        // removed since the read was recorded
+    }
+  }
+
+  /**
+   * Move entries that overflow the window into the main space evicting as necessary.
+   */
+  private void evictEntries() {
+
+    while (window.size > maxWindow) {
+      Node candidate = window.pollFirst();
+      if (probation.size + protectedQueue.size < maxMain) {
+        candidate.queue = PROBATION;
+        probation.addLast(candidate);
+        continue;
+      }
+
+      Node victim = probation.peekFirst();
+      if (victim == null) {
+        victim = protectedQueue.peekFirst();
+      }
+      if (victim != null && sketch.frequency(candidate.getKey()) > sketch.frequency(victim.getKey())) {
+        // candidate admitted and victim evicted
+        evictNode(victim);
+        candidate.queue = PROBATION;
+        probation.addLast(candidate);
+      } else {
+        // candidate rejected
+        candidate.queue = REMOVED;
+        map.remove(candidate.getKey(), candidate);
+        evictByLRU.increment();
+      }
+    }
+  }
+
+  private void evictNode(Node node) {
+    unlink(node);
+    map.remove(node.getKey(), node);
+    evictByLRU.increment();
+  }
+
+  private void unlink(Node node) {
+    if (bounded && node.queue != REMOVED) {
+      queueFor(node.queue).remove(node);
+    }
+    node.queue = REMOVED;
+  }
+
+  private AccessOrderQueue queueFor(int queue) {
+    switch (queue) {
+      case WINDOW:
+        return window;
+      case PROBATION:
+        return probation;
+      default:
+        return protectedQueue;
+    }
+  }
+
+  /**
+   * Cache entry that is also a node in an access order queue.
+   */
+  static final class Node extends CacheEntry {
+
+    Node prev;
+    Node next;
+
+    /**
+     * The queue this node is in (guarded by the eviction lock).
+     */
+    int queue = REMOVED;
+
+    Node(Object key, Object value) {
+      super(key, value);
+    }
+  }
+
+  /**
+   * Doubly linked list of nodes in access order (least recently used first).
+   */
+  static final class AccessOrderQueue {
+
+    Node head;
+    Node tail;
+    int size;
+
+    Node peekFirst() {
+      return head;
+    }
+
+    Node pollFirst() {
+      Node first = head;
+      if (first != null) {
+        remove(first);
+      }
+      return first;
+    }
+
+    void addLast(Node node) {
+      node.prev = tail;
+      node.next = null;
+      if (tail == null) {
+        head = node;
+      } else {
+        tail.next = node;
+      }
+      tail = node;
+      size++;
+    }
+
+    void moveToBack(Node node) {
+      if (node != tail) {
+        remove(node);
+        addLast(node);
+      }
+    }
+
+    void remove(Node node) {
+      if (node.prev == null) {
+        head = node.next;
+      } else {
+        node.prev.next = node.next;
+      }
+      if (node.next == null) {
+        tail = node.prev;
+      } else {
+        node.next.prev = node.prev;
+      }
+      node.prev = null;
+      node.next = null;
+      size--;
+    }
+
+    /**
+     * Replace the existing node with the new node at the same position.
+     */
+    void replace(Node existing, Node node) {
+      node.prev = existing.prev;
+      node.next = existing.next;
+      if (existing.prev == null) {
+        head = node;
+      } else {
+        existing.prev.next = node;
+      }
+      if (existing.next == null) {
+        tail = node;
+      } else {
+        existing.next.prev = node;
+      }
+      existing.prev = null;
+      existing.next = null;
+    }
+
+    void clear() {
+      head = null;
+      tail = null;
+      size = 0;
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.avaje.ebeaninternal.server.cache;
+
+import com.avaje.ebean.BackgroundExecutor;
+import com.avaje.ebean.cache.ServerCache;
+import com.avaje.ebean.cache.ServerCacheFactory;
+import com.avaje.ebean.cache.ServerCacheOptions;
+import com.avaje.ebean.cache.ServerCacheType;
+
+/**
+ * ServerCacheFactory creating size bounded W-TinyLFU caches.
+ */
+class TinyLfuServerCacheFactory implements ServerCacheFactory {
+
+  private final BackgroundExecutor executor;
+
+  /**
+   * Construct with executor service (used for idle and time to live trimming).
+   */
+  TinyLfuServerCacheFactory(BackgroundExecutor executor) {
+    this.executor = executor;
+  }
+
+  @Override
+  public ServerCache createCache(ServerCacheType type, String cacheKey, ServerCacheOptions cacheOptions) {
+
+    TinyLfuServerCache cache = new TinyLfuServerCache(cacheKey, cacheOptions);
+    if (executor != null && (cacheOptions.getMaxIdleSecs() > 0 || cacheOptions.getMaxSecsToLive() > 0)) {
+      cache.periodicTrim(executor);
+    }
+    if (executor != null && cacheOptions.isRefresh()) {
+      cache.refreshWith(executor);
+    }
+    return cache;
+  }
+}
@@ -2,11 +2,14 @@ package com.avaje.ebeaninternal.server.cluster;
 
 import com.avaje.ebean.EbeanServer;
 import com.avaje.ebean.config.ContainerConfig;
+import com.avaje.ebeaninternal.server.cluster.socket.SocketClusterBroadcastFactory;
 import com.avaje.ebeaninternal.server.transaction.RemoteTransactionEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -38,20 +41,19 @@ public class ClusterManager {
 
   /**
    * Return the ClusterTransportFactory via ServiceLoader.
+   * <p>
+   * If there is no factory in the classpath then the built in socket transport is used.
+   * </p>
    */
   private ClusterBroadcastFactory createFactory() {
 
     ServiceLoader<ClusterBroadcastFactory> load = ServiceLoader.load(ClusterBroadcastFactory.class);
-    ClusterBroadcastFactory factory = null;
     Iterator<ClusterBroadcastFactory> iterator = load.iterator();
     if (iterator.hasNext()) {
-      factory = iterator.next();
+      return iterator.next();
     }
-    if (factory == null) {
-      throw new IllegalStateException("No ClusterTransportFactory found in classpath. "
-          + " Probably need to add the avaje-ebeanorm-cluster dependency");
-    }
-    return factory;
+    logger.debug("No ClusterBroadcastFactory found in classpath, using socket transport");
+    return new SocketClusterBroadcastFactory();
   }
 
   public void registerServer(EbeanServer server) {
@@ -69,6 +71,15 @@ public class ClusterManager {
     }
   }
 
+  /**
+   * Return the registered servers.
+   */
+  public List<EbeanServer> getServers() {
+    synchronized (monitor) {
+      return new ArrayList<>(serverMap.values());
+    }
+  }
+
   private void startup() {
     started = true;
     if (broadcast != null) {
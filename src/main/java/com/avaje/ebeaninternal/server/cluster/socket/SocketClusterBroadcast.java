@@ -0,0 +1,239 @@
+package com.avaje.ebeaninternal.server.cluster.socket;
+
+import com.avaje.ebean.EbeanServer;
+import com.avaje.ebeaninternal.server.cluster.ClusterBroadcast;
+import com.avaje.ebeaninternal.server.cluster.ClusterManager;
+import com.avaje.ebeaninternal.server.lib.DaemonThreadFactory;
+import com.avaje.ebeaninternal.server.transaction.RemoteTransactionEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cluster broadcast using TCP sockets to a static list of members.
+ * <p>
+ * The transaction events are not sent per transaction. Instead the events of all the transactions
+ * that commit within the coalesce window are merged (per server) with duplicate ids removed and
+ * sent as a single frame to each member. Frames larger than the compress threshold are deflated.
+ * </p>
+ */
+public class SocketClusterBroadcast implements ClusterBroadcast {
+
+  private static final Logger logger = LoggerFactory.getLogger(SocketClusterBroadcast.class);
+
+  private final ClusterManager manager;
+
+  private final SocketClusterListener listener;
+
+  private final List<SocketClusterMember> members = new ArrayList<>();
+
+  private final ScheduledExecutorService sender = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("ebean-cluster-coalesce-"));
+
+  private final int coalesceMillis;
+
+  private final int compressThreshold;
+
+  private final Object monitor = new Object();
+
+  /**
+   * The events (merged per server) waiting to be sent.
+   */
+  private Map<String, RemoteTransactionEvent> pending = new LinkedHashMap<>();
+
+  private boolean flushScheduled;
+
+  private final AtomicLong eventsSent = new AtomicLong();
+
+  private final AtomicLong framesSent = new AtomicLong();
+
+  private final AtomicLong idsRemoved = new AtomicLong();
+
+  private final AtomicLong framesReceived = new AtomicLong();
+
+  private final AtomicLong clearAllReceived = new AtomicLong();
+
+  public SocketClusterBroadcast(ClusterManager manager, SocketConfig config) {
+
+    InetSocketAddress localAddress = config.getLocalAddress();
+    if (localAddress == null) {
+      throw new IllegalStateException("No " + SocketConfig.LOCAL_HOST_PORT + " specified for the socket cluster transport");
+    }
+    this.manager = manager;
+    this.coalesceMillis = config.getCoalesceMillis();
+    this.compressThreshold = config.getCompressThreshold();
+    this.listener = new SocketClusterListener(this, localAddress);
+    for (InetSocketAddress member : config.getMembers()) {
+      if (!member.equals(localAddress)) {
+        members.add(new SocketClusterMember(member, config.getSendQueueSize()));
+      }
+    }
+  }
+
+  @Override
+  public void startup() {
+    listener.startup();
+    logger.info("Cluster members {} coalesceMillis:{} compressThreshold:{}", members, coalesceMillis, compressThreshold);
+  }
+
+  @Override
+  public void shutdown() {
+    // send the pending events
+    sender.shutdown();
+    try {
+      sender.awaitTermination(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    for (SocketClusterMember member : members) {
+      member.shutdown(2000);
+    }
+    listener.shutdown();
+    logger.info("Cluster shutdown events sent:{} frames sent:{} duplicate ids removed:{} frames received:{}",
+      eventsSent, framesSent, idsRemoved, framesReceived);
+  }
+
+  /**
+   * Add the event to the pending events that are sent at the end of the coalesce window.
+   */
+  @Override
+  public void broadcast(RemoteTransactionEvent remoteTransEvent) {
+    synchronized (monitor) {
+      String serverName = remoteTransEvent.getServerName();
+      RemoteTransactionEvent merged = pending.get(serverName);
+      if (merged == null) {
+        merged = new RemoteTransactionEvent(serverName);
+        pending.put(serverName, merged);
+      }
+      merged.merge(remoteTransEvent);
+      eventsSent.incrementAndGet();
+      if (!flushScheduled) {
+        flushScheduled = true;
+        sender.schedule(this::flush, coalesceMillis, TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+
+  /**
+   * Send the pending events to the members of the cluster.
+   */
+  private void flush() {
+
+    Map<String, RemoteTransactionEvent> events;
+    synchronized (monitor) {
+      events = pending;
+      pending = new LinkedHashMap<>();
+      flushScheduled = false;
+    }
+
+    for (RemoteTransactionEvent event : events.values()) {
+      idsRemoved.addAndGet(event.removeDuplicateIds());
+      if (event.isEmpty()) {
+        continue;
+      }
+      try {
+        byte[] frame = SocketFrame.encode(event, compressThreshold);
+        for (SocketClusterMember member : members) {
+          member.offer(frame);
+        }
+        framesSent.incrementAndGet();
+      } catch (IOException e) {
+        logger.error("Error encoding cluster message " + event, e);
+      } catch (RuntimeException e) {
+        logger.error("Error sending cluster message " + event, e);
+      }
+    }
+  }
+
+  /**
+   * Process a frame received from another member of the cluster.
+   */
+  void receive(byte[] content) throws IOException {
+
+    framesReceived.incrementAndGet();
+    if (SocketFrame.isClearAll(content)) {
+      clearAll();
+      return;
+    }
+    RemoteTransactionEvent event = SocketFrame.decode(content, manager);
+    if (event == null) {
+      logger.debug("Ignoring cluster message for unknown server");
+      return;
+    }
+    try {
+      event.run();
+    } catch (RuntimeException e) {
+      logger.error("Error processing cluster message " + event, e);
+    }
+  }
+
+  /**
+   * Clear the caches of all the servers as frames sent to this member were dropped.
+   */
+  private void clearAll() {
+    clearAllReceived.incrementAndGet();
+    logger.warn("Cluster messages to this member were dropped, clearing all caches");
+    for (EbeanServer server : manager.getServers()) {
+      try {
+        server.getServerCacheManager().clearAll();
+      } catch (RuntimeException e) {
+        logger.error("Error clearing caches of server " + server.getName(), e);
+      }
+    }
+  }
+
+  /**
+   * Return the number of transaction events sent.
+   */
+  long getEventsSent() {
+    return eventsSent.get();
+  }
+
+  /**
+   * Return the number of frames sent (each frame holding the coalesced events).
+   */
+  long getFramesSent() {
+    return framesSent.get();
+  }
+
+  /**
+   * Return the number of duplicate ids removed when coalescing.
+   */
+  long getIdsRemoved() {
+    return idsRemoved.get();
+  }
+
+  /**
+   * Return the number of frames dropped across the members as their send queue was full.
+   */
+  long getFramesDropped() {
+    long dropped = 0;
+    for (SocketClusterMember member : members) {
+      dropped += member.getFramesDropped();
+    }
+    return dropped;
+  }
+
+  /**
+   * Return the number of clear all frames received.
+   */
+  long getClearAllReceived() {
+    return clearAllReceived.get();
+  }
+
+  /**
+   * Return the number of frames received.
+   */
+  long getFramesReceived() {
+    return framesReceived.get();
+  }
+}
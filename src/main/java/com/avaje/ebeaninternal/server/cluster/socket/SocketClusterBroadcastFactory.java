@@ -0,0 +1,23 @@
+package com.avaje.ebeaninternal.server.cluster.socket;
+
+import com.avaje.ebeaninternal.server.cluster.ClusterBroadcast;
+import com.avaje.ebeaninternal.server.cluster.ClusterBroadcastFactory;
+import com.avaje.ebeaninternal.server.cluster.ClusterManager;
+
+import java.util.Properties;
+
+/**
+ * Factory for the built in socket cluster transport.
+ */
+public class SocketClusterBroadcastFactory implements ClusterBroadcastFactory {
+
+  @Override
+  public ClusterBroadcast create(ClusterManager manager, Properties properties) {
+
+    SocketConfig config = new SocketConfig();
+    if (properties != null) {
+      config.loadFromProperties(properties);
+    }
+    return new SocketClusterBroadcast(manager, config);
+  }
+}
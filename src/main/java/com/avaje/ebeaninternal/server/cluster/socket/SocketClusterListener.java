@@ -0,0 +1,117 @@
+package com.avaje.ebeaninternal.server.cluster.socket;
+
+import com.avaje.ebeaninternal.server.lib.DaemonThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Listens for connections from the other members of the cluster and reads their frames.
+ */
+final class SocketClusterListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(SocketClusterListener.class);
+
+  private final SocketClusterBroadcast broadcast;
+
+  private final InetSocketAddress address;
+
+  private final ExecutorService executor = Executors.newCachedThreadPool(new DaemonThreadFactory("ebean-cluster-"));
+
+  private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+  private ServerSocket serverSocket;
+
+  private volatile boolean shutdown;
+
+  SocketClusterListener(SocketClusterBroadcast broadcast, InetSocketAddress address) {
+    this.broadcast = broadcast;
+    this.address = address;
+  }
+
+  /**
+   * Bind the server socket and start accepting connections.
+   */
+  void startup() {
+    try {
+      serverSocket = new ServerSocket();
+      serverSocket.setReuseAddress(true);
+      serverSocket.bind(address);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to bind cluster listener to " + address, e);
+    }
+    executor.execute(this::accept);
+    logger.info("Cluster listening on {}", address);
+  }
+
+  /**
+   * Stop listening and close all the connections.
+   */
+  void shutdown() {
+    shutdown = true;
+    try {
+      serverSocket.close();
+    } catch (IOException e) {
+      logger.debug("Error closing cluster listener", e);
+    }
+    for (Socket connection : connections) {
+      close(connection);
+    }
+    executor.shutdownNow();
+  }
+
+  private void accept() {
+    while (!shutdown) {
+      try {
+        Socket connection = serverSocket.accept();
+        connection.setTcpNoDelay(true);
+        connections.add(connection);
+        executor.execute(() -> read(connection));
+      } catch (IOException e) {
+        if (!shutdown) {
+          logger.error("Error accepting cluster connection", e);
+        }
+      }
+    }
+  }
+
+  private void read(Socket connection) {
+    try {
+      DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream(), 8192));
+      byte[] content;
+      while ((content = SocketFrame.read(in)) != null) {
+        broadcast.receive(content);
+      }
+    } catch (SocketException e) {
+      if (!shutdown) {
+        logger.debug("Cluster connection closed {}", e.getMessage());
+      }
+    } catch (IOException e) {
+      if (!shutdown) {
+        logger.error("Error reading cluster message from " + connection.getRemoteSocketAddress(), e);
+      }
+    } finally {
+      connections.remove(connection);
+      close(connection);
+    }
+  }
+
+  private void close(Socket connection) {
+    try {
+      connection.close();
+    } catch (IOException e) {
+      logger.debug("Error closing cluster connection", e);
+    }
+  }
+}
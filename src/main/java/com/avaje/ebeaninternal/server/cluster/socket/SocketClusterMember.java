@@ -0,0 +1,197 @@
+package com.avaje.ebeaninternal.server.cluster.socket;
+
+import com.avaje.ebeaninternal.server.lib.DaemonThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A member of the cluster that frames are sent to.
+ * <p>
+ * Each member has its own sender thread and bounded queue of frames such that a member that
+ * is slow or stalled (connected but not reading) does not delay sending to the other members.
+ * When the queue is full the frame is dropped for this member and the connection is closed
+ * (which also aborts a blocked write) to be re-established on the next send. As the member has
+ * missed the cache invalidation of the dropped frame a clear all frame is sent ahead of the next
+ * frame such that the member does not continue to use stale cached data.
+ * </p>
+ * <p>
+ * The connection is made lazily and re-established after a failure.
+ * </p>
+ */
+final class SocketClusterMember {
+
+  private static final Logger logger = LoggerFactory.getLogger(SocketClusterMember.class);
+
+  private static final int CONNECT_TIMEOUT_MILLIS = 2000;
+
+  private final InetSocketAddress address;
+
+  private final ThreadPoolExecutor sender;
+
+  private final AtomicLong framesDropped = new AtomicLong();
+
+  /**
+   * Set when a frame was dropped such that a clear all is sent ahead of the next frame.
+   */
+  private final AtomicBoolean clearRequired = new AtomicBoolean();
+
+  /**
+   * Volatile as closed by abort() without the lock held by a blocked write.
+   */
+  private volatile Socket socket;
+
+  private OutputStream out;
+
+  SocketClusterMember(InetSocketAddress address, int sendQueueSize) {
+    this.address = address;
+    this.sender = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(Math.max(1, sendQueueSize)), new DaemonThreadFactory("ebean-cluster-send-" + address.getPort() + "-"));
+  }
+
+  public String toString() {
+    return address.toString();
+  }
+
+  /**
+   * Queue the frame to be sent to this member.
+   */
+  void offer(byte[] frame) {
+    try {
+      sender.execute(() -> send(frame));
+    } catch (RejectedExecutionException e) {
+      if (sender.isShutdown()) {
+        return;
+      }
+      long dropped = framesDropped.incrementAndGet();
+      clearRequired.set(true);
+      logger.warn("Cluster member " + address + " is not keeping up, dropped message (total dropped:" + dropped + ") and resetting connection to send clear all");
+      abort();
+    }
+  }
+
+  /**
+   * Return the number of frames dropped as the send queue was full.
+   */
+  long getFramesDropped() {
+    return framesDropped.get();
+  }
+
+  /**
+   * Send the frame to this member returning false if it could not be sent.
+   * <p>
+   * If the send fails on an existing connection (for example the member restarted) then
+   * the connection is re-established and the frame sent once more.
+   * </p>
+   */
+  synchronized boolean send(byte[] frame) {
+    boolean existing = (socket != null);
+    try {
+      write(frame);
+      return true;
+    } catch (IOException e) {
+      close();
+      if (existing) {
+        try {
+          write(frame);
+          return true;
+        } catch (IOException retryError) {
+          close();
+          e = retryError;
+        }
+      }
+      logger.warn("Failed to send cluster message to " + address + " " + e.getMessage());
+      return false;
+    }
+  }
+
+  private void write(byte[] frame) throws IOException {
+    if (socket == null) {
+      connect();
+    }
+    boolean clear = clearRequired.getAndSet(false);
+    try {
+      if (clear) {
+        // the member missed frames so clears its caches
+        out.write(SocketFrame.CLEAR_ALL);
+      }
+      out.write(frame);
+      out.flush();
+    } catch (IOException e) {
+      if (clear) {
+        clearRequired.set(true);
+      }
+      throw e;
+    }
+  }
+
+  private void connect() throws IOException {
+    Socket newSocket = new Socket();
+    try {
+      newSocket.setTcpNoDelay(true);
+      newSocket.setKeepAlive(true);
+      newSocket.connect(address, CONNECT_TIMEOUT_MILLIS);
+      out = new BufferedOutputStream(newSocket.getOutputStream(), 8192);
+      socket = newSocket;
+    } catch (IOException e) {
+      newSocket.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Close the socket without waiting for the lock such that a blocked write fails.
+   */
+  private void abort() {
+    Socket current = socket;
+    if (current != null) {
+      try {
+        current.close();
+      } catch (IOException e) {
+        logger.debug("Error closing connection to " + address, e);
+      }
+    }
+  }
+
+  /**
+   * Send the queued frames (waiting up to the given time) and close the connection.
+   */
+  void shutdown(long waitMillis) {
+    sender.shutdown();
+    try {
+      if (!sender.awaitTermination(waitMillis, TimeUnit.MILLISECONDS)) {
+        abort();
+        sender.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    close();
+  }
+
+  /**
+   * Close the connection to this member.
+   */
+  synchronized void close() {
+    if (socket != null) {
+      try {
+        socket.close();
+      } catch (IOException e) {
+        logger.debug("Error closing connection to " + address, e);
+      }
+      socket = null;
+      out = null;
+    }
+  }
+}
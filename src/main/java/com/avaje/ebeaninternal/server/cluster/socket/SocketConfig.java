@@ -0,0 +1,160 @@
+package com.avaje.ebeaninternal.server.cluster.socket;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Configuration of the socket based cluster transport.
+ * <pre>{@code
+ *
+ *   ebean.cluster.active=true
+ *   ebean.cluster.localHostPort=127.0.0.1:9801
+ *   ebean.cluster.members=127.0.0.1:9801,127.0.0.1:9802,127.0.0.1:9803
+ *
+ *   # optional
+ *   ebean.cluster.coalesceMillis=20
+ *   ebean.cluster.compressThreshold=4096
+ *   ebean.cluster.sendQueueSize=100
+ *
+ * }</pre>
+ * <p>
+ * The members list can include the local host port (such that all the nodes can use the same
+ * member list) and it is excluded when sending.
+ * </p>
+ */
+public class SocketConfig {
+
+  public static final String LOCAL_HOST_PORT = "ebean.cluster.localHostPort";
+  public static final String MEMBERS = "ebean.cluster.members";
+  public static final String COALESCE_MILLIS = "ebean.cluster.coalesceMillis";
+  public static final String COMPRESS_THRESHOLD = "ebean.cluster.compressThreshold";
+  public static final String SEND_QUEUE_SIZE = "ebean.cluster.sendQueueSize";
+
+  private InetSocketAddress localAddress;
+
+  private List<InetSocketAddress> members = new ArrayList<>();
+
+  private int coalesceMillis = 20;
+
+  private int compressThreshold = 4096;
+
+  private int sendQueueSize = 100;
+
+  /**
+   * Return the local address the listener binds to.
+   */
+  public InetSocketAddress getLocalAddress() {
+    return localAddress;
+  }
+
+  /**
+   * Set the local address the listener binds to.
+   */
+  public void setLocalAddress(InetSocketAddress localAddress) {
+    this.localAddress = localAddress;
+  }
+
+  /**
+   * Return the addresses of the members of the cluster.
+   */
+  public List<InetSocketAddress> getMembers() {
+    return members;
+  }
+
+  /**
+   * Set the addresses of the members of the cluster.
+   */
+  public void setMembers(List<InetSocketAddress> members) {
+    this.members = members;
+  }
+
+  /**
+   * Return the time window in millis over which transaction events are coalesced into one message.
+   */
+  public int getCoalesceMillis() {
+    return coalesceMillis;
+  }
+
+  /**
+   * Set the time window in millis over which transaction events are coalesced into one message.
+   * <p>
+   * Set to 0 to send each transaction event as soon as possible (events that arrive while a
+   * message is being sent are still coalesced).
+   * </p>
+   */
+  public void setCoalesceMillis(int coalesceMillis) {
+    this.coalesceMillis = coalesceMillis;
+  }
+
+  /**
+   * Return the message size in bytes above which messages are compressed.
+   */
+  public int getCompressThreshold() {
+    return compressThreshold;
+  }
+
+  /**
+   * Set the message size in bytes above which messages are compressed. Set to 0 to turn off compression.
+   */
+  public void setCompressThreshold(int compressThreshold) {
+    this.compressThreshold = compressThreshold;
+  }
+
+  /**
+   * Return the maximum number of messages queued per member waiting to be sent.
+   */
+  public int getSendQueueSize() {
+    return sendQueueSize;
+  }
+
+  /**
+   * Set the maximum number of messages queued per member waiting to be sent.
+   * <p>
+   * When a member is not keeping up (for example it is stalled) and its queue is full then
+   * messages are dropped for that member and its connection is reset. Other members are
+   * not affected.
+   * </p>
+   */
+  public void setSendQueueSize(int sendQueueSize) {
+    this.sendQueueSize = sendQueueSize;
+  }
+
+  /**
+   * Load the configuration from properties.
+   */
+  public void loadFromProperties(Properties properties) {
+
+    String local = properties.getProperty(LOCAL_HOST_PORT);
+    if (local != null) {
+      localAddress = parseHostPort(local);
+    }
+    String memberList = properties.getProperty(MEMBERS);
+    if (memberList != null) {
+      for (String member : memberList.split("[,;]")) {
+        if (!member.trim().isEmpty()) {
+          members.add(parseHostPort(member));
+        }
+      }
+    }
+    coalesceMillis = Integer.parseInt(properties.getProperty(COALESCE_MILLIS, Integer.toString(coalesceMillis)));
+    compressThreshold = Integer.parseInt(properties.getProperty(COMPRESS_THRESHOLD, Integer.toString(compressThreshold)));
+    sendQueueSize = Integer.parseInt(properties.getProperty(SEND_QUEUE_SIZE, Integer.toString(sendQueueSize)));
+  }
+
+  /**
+   * Parse a host:port value.
+   */
+  static InetSocketAddress parseHostPort(String hostPort) {
+
+    hostPort = hostPort.trim();
+    int pos = hostPort.lastIndexOf(':');
+    if (pos < 1) {
+      throw new IllegalArgumentException("Expecting host:port but got [" + hostPort + "]");
+    }
+    String host = hostPort.substring(0, pos);
+    int port = Integer.parseInt(hostPort.substring(pos + 1));
+    return new InetSocketAddress(host, port);
+  }
+}
@@ -0,0 +1,206 @@
+package com.avaje.ebeaninternal.server.cluster.socket;
+
+import com.avaje.ebeaninternal.api.SpiEbeanServer;
+import com.avaje.ebeaninternal.api.TransactionEventTable.TableIUD;
+import com.avaje.ebeaninternal.server.cluster.BinaryMessage;
+import com.avaje.ebeaninternal.server.cluster.BinaryMessageList;
+import com.avaje.ebeaninternal.server.cluster.ClusterManager;
+import com.avaje.ebeaninternal.server.transaction.BeanPersistIds;
+import com.avaje.ebeaninternal.server.transaction.RemoteTransactionEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encodes and decodes a RemoteTransactionEvent as a frame on the socket stream.
+ * <p>
+ * A frame is the length of the frame content followed by the content. The content is a format
+ * byte followed by the payload which is the server name followed by the BinaryMessages of the
+ * event and terminated by {@link BinaryMessage#TYPE_MSGCONTROL}. When compressed the payload is
+ * the uncompressed length followed by the deflated payload.
+ * </p>
+ * <p>
+ * A clear all frame has no payload and tells the receiving member to clear its caches as it
+ * has missed frames (that were dropped as the member was not keeping up).
+ * </p>
+ */
+final class SocketFrame {
+
+  static final byte FORMAT_PLAIN = 0;
+
+  static final byte FORMAT_DEFLATE = 1;
+
+  static final byte FORMAT_CLEAR_ALL = 2;
+
+  /**
+   * The clear all frame (length 1 and the format).
+   */
+  static final byte[] CLEAR_ALL = {0, 0, 0, 1, FORMAT_CLEAR_ALL};
+
+  /**
+   * Maximum frame size accepted (protects against reading garbage as a length).
+   */
+  private static final int MAX_FRAME = 64 * 1024 * 1024;
+
+  private SocketFrame() {
+  }
+
+  /**
+   * Encode the event returning the frame bytes (including the length prefix).
+   */
+  static byte[] encode(RemoteTransactionEvent event, int compressThreshold) throws IOException {
+
+    BinaryMessageList msgList = new BinaryMessageList();
+    event.writeBinaryMessage(msgList);
+
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream(512);
+    DataOutputStream os = new DataOutputStream(buffer);
+    os.writeUTF(event.getServerName());
+    for (BinaryMessage msg : msgList.getList()) {
+      os.write(msg.getByteArray());
+    }
+    os.writeInt(BinaryMessage.TYPE_MSGCONTROL);
+    os.flush();
+
+    byte[] payload = buffer.toByteArray();
+    byte format = FORMAT_PLAIN;
+    if (compressThreshold > 0 && payload.length > compressThreshold) {
+      payload = deflate(payload);
+      format = FORMAT_DEFLATE;
+    }
+
+    ByteArrayOutputStream frame = new ByteArrayOutputStream(payload.length + 5);
+    DataOutputStream out = new DataOutputStream(frame);
+    out.writeInt(payload.length + 1);
+    out.writeByte(format);
+    out.write(payload);
+    out.flush();
+    return frame.toByteArray();
+  }
+
+  private static byte[] deflate(byte[] payload) throws IOException {
+
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(payload);
+      deflater.finish();
+
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream(payload.length / 2 + 4);
+      DataOutputStream os = new DataOutputStream(buffer);
+      os.writeInt(payload.length);
+      byte[] chunk = new byte[4096];
+      while (!deflater.finished()) {
+        int len = deflater.deflate(chunk);
+        os.write(chunk, 0, len);
+      }
+      os.flush();
+      return buffer.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] inflate(byte[] content) throws IOException {
+
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(content, 1, content.length - 1));
+    int length = in.readInt();
+    if (length < 0 || length > MAX_FRAME) {
+      throw new IOException("Invalid uncompressed length " + length);
+    }
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(content, 5, content.length - 5);
+      byte[] payload = new byte[length];
+      int offset = 0;
+      while (offset < length) {
+        int len = inflater.inflate(payload, offset, length - offset);
+        if (len == 0 && (inflater.finished() || inflater.needsInput())) {
+          throw new IOException("Truncated compressed frame");
+        }
+        offset += len;
+      }
+      return payload;
+    } catch (DataFormatException e) {
+      throw new IOException("Invalid compressed frame", e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  /**
+   * Read the next frame content returning null at the end of the stream.
+   */
+  static byte[] read(DataInputStream in) throws IOException {
+
+    int length;
+    try {
+      length = in.readInt();
+    } catch (EOFException e) {
+      return null;
+    }
+    if (length < 1 || length > MAX_FRAME) {
+      throw new IOException("Invalid frame length " + length);
+    }
+    byte[] content = new byte[length];
+    in.readFully(content);
+    return content;
+  }
+
+  /**
+   * Return true if the frame content is a clear all.
+   */
+  static boolean isClearAll(byte[] content) {
+    return content[0] == FORMAT_CLEAR_ALL;
+  }
+
+  /**
+   * Decode the frame content into a RemoteTransactionEvent.
+   * <p>
+   * Returns null if the server the event is for is not registered with the cluster manager.
+   * </p>
+   */
+  static RemoteTransactionEvent decode(byte[] content, ClusterManager manager) throws IOException {
+
+    DataInputStream in = payload(content);
+    String serverName = in.readUTF();
+    SpiEbeanServer server = (SpiEbeanServer) manager.getServer(serverName);
+    if (server == null) {
+      return null;
+    }
+
+    RemoteTransactionEvent event = new RemoteTransactionEvent(server);
+    while (true) {
+      int msgType = in.readInt();
+      switch (msgType) {
+        case BinaryMessage.TYPE_MSGCONTROL:
+          return event;
+        case BinaryMessage.TYPE_BEANIUD:
+          event.addBeanPersistIds(BeanPersistIds.readBinaryMessage(server, in));
+          break;
+        case BinaryMessage.TYPE_TABLEIUD:
+          event.addTableIUD(TableIUD.readBinaryMessage(in));
+          break;
+        default:
+          throw new IOException("Invalid message type " + msgType);
+      }
+    }
+  }
+
+  private static DataInputStream payload(byte[] content) throws IOException {
+    switch (content[0]) {
+      case FORMAT_PLAIN:
+        return new DataInputStream(new ByteArrayInputStream(content, 1, content.length - 1));
+      case FORMAT_DEFLATE:
+        return new DataInputStream(new ByteArrayInputStream(inflate(content)));
+      default:
+        throw new IOException("Invalid frame format " + content[0]);
+    }
+  }
+}
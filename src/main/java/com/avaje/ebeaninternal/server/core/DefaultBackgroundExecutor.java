@@ -34,6 +34,11 @@ public class DefaultBackgroundExecutor implements SpiBackgroundExecutor {
 		schedulePool.scheduleWithFixedDelay(r, delay, delay, unit);
 	}
 
+	@Override
+	public int getActiveCount() {
+		return pool.getActiveCount();
+	}
+
 	public void shutdown() {
 		pool.shutdown();
 		schedulePool.shutdown();
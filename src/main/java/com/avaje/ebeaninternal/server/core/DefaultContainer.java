@@ -95,6 +95,7 @@ public class DefaultContainer implements SpiContainer {
       BootupClasses bootupClasses = getBootupClasses(serverConfig);
 
       setDataSource(serverConfig);
+      setReadOnlyDataSource(serverConfig);
       // check the autoCommit and Transaction Isolation
       boolean online = checkDataSource(serverConfig);
 
@@ -157,12 +158,16 @@ public class DefaultContainer implements SpiContainer {
     beanOptions.setMaxSize(serverConfig.getCacheMaxSize());
     beanOptions.setMaxIdleSecs(serverConfig.getCacheMaxIdleTime());
     beanOptions.setMaxSecsToLive(serverConfig.getCacheMaxTimeToLive());
+    beanOptions.setEviction(serverConfig.getCacheEviction());
+    beanOptions.setRefreshAheadSecs(serverConfig.getCacheRefreshAheadSecs());
+    beanOptions.setStaleWhileRevalidate(serverConfig.isCacheStaleWhileRevalidate());
 
     // reasonable default settings for the query cache per bean type
     ServerCacheOptions queryOptions = new ServerCacheOptions();
     queryOptions.setMaxSize(serverConfig.getQueryCacheMaxSize());
     queryOptions.setMaxIdleSecs(serverConfig.getQueryCacheMaxIdleTime());
     queryOptions.setMaxSecsToLive(serverConfig.getQueryCacheMaxTimeToLive());
+    queryOptions.setEviction(serverConfig.getCacheEviction());
 
     boolean localL2Caching = false;
     ServerCachePlugin plugin = serverConfig.getServerCachePlugin();
@@ -283,6 +288,43 @@ public class DefaultContainer implements SpiContainer {
       return null;
     }
 
+    return createPool(config, config.getName(), dsConfig);
+  }
+
+  /**
+   * Set the read only DataSource if it has not already been set and has been configured.
+   */
+  private void setReadOnlyDataSource(ServerConfig config) {
+    if (config.getReadOnlyDataSource() == null) {
+      config.setReadOnlyDataSource(getReadOnlyDataSourceFromConfig(config));
+    }
+  }
+
+  private DataSource getReadOnlyDataSourceFromConfig(ServerConfig config) {
+
+    DataSourceConfig roConfig = config.getReadOnlyDataSourceConfig();
+    if (DbOffline.isSet() || roConfig == null || roConfig.getUrl() == null || config.getDataSource() == null) {
+      return null;
+    }
+
+    // default the credentials and driver to those of the main DataSource
+    DataSourceConfig dsConfig = config.getDataSourceConfig();
+    if (dsConfig != null) {
+      if (roConfig.getUsername() == null) {
+        roConfig.setUsername(dsConfig.getUsername());
+      }
+      if (roConfig.getPassword() == null) {
+        roConfig.setPassword(dsConfig.getPassword());
+      }
+      if (roConfig.getDriver() == null) {
+        roConfig.setDriver(dsConfig.getDriver());
+      }
+    }
+    return createPool(config, config.getName() + "-ro", roConfig);
+  }
+
+  private DataSource createPool(ServerConfig config, String poolName, DataSourceConfig dsConfig) {
+
     DataSourceFactory factory = config.service(DataSourceFactory.class);
     if (factory == null) {
       throw new IllegalStateException("No DataSourceFactory service implementation found in class path."
@@ -296,7 +338,7 @@ public class DefaultContainer implements SpiContainer {
 
     attachListener(config, dsConfig);
 
-    return factory.createPool(config.getName(), dsConfig);
+    return factory.createPool(poolName, dsConfig);
   }
 
   /**
@@ -3,9 +3,13 @@ package com.avaje.ebeaninternal.server.core;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.avaje.ebean.meta.MetaBatchFlushStatistic;
 import com.avaje.ebean.meta.MetaBeanInfo;
+import com.avaje.ebean.meta.MetaQueryPlanCacheStatistic;
 import com.avaje.ebean.meta.MetaQueryPlanStatistic;
 import com.avaje.ebean.meta.MetaInfoManager;
+import com.avaje.ebean.meta.MetaPersistStatistic;
+import com.avaje.ebean.meta.MetaServerMetrics;
 import com.avaje.ebean.meta.MetaObjectGraphNodeStats;
 
 /**
@@ -41,7 +45,41 @@ public class DefaultMetaInfoManager implements MetaInfoManager {
     
     return list;    
   }
-  
+
+  @Override
+  public List<MetaPersistStatistic> collectPersistStatistics(boolean reset) {
+
+    List<MetaPersistStatistic> list = new ArrayList<>();
+    for (MetaBeanInfo metaBeanInfo : getMetaBeanInfoList()) {
+      list.addAll(metaBeanInfo.collectPersistStatistics(reset));
+    }
+    return list;
+  }
+
+  @Override
+  public List<MetaQueryPlanCacheStatistic> collectQueryPlanCacheStatistics(boolean reset) {
+
+    List<MetaQueryPlanCacheStatistic> list = new ArrayList<>();
+    for (MetaBeanInfo metaBeanInfo : getMetaBeanInfoList()) {
+      MetaQueryPlanCacheStatistic statistic = metaBeanInfo.getQueryPlanCacheStatistic(reset);
+      if (statistic != null && (statistic.getHitCount() > 0 || statistic.getMissCount() > 0 || statistic.getSize() > 0)) {
+        // Only collect for bean types that have used the query plan cache
+        list.add(statistic);
+      }
+    }
+    return list;
+  }
+
+  @Override
+  public MetaBatchFlushStatistic collectBatchFlushStatistic(boolean reset) {
+    return server.collectBatchFlushStatistic(reset);
+  }
+
+  @Override
+  public MetaServerMetrics collectServerMetrics(boolean reset) {
+    return server.collectServerMetrics(reset);
+  }
+
   public List<MetaObjectGraphNodeStats> collectNodeStatistics(boolean reset) {
 
     List<MetaObjectGraphNodeStats> list = new ArrayList<>();
@@ -17,7 +17,10 @@ import com.avaje.ebean.dbmigration.DdlGenerator;
 import com.avaje.ebean.event.BeanPersistController;
 import com.avaje.ebean.event.readaudit.ReadAuditLogger;
 import com.avaje.ebean.event.readaudit.ReadAuditPrepare;
+import com.avaje.ebean.meta.MetaBatchFlushStatistic;
 import com.avaje.ebean.meta.MetaInfoManager;
+import com.avaje.ebean.meta.MetaServerMetrics;
+import com.avaje.ebean.meta.MetricsListener;
 import com.avaje.ebean.plugin.BeanType;
 import com.avaje.ebean.plugin.Plugin;
 import com.avaje.ebean.plugin.SpiServer;
@@ -39,14 +42,19 @@ import com.avaje.ebeaninternal.server.deploy.BeanDescriptor;
 import com.avaje.ebeaninternal.server.deploy.BeanDescriptorManager;
 import com.avaje.ebeaninternal.server.deploy.BeanProperty;
 import com.avaje.ebeaninternal.server.deploy.InheritInfo;
+import com.avaje.ebeaninternal.server.dto.DtoBeanManager;
+import com.avaje.ebeaninternal.server.dto.DtoMeta;
 import com.avaje.ebeaninternal.server.el.ElFilter;
+import com.avaje.ebeaninternal.server.grammer.EqlCache;
 import com.avaje.ebeaninternal.server.grammer.EqlParser;
+import com.avaje.ebeaninternal.server.grammer.EqlTemplate;
 import com.avaje.ebeaninternal.server.lib.ShutdownManager;
 import com.avaje.ebeaninternal.server.query.CQuery;
 import com.avaje.ebeaninternal.server.query.CQueryEngine;
 import com.avaje.ebeaninternal.server.query.CallableQueryIds;
 import com.avaje.ebeaninternal.server.query.CallableQueryList;
 import com.avaje.ebeaninternal.server.query.CallableQueryRowCount;
+import com.avaje.ebeaninternal.server.query.KeysetPaging;
 import com.avaje.ebeaninternal.server.query.LimitOffsetPagedList;
 import com.avaje.ebeaninternal.server.query.QueryFutureIds;
 import com.avaje.ebeaninternal.server.query.QueryFutureList;
@@ -55,6 +63,7 @@ import com.avaje.ebeaninternal.server.querydefn.DefaultOrmQuery;
 import com.avaje.ebeaninternal.server.querydefn.DefaultOrmUpdate;
 import com.avaje.ebeaninternal.server.querydefn.DefaultRelationalQuery;
 import com.avaje.ebeaninternal.server.querydefn.DefaultUpdateQuery;
+import com.avaje.ebeaninternal.server.querydefn.OrmQueryDetail;
 import com.avaje.ebeaninternal.server.text.csv.TCsvReader;
 import com.avaje.ebeaninternal.server.transaction.DefaultPersistenceContext;
 import com.avaje.ebeaninternal.server.transaction.RemoteTransactionEvent;
@@ -77,7 +86,11 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.StringJoiner;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * The default server side implementation of EbeanServer.
@@ -153,6 +166,11 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
 
   private final MetaInfoManager metaInfoManager;
 
+  /**
+   * Cache of parsed EQL used by createQuery(beanType, eql).
+   */
+  private final EqlCache eqlCache;
+
   /**
    * The default PersistenceContextScope used if it is not explicitly set on a query.
    */
@@ -184,6 +202,21 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
    */
   protected final ConcurrentHashMap<ObjectGraphNode, CObjectGraphNodeStatistics> objectGraphStats;
 
+  /**
+   * Server wide counters for transactions and queries.
+   */
+  private final ServerMetrics serverMetrics;
+
+  /**
+   * Listeners periodically notified with the server metrics.
+   */
+  private final List<MetricsListener> metricsListeners;
+
+  /**
+   * Meta data for the DTO types used with DTO queries.
+   */
+  private final DtoBeanManager dtoBeanManager;
+
   /**
    * Create the DefaultServer.
    */
@@ -192,9 +225,12 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     this.serverConfig = config.getServerConfig();
     this.objectGraphStats = new ConcurrentHashMap<>();
     this.metaInfoManager = new DefaultMetaInfoManager(this);
+    this.eqlCache = new EqlCache(serverConfig.getEqlCacheMaxSize());
     this.serverCacheManager = cache;
     this.databasePlatform = config.getDatabasePlatform();
     this.backgroundExecutor = config.getBackgroundExecutor();
+    this.serverMetrics = config.getServerMetrics();
+    this.metricsListeners = config.getMetricsListeners();
 
     this.serverName = serverConfig.getName();
     this.lazyLoadBatchSize = serverConfig.getLazyLoadBatchSize();
@@ -223,6 +259,7 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     this.readAuditLogger = config.getReadAuditLogger();
 
     this.beanLoader = new DefaultBeanLoader(this);
+    this.dtoBeanManager = new DtoBeanManager(config.getTypeManager());
     this.jsonContext = config.createJsonContext(this);
     this.dataTimeZone = config.getDataTimeZone();
 
@@ -296,6 +333,36 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     return metaInfoManager;
   }
 
+  /**
+   * Return the counts of batch flushes by cause.
+   */
+  MetaBatchFlushStatistic collectBatchFlushStatistic(boolean reset) {
+    return persister.collectBatchFlushStatistic(reset);
+  }
+
+  /**
+   * Return the server wide metrics.
+   */
+  MetaServerMetrics collectServerMetrics(boolean reset) {
+    // the owners statistics are not reset (only the counters the metrics own)
+    return serverMetrics.snapshot(reset, persister.collectBatchFlushMetrics(reset), serverCacheManager.collectStatistics(false),
+        backgroundExecutor.getActiveCount());
+  }
+
+  /**
+   * Collect the metrics and notify the MetricsListeners.
+   */
+  private void notifyMetricsListeners() {
+    MetaServerMetrics metrics = collectServerMetrics(true);
+    for (MetricsListener listener : metricsListeners) {
+      try {
+        listener.metrics(metrics);
+      } catch (Exception e) {
+        logger.error("Error notifying MetricsListener " + listener, e);
+      }
+    }
+  }
+
   @Override
   public SpiServer getPluginApi() {
     return this;
@@ -342,6 +409,10 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
    * Start any services after registering with the ClusterManager.
    */
   public void start() {
+    if (!metricsListeners.isEmpty()) {
+      int collectionSecs = Math.max(1, serverConfig.getMetricsCollectionSecs());
+      backgroundExecutor.executePeriodically(this::notifyMetricsListeners, collectionSecs, TimeUnit.SECONDS);
+    }
     DbMigrationConfig migrationConfig = serverConfig.getMigrationConfig();
     if (migrationConfig != null) {
       migrationConfig.generateOnStart(this);
@@ -392,6 +463,8 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     backgroundExecutor.shutdown();
     // shutdown DataSource (if its an Ebean one)
     transactionManager.shutdown(shutdownDataSource, deregisterDriver);
+    // release the registered bean cache schemas
+    beanDescriptorManager.shutdown();
     shutdown = true;
     if (shutdownDataSource) {
       // deregister the DataSource in case ServerConfig is re-used
@@ -718,7 +791,11 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
         if (isolation != null) {
           isoLevel = isolation.getLevel();
         }
-        t = transactionManager.createTransaction(true, isoLevel);
+        if (txScope.isReadonly()) {
+          t = transactionManager.createReadOnlyTransaction(isoLevel);
+        } else {
+          t = transactionManager.createTransaction(true, isoLevel);
+        }
       }
     }
 
@@ -911,8 +988,16 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
 
   @Override
   public <T> Query<T> createQuery(Class<T> beanType, String eql) {
+    EqlTemplate<T> template = eqlCache.get(beanType, eql);
+    if (template != null) {
+      return template.createQuery();
+    }
     DefaultOrmQuery<T> query = createQuery(beanType);
-    EqlParser.parse(eql, query);
+    if (eqlCache.isFull()) {
+      EqlParser.parse(eql, query);
+    } else {
+      eqlCache.put(beanType, eql, EqlTemplate.parse(eql, query));
+    }
     return query;
   }
 
@@ -1060,7 +1145,35 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
       if (bean != null) {
         return bean;
       }
+      if (isBeanCacheLoad(spiQuery, t)) {
+        // concurrent bean cache misses for the same id share a single load
+        BeanDescriptor<T> desc = spiQuery.getBeanDescriptor();
+        Object id = desc.convertId(spiQuery.getId());
+        return desc.cacheBeanLoadOnce(id, () -> findIdLoad(spiQuery, t), () -> findIdCheckPersistenceContextAndCache(t, spiQuery, id));
+      }
+    }
+    return findIdLoad(spiQuery, t);
+  }
+
+  /**
+   * Return true if a bean cache miss for this query loads the bean into the bean cache.
+   */
+  private <T> boolean isBeanCacheLoad(SpiQuery<T> query, Transaction transaction) {
+    if (!query.isUseBeanCache() || query.isForUpdate() || query.isAsOfQuery()) {
+      return false;
     }
+    SpiTransaction t = (SpiTransaction) transaction;
+    if (t == null) {
+      t = getCurrentServerTransaction();
+    }
+    return t == null || !t.isSkipCache();
+  }
+
+  /**
+   * Execute the find by id query.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> T findIdLoad(SpiQuery<T> spiQuery, Transaction t) {
 
     SpiOrmQueryRequest<T> request = createQueryRequest(spiQuery, t);
     if (request.isUseDocStore()) {
@@ -1090,12 +1203,20 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
       t = getCurrentServerTransaction();
     }
     if (t == null || !t.isSkipCache()) {
-      id = spiQuery.getBeanDescriptor().cacheNaturalKeyIdLookup(spiQuery);
+      BeanDescriptor<T> desc = spiQuery.getBeanDescriptor();
+      id = desc.cacheNaturalKeyIdLookup(spiQuery);
       if (id != null) {
         T bean = findIdCheckPersistenceContextAndCache(t, spiQuery, id);
         if (bean != null) {
           return bean;
         }
+      } else {
+        Object naturalKey = desc.cacheNaturalKeyValue(spiQuery);
+        if (naturalKey != null && !spiQuery.isForUpdate() && !spiQuery.isAsOfQuery()) {
+          // concurrent natural key cache misses for the same key share a single load
+          SpiTransaction trans = t;
+          return desc.cacheNaturalKeyLoadOnce(naturalKey, () -> findUniqueLoad(spiQuery, trans), () -> findNaturalKeyCached(spiQuery, trans));
+        }
       }
     }
 
@@ -1104,6 +1225,25 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     return extractUnique(list);
   }
 
+  /**
+   * Execute the find by natural key query putting the bean into the bean (and natural key) cache.
+   */
+  private <T> T findUniqueLoad(SpiQuery<T> query, SpiTransaction t) {
+    T bean = extractUnique(findList(query, t));
+    if (bean != null && !query.isLoadBeanCache()) {
+      query.getBeanDescriptor().cacheBeanPut((EntityBean) bean);
+    }
+    return bean;
+  }
+
+  /**
+   * Return the bean using the natural key and bean caches (after a concurrent load).
+   */
+  private <T> T findNaturalKeyCached(SpiQuery<T> query, SpiTransaction t) {
+    Object id = query.getBeanDescriptor().cacheNaturalKeyIdLookup(query);
+    return (id == null) ? null : findIdCheckPersistenceContextAndCache(t, query, id);
+  }
+
   private <T> T extractUnique(List<T> list) {
     if (list.isEmpty()) {
       return null;
@@ -1172,6 +1312,51 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     }
   }
 
+  @Override
+  public <T, D> void findDtoEach(Query<T> query, Class<D> dtoType, QueryEachWhileConsumer<D> consumer, Transaction t) {
+
+    SpiQuery<T> spiQuery = (SpiQuery<T>) query;
+    OrmQueryDetail detail = spiQuery.getDetail();
+    if (!detail.isJoinsEmpty()) {
+      throw new IllegalStateException("asDto() does not support fetch joins - only the properties of " + spiQuery.getBeanDescriptor().getFullName() + " can be selected");
+    }
+    DtoMeta dtoMeta = dtoBeanManager.getMeta(dtoType);
+    if (detail.isEmpty()) {
+      // select on a copy leaving the query unchanged for other DTO types and findList()
+      spiQuery = spiQuery.copy();
+      selectDtoProperties(spiQuery, dtoMeta);
+    }
+
+    SpiOrmQueryRequest<T> request = createQueryRequest(Type.DTO, spiQuery, t);
+    try {
+      request.initTransIfRequired();
+      request.findDtoEach(dtoMeta, consumer);
+
+    } finally {
+      request.endTransIfRequired();
+    }
+  }
+
+  /**
+   * Select the properties the DTO has setters for (or all the scalar properties for a DTO
+   * without setters) when the query has no select clause.
+   */
+  private void selectDtoProperties(SpiQuery<?> query, DtoMeta dtoMeta) {
+
+    BeanDescriptor<?> desc = query.getBeanDescriptor();
+    StringJoiner select = new StringJoiner(",");
+    BeanProperty idProperty = desc.getIdProperty();
+    if (idProperty != null && !idProperty.isEmbedded() && dtoMeta.isSelectProperty(idProperty.getName())) {
+      select.add(idProperty.getName());
+    }
+    for (BeanProperty property : desc.propertiesBaseScalar()) {
+      if (dtoMeta.isSelectProperty(property.getName())) {
+        select.add(property.getName());
+      }
+    }
+    query.select(select.toString());
+  }
+
   public <T> int findCount(Query<T> query, Transaction t) {
 
     SpiQuery<T> copy = ((SpiQuery<T>) query).copy();
@@ -1185,6 +1370,10 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
   public <T> int findRowCountWithCopy(Query<T> query, Transaction t) {
 
     SpiOrmQueryRequest<T> request = createQueryRequest(Type.ROWCOUNT, query, t);
+    Object result = request.getFromQueryCache();
+    if (result != null) {
+      return (Integer) result;
+    }
     try {
       request.initTransIfRequired();
       return request.findRowCount();
@@ -1199,9 +1388,14 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     return findIdsWithCopy(((SpiQuery<T>) query).copy(), t);
   }
 
+  @SuppressWarnings("unchecked")
   public <A, T> List<A> findIdsWithCopy(Query<T> query, Transaction t) {
 
     SpiOrmQueryRequest<?> request = createQueryRequest(Type.ID_LIST, query, t);
+    Object result = request.getFromQueryCache();
+    if (result != null) {
+      return (List<A>) result;
+    }
     try {
       request.initTransIfRequired();
       return request.findIds();
@@ -1240,7 +1434,15 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     SpiQuery<T> copy = ((SpiQuery<T>) q).copy();
     copy.setFutureFetch(true);
 
-    Transaction newTxn = createTransaction();
+    if (isRowCountInQueryCache(copy, t)) {
+      // complete the future in this thread with no background query or transaction
+      CallableQueryRowCount<T> call = new CallableQueryRowCount<>(this, copy, null);
+      QueryFutureRowCount<T> queryFuture = new QueryFutureRowCount<>(call);
+      queryFuture.getFutureTask().run();
+      return queryFuture;
+    }
+
+    Transaction newTxn = createQueryTransaction();
 
     CallableQueryRowCount<T> call = new CallableQueryRowCount<>(this, copy, newTxn);
 
@@ -1250,6 +1452,18 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     return queryFuture;
   }
 
+  /**
+   * Return true if the row count for the query is in the query cache.
+   */
+  private <T> boolean isRowCountInQueryCache(SpiQuery<T> query, Transaction t) {
+    if (!query.isUseQueryCache()) {
+      return false;
+    }
+    // check using a copy as preparing the request modifies the query
+    SpiOrmQueryRequest<T> request = createQueryRequest(Type.ROWCOUNT, query.copy(), t);
+    return request.getFromQueryCache() != null;
+  }
+
   public <T> FutureRowCount<T> findFutureRowCount(Query<T> q, Transaction t) {
     return findFutureCount(q, t);
   }
@@ -1259,7 +1473,7 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     SpiQuery<T> copy = ((SpiQuery<T>) query).copy();
     copy.setFutureFetch(true);
 
-    Transaction newTxn = createTransaction();
+    Transaction newTxn = createQueryTransaction();
 
     CallableQueryIds<T> call = new CallableQueryIds<>(this, copy, newTxn);
     QueryFutureIds<T> queryFuture = new QueryFutureIds<>(call);
@@ -1283,13 +1497,39 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     }
 
     // Create a new transaction solely to execute the findList() at some future time
-    Transaction newTxn = createTransaction();
+    Transaction newTxn = createQueryTransaction();
     CallableQueryList<T> call = new CallableQueryList<>(this, spiQuery, newTxn);
     QueryFutureList<T> queryFuture = new QueryFutureList<>(call);
     backgroundExecutor.execute(queryFuture.getFutureTask());
     return queryFuture;
   }
 
+  @Override
+  public <T> KeysetPagedList<T> findKeysetPagedList(Query<T> query, String cursor, Transaction transaction) {
+
+    SpiQuery<T> pageQuery = ((SpiQuery<T>) query).copy();
+    int pageSize = pageQuery.getMaxRows();
+    if (pageSize == 0) {
+      throw new PersistenceException("maxRows must be specified for findKeysetPagedList() query");
+    }
+    if (pageQuery.getFirstRow() > 0) {
+      throw new PersistenceException("firstRow can not be used with findKeysetPagedList() query");
+    }
+
+    KeysetPaging<T> paging = new KeysetPaging<>(pageQuery);
+    paging.applyCursor(cursor);
+    // fetch one more to determine if there is a next page
+    pageQuery.setMaxRows(pageSize + 1);
+
+    List<T> list = findList(pageQuery, transaction);
+    String nextCursor = null;
+    if (list.size() > pageSize) {
+      list.remove(pageSize);
+      nextCursor = paging.cursor(list.get(pageSize - 1));
+    }
+    return paging.page(list, pageSize, nextCursor);
+  }
+
   @Override
   public <T> PagedList<T> findPagedList(Query<T> query, Transaction transaction) {
 
@@ -1319,6 +1559,17 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     }
   }
 
+  @Override
+  public <T> Stream<T> findStream(Query<T> query, Transaction t) {
+
+    QueryIterator<T> iterator = findIterate(query, t);
+    if (iterator == null) {
+      // query was cancelled
+      return Stream.empty();
+    }
+    return QueryIteratorSpliterator.stream(iterator);
+  }
+
   public <T> void findEach(Query<T> query, QueryEachConsumer<T> consumer, Transaction t) {
 
     SpiOrmQueryRequest<T> request = createQueryRequest(Type.ITERATE, query, t);
@@ -1412,6 +1663,33 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
     }
   }
 
+  @Override
+  public Stream<SqlRow> findStream(SqlQuery query, Transaction transaction) {
+
+    RelationalQueryRequest request = new RelationalQueryRequest(this, relationalQueryEngine, query, transaction);
+    try {
+      request.initTransIfRequired();
+      return QueryIteratorSpliterator.stream(request.findIterate());
+
+    } catch (RuntimeException ex) {
+      request.endTransIfRequired();
+      throw ex;
+    }
+  }
+
+  @Override
+  public <D> void findDtoEach(SqlQuery query, Class<D> dtoType, QueryEachWhileConsumer<D> consumer, Transaction transaction) {
+
+    DtoMeta dtoMeta = dtoBeanManager.getMeta(dtoType);
+    RelationalQueryRequest request = new RelationalQueryRequest(this, relationalQueryEngine, query, transaction);
+    try {
+      request.initTransIfRequired();
+      request.findDtoEach(dtoMeta, consumer);
+    } finally {
+      request.endTransIfRequired();
+    }
+  }
+
   public List<SqlRow> findList(SqlQuery query, Transaction t) {
 
     RelationalQueryRequest request = new RelationalQueryRequest(this, relationalQueryEngine, query, t);
@@ -1436,7 +1714,49 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
    * Save the bean with an explicit transaction.
    */
   public void save(Object bean, Transaction t) {
-    persister.save(checkEntityBean(bean), t);
+    EntityBean entityBean = checkEntityBean(bean);
+    if (isGroupCommit(t)) {
+      groupCommit(txn -> {
+        persister.save(entityBean, txn);
+        return null;
+      });
+    } else {
+      persister.save(entityBean, t);
+    }
+  }
+
+  /**
+   * Return true if the save or delete should use group commit.
+   * <p>
+   * This is the case when group commit is enabled and the save or delete would otherwise
+   * use an implicit transaction.
+   * </p>
+   */
+  private boolean isGroupCommit(Transaction t) {
+    if (t != null || !transactionManager.isGroupCommit()) {
+      return false;
+    }
+    SpiTransaction current = transactionScopeManager.get();
+    return current == null || !current.isActive();
+  }
+
+  /**
+   * Execute the work using group commit.
+   * <p>
+   * The group transaction is the current transaction while the work executes such that
+   * persisting by controllers and listeners joins the group transaction (rather than
+   * using group commit again).
+   * </p>
+   */
+  private <T> T groupCommit(Function<SpiTransaction, T> work) {
+    return transactionManager.groupCommit(txn -> {
+      transactionScopeManager.replace(txn);
+      try {
+        return work.apply(txn);
+      } finally {
+        transactionScopeManager.replace(null);
+      }
+    });
   }
 
   @Override
@@ -1459,7 +1779,15 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
    * Update the bean using the default 'updatesDeleteMissingChildren' setting.
    */
   public void update(Object bean, Transaction t) {
-    persister.update(checkEntityBean(bean), t);
+    EntityBean entityBean = checkEntityBean(bean);
+    if (isGroupCommit(t)) {
+      groupCommit(txn -> {
+        persister.update(entityBean, txn);
+        return null;
+      });
+    } else {
+      persister.update(entityBean, t);
+    }
   }
 
   /**
@@ -1509,7 +1837,15 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
    * Insert the bean with a transaction.
    */
   public void insert(Object bean, Transaction t) {
-    persister.insert(checkEntityBean(bean), t);
+    EntityBean entityBean = checkEntityBean(bean);
+    if (isGroupCommit(t)) {
+      groupCommit(txn -> {
+        persister.insert(entityBean, txn);
+        return null;
+      });
+    } else {
+      persister.insert(entityBean, t);
+    }
   }
 
   /**
@@ -1736,7 +2072,11 @@ public final class DefaultServer implements SpiServer, SpiEbeanServer {
    * Delete the bean with the explicit transaction.
    */
   public boolean delete(Object bean, Transaction t) throws OptimisticLockException {
-    return persister.delete(checkEntityBean(bean), t, false);
+    EntityBean entityBean = checkEntityBean(bean);
+    if (isGroupCommit(t)) {
+      return groupCommit(txn -> persister.delete(entityBean, txn, false));
+    }
+    return persister.delete(entityBean, t, false);
   }
 
   @Override
@@ -11,6 +11,7 @@ import com.avaje.ebean.event.changelog.ChangeLogPrepare;
 import com.avaje.ebean.event.changelog.ChangeLogRegister;
 import com.avaje.ebean.event.readaudit.ReadAuditLogger;
 import com.avaje.ebean.event.readaudit.ReadAuditPrepare;
+import com.avaje.ebean.meta.MetricsListener;
 import com.avaje.ebean.plugin.Plugin;
 import com.avaje.ebean.plugin.SpiServer;
 import com.avaje.ebean.text.json.JsonContext;
@@ -105,6 +106,8 @@ public class InternalConfiguration {
 
   private final DocStoreFactory docStoreFactory;
 
+  private final ServerMetrics serverMetrics;
+
   /**
    * List of plugins (that ultimately the DefaultServer configures late in construction).
    */
@@ -121,6 +124,7 @@ public class InternalConfiguration {
     this.cacheManager = cacheManager;
     this.serverConfig = serverConfig;
     this.bootupClasses = bootupClasses;
+    this.serverMetrics = new ServerMetrics(serverConfig.getStatsHistogramPrecision());
 
     DatabasePlatform databasePlatform = serverConfig.getDatabasePlatform();
     this.expressionFactory = initExpressionFactory(serverConfig, databasePlatform);
@@ -137,7 +141,7 @@ public class InternalConfiguration {
 
     this.dataTimeZone = initDataTimeZone();
     this.binder = getBinder(typeManager, databasePlatform, dataTimeZone);
-    this.cQueryEngine = new CQueryEngine(serverConfig, databasePlatform, binder, asOfTableMapping, draftTableMap);
+    this.cQueryEngine = new CQueryEngine(serverConfig, databasePlatform, binder, asOfTableMapping, draftTableMap, serverMetrics);
   }
 
   /**
@@ -278,6 +282,10 @@ public class InternalConfiguration {
     return cacheManager;
   }
 
+  public TypeManager getTypeManager() {
+    return typeManager;
+  }
+
   public BootupClasses getBootupClasses() {
     return bootupClasses;
   }
@@ -322,6 +330,25 @@ public class InternalConfiguration {
     return backgroundExecutor;
   }
 
+  public ServerMetrics getServerMetrics() {
+    return serverMetrics;
+  }
+
+  /**
+   * Return the MetricsListeners including the logging listener if metrics logging is on.
+   */
+  public List<MetricsListener> getMetricsListeners() {
+
+    List<MetricsListener> listeners = new ArrayList<>();
+    for (MetricsListener listener : serverConfig.getMetricsListeners()) {
+      listeners.add(plugin(listener));
+    }
+    if (serverConfig.isMetricsLogging()) {
+      listeners.add(new LoggingMetricsListener(serverConfig.getName()));
+    }
+    return listeners;
+  }
+
   public GeneratedPropertyFactory getGeneratedPropertyFactory() {
     return new GeneratedPropertyFactory(serverConfig, bootupClasses.getIdGenerators());
   }
@@ -340,14 +367,14 @@ public class InternalConfiguration {
 
     boolean localL2 = cacheManager.isLocalL2Caching();
     if (serverConfig.isExplicitTransactionBeginMode()) {
-      return new ExplicitTransactionManager(localL2, serverConfig, clusterManager, backgroundExecutor, indexUpdateProcessor, beanDescriptorManager);
+      return new ExplicitTransactionManager(localL2, serverConfig, clusterManager, backgroundExecutor, indexUpdateProcessor, beanDescriptorManager, serverMetrics);
     }
 
     if (isAutoCommitMode()) {
-      return new AutoCommitTransactionManager(localL2, serverConfig, clusterManager, backgroundExecutor, indexUpdateProcessor, beanDescriptorManager);
+      return new AutoCommitTransactionManager(localL2, serverConfig, clusterManager, backgroundExecutor, indexUpdateProcessor, beanDescriptorManager, serverMetrics);
     }
 
-    return new TransactionManager(localL2, serverConfig, clusterManager, backgroundExecutor, indexUpdateProcessor, beanDescriptorManager);
+    return new TransactionManager(localL2, serverConfig, clusterManager, backgroundExecutor, indexUpdateProcessor, beanDescriptorManager, serverMetrics);
   }
 
   /**
@@ -0,0 +1,115 @@
+package com.avaje.ebeaninternal.server.core;
+
+import com.avaje.ebean.cache.ServerCacheStatistics;
+import com.avaje.ebean.meta.BatchFlushCause;
+import com.avaje.ebean.meta.MetaBatchFlushStatistic;
+import com.avaje.ebean.meta.MetaHistogram;
+import com.avaje.ebean.meta.MetaServerMetrics;
+import com.avaje.ebean.meta.MetricsListener;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * MetricsListener that logs the metrics as a single line of JSON.
+ * <p>
+ * Logs to the <code>org.avaje.ebean.Metrics</code> logger at INFO level.
+ * </p>
+ */
+public final class LoggingMetricsListener implements MetricsListener {
+
+  private static final Logger logger = LoggerFactory.getLogger("org.avaje.ebean.Metrics");
+
+  private final JsonFactory jsonFactory = new JsonFactory();
+
+  private final String serverName;
+
+  public LoggingMetricsListener(String serverName) {
+    this.serverName = serverName;
+  }
+
+  @Override
+  public void metrics(MetaServerMetrics metrics) {
+    if (logger.isInfoEnabled()) {
+      try {
+        logger.info(asJson(metrics));
+      } catch (IOException e) {
+        logger.error("Error writing metrics as JSON", e);
+      }
+    }
+  }
+
+  /**
+   * Return the metrics as compact JSON.
+   */
+  String asJson(MetaServerMetrics metrics) throws IOException {
+
+    StringWriter writer = new StringWriter(500);
+    JsonGenerator gen = jsonFactory.createGenerator(writer);
+    gen.writeStartObject();
+    gen.writeStringField("server", serverName);
+    gen.writeNumberField("start", metrics.getCollectionStart());
+    gen.writeNumberField("end", System.currentTimeMillis());
+
+    gen.writeObjectFieldStart("txn");
+    gen.writeNumberField("begin", metrics.getTransactionBeginCount());
+    gen.writeNumberField("commit", metrics.getTransactionCommitCount());
+    gen.writeNumberField("rollback", metrics.getTransactionRollbackCount());
+    gen.writeNumberField("postCommitBacklog", metrics.getPostCommitBacklog());
+    writeHistogram(gen, "connWait", metrics.getConnectionWaitHistogram());
+    writeHistogram(gen, "commitTime", metrics.getCommitHistogram());
+    gen.writeEndObject();
+
+    gen.writeObjectFieldStart("query");
+    gen.writeNumberField("count", metrics.getQueryCount());
+    gen.writeNumberField("lazyLoad", metrics.getLazyLoadCount());
+    gen.writeEndObject();
+
+    MetaBatchFlushStatistic batchFlush = metrics.getBatchFlushStatistic();
+    gen.writeObjectFieldStart("batchFlush");
+    gen.writeNumberField("count", batchFlush.getTotalCount());
+    for (BatchFlushCause cause : BatchFlushCause.values()) {
+      long count = batchFlush.getCount(cause);
+      if (count > 0) {
+        gen.writeNumberField(cause.name(), count);
+      }
+    }
+    writeHistogram(gen, "size", batchFlush.getSizeHistogram());
+    gen.writeEndObject();
+
+    gen.writeObjectFieldStart("cache");
+    gen.writeNumberField("hit", metrics.getCacheHitCount());
+    gen.writeNumberField("miss", metrics.getCacheMissCount());
+    for (ServerCacheStatistics cache : metrics.getCacheStatistics()) {
+      gen.writeArrayFieldStart(cache.getCacheName());
+      gen.writeNumber(cache.getHitCount());
+      gen.writeNumber(cache.getMissCount());
+      gen.writeNumber(cache.getSize());
+      gen.writeEndArray();
+    }
+    gen.writeEndObject();
+
+    gen.writeNumberField("backgroundActive", metrics.getBackgroundActiveCount());
+    gen.writeEndObject();
+    gen.close();
+    return writer.toString();
+  }
+
+  /**
+   * Write the histogram as an array of count, mean, p50, p95, p99 and max.
+   */
+  private void writeHistogram(JsonGenerator gen, String name, MetaHistogram histogram) throws IOException {
+    gen.writeArrayFieldStart(name);
+    gen.writeNumber(histogram.getCount());
+    gen.writeNumber(histogram.getMean());
+    gen.writeNumber(histogram.getP50());
+    gen.writeNumber(histogram.getP95());
+    gen.writeNumber(histogram.getP99());
+    gen.writeNumber(histogram.getMax());
+    gen.writeEndArray();
+  }
+}
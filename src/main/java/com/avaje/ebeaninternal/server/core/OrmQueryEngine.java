@@ -1,8 +1,10 @@
 package com.avaje.ebeaninternal.server.core;
 
+import com.avaje.ebean.QueryEachWhileConsumer;
 import com.avaje.ebean.QueryIterator;
 import com.avaje.ebean.Version;
 import com.avaje.ebean.bean.BeanCollection;
+import com.avaje.ebeaninternal.server.dto.DtoMeta;
 
 import java.util.List;
 
@@ -26,6 +28,11 @@ public interface OrmQueryEngine {
    */
   <A> List<A> findSingleAttributeList(OrmQueryRequest<?> request);
 
+  /**
+   * Execute the DTO query passing each DTO bean to the consumer.
+   */
+  <D> void findDtoEach(OrmQueryRequest<?> request, DtoMeta dtoMeta, QueryEachWhileConsumer<D> consumer);
+
   /**
    * Execute the findVersions query.
    */
@@ -9,6 +9,7 @@ import com.avaje.ebean.Version;
 import com.avaje.ebean.bean.BeanCollection;
 import com.avaje.ebean.bean.EntityBean;
 import com.avaje.ebean.bean.PersistenceContext;
+import com.avaje.ebean.common.BeanList;
 import com.avaje.ebean.event.BeanFindController;
 import com.avaje.ebean.event.BeanQueryAdapter;
 import com.avaje.ebean.event.BeanQueryRequest;
@@ -17,6 +18,8 @@ import com.avaje.ebeaninternal.api.CQueryPlanKey;
 import com.avaje.ebeaninternal.api.HashQuery;
 import com.avaje.ebeaninternal.api.LoadContext;
 import com.avaje.ebeaninternal.api.SpiEbeanServer;
+import com.avaje.ebeaninternal.api.SpiExpression;
+import com.avaje.ebeaninternal.api.SpiExpressionList;
 import com.avaje.ebeaninternal.api.SpiQuery;
 import com.avaje.ebeaninternal.api.SpiQuery.Type;
 import com.avaje.ebeaninternal.api.SpiQuerySecondary;
@@ -26,6 +29,8 @@ import com.avaje.ebeaninternal.server.deploy.BeanProperty;
 import com.avaje.ebeaninternal.server.deploy.BeanPropertyAssocMany;
 import com.avaje.ebeaninternal.server.deploy.DeployParser;
 import com.avaje.ebeaninternal.server.deploy.DeployPropertyParserMap;
+import com.avaje.ebeaninternal.server.dto.DtoMeta;
+import com.avaje.ebeaninternal.server.expression.IdInExpression;
 import com.avaje.ebeaninternal.server.loadcontext.DLoadContext;
 import com.avaje.ebeaninternal.server.query.CQueryPlan;
 import com.avaje.ebeaninternal.server.query.CancelableQuery;
@@ -34,6 +39,7 @@ import com.avaje.ebeaninternal.server.transaction.DefaultPersistenceContext;
 import javax.persistence.PersistenceException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -194,7 +200,8 @@ public final class OrmQueryRequest<T> extends BeanRequest implements BeanQueryRe
    * <p>
    * A transaction may have been passed in explicitly or currently be active in
    * the thread local. If not, then a readOnly transaction is created to execute
-   * this query.
+   * this query. Delete and update queries use a transaction on the main DataSource
+   * rather than a query transaction (which can use the read only DataSource).
    * </p>
    */
   @Override
@@ -205,7 +212,11 @@ public final class OrmQueryRequest<T> extends BeanRequest implements BeanQueryRe
       transaction = ebeanServer.getCurrentServerTransaction();
       if (transaction == null) {
         // create an implicit transaction to execute this query
-        transaction = ebeanServer.createQueryTransaction();
+        if (query.getType().isUpdate()) {
+          transaction = ebeanServer.createServerTransaction(false, -1);
+        } else {
+          transaction = ebeanServer.createQueryTransaction();
+        }
         createdTransaction = true;
       }
     }
@@ -341,9 +352,120 @@ public final class OrmQueryRequest<T> extends BeanRequest implements BeanQueryRe
    */
   @SuppressWarnings("unchecked")
   public List<T> findList() {
+
+    IdInExpression idIn = getBeanCacheIdIn();
+    if (idIn != null) {
+      return findListWithBeanCache(idIn);
+    }
     return (List<T>) queryEngine.findMany(this);
   }
 
+  /**
+   * Return the IdInExpression if this is a findList by ids query that can use the L2 bean cache.
+   * <p>
+   * This is the case when the only predicate is idIn() and there is no select/fetch clause,
+   * ordering, first/max rows or query caching involved.
+   * </p>
+   */
+  private IdInExpression getBeanCacheIdIn() {
+
+    if (query.getType() != Type.LIST || query.getMode() != SpiQuery.Mode.NORMAL
+        || !query.isUseBeanCache() || query.isLoadBeanCache() || query.isUseQueryCache()
+        || transaction.isSkipCache() || isRawSql() || query.isForUpdate() || query.isAsOfQuery()
+        || query.hasMaxRowsOrFirstRow() || query.isDistinct()) {
+      return null;
+    }
+    if (query.getOrderBy() != null && !query.getOrderBy().isEmpty()) {
+      return null;
+    }
+    if (query.getHavingExpressions() != null || query.getTextExpression() != null) {
+      return null;
+    }
+    if (!query.isDetailEmpty()
+        || (secondaryQueries != null && !(isEmpty(secondaryQueries.getQueryJoins()) && isEmpty(secondaryQueries.getLazyJoins())))) {
+      return null;
+    }
+    SpiExpressionList<T> where = query.getWhereExpressions();
+    if (where == null) {
+      return null;
+    }
+    List<SpiExpression> underlying = where.getUnderlyingList();
+    if (underlying.size() == 1 && underlying.get(0) instanceof IdInExpression) {
+      return (IdInExpression) underlying.get(0);
+    }
+    return null;
+  }
+
+  private boolean isEmpty(List<?> list) {
+    return list == null || list.isEmpty();
+  }
+
+  /**
+   * Find by ids getting the beans in the persistence context and L2 bean cache first
+   * (using a single cache call) and then querying the database for the misses only.
+   * <p>
+   * Only beans that have the properties of the default select clause loaded are used,
+   * references and partially loaded beans are treated as misses. The misses are queried
+   * using a copy of the query such that the query itself (and hence its plan and
+   * statistics) is left unchanged.
+   * </p>
+   */
+  @SuppressWarnings("unchecked")
+  private List<T> findListWithBeanCache(IdInExpression idIn) {
+
+    Set<Object> misses = new LinkedHashSet<>();
+    List<T> hits = new ArrayList<>();
+    for (Object id : idIn.getIdList()) {
+      id = beanDescriptor.convertId(id);
+      PersistenceContext.WithOption option = beanDescriptor.contextGetWithOption(persistenceContext, id);
+      if (option == null) {
+        misses.add(id);
+      } else if (!option.isDeleted()) {
+        T bean = (T) option.getBean();
+        if (beanDescriptor.isLoadedDefaultSelect((EntityBean) bean)) {
+          hits.add(bean);
+        } else {
+          misses.add(id);
+        }
+      }
+    }
+
+    if (!misses.isEmpty()) {
+      Map<Object, T> cacheBeans = beanDescriptor.cacheBeanGetAll(misses, readOnly, persistenceContext);
+      for (Map.Entry<Object, T> entry : cacheBeans.entrySet()) {
+        T bean = entry.getValue();
+        if (beanDescriptor.isLoadedDefaultSelect((EntityBean) bean)) {
+          misses.remove(entry.getKey());
+          hits.add(bean);
+        }
+      }
+    }
+
+    if (misses.isEmpty()) {
+      // all found in the persistence context or L2 bean cache
+      return new BeanList<>(hits);
+    }
+    if (hits.isEmpty()) {
+      return (List<T>) queryEngine.findMany(this);
+    }
+
+    // query the ids not found in the cache using a copy of the query
+    SpiQuery<T> missQuery = query.copy();
+    missQuery.setType(query.getType());
+    missQuery.setPersistenceContext(persistenceContext);
+    missQuery.getWhereExpressions().getUnderlyingList().set(0, new IdInExpression(new ArrayList<>(misses)));
+
+    OrmQueryRequest<T> missRequest = new OrmQueryRequest<>(ebeanServer, queryEngine, missQuery, transaction);
+    missRequest.prepareQuery();
+    missRequest.initTransIfRequired();
+
+    BeanCollection<T> result = (BeanCollection<T>) queryEngine.findMany(missRequest);
+    for (T bean : hits) {
+      result.internalAdd(bean);
+    }
+    return (List<T>) result;
+  }
+
   public List<Version<T>> findVersions() {
     return queryEngine.findVersions(this);
   }
@@ -380,6 +502,14 @@ public final class OrmQueryRequest<T> extends BeanRequest implements BeanQueryRe
     return queryEngine.findSingleAttributeList(this);
   }
 
+  /**
+   * Execute the DTO query.
+   */
+  @Override
+  public <D> void findDtoEach(DtoMeta dtoMeta, QueryEachWhileConsumer<D> consumer) {
+    queryEngine.findDtoEach(this, dtoMeta, consumer);
+  }
+
   /**
    * Return a bean specific finder if one has been set.
    */
@@ -435,8 +565,13 @@ public final class OrmQueryRequest<T> extends BeanRequest implements BeanQueryRe
 
   /**
    * Try to get the query result from the query cache.
+   * <p>
+   * Depending on the query type this is a BeanCollection, the row count, the list of ids or
+   * the list of attribute values.
+   * </p>
    */
-  public BeanCollection<T> getFromQueryCache() {
+  @SuppressWarnings("unchecked")
+  public Object getFromQueryCache() {
 
     if (!query.isUseQueryCache()) {
       return null;
@@ -444,11 +579,11 @@ public final class OrmQueryRequest<T> extends BeanRequest implements BeanQueryRe
 
     cacheKey = query.queryHash();
 
-    BeanCollection<T> cached = beanDescriptor.queryCacheGet(cacheKey);
+    Object cached = beanDescriptor.queryCacheGet(cacheKey);
 
     if (cached != null && isAuditReads() && readAuditQueryType()) {
       // raw sql can't use L2 cache so normal queries only in here
-      Collection<T> actualDetails = cached.getActualDetails();
+      Collection<T> actualDetails = ((BeanCollection<T>) cached).getActualDetails();
       List<Object> ids = new ArrayList<>(actualDetails.size());
       for (T bean : actualDetails) {
         ids.add(beanDescriptor.getIdForJson(bean));
@@ -477,8 +612,14 @@ public final class OrmQueryRequest<T> extends BeanRequest implements BeanQueryRe
     }
   }
 
-  public void putToQueryCache(BeanCollection<T> queryResult) {
-    beanDescriptor.queryCachePut(cacheKey, queryResult);
+  /**
+   * Put the query result into the query cache.
+   */
+  public void putToQueryCache(Object queryResult) {
+    if (cacheKey == null) {
+      cacheKey = query.queryHash();
+    }
+    beanDescriptor.queryCachePut(cacheKey, query, queryResult);
   }
 
   /**
@@ -502,6 +643,21 @@ public final class OrmQueryRequest<T> extends BeanRequest implements BeanQueryRe
     return query.isLogSecondaryQuery();
   }
 
+  /**
+   * Return true if independent secondary queries can execute concurrently.
+   * <p>
+   * Only when this request created its own (implicit) transaction as the concurrent secondary
+   * queries use other connections and would not see changes made in an explicit transaction.
+   * </p>
+   */
+  public boolean isParallelSecondaryQueries() {
+    if (!createdTransaction) {
+      return false;
+    }
+    Boolean parallel = query.getParallelSecondaryQueries();
+    return (parallel != null) ? parallel : ebeanServer.getServerConfig().isParallelSecondaryQueries();
+  }
+
   /**
    * Return the batch size for lazy loading on this bean query request.
    */
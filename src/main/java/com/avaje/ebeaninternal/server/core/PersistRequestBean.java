@@ -20,6 +20,7 @@ import com.avaje.ebeaninternal.server.deploy.BeanProperty;
 import com.avaje.ebeaninternal.server.deploy.BeanPropertyAssocMany;
 import com.avaje.ebeaninternal.server.deploy.id.ImportedId;
 import com.avaje.ebeaninternal.server.persist.BatchControl;
+import com.avaje.ebeaninternal.server.persist.DmlUtil;
 import com.avaje.ebeaninternal.server.persist.PersistExecute;
 import com.avaje.ebeaninternal.server.transaction.BeanPersistIdMap;
 import com.avaje.ebeanservice.docstore.api.DocStoreUpdate;
@@ -111,9 +112,9 @@ public final class PersistRequestBean<T> extends PersistRequest implements BeanP
   private Set<String> updatedProperties;
 
   /**
-   * Flags indicating the dirty properties on the bean.
+   * Bits of the dirty properties on the bean (bit n of word n/64 for property n).
    */
-  private boolean[] dirtyProperties;
+  private long[] dirtyPropertyBits;
 
   /**
    * Flag set when request is added to JDBC batch.
@@ -260,9 +261,26 @@ public final class PersistRequestBean<T> extends PersistRequest implements BeanP
     }
   }
 
+  /**
+   * Return true if this insert can be bulk inserted (the bean already has its id value).
+   */
+  public boolean isBulkInsert() {
+    return !DmlUtil.isNullOrZero(beanDescriptor.getId(entityBean));
+  }
+
+  /**
+   * Prepare for bulk insert returning false if the insert is vetoed by the controller.
+   */
+  public boolean preBulkInsert() {
+    if (getterCallback) {
+      intercept.clearGetterCallback();
+    }
+    return controller == null || controller.preInsert(this);
+  }
+
   @Override
   public void preGetterTrigger() {
-    transaction.flushBatch();
+    transaction.flushBatchOnGetter();
   }
 
   public void setSkipBatchForTopLevel() {
@@ -292,10 +310,22 @@ public final class PersistRequestBean<T> extends PersistRequest implements BeanP
   }
 
   /**
-   * Return the dirty properties on this request.
+   * Return the index of the next dirty property of this request starting from the given
+   * index or -1 when there are no more dirty properties.
    */
-  public boolean[] getDirtyProperties() {
-    return dirtyProperties;
+  public int nextDirtyProperty(int fromIndex) {
+    int wordIndex = fromIndex >> 6;
+    if (dirtyPropertyBits == null || wordIndex >= dirtyPropertyBits.length) {
+      return -1;
+    }
+    long bits = dirtyPropertyBits[wordIndex] & (-1L << fromIndex);
+    while (bits == 0) {
+      if (++wordIndex == dirtyPropertyBits.length) {
+        return -1;
+      }
+      bits = dirtyPropertyBits[wordIndex];
+    }
+    return (wordIndex << 6) + Long.numberOfTrailingZeros(bits);
   }
 
   /**
@@ -312,7 +342,7 @@ public final class PersistRequestBean<T> extends PersistRequest implements BeanP
   public boolean hasDirtyProperty(int[] propertyPositions) {
 
     for (int propertyPosition : propertyPositions) {
-      if (dirtyProperties[propertyPosition]) {
+      if ((dirtyPropertyBits[propertyPosition >> 6] & (1L << propertyPosition)) != 0) {
         return true;
       }
     }
@@ -786,7 +816,7 @@ public final class PersistRequestBean<T> extends PersistRequest implements BeanP
 
     if (type == Type.UPDATE && (notifyCache || docStoreMode == DocStoreMode.UPDATE)) {
       // get the dirty properties for update notification to the doc store
-      dirtyProperties = intercept.getDirtyProperties();
+      dirtyPropertyBits = intercept.getDirtyPropertyBits();
     }
     // if bean persisted again then should result in an update
     intercept.setLoaded();
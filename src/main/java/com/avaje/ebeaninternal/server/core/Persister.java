@@ -9,6 +9,7 @@ import com.avaje.ebean.SqlUpdate;
 import com.avaje.ebean.Transaction;
 import com.avaje.ebean.Update;
 import com.avaje.ebean.bean.EntityBean;
+import com.avaje.ebean.meta.MetaBatchFlushStatistic;
 
 /**
  * API for persisting a bean.
@@ -78,4 +79,14 @@ public interface Persister {
    */
   <T> List<T> draftRestore(Query<T> query, Transaction transaction);
 
+  /**
+   * Return the counts of batch flushes by cause.
+   */
+  MetaBatchFlushStatistic collectBatchFlushStatistic(boolean reset);
+
+  /**
+   * Return the counts of batch flushes for the server metrics (independent of collectBatchFlushStatistic()).
+   */
+  MetaBatchFlushStatistic collectBatchFlushMetrics(boolean reset);
+
 }
@@ -0,0 +1,67 @@
+package com.avaje.ebeaninternal.server.core;
+
+import com.avaje.ebean.QueryIterator;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Adapts a QueryIterator to a Stream.
+ * <p>
+ * Rows are only read from the underlying resultSet as the stream pulls them. The iterator
+ * (and hence the statement, resultSet and transaction) is closed when the stream has been
+ * fully consumed, fails or is closed - whichever happens first.
+ * </p>
+ */
+final class QueryIteratorSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+  private final QueryIterator<T> iterator;
+
+  private boolean closed;
+
+  /**
+   * Return a sequential Stream for the given iterator.
+   */
+  static <T> Stream<T> stream(QueryIterator<T> iterator) {
+    QueryIteratorSpliterator<T> spliterator = new QueryIteratorSpliterator<>(iterator);
+    return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+  }
+
+  private QueryIteratorSpliterator(QueryIterator<T> iterator) {
+    super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+    this.iterator = iterator;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    if (closed) {
+      return false;
+    }
+    boolean hasNext;
+    try {
+      hasNext = iterator.hasNext();
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+    if (!hasNext) {
+      close();
+      return false;
+    }
+    action.accept(iterator.next());
+    return true;
+  }
+
+  /**
+   * Close the underlying iterator (once).
+   */
+  void close() {
+    if (!closed) {
+      closed = true;
+      iterator.close();
+    }
+  }
+}
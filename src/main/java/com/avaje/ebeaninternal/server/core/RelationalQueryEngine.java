@@ -3,7 +3,9 @@ package com.avaje.ebeaninternal.server.core;
 
 import com.avaje.ebean.QueryEachConsumer;
 import com.avaje.ebean.QueryEachWhileConsumer;
+import com.avaje.ebean.QueryIterator;
 import com.avaje.ebean.SqlRow;
+import com.avaje.ebeaninternal.server.dto.DtoMeta;
 
 import java.util.List;
 
@@ -24,4 +26,14 @@ public interface RelationalQueryEngine {
    */
   void findEach(RelationalQueryRequest request, QueryEachWhileConsumer<SqlRow> consumer);
 
+  /**
+   * Find each query reading the rows into DTO beans.
+   */
+  <D> void findDtoEach(RelationalQueryRequest request, DtoMeta dtoMeta, QueryEachWhileConsumer<D> consumer);
+
+  /**
+   * Return an iterator reading the rows of the relational query.
+   */
+  QueryIterator<SqlRow> findIterate(RelationalQueryRequest request);
+
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.avaje.ebeaninternal.server.core;
 import com.avaje.ebean.EbeanServer;
 import com.avaje.ebean.QueryEachConsumer;
 import com.avaje.ebean.QueryEachWhileConsumer;
+import com.avaje.ebean.QueryIterator;
 import com.avaje.ebean.SqlQuery;
 import com.avaje.ebean.SqlRow;
 import com.avaje.ebean.Transaction;
@@ -10,10 +11,15 @@ import com.avaje.ebeaninternal.api.BindParams;
 import com.avaje.ebeaninternal.api.SpiEbeanServer;
 import com.avaje.ebeaninternal.api.SpiSqlQuery;
 import com.avaje.ebeaninternal.api.SpiTransaction;
+import com.avaje.ebeaninternal.server.dto.DtoColumn;
+import com.avaje.ebeaninternal.server.dto.DtoMeta;
+import com.avaje.ebeaninternal.server.dto.DtoReadPlan;
 import com.avaje.ebeaninternal.server.lib.util.Str;
 import com.avaje.ebeaninternal.server.persist.Binder;
 import com.avaje.ebeaninternal.server.query.DefaultSqlRow;
 import com.avaje.ebeaninternal.server.transaction.TransactionManager;
+import com.avaje.ebeaninternal.server.type.DataReader;
+import com.avaje.ebeaninternal.server.type.RsetDataReader;
 import com.avaje.ebeaninternal.server.util.BindParamsParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,7 +81,7 @@ public final class RelationalQueryRequest {
       trans = ebeanServer.getCurrentServerTransaction();
       if (trans == null || !trans.isActive()) {
         // create a local readOnly transaction
-        trans = ebeanServer.createServerTransaction(false, -1);
+        trans = ebeanServer.createQueryTransaction();
         createdTransaction = true;
       }
     }
@@ -102,6 +108,20 @@ public final class RelationalQueryRequest {
     return queryEngine.findList(this);
   }
 
+  /**
+   * Execute the query reading each row into a DTO bean.
+   */
+  public <D> void findDtoEach(DtoMeta dtoMeta, QueryEachWhileConsumer<D> consumer) {
+    queryEngine.findDtoEach(this, dtoMeta, consumer);
+  }
+
+  /**
+   * Return an iterator of the rows (that ends the transaction if required on close).
+   */
+  public QueryIterator<SqlRow> findIterate() {
+    return queryEngine.findIterate(this);
+  }
+
   /**
    * Return the find that is to be performed.
    */
@@ -183,6 +203,25 @@ public final class RelationalQueryRequest {
     }
   }
 
+  /**
+   * Return the plan reading the columns of the executed query into the DTO by column label.
+   */
+  public DtoReadPlan createDtoReadPlan(DtoMeta dtoMeta) {
+
+    DtoColumn[] columns = new DtoColumn[propertyNames.length];
+    for (int i = 0; i < propertyNames.length; i++) {
+      columns[i] = new DtoColumn(propertyNames[i]);
+    }
+    return dtoMeta.match(columns);
+  }
+
+  /**
+   * Return a DataReader for the executed query.
+   */
+  public DataReader createDataReader() {
+    return new RsetDataReader(ebeanServer.getDataTimeZone(), resultSet);
+  }
+
   /**
    * Read and return the next SqlRow.
    */
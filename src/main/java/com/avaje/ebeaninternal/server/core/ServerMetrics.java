@@ -0,0 +1,293 @@
+package com.avaje.ebeaninternal.server.core;
+
+import com.avaje.ebean.cache.ServerCacheStatistics;
+import com.avaje.ebean.meta.MetaBatchFlushStatistic;
+import com.avaje.ebean.meta.MetaHistogram;
+import com.avaje.ebean.meta.MetaServerMetrics;
+import com.avaje.ebeaninternal.api.SpiQuery;
+import com.avaje.ebeaninternal.server.util.LogBucketHistogram;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Server wide counters incremented by the transaction manager and query engine.
+ * <p>
+ * Recording is an increment of a LongAdder (or a histogram bucket) and does not allocate.
+ * The batch flush, L2 cache and background values are polled from their owners when
+ * the snapshot is collected.
+ * </p>
+ * <p>
+ * The L2 cache statistics are read without resetting them (as they are also used via
+ * ServerCache.getStatistics()) with the counts since the last reset of the metrics
+ * determined against the totals held at that reset.
+ * </p>
+ */
+public final class ServerMetrics {
+
+  private final LongAdder transactionBegin = new LongAdder();
+
+  private final LongAdder transactionCommit = new LongAdder();
+
+  private final LongAdder transactionRollback = new LongAdder();
+
+  private final LogBucketHistogram connectionWait;
+
+  private final LogBucketHistogram commitTime;
+
+  private final LongAdder queryCount = new LongAdder();
+
+  private final LongAdder lazyLoadCount = new LongAdder();
+
+  /**
+   * Post commit processing queued but not yet complete (not reset).
+   */
+  private final AtomicLong postCommitPending = new AtomicLong();
+
+  private final AtomicLong startTime = new AtomicLong(System.currentTimeMillis());
+
+  /**
+   * The cache statistic totals at the last reset keyed by cache name.
+   */
+  private final Map<String, ServerCacheStatistics> cacheBaseline = new HashMap<>();
+
+  public ServerMetrics(int histogramPrecision) {
+    this.connectionWait = new LogBucketHistogram(histogramPrecision);
+    this.commitTime = new LogBucketHistogram(histogramPrecision);
+  }
+
+  /**
+   * A transaction has started having waited the given time to obtain a connection.
+   */
+  public void transactionBegin(long connectionWaitMicros) {
+    transactionBegin.increment();
+    connectionWait.add(connectionWaitMicros);
+  }
+
+  /**
+   * A transaction has committed taking the given time (batch flush and commit).
+   */
+  public void transactionCommit(long commitMicros) {
+    transactionCommit.increment();
+    commitTime.add(commitMicros);
+  }
+
+  /**
+   * A transaction has rolled back.
+   */
+  public void transactionRollback() {
+    transactionRollback.increment();
+  }
+
+  /**
+   * Post commit processing has been queued for background execution.
+   */
+  public void postCommitQueued() {
+    postCommitPending.incrementAndGet();
+  }
+
+  /**
+   * Post commit processing has completed.
+   */
+  public void postCommitProcessed() {
+    postCommitPending.decrementAndGet();
+  }
+
+  /**
+   * A query is being executed.
+   */
+  public void query(SpiQuery.Mode mode) {
+    queryCount.increment();
+    if (mode == SpiQuery.Mode.LAZYLOAD_BEAN || mode == SpiQuery.Mode.LAZYLOAD_MANY) {
+      lazyLoadCount.increment();
+    }
+  }
+
+  /**
+   * Return a snapshot of the metrics potentially resetting the counters.
+   * <p>
+   * The cache statistics are expected to be the current totals (read without reset).
+   * </p>
+   */
+  public MetaServerMetrics snapshot(boolean reset, MetaBatchFlushStatistic batchFlush,
+                                    List<ServerCacheStatistics> cacheTotals, int backgroundActive) {
+
+    List<ServerCacheStatistics> usedCaches = new ArrayList<>();
+    long cacheHits = 0;
+    long cacheMisses = 0;
+    for (ServerCacheStatistics statistics : cacheDeltas(cacheTotals, reset)) {
+      if (statistics.getHitCount() > 0 || statistics.getMissCount() > 0) {
+        usedCaches.add(statistics);
+        cacheHits += statistics.getHitCount();
+        cacheMisses += statistics.getMissCount();
+      }
+    }
+
+    Snapshot snapshot = new Snapshot();
+    snapshot.startTime = reset ? startTime.getAndSet(System.currentTimeMillis()) : startTime.get();
+    snapshot.transactionBegin = reset ? transactionBegin.sumThenReset() : transactionBegin.sum();
+    snapshot.transactionCommit = reset ? transactionCommit.sumThenReset() : transactionCommit.sum();
+    snapshot.transactionRollback = reset ? transactionRollback.sumThenReset() : transactionRollback.sum();
+    snapshot.connectionWait = connectionWait.snapshot(reset);
+    snapshot.commitTime = commitTime.snapshot(reset);
+    snapshot.postCommitBacklog = postCommitPending.get();
+    snapshot.queryCount = reset ? queryCount.sumThenReset() : queryCount.sum();
+    snapshot.lazyLoadCount = reset ? lazyLoadCount.sumThenReset() : lazyLoadCount.sum();
+    snapshot.batchFlush = batchFlush;
+    snapshot.cacheHits = cacheHits;
+    snapshot.cacheMisses = cacheMisses;
+    snapshot.cacheStatistics = usedCaches;
+    snapshot.backgroundActive = backgroundActive;
+    return snapshot;
+  }
+
+  /**
+   * Return the cache statistics since the last reset optionally making the totals the new baseline.
+   */
+  private synchronized List<ServerCacheStatistics> cacheDeltas(List<ServerCacheStatistics> totals, boolean reset) {
+
+    List<ServerCacheStatistics> deltas = new ArrayList<>(totals.size());
+    for (ServerCacheStatistics total : totals) {
+      ServerCacheStatistics base = reset ? cacheBaseline.put(total.getCacheName(), total) : cacheBaseline.get(total.getCacheName());
+      deltas.add(base == null ? total : delta(total, base));
+    }
+    return deltas;
+  }
+
+  /**
+   * Return the statistics with the counts since the base.
+   */
+  private static ServerCacheStatistics delta(ServerCacheStatistics total, ServerCacheStatistics base) {
+
+    ServerCacheStatistics delta = new ServerCacheStatistics();
+    delta.setCacheName(total.getCacheName());
+    delta.setMaxSize(total.getMaxSize());
+    delta.setSize(total.getSize());
+    delta.setHitCount(delta(total.getHitCount(), base.getHitCount()));
+    delta.setMissCount(delta(total.getMissCount(), base.getMissCount()));
+    delta.setInsertCount(delta(total.getInsertCount(), base.getInsertCount()));
+    delta.setUpdateCount(delta(total.getUpdateCount(), base.getUpdateCount()));
+    delta.setRemoveCount(delta(total.getRemoveCount(), base.getRemoveCount()));
+    delta.setClearCount(delta(total.getClearCount(), base.getClearCount()));
+    delta.setEvictionRunCount(delta(total.getEvictionRunCount(), base.getEvictionRunCount()));
+    delta.setEvictionRunMicros(delta(total.getEvictionRunMicros(), base.getEvictionRunMicros()));
+    delta.setEvictByIdle(delta(total.getEvictByIdle(), base.getEvictByIdle()));
+    delta.setEvictByTTL(delta(total.getEvictByTTL(), base.getEvictByTTL()));
+    delta.setEvictByLRU(delta(total.getEvictByLRU(), base.getEvictByLRU()));
+    delta.setCoalescedCount(delta(total.getCoalescedCount(), base.getCoalescedCount()));
+    delta.setCoalescedTimeoutCount(delta(total.getCoalescedTimeoutCount(), base.getCoalescedTimeoutCount()));
+    delta.setRefreshCount(delta(total.getRefreshCount(), base.getRefreshCount()));
+    delta.setStaleHitCount(delta(total.getStaleHitCount(), base.getStaleHitCount()));
+    return delta;
+  }
+
+  /**
+   * Return the count since the base (or the count when it has since been reset by its owner).
+   */
+  private static long delta(long total, long base) {
+    return total >= base ? total - base : total;
+  }
+
+  /**
+   * Snapshot of the metrics.
+   */
+  private static final class Snapshot implements MetaServerMetrics {
+
+    private long startTime;
+    private long transactionBegin;
+    private long transactionCommit;
+    private long transactionRollback;
+    private MetaHistogram connectionWait;
+    private MetaHistogram commitTime;
+    private long postCommitBacklog;
+    private long queryCount;
+    private long lazyLoadCount;
+    private MetaBatchFlushStatistic batchFlush;
+    private long cacheHits;
+    private long cacheMisses;
+    private List<ServerCacheStatistics> cacheStatistics;
+    private int backgroundActive;
+
+    @Override
+    public String toString() {
+      return "txnBegin:" + transactionBegin + " txnCommit:" + transactionCommit + " txnRollback:" + transactionRollback
+          + " connectionWait[" + connectionWait + "] commit[" + commitTime + "] postCommitBacklog:" + postCommitBacklog
+          + " query:" + queryCount + " lazyLoad:" + lazyLoadCount + " batchFlush[" + batchFlush + "] cacheHit:" + cacheHits
+          + " cacheMiss:" + cacheMisses + " backgroundActive:" + backgroundActive;
+    }
+
+    @Override
+    public long getCollectionStart() {
+      return startTime;
+    }
+
+    @Override
+    public long getTransactionBeginCount() {
+      return transactionBegin;
+    }
+
+    @Override
+    public long getTransactionCommitCount() {
+      return transactionCommit;
+    }
+
+    @Override
+    public long getTransactionRollbackCount() {
+      return transactionRollback;
+    }
+
+    @Override
+    public MetaHistogram getConnectionWaitHistogram() {
+      return connectionWait;
+    }
+
+    @Override
+    public MetaHistogram getCommitHistogram() {
+      return commitTime;
+    }
+
+    @Override
+    public long getPostCommitBacklog() {
+      return postCommitBacklog;
+    }
+
+    @Override
+    public long getQueryCount() {
+      return queryCount;
+    }
+
+    @Override
+    public long getLazyLoadCount() {
+      return lazyLoadCount;
+    }
+
+    @Override
+    public MetaBatchFlushStatistic getBatchFlushStatistic() {
+      return batchFlush;
+    }
+
+    @Override
+    public long getCacheHitCount() {
+      return cacheHits;
+    }
+
+    @Override
+    public long getCacheMissCount() {
+      return cacheMisses;
+    }
+
+    @Override
+    public List<ServerCacheStatistics> getCacheStatistics() {
+      return cacheStatistics;
+    }
+
+    @Override
+    public int getBackgroundActiveCount() {
+      return backgroundActive;
+    }
+  }
+}
@@ -4,9 +4,9 @@ import com.avaje.ebean.QueryEachConsumer;
 import com.avaje.ebean.QueryEachWhileConsumer;
 import com.avaje.ebean.QueryIterator;
 import com.avaje.ebean.Version;
-import com.avaje.ebean.bean.BeanCollection;
 import com.avaje.ebeaninternal.api.SpiQuery;
 import com.avaje.ebeaninternal.server.deploy.BeanDescriptor;
+import com.avaje.ebeaninternal.server.dto.DtoMeta;
 import com.avaje.ebeanservice.docstore.api.DocQueryRequest;
 
 import java.util.List;
@@ -113,10 +113,15 @@ public interface SpiOrmQueryRequest<T> extends DocQueryRequest<T> {
    */
   <A> List<A> findSingleAttributeList();
 
+  /**
+   * Execute the DTO query passing each DTO bean to the consumer.
+   */
+  <D> void findDtoEach(DtoMeta dtoMeta, QueryEachWhileConsumer<D> consumer);
+
   /**
    * Try to get the query result from the query cache.
    */
-  BeanCollection<T> getFromQueryCache();
+  Object getFromQueryCache();
 
   /**
    * Return the Database platform like clause.
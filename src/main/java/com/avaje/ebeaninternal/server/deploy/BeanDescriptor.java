@@ -30,6 +30,8 @@ import com.avaje.ebean.event.readaudit.ReadAuditLogger;
 import com.avaje.ebean.event.readaudit.ReadAuditPrepare;
 import com.avaje.ebean.event.readaudit.ReadEvent;
 import com.avaje.ebean.meta.MetaBeanInfo;
+import com.avaje.ebean.meta.MetaPersistStatistic;
+import com.avaje.ebean.meta.MetaQueryPlanCacheStatistic;
 import com.avaje.ebean.meta.MetaQueryPlanStatistic;
 import com.avaje.ebean.plugin.BeanDocType;
 import com.avaje.ebean.plugin.BeanType;
@@ -44,7 +46,9 @@ import com.avaje.ebeaninternal.api.SpiUpdatePlan;
 import com.avaje.ebeaninternal.api.TransactionEventTable.TableIUD;
 import com.avaje.ebeaninternal.server.cache.CacheChangeSet;
 import com.avaje.ebeaninternal.server.cache.CachedBeanData;
+import com.avaje.ebeaninternal.server.cache.CachedBeanSchema;
 import com.avaje.ebeaninternal.server.cache.CachedManyIds;
+import com.avaje.ebeaninternal.server.cache.QueryCacheEntry;
 import com.avaje.ebeaninternal.server.core.CacheOptions;
 import com.avaje.ebeaninternal.server.core.DefaultSqlUpdate;
 import com.avaje.ebeaninternal.server.core.DiffHelp;
@@ -61,8 +65,10 @@ import com.avaje.ebeaninternal.server.el.ElComparatorProperty;
 import com.avaje.ebeaninternal.server.el.ElPropertyChainBuilder;
 import com.avaje.ebeaninternal.server.el.ElPropertyDeploy;
 import com.avaje.ebeaninternal.server.el.ElPropertyValue;
+import com.avaje.ebeaninternal.server.persist.DmlStatistics;
 import com.avaje.ebeaninternal.server.persist.DmlUtil;
 import com.avaje.ebeaninternal.server.query.CQueryPlan;
+import com.avaje.ebeaninternal.server.query.CQueryPlanCache;
 import com.avaje.ebeaninternal.server.query.CQueryPlanStats.Snapshot;
 import com.avaje.ebeaninternal.server.query.SplitName;
 import com.avaje.ebeaninternal.server.querydefn.OrmQueryDetail;
@@ -89,10 +95,14 @@ import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Describes Beans including their deployment information.
@@ -103,7 +113,14 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
 
   private final ConcurrentHashMap<Integer, SpiUpdatePlan> updatePlanCache = new ConcurrentHashMap<>();
 
-  private final ConcurrentHashMap<CQueryPlanKey, CQueryPlan> queryPlanCache = new ConcurrentHashMap<>();
+  private final CQueryPlanCache queryPlanCache;
+
+  /**
+   * Execution statistics of the insert, update and delete statements keyed by sql.
+   */
+  private final ConcurrentHashMap<String, DmlStatistics> dmlStatistics = new ConcurrentHashMap<>();
+
+  private final int statsHistogramPrecision;
 
   private final ConcurrentHashMap<String, ElPropertyValue> elCache = new ConcurrentHashMap<>();
 
@@ -326,6 +343,18 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
   private final BeanPropertyAssocOne<?>[] propertiesOneImportedSave;
   private final BeanPropertyAssocOne<?>[] propertiesOneImportedDelete;
 
+  /**
+   * The positional layout of the bean cache data (lazily determined, null when not supported).
+   */
+  private volatile CachedBeanSchema cacheBeanSchema;
+
+  private volatile boolean cacheBeanSchemaInit;
+
+  /**
+   * The rank in foreign key dependency order (lazily determined).
+   */
+  private int dependencyRank = Integer.MIN_VALUE;
+
   //private final BeanPropertyAssocOne<?>[] propertiesOneExported;
   private final BeanPropertyAssocOne<?>[] propertiesOneExportedSave;
   private final BeanPropertyAssocOne<?>[] propertiesOneExportedDelete;
@@ -416,6 +445,8 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
     this.fullName = InternString.intern(deploy.getFullName());
 
     this.beanType = deploy.getBeanType();
+    this.queryPlanCache = new CQueryPlanCache(beanType, owner.getQueryPlanCacheLimit());
+    this.statsHistogramPrecision = owner.getServerConfig().getStatsHistogramPrecision();
     this.rootBeanType = PersistenceContextUtil.root(beanType);
     this.prototypeEntityBean = createPrototypeEntityBean(beanType);
 
@@ -492,7 +523,8 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
     boolean noRelationships = propertiesOne.length + propertiesMany.length == 0;
 
     this.cacheSharableBeans = noRelationships && deploy.getCacheOptions().isReadOnly();
-    this.cacheHelp = new BeanDescriptorCacheHelp<>(this, owner.getCacheManager(), deploy.getCacheOptions(), cacheSharableBeans, propertiesOneImported);
+    this.cacheHelp = new BeanDescriptorCacheHelp<>(this, owner.getCacheManager(), deploy.getCacheOptions(), cacheSharableBeans, propertiesOneImported,
+        owner.getServerConfig().getCacheLoadWaitMillis());
     this.jsonHelp = new BeanDescriptorJsonHelp<>(this);
     this.draftHelp = new BeanDescriptorDraftHelp<>(this);
 
@@ -830,6 +862,13 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
   private SqlUpdate deleteByIdList(List<Object> idList, boolean softDelete) {
 
     String baseSql = softDelete ? softDeleteByIdInSql : deleteByIdInSql;
+    if (idBinder.isIdInArrayBinding(idList.size())) {
+      // bind all the ids as a single ARRAY
+      DefaultSqlUpdate delete = new DefaultSqlUpdate(baseSql + idBinder.getIdInArrayExpr());
+      delete.addParameter(idBinder.getIdInArrayBindValue(idList));
+      return delete;
+    }
+
     StringBuilder sb = new StringBuilder(baseSql);
     String inClause = idBinder.getIdInValueExprDelete(idList.size());
     sb.append(inClause);
@@ -1090,15 +1129,15 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
   /**
    * Get a query result from the query cache.
    */
-  public BeanCollection<T> queryCacheGet(Object id) {
+  public Object queryCacheGet(Object id) {
     return cacheHelp.queryCacheGet(id);
   }
 
   /**
    * Put a query result into the query cache.
    */
-  public void queryCachePut(Object id, BeanCollection<T> query) {
-    cacheHelp.queryCachePut(id, query);
+  public void queryCachePut(Object id, SpiQuery<T> query, Object result) {
+    cacheHelp.queryCachePut(id, query, result);
   }
 
   /**
@@ -1108,6 +1147,29 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
     cacheHelp.queryCacheClear(changeSet);
   }
 
+  /**
+   * Add an update into the changeSet for query cache invalidation.
+   *
+   * @param changed the names of the changed properties (null means unknown)
+   */
+  public void queryCacheUpdate(Object id, Set<String> changed, CacheChangeSet changeSet) {
+    cacheHelp.queryCacheUpdate(id, changed, changeSet);
+  }
+
+  /**
+   * Add a delete into the changeSet for query cache invalidation.
+   */
+  public void queryCacheDelete(Object id, CacheChangeSet changeSet) {
+    cacheHelp.queryCacheDelete(id, changeSet);
+  }
+
+  /**
+   * Remove the query cache entries that can be affected by a change.
+   */
+  public void queryCacheRemoveIf(Predicate<QueryCacheEntry> affected) {
+    cacheHelp.queryCacheRemoveIf(affected);
+  }
+
   /**
    * Try to load the beanCollection from cache return true if successful.
    */
@@ -1137,6 +1199,32 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
     cacheHelp.manyPropClear(propertyName);
   }
 
+  /**
+   * Return the positional layout used for the bean cache data (null if not supported for this type).
+   */
+  public CachedBeanSchema getCacheBeanSchema() {
+    if (!cacheBeanSchemaInit) {
+      synchronized (this) {
+        // synchronized such that only one schema is registered
+        if (!cacheBeanSchemaInit) {
+          cacheBeanSchema = CachedBeanSchema.of(this);
+          cacheBeanSchemaInit = true;
+        }
+      }
+    }
+    return cacheBeanSchema;
+  }
+
+  /**
+   * Release the positional layout of the bean cache data on server shutdown.
+   */
+  public void releaseCacheBeanSchema() {
+    CachedBeanSchema schema = cacheBeanSchema;
+    if (schema != null) {
+      schema.release();
+    }
+  }
+
   /**
    * Extract the raw cache data from the embedded bean.
    */
@@ -1193,6 +1281,16 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
     return cacheHelp.beanCacheGet(id, readOnly, context);
   }
 
+  /**
+   * Return the beans from the bean cache for the given ids (using a single cache call).
+   * <p>
+   * Only the beans found in the cache are included in the returned map.
+   * </p>
+   */
+  public Map<Object, T> cacheBeanGetAll(Collection<?> ids, Boolean readOnly, PersistenceContext context) {
+    return cacheHelp.beanCacheGetAll(ids, readOnly, context);
+  }
+
   /**
    * Remove a bean from the cache given its Id.
    */
@@ -1216,6 +1314,14 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
     return cacheBeanLoad(bean, ebi, id, context);
   }
 
+  /**
+   * Load the batch of beans from the bean cache (using a single cache call) removing the
+   * beans that were loaded from the batch. Returns true if the lazyLoadEbi was loaded.
+   */
+  public boolean cacheBeanLoadAll(EntityBeanIntercept lazyLoadEbi, List<EntityBeanIntercept> batch, PersistenceContext context) {
+    return cacheHelp.beanCacheLoadAll(lazyLoadEbi, batch, context);
+  }
+
   /**
    * Try to hit the cache using the natural key.
    */
@@ -1223,6 +1329,31 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
     return cacheHelp.naturalKeyIdLookup(query);
   }
 
+  /**
+   * Return the natural key value if the query is a find by natural key that can use the natural key cache.
+   */
+  public Object cacheNaturalKeyValue(SpiQuery<T> query) {
+    return cacheHelp.naturalKeyValue(query);
+  }
+
+  /**
+   * Load the bean by id after a bean cache miss coalescing concurrent misses for the same id.
+   *
+   * @param loader loads the bean from the database (putting it into the bean cache)
+   * @param reader reads the bean from the bean cache after a concurrent load
+   */
+  public T cacheBeanLoadOnce(Object id, Supplier<T> loader, Supplier<T> reader) {
+    return cacheHelp.beanCacheLoadOnce(id, loader, reader);
+  }
+
+  /**
+   * Load the bean by natural key after a natural key cache miss coalescing concurrent misses
+   * for the same natural key.
+   */
+  public T cacheNaturalKeyLoadOnce(Object naturalKey, Supplier<T> loader, Supplier<T> reader) {
+    return cacheHelp.naturalKeyLoadOnce(naturalKey, loader, reader);
+  }
+
   public void cacheNaturalKeyPut(Object id, Object newKey) {
     cacheHelp.cacheNaturalKeyPut(id, newKey);
   }
@@ -1358,6 +1489,34 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
     return collectQueryPlanStatisticsInternal(reset, false);
   }
 
+  @Override
+  public MetaQueryPlanCacheStatistic getQueryPlanCacheStatistic(boolean reset) {
+    return queryPlanCache.getStatistic(reset);
+  }
+
+  @Override
+  public List<MetaPersistStatistic> collectPersistStatistics(boolean reset) {
+    List<MetaPersistStatistic> list = new ArrayList<>(dmlStatistics.size());
+    for (DmlStatistics statistics : dmlStatistics.values()) {
+      DmlStatistics.Snapshot snapshot = statistics.getSnapshot(reset);
+      if (snapshot.getExecutionCount() > 0) {
+        list.add(snapshot);
+      }
+    }
+    return list;
+  }
+
+  /**
+   * Return the execution statistics for the insert, update or delete statement.
+   */
+  public DmlStatistics getDmlStatistics(MetaPersistStatistic.Type type, String sql) {
+    DmlStatistics statistics = dmlStatistics.get(sql);
+    if (statistics == null) {
+      statistics = dmlStatistics.computeIfAbsent(sql, key -> new DmlStatistics(beanType, type, key, statsHistogramPrecision));
+    }
+    return statistics;
+  }
+
   public List<MetaQueryPlanStatistic> collectQueryPlanStatisticsInternal(boolean reset, boolean collectAll) {
     List<MetaQueryPlanStatistic> list = new ArrayList<>(queryPlanCache.size());
     for (CQueryPlan queryPlan : queryPlanCache.values()) {
@@ -1395,6 +1554,13 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
     queryPlanCache.put(key, plan);
   }
 
+  /**
+   * Return the bounded cache of query plans for this bean type.
+   */
+  public CQueryPlanCache getQueryPlanCache() {
+    return queryPlanCache;
+  }
+
   /**
    * Get a UpdatePlan for a given hash.
    */
@@ -2639,6 +2805,22 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
     return ebi.isReference() || hasIdPropertyOnly(ebi);
   }
 
+  /**
+   * Return true if the bean has all the properties of the default select clause loaded.
+   * <p>
+   * A bean that is a reference or partially loaded returns false.
+   * </p>
+   */
+  public boolean isLoadedDefaultSelect(EntityBean bean) {
+    EntityBeanIntercept ebi = bean._ebean_getIntercept();
+    for (BeanProperty prop : propertiesNonMany) {
+      if (!prop.isTransient() && prop.isFetchEager() && !ebi.isLoadedProperty(prop.getPropertyIndex())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public boolean hasIdPropertyOnly(EntityBeanIntercept ebi) {
     return ebi.hasIdOnly(idPropertyIndex);
   }
@@ -2802,6 +2984,51 @@ public class BeanDescriptor<T> implements MetaBeanInfo, BeanType<T> {
     return propertiesOneImported;
   }
 
+  /**
+   * Return the rank of this bean type in foreign key dependency order.
+   * <p>
+   * A bean type with no imported foreign keys has rank 0 and otherwise the rank is one more
+   * than the highest rank of the bean types it references. Returns -1 when the bean type
+   * is part of (or depends on) a cycle of foreign keys between bean types. Self references
+   * are ignored.
+   * </p>
+   * <p>
+   * Used to order batched statements by dependency rather than by arrival.
+   * </p>
+   */
+  public int getDependencyRank() {
+    int rank = dependencyRank;
+    if (rank == Integer.MIN_VALUE) {
+      rank = dependencyRank(new HashSet<BeanDescriptor<?>>());
+    }
+    return rank;
+  }
+
+  private int dependencyRank(Set<BeanDescriptor<?>> path) {
+    if (dependencyRank != Integer.MIN_VALUE) {
+      return dependencyRank;
+    }
+    if (!path.add(this)) {
+      // cycle back to a bean type already on the path
+      return -1;
+    }
+    int rank = 0;
+    for (BeanPropertyAssocOne<?> one : propertiesOneImported) {
+      BeanDescriptor<?> target = one.getTargetDescriptor();
+      if (target != this) {
+        int targetRank = target.dependencyRank(path);
+        if (targetRank < 0) {
+          rank = -1;
+          break;
+        }
+        rank = Math.max(rank, targetRank + 1);
+      }
+    }
+    path.remove(this);
+    dependencyRank = rank;
+    return rank;
+  }
+
   /**
    * Imported Assoc Ones with cascade save true.
    */
@@ -6,6 +6,8 @@ import com.avaje.ebean.bean.EntityBeanIntercept;
 import com.avaje.ebean.bean.PersistenceContext;
 import com.avaje.ebean.cache.ServerCache;
 import com.avaje.ebean.cache.ServerCacheManager;
+import com.avaje.ebeaninternal.api.SpiExpression;
+import com.avaje.ebeaninternal.api.SpiExpressionList;
 import com.avaje.ebeaninternal.api.SpiQuery;
 import com.avaje.ebeaninternal.api.TransactionEventTable.TableIUD;
 import com.avaje.ebeaninternal.server.cache.CacheChangeSet;
@@ -13,9 +15,12 @@ import com.avaje.ebeaninternal.server.cache.CachedBeanData;
 import com.avaje.ebeaninternal.server.cache.CachedBeanDataFromBean;
 import com.avaje.ebeaninternal.server.cache.CachedBeanDataToBean;
 import com.avaje.ebeaninternal.server.cache.CachedManyIds;
+import com.avaje.ebeaninternal.server.cache.QueryCacheEntry;
+import com.avaje.ebeaninternal.server.cache.SingleFlightLoader;
 import com.avaje.ebeaninternal.server.core.CacheOptions;
 import com.avaje.ebeaninternal.server.core.PersistRequest;
 import com.avaje.ebeaninternal.server.core.PersistRequestBean;
+import com.avaje.ebeaninternal.server.expression.SimpleExpression;
 import com.avaje.ebeaninternal.server.querydefn.NaturalKeyBindParam;
 import com.avaje.ebeaninternal.server.transaction.DefaultPersistenceContext;
 import org.slf4j.Logger;
@@ -23,9 +28,18 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Helper for BeanDescriptor that manages the bean, query and collection caches.
@@ -63,6 +77,21 @@ final class BeanDescriptorCacheHelp<T> {
   private final ServerCache naturalKeyCache;
   private final ServerCache queryCache;
 
+  /**
+   * The soft delete property name (an implied predicate of queries).
+   */
+  private final String softDeleteProperty;
+
+  /**
+   * Coalesces concurrent bean cache miss loads by id (null when not bean caching).
+   */
+  private final SingleFlightLoader beanLoader;
+
+  /**
+   * Coalesces concurrent natural key cache miss loads by natural key.
+   */
+  private final SingleFlightLoader naturalKeyLoader;
+
   /**
    * Set to true if all persist changes need to notify the cache.
    */
@@ -74,7 +103,7 @@ final class BeanDescriptorCacheHelp<T> {
   private boolean cacheNotifyOnDelete;
 
   BeanDescriptorCacheHelp(BeanDescriptor<T> desc, ServerCacheManager cacheManager, CacheOptions cacheOptions,
-                          boolean cacheSharableBeans, BeanPropertyAssocOne<?>[] propertiesOneImported) {
+                          boolean cacheSharableBeans, BeanPropertyAssocOne<?>[] propertiesOneImported, int cacheLoadWaitMillis) {
 
     this.desc = desc;
     this.beanType = desc.rootBeanType;
@@ -84,6 +113,7 @@ final class BeanDescriptorCacheHelp<T> {
     this.cacheSharableBeans = cacheSharableBeans;
     this.propertiesOneImported = propertiesOneImported;
     this.naturalKeyProperty = cacheOptions.getNaturalKey();
+    this.softDeleteProperty = softDeleteProperty(desc);
 
     if (!cacheOptions.isEnableQueryCache()) {
       this.queryCache = null;
@@ -102,6 +132,56 @@ final class BeanDescriptorCacheHelp<T> {
       this.beanCache = null;
       this.naturalKeyCache = null;
     }
+
+    if (beanCache != null && (desc.inheritInfo == null || desc.inheritInfo.isRoot())) {
+      // the caches are shared by the inheritance hierarchy and reloaded via the root type
+      beanCache.setLoader(this::beanCacheRefresh);
+      if (naturalKeyCache != null) {
+        naturalKeyCache.setLoader(this::naturalKeyRefresh);
+      }
+    }
+
+    boolean singleFlight = cacheLoadWaitMillis > 0;
+    this.beanLoader = (singleFlight && beanCache != null) ? new SingleFlightLoader(beanCache, cacheLoadWaitMillis) : null;
+    this.naturalKeyLoader = (singleFlight && naturalKeyCache != null) ? new SingleFlightLoader(naturalKeyCache, cacheLoadWaitMillis) : null;
+  }
+
+  /**
+   * Reload the bean cache entry for refresh ahead or stale while revalidate.
+   */
+  private void beanCacheRefresh(Object id) {
+    T bean = desc.getEbeanServer().find(desc.getBeanType())
+        .setUseCache(false)
+        .setId(id)
+        .findUnique();
+
+    if (beanLog.isDebugEnabled()) {
+      beanLog.debug("   REFRESH {}({}) found:{}", cacheName, id, bean != null);
+    }
+    if (bean == null) {
+      beanCache.remove(id);
+    } else {
+      beanCachePut((EntityBean) bean);
+    }
+  }
+
+  /**
+   * Reload the natural key cache entry (and the bean) for refresh ahead or stale while revalidate.
+   */
+  private void naturalKeyRefresh(Object naturalKey) {
+    T bean = desc.getEbeanServer().find(desc.getBeanType())
+        .setUseCache(false)
+        .where().eq(naturalKeyProperty, naturalKey)
+        .findUnique();
+
+    if (natLog.isDebugEnabled()) {
+      natLog.debug(" REFRESH {}({}) found:{}", cacheName, naturalKey, bean != null);
+    }
+    if (bean == null) {
+      naturalKeyCache.remove(naturalKey);
+    } else {
+      beanCachePut((EntityBean) bean);
+    }
   }
 
   /**
@@ -180,36 +260,186 @@ final class BeanDescriptorCacheHelp<T> {
     }
   }
 
+  /**
+   * Add an update to the changeSet for query cache invalidation.
+   *
+   * @param changed the names of the changed properties (null means unknown)
+   */
+  void queryCacheUpdate(Object id, Set<String> changed, CacheChangeSet changeSet) {
+    if (queryCache != null) {
+      changeSet.addQueryUpdate(desc, id, changed);
+    }
+  }
+
+  /**
+   * Add a delete to the changeSet for query cache invalidation.
+   */
+  void queryCacheDelete(Object id, CacheChangeSet changeSet) {
+    if (queryCache != null) {
+      changeSet.addQueryDelete(desc, id);
+    }
+  }
+
+  /**
+   * Add an insert to the changeSet for query cache invalidation.
+   */
+  private void queryCacheInsert(EntityBean bean, CacheChangeSet changeSet) {
+    if (queryCache != null) {
+      // capture the values now as the bean can be mutated after the commit
+      Map<String, Object> values = new HashMap<>();
+      for (BeanProperty property : desc.propertiesBaseScalar()) {
+        Object value = property.getValue(bean);
+        if (value != null) {
+          values.put(property.getName(), value);
+        }
+      }
+      changeSet.addQueryInsert(desc, values);
+    }
+  }
+
+  /**
+   * Remove the query cache entries that can be affected by a change.
+   */
+  void queryCacheRemoveIf(Predicate<QueryCacheEntry> affected) {
+    if (queryCache != null) {
+      int count = queryCache.removeIf(value -> !(value instanceof QueryCacheEntry) || affected.test((QueryCacheEntry) value));
+      if (queryLog.isDebugEnabled()) {
+        queryLog.debug("   REMOVE {} - invalidated:{}", cacheName, count);
+      }
+    }
+  }
+
   /**
    * Get a query result from the query cache.
    */
-  @SuppressWarnings("unchecked")
-  BeanCollection<T> queryCacheGet(Object id) {
+  Object queryCacheGet(Object id) {
     if (queryCache == null) {
       throw new IllegalStateException("No query cache enabled on " + desc + ". Need explicit @Cache(enableQueryCache=true)");
     }
-    BeanCollection<T> list = (BeanCollection<T>) queryCache.get(id);
+    Object value = queryCache.get(id);
+    Object result = (value instanceof QueryCacheEntry) ? ((QueryCacheEntry) value).getValue() : value;
     if (queryLog.isDebugEnabled()) {
-      if (list == null) {
+      if (result == null) {
         queryLog.debug("   GET {}({}) - cache miss", cacheName, id);
       } else {
         queryLog.debug("   GET {}({}) - hit", cacheName, id);
       }
     }
-    return list;
+    return result;
   }
 
   /**
    * Put a query result into the query cache.
+   * <p>
+   * The result is a BeanCollection, the row count, the list of ids or the list of attribute values.
+   * </p>
    */
-  void queryCachePut(Object id, BeanCollection<T> query) {
+  @SuppressWarnings("unchecked")
+  void queryCachePut(Object id, SpiQuery<T> query, Object result) {
     if (queryCache == null) {
       throw new IllegalStateException("No query cache enabled on " + desc + ". Need explicit @Cache(enableQueryCache=true)");
     }
+    QueryCacheEntry entry;
+    if (result instanceof BeanCollection) {
+      BeanCollection<T> beans = (BeanCollection<T>) result;
+      entry = new QueryCacheEntry(result, queryDependentProperties(query), queryResultIds(query, beans), queryEqualTo(query), true);
+    } else {
+      entry = new QueryCacheEntry(result, queryDependentProperties(query), queryIdListIds(query, result), queryEqualTo(query), false);
+    }
     if (queryLog.isDebugEnabled()) {
-      queryLog.debug("   PUT {}({})", cacheName, id);
+      queryLog.debug("   PUT {}({}) {}", cacheName, id, entry);
     }
-    queryCache.put(id, query);
+    queryCache.put(id, entry);
+  }
+
+  /**
+   * Return the properties used in the predicates and ordering of the query (null if unknown).
+   */
+  private Set<String> queryDependentProperties(SpiQuery<T> query) {
+    if (query.isRawSql()) {
+      return null;
+    }
+    QueryCacheDependency dependency = new QueryCacheDependency(desc);
+    query.validate(dependency);
+    if (query.getType() == SpiQuery.Type.ATTRIBUTE) {
+      // the result holds the values of the selected attribute
+      dependency.selected(query.getDetail());
+    }
+    Set<String> properties = dependency.getProperties();
+    if (properties != null && softDeleteProperty != null) {
+      properties.add(softDeleteProperty);
+    }
+    return properties;
+  }
+
+  /**
+   * Return the ids of the beans in the query result (null if unknown).
+   */
+  private Set<Object> queryResultIds(SpiQuery<T> query, BeanCollection<T> result) {
+    if (query.getFirstRow() > 0) {
+      // deleting a bean on a prior page changes the result
+      return null;
+    }
+    Set<Object> ids = new HashSet<>();
+    for (T bean : result.getActualDetails()) {
+      Object id = desc.getId((EntityBean) bean);
+      if (id == null) {
+        return null;
+      }
+      ids.add(id);
+    }
+    return ids;
+  }
+
+  /**
+   * Return the ids of a findIds query result (null for row count and attribute results).
+   */
+  private Set<Object> queryIdListIds(SpiQuery<T> query, Object result) {
+    if (query.getType() != SpiQuery.Type.ID_LIST || query.getFirstRow() > 0) {
+      return null;
+    }
+    return new HashSet<>((List<?>) result);
+  }
+
+  /**
+   * Return the top level equality predicates (used to skip invalidation on insert).
+   * <p>
+   * Only value types where Java equality matches database equality are included (so not
+   * strings or decimals given collation and scale).
+   * </p>
+   */
+  private Map<String, Object> queryEqualTo(SpiQuery<T> query) {
+    SpiExpressionList<T> where = query.getWhereExpressions();
+    if (where == null) {
+      return Collections.emptyMap();
+    }
+    Map<String, Object> equalTo = new HashMap<>();
+    for (SpiExpression expression : where.getUnderlyingList()) {
+      if (expression instanceof SimpleExpression) {
+        SimpleExpression simple = (SimpleExpression) expression;
+        Object value = simple.getValue();
+        if (simple.isOpEquals() && simple.getPropName().indexOf('.') == -1 && isEqualToType(value)) {
+          equalTo.put(simple.getPropName(), value);
+        }
+      }
+    }
+    return equalTo;
+  }
+
+  private static boolean isEqualToType(Object value) {
+    return value instanceof Integer || value instanceof Long || value instanceof Short
+        || value instanceof Boolean || value instanceof Enum || value instanceof UUID;
+  }
+
+  private static String softDeleteProperty(BeanDescriptor<?> desc) {
+    if (desc.isSoftDelete()) {
+      for (BeanProperty property : desc.propertiesBaseScalar()) {
+        if (property.isSoftDelete()) {
+          return property.getName();
+        }
+      }
+    }
+    return null;
   }
 
 
@@ -263,10 +493,17 @@ final class BeanDescriptorCacheHelp<T> {
     BeanDescriptor<?> targetDescriptor = many.getTargetDescriptor();
 
     List<Object> idList = entry.getIdList();
+
+    // fetch the cached target beans in a single bean cache call
+    Map<Object, ?> cachedBeans = targetDescriptor.cacheBeanGetAll(idList, readOnly, persistenceContext);
+
     bc.checkEmptyLazyLoad();
     for (Object id : idList) {
-      Object refBean = targetDescriptor.createReference(readOnly, false, id, persistenceContext);
-      many.add(bc, (EntityBean) refBean);
+      Object bean = cachedBeans.get(id);
+      if (bean == null) {
+        bean = targetDescriptor.createReference(readOnly, false, id, persistenceContext);
+      }
+      many.add(bc, (EntityBean) bean);
     }
     return true;
   }
@@ -311,6 +548,25 @@ final class BeanDescriptorCacheHelp<T> {
    */
   Object naturalKeyIdLookup(SpiQuery<T> query) {
 
+    Object naturalKey = naturalKeyValue(query);
+    if (naturalKey == null) {
+      return null;
+    }
+
+    // try to lookup the id using the natural key
+    Object id = naturalKeyCache.get(naturalKey);
+    if (natLog.isTraceEnabled()) {
+      natLog.trace(" LOOKUP {}({}) - id:{}", cacheName, naturalKey, id);
+    }
+    return id;
+  }
+
+  /**
+   * Return the natural key value if the query is a find by natural key that can use the
+   * natural key cache (otherwise null).
+   */
+  Object naturalKeyValue(SpiQuery<T> query) {
+
     if (!isNaturalKeyCaching(query.isUseBeanCache())) {
       // no natural key caching for this query
       return null;
@@ -322,13 +578,29 @@ final class BeanDescriptorCacheHelp<T> {
       // query is not appropriate
       return null;
     }
+    return keyBindParam.getValue();
+  }
 
-    // try to lookup the id using the natural key
-    Object id = naturalKeyCache.get(keyBindParam.getValue());
-    if (natLog.isTraceEnabled()) {
-      natLog.trace(" LOOKUP {}({}) - id:{}", cacheName, keyBindParam.getValue(), id);
+  /**
+   * Load a bean by id after a bean cache miss such that concurrent misses for the same id
+   * wait for the first load and then read the bean from the cache.
+   */
+  T beanCacheLoadOnce(Object id, Supplier<T> loader, Supplier<T> reader) {
+    if (beanLoader == null) {
+      return loader.get();
     }
-    return id;
+    return beanLoader.load(id, loader, reader);
+  }
+
+  /**
+   * Load a bean by natural key after a natural key cache miss such that concurrent misses for
+   * the same natural key wait for the first load and then read the bean from the cache.
+   */
+  T naturalKeyLoadOnce(Object naturalKey, Supplier<T> loader, Supplier<T> reader) {
+    if (naturalKeyLoader == null) {
+      return loader.get();
+    }
+    return naturalKeyLoader.load(naturalKey, loader, reader);
   }
 
   private boolean isNaturalKeyCaching(Boolean queryUseCache) {
@@ -419,7 +691,22 @@ final class BeanDescriptorCacheHelp<T> {
   }
 
   CachedBeanData beanCacheGetData(Object id) {
-    return (CachedBeanData) getBeanCache().get(id);
+    return cacheData(id, getBeanCache().get(id));
+  }
+
+  /**
+   * Return the cached data treating data with a stale layout of the bean type as a miss.
+   */
+  private CachedBeanData cacheData(Object id, Object value) {
+    CachedBeanData data = (CachedBeanData) value;
+    if (data != null && data.isStale()) {
+      if (beanLog.isDebugEnabled()) {
+        beanLog.debug("   REMOVE {}({}) - stale layout", cacheName, id);
+      }
+      getBeanCache().remove(id);
+      return null;
+    }
+    return data;
   }
 
   T beanCacheGet(Object id, Boolean readOnly, PersistenceContext context) {
@@ -430,19 +717,59 @@ final class BeanDescriptorCacheHelp<T> {
     return bean;
   }
 
+  /**
+   * Return the beans from the bean cache for the given ids using a single getAll() call on the cache.
+   * <p>
+   * Only the beans found in the cache are included in the returned map (keyed by id). Returns an
+   * empty map if bean caching is not enabled for this type.
+   * </p>
+   */
+  Map<Object, T> beanCacheGetAll(Collection<?> ids, Boolean readOnly, PersistenceContext context) {
+
+    if (beanCache == null || ids.isEmpty()) {
+      return new LinkedHashMap<>();
+    }
+    Set<Object> idSet = new LinkedHashSet<>(ids);
+    Map<Object, Object> hits = beanCache.getAll(idSet);
+    if (beanLog.isDebugEnabled()) {
+      beanLog.debug("   GET ALL {}({}) - hits:{}", cacheName, idSet.size(), hits.size());
+    }
+
+    Map<Object, T> beans = new LinkedHashMap<>();
+    for (Map.Entry<Object, Object> entry : hits.entrySet()) {
+      Object id = entry.getKey();
+      CachedBeanData data = cacheData(id, entry.getValue());
+      if (data == null) {
+        continue;
+      }
+      T bean = beanFromData(id, data, readOnly, context);
+      setupContext(bean, context);
+      beans.put(id, bean);
+    }
+    return beans;
+  }
+
   /**
    * Return a bean from the bean cache.
    */
-  @SuppressWarnings("unchecked")
   private T beanCacheGetInternal(Object id, Boolean readOnly, PersistenceContext context) {
 
-    CachedBeanData data = (CachedBeanData) getBeanCache().get(id);
+    CachedBeanData data = cacheData(id, getBeanCache().get(id));
     if (data == null) {
       if (beanLog.isTraceEnabled()) {
         beanLog.trace("   GET {}({}) - cache miss", cacheName, id);
       }
       return null;
     }
+    return beanFromData(id, data, readOnly, context);
+  }
+
+  /**
+   * Return the bean given the cached data (using the sharable bean if appropriate).
+   */
+  @SuppressWarnings("unchecked")
+  private T beanFromData(Object id, CachedBeanData data, Boolean readOnly, PersistenceContext context) {
+
     if (cacheSharableBeans && !Boolean.FALSE.equals(readOnly)) {
       Object bean = data.getSharableBean();
       if (bean != null) {
@@ -554,13 +881,64 @@ final class BeanDescriptorCacheHelp<T> {
    */
   boolean beanCacheLoad(EntityBean bean, EntityBeanIntercept ebi, Object id, PersistenceContext context) {
 
-    CachedBeanData cacheData = (CachedBeanData) getBeanCache().get(id);
+    CachedBeanData cacheData = cacheData(id, getBeanCache().get(id));
     if (cacheData == null) {
       if (beanLog.isTraceEnabled()) {
         beanLog.trace("   LOAD {}({}) - cache miss", cacheName, id);
       }
       return false;
     }
+    return beanCacheLoad(bean, ebi, id, cacheData, context);
+  }
+
+  /**
+   * Load the batch of beans from the bean cache using a single getAll() call on the cache.
+   * <p>
+   * The beans successfully loaded from the cache are removed from the batch such that the
+   * remaining beans are the ones that need to be loaded from the database.
+   * </p>
+   *
+   * @return true if the lazyLoadEbi was loaded from the cache
+   */
+  boolean beanCacheLoadAll(EntityBeanIntercept lazyLoadEbi, List<EntityBeanIntercept> batch, PersistenceContext context) {
+
+    Set<Object> ids = new LinkedHashSet<>();
+    ids.add(desc.getId(lazyLoadEbi.getOwner()));
+    for (EntityBeanIntercept ebi : batch) {
+      ids.add(desc.getId(ebi.getOwner()));
+    }
+
+    Map<Object, Object> hits = getBeanCache().getAll(ids);
+    if (beanLog.isDebugEnabled()) {
+      beanLog.debug("   LOAD ALL {}({}) - hits:{}", cacheName, ids.size(), hits.size());
+    }
+    if (hits.isEmpty()) {
+      return false;
+    }
+
+    boolean lazyLoadEbiLoaded = false;
+    Iterator<EntityBeanIntercept> iterator = batch.iterator();
+    while (iterator.hasNext()) {
+      EntityBeanIntercept ebi = iterator.next();
+      EntityBean bean = ebi.getOwner();
+      Object id = desc.getId(bean);
+      CachedBeanData cacheData = cacheData(id, hits.get(id));
+      if (cacheData != null && beanCacheLoad(bean, ebi, id, cacheData, context)) {
+        // bean successfully loaded from L2 cache so remove from batch load
+        iterator.remove();
+        if (ebi == lazyLoadEbi) {
+          lazyLoadEbiLoaded = true;
+        }
+      }
+    }
+    return lazyLoadEbiLoaded;
+  }
+
+  /**
+   * Load the bean from the cached data returning false if the lazy load property is not in the data.
+   */
+  private boolean beanCacheLoad(EntityBean bean, EntityBeanIntercept ebi, Object id, CachedBeanData cacheData, PersistenceContext context) {
+
     int lazyLoadProperty = ebi.getLazyLoadPropertyIndex();
     if (lazyLoadProperty > -1 && !cacheData.isLoaded(ebi.getLazyLoadProperty())) {
       if (beanLog.isTraceEnabled()) {
@@ -580,6 +958,7 @@ final class BeanDescriptorCacheHelp<T> {
    * Add appropriate cache changes to support delete by id.
    */
   void handleDelete(Object id, CacheChangeSet changeSet) {
+    queryCacheDelete(id, changeSet);
     if (beanCache != null) {
       changeSet.addBeanRemove(desc, id);
     }
@@ -590,7 +969,7 @@ final class BeanDescriptorCacheHelp<T> {
    * Add appropriate cache changes to support delete bean.
    */
   void handleDelete(Object id, PersistRequestBean<T> deleteRequest, CacheChangeSet changeSet) {
-    queryCacheClear(changeSet);
+    queryCacheDelete(id, changeSet);
     if (beanCache != null) {
       changeSet.addBeanRemove(desc, id);
     }
@@ -601,11 +980,25 @@ final class BeanDescriptorCacheHelp<T> {
    * Add appropriate cache changes to support insert.
    */
   void handleInsert(PersistRequestBean<T> insertRequest, CacheChangeSet changeSet) {
-    queryCacheClear(changeSet);
+    queryCacheInsert(insertRequest.getEntityBean(), changeSet);
     cacheDeleteImported(false, insertRequest.getEntityBean(), changeSet);
     changeSet.addBeanInsert(desc.getBaseTable());
   }
 
+  /**
+   * Return the names of the changed properties (null when many properties were updated).
+   */
+  private Set<String> changedProperties(PersistRequestBean<T> updateRequest) {
+    if (updateRequest.getUpdatedManyCollections() != null) {
+      return null;
+    }
+    Set<String> changed = new HashSet<>();
+    for (int i = updateRequest.nextDirtyProperty(0); i > -1; i = updateRequest.nextDirtyProperty(i + 1)) {
+      changed.add(desc.propertiesIndex[i].getName());
+    }
+    return changed;
+  }
+
   private void cacheDeleteImported(boolean clear, EntityBean entityBean, CacheChangeSet changeSet) {
     for (BeanPropertyAssocOne<?> aPropertiesOneImported : propertiesOneImported) {
       aPropertiesOneImported.cacheDelete(clear, entityBean, changeSet);
@@ -617,7 +1010,7 @@ final class BeanDescriptorCacheHelp<T> {
    */
   void handleUpdate(Object id, PersistRequestBean<T> updateRequest, CacheChangeSet changeSet) {
 
-    queryCacheClear(changeSet);
+    queryCacheUpdate(id, changedProperties(updateRequest), changeSet);
 
     if (beanCache == null) {
       // query caching only
@@ -642,17 +1035,14 @@ final class BeanDescriptorCacheHelp<T> {
 
       Map<String, Object> changes = new LinkedHashMap<>();
       EntityBean bean = updateRequest.getEntityBean();
-      boolean[] dirtyProperties = updateRequest.getDirtyProperties();
-      for (int i = 0; i < dirtyProperties.length; i++) {
-        if (dirtyProperties[i]) {
-          BeanProperty property = desc.propertiesIndex[i];
-          if (property.isCacheDataInclude()) {
-            Object val = property.getCacheDataValue(bean);
-            changes.put(property.getName(), val);
-            if (property.isNaturalKey()) {
-              updateNaturalKey = true;
-              changeSet.addNaturalKeyPut(desc, id, val);
-            }
+      for (int i = updateRequest.nextDirtyProperty(0); i > -1; i = updateRequest.nextDirtyProperty(i + 1)) {
+        BeanProperty property = desc.propertiesIndex[i];
+        if (property.isCacheDataInclude()) {
+          Object val = property.getCacheDataValue(bean);
+          changes.put(property.getName(), val);
+          if (property.isNaturalKey()) {
+            updateNaturalKey = true;
+            changeSet.addNaturalKeyPut(desc, id, val);
           }
         }
       }
@@ -685,7 +1075,7 @@ final class BeanDescriptorCacheHelp<T> {
   void cacheBeanUpdate(Object id, Map<String, Object> changes, boolean updateNaturalKey, long version) {
 
     ServerCache cache = getBeanCache();
-    CachedBeanData existingData = (CachedBeanData) cache.get(id);
+    CachedBeanData existingData = cacheData(id, cache.get(id));
     if (existingData != null) {
       long currentVersion = existingData.getVersion();
       if (version > 0 && version < currentVersion) {
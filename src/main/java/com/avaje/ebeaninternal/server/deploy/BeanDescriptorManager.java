@@ -48,6 +48,7 @@ import com.avaje.ebeaninternal.server.properties.BeanPropertiesReader;
 import com.avaje.ebeaninternal.server.properties.BeanPropertyInfo;
 import com.avaje.ebeaninternal.server.properties.BeanPropertyInfoFactory;
 import com.avaje.ebeaninternal.server.properties.EnhanceBeanPropertyInfoFactory;
+import com.avaje.ebeaninternal.server.query.CQueryPlanCacheLimit;
 import com.avaje.ebeaninternal.xmlmapping.XmlMappingReader;
 import com.avaje.ebeaninternal.xmlmapping.model.XmAliasMapping;
 import com.avaje.ebeaninternal.xmlmapping.model.XmColumnMapping;
@@ -162,6 +163,8 @@ public class BeanDescriptorManager implements BeanDescriptorMap {
 
   private final ServerCacheManager cacheManager;
 
+  private final CQueryPlanCacheLimit queryPlanCacheLimit;
+
   private final BackgroundExecutor backgroundExecutor;
 
   private final int dbSequenceBatchSize;
@@ -194,13 +197,14 @@ public class BeanDescriptorManager implements BeanDescriptorMap {
     this.serverConfig = config.getServerConfig();
     this.serverName = InternString.intern(serverConfig.getName());
     this.cacheManager = config.getCacheManager();
+    this.queryPlanCacheLimit = new CQueryPlanCacheLimit(serverConfig.getQueryPlanCacheMaxSize(), serverConfig.getQueryPlanCacheMaxSizeTotal());
     this.docStoreFactory = config.getDocStoreFactory();
     this.dbSequenceBatchSize = serverConfig.getDatabaseSequenceBatchSize();
     this.backgroundExecutor = config.getBackgroundExecutor();
     this.dataSource = serverConfig.getDataSource();
     this.encryptKeyManager = serverConfig.getEncryptKeyManager();
     this.databasePlatform = serverConfig.getDatabasePlatform();
-    this.idBinderFactory = new IdBinderFactory(databasePlatform.isIdInExpandedForm());
+    this.idBinderFactory = new IdBinderFactory(databasePlatform.isIdInExpandedForm(), databasePlatform.getMaxInBinding(), config.getTypeManager());
     this.eagerFetchLobs = serverConfig.isEagerFetchLobs();
 
     this.asOfViewSuffix = getAsOfViewSuffix(databasePlatform, serverConfig);
@@ -284,6 +288,11 @@ public class BeanDescriptorManager implements BeanDescriptorMap {
     return cacheManager;
   }
 
+  @Override
+  public CQueryPlanCacheLimit getQueryPlanCacheLimit() {
+    return queryPlanCacheLimit;
+  }
+
   public NamingConvention getNamingConvention() {
     return namingConvention;
   }
@@ -597,6 +606,15 @@ public class BeanDescriptorManager implements BeanDescriptorMap {
     return !tableToViewDescMap.isEmpty();
   }
 
+  /**
+   * Release resources held for the BeanDescriptors on server shutdown.
+   */
+  public void shutdown() {
+    for (BeanDescriptor<?> desc : descMap.values()) {
+      desc.releaseCacheBeanSchema();
+    }
+  }
+
   /**
    * Return an immutable list of all the BeanDescriptors.
    */
@@ -5,6 +5,7 @@ import com.avaje.ebean.config.EncryptKey;
 import com.avaje.ebean.config.ServerConfig;
 import com.avaje.ebeaninternal.server.deploy.id.IdBinder;
 import com.avaje.ebeaninternal.server.deploy.meta.DeployBeanDescriptor;
+import com.avaje.ebeaninternal.server.query.CQueryPlanCacheLimit;
 import com.avaje.ebeanservice.docstore.api.DocStoreBeanAdapter;
 
 /**
@@ -30,6 +31,11 @@ public interface BeanDescriptorMap {
    */
   ServerCacheManager getCacheManager();
 
+  /**
+   * Return the limits on the query plan cache shared by all the bean types.
+   */
+  CQueryPlanCacheLimit getQueryPlanCacheLimit();
+
   /**
    * Return the BeanDescriptor for a given class.
    */
@@ -0,0 +1,71 @@
+package com.avaje.ebeaninternal.server.deploy;
+
+import com.avaje.ebeaninternal.api.SpiExpressionValidation;
+import com.avaje.ebeaninternal.server.querydefn.OrmQueryDetail;
+import com.avaje.ebeaninternal.server.querydefn.OrmQueryProperties;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Collects the properties a query depends on (predicates and ordering) for the query cache.
+ * <p>
+ * Paths are collected by their root property such that "customer.name" depends on "customer".
+ * Raw expressions, sub-queries and formula properties mean the query depends on unknown
+ * properties.
+ * </p>
+ */
+final class QueryCacheDependency extends SpiExpressionValidation {
+
+  private final BeanDescriptor<?> desc;
+
+  private final Set<String> properties = new HashSet<>();
+
+  private boolean raw;
+
+  QueryCacheDependency(BeanDescriptor<?> desc) {
+    super(desc);
+    this.desc = desc;
+  }
+
+  @Override
+  public void validate(String propertyName) {
+    BeanProperty property = desc.findBeanProperty(propertyName);
+    if (property == null || property.isFormula()) {
+      raw = true;
+    } else {
+      properties.add(property.getName());
+    }
+  }
+
+  @Override
+  public void validateRaw() {
+    raw = true;
+  }
+
+  /**
+   * Add the selected properties (and fetch paths) of a single attribute query.
+   */
+  void selected(OrmQueryDetail detail) {
+    OrmQueryProperties base = detail.getChunk(null, false);
+    Set<String> included = (base == null) ? null : base.getIncluded();
+    if (included == null || included.isEmpty()) {
+      // selecting the default properties
+      raw = true;
+      return;
+    }
+    for (String propertyName : included) {
+      validate(propertyName);
+    }
+    for (String path : detail.getFetchPaths()) {
+      validate(path);
+    }
+  }
+
+  /**
+   * Return the dependent properties or null if the query depends on unknown properties.
+   */
+  Set<String> getProperties() {
+    return raw ? null : properties;
+  }
+}
@@ -19,6 +19,11 @@ import java.util.List;
  */
 public interface IdBinder {
 
+  /**
+   * The minimum number of ids in an IN expression before they are bound as a single DB ARRAY.
+   */
+  int ARRAY_BINDING_MIN_SIZE = 200;
+
   /**
    * Initialise the binder.
    */
@@ -151,6 +156,26 @@ public interface IdBinder {
    */
   String getIdInValueExprDelete(int size);
 
+  /**
+   * Return the maximum number of id values bound in a single IN expression (0 for no limit).
+   */
+  int getMaxInBinding();
+
+  /**
+   * Return true if the given number of id values should be bound as a single DB ARRAY.
+   */
+  boolean isIdInArrayBinding(int size);
+
+  /**
+   * Return the IN expression (like " = any(?) ") used when binding the id values as a single DB ARRAY.
+   */
+  String getIdInArrayExpr();
+
+  /**
+   * Return the value that binds all the id values as a single DB ARRAY.
+   */
+  Object getIdInArrayBindValue(List<?> idValues);
+
   void buildRawSqlSelectChain(String prefix, List<String> selectChain);
 
   /**
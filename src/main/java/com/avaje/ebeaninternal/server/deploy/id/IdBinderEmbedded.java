@@ -28,14 +28,17 @@ public final class IdBinderEmbedded implements IdBinder {
 
   private final boolean idInExpandedForm;
 
+  private final int maxInBinding;
+
   private BeanProperty[] props;
 
   private BeanDescriptor<?> idDesc;
 
   private String idInValueSql;
 
-  public IdBinderEmbedded(boolean idInExpandedForm, BeanPropertyAssocOne<?> embIdProperty) {
+  public IdBinderEmbedded(boolean idInExpandedForm, int maxInBinding, BeanPropertyAssocOne<?> embIdProperty) {
     this.idInExpandedForm = idInExpandedForm;
+    this.maxInBinding = maxInBinding;
     this.embIdProperty = embIdProperty;
   }
 
@@ -209,6 +212,25 @@ public final class IdBinderEmbedded implements IdBinder {
     return sb.toString();
   }
 
+  /**
+   * Return the max number of ids in an IN expression noting each id binds a value per property.
+   */
+  public int getMaxInBinding() {
+    return (maxInBinding == 0) ? 0 : Math.max(1, maxInBinding / props.length);
+  }
+
+  public boolean isIdInArrayBinding(int size) {
+    return false;
+  }
+
+  public String getIdInArrayExpr() {
+    return "";
+  }
+
+  public Object getIdInArrayBindValue(List<?> idValues) {
+    return null;
+  }
+
   public Object[] getIdValues(EntityBean bean) {
     Object val = embIdProperty.getValue(bean);
     Object[] bindvalues = new Object[props.length];
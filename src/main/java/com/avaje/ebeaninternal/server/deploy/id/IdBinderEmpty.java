@@ -86,6 +86,22 @@ public final class IdBinderEmpty implements IdBinder {
     return "";
   }
 
+  public int getMaxInBinding() {
+    return 0;
+  }
+
+  public boolean isIdInArrayBinding(int size) {
+    return false;
+  }
+
+  public String getIdInArrayExpr() {
+    return "";
+  }
+
+  public Object getIdInArrayBindValue(List<?> idValues) {
+    return null;
+  }
+
   public String getBindIdInSql(String baseTableAlias) {
     return null;
   }
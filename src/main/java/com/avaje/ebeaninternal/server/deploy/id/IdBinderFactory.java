@@ -2,6 +2,8 @@ package com.avaje.ebeaninternal.server.deploy.id;
 
 import com.avaje.ebeaninternal.server.deploy.BeanProperty;
 import com.avaje.ebeaninternal.server.deploy.BeanPropertyAssocOne;
+import com.avaje.ebeaninternal.server.type.ScalarTypeArrayList;
+import com.avaje.ebeaninternal.server.type.TypeManager;
 
 /**
  * Creates the appropriate IdConvertSet depending on the type of Id property(s).
@@ -12,8 +14,14 @@ public class IdBinderFactory {
 
   private final boolean idInExpandedForm;
 
-  public IdBinderFactory(boolean idInExpandedForm) {
+  private final int maxInBinding;
+
+  private final TypeManager typeManager;
+
+  public IdBinderFactory(boolean idInExpandedForm, int maxInBinding, TypeManager typeManager) {
     this.idInExpandedForm = idInExpandedForm;
+    this.maxInBinding = maxInBinding;
+    this.typeManager = typeManager;
   }
 
   /**
@@ -27,10 +35,20 @@ public class IdBinderFactory {
 
     }
     if (id.isEmbedded()) {
-      return new IdBinderEmbedded(idInExpandedForm, (BeanPropertyAssocOne<?>) id);
+      return new IdBinderEmbedded(idInExpandedForm, maxInBinding, (BeanPropertyAssocOne<?>) id);
     } else {
-      return new IdBinderSimple(id);
+      return new IdBinderSimple(id, maxInBinding, idInArrayType(id));
+    }
+  }
+
+  /**
+   * Return the DB ARRAY type used to bind large IN expressions for the id (or null if not supported).
+   */
+  private ScalarTypeArrayList idInArrayType(BeanProperty id) {
+    if (typeManager == null || !id.getScalarType().isJdbcNative()) {
+      return null;
     }
+    return typeManager.getIdInArrayType(id.getPropertyType());
   }
 
 }
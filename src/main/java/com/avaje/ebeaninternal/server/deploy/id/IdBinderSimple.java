@@ -7,13 +7,16 @@ import com.avaje.ebeaninternal.server.core.InternString;
 import com.avaje.ebeaninternal.server.deploy.BeanProperty;
 import com.avaje.ebeaninternal.server.deploy.DbReadContext;
 import com.avaje.ebeaninternal.server.deploy.DbSqlContext;
+import com.avaje.ebeaninternal.server.type.ArrayBindValue;
 import com.avaje.ebeaninternal.server.type.DataBind;
 import com.avaje.ebeaninternal.server.type.ScalarType;
+import com.avaje.ebeaninternal.server.type.ScalarTypeArrayList;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -30,8 +33,14 @@ public final class IdBinderSimple implements IdBinder {
   @SuppressWarnings("rawtypes")
   private final ScalarType scalarType;
 
-  public IdBinderSimple(BeanProperty idProperty) {
+  private final int maxInBinding;
+
+  private final ScalarTypeArrayList arrayType;
+
+  public IdBinderSimple(BeanProperty idProperty, int maxInBinding, ScalarTypeArrayList arrayType) {
     this.idProperty = idProperty;
+    this.maxInBinding = maxInBinding;
+    this.arrayType = arrayType;
     this.scalarType = idProperty.getScalarType();
     this.expectedType = idProperty.getPropertyType();
     bindIdSql = InternString.intern(idProperty.getDbColumn() + " = ? ");
@@ -126,6 +135,26 @@ public final class IdBinderSimple implements IdBinder {
     return sb.toString();
   }
 
+  public int getMaxInBinding() {
+    return maxInBinding;
+  }
+
+  public boolean isIdInArrayBinding(int size) {
+    return arrayType != null && size >= ARRAY_BINDING_MIN_SIZE;
+  }
+
+  public String getIdInArrayExpr() {
+    return arrayType.getInArrayExpr();
+  }
+
+  public Object getIdInArrayBindValue(List<?> idValues) {
+    List<Object> values = new ArrayList<>(idValues.size());
+    for (Object idValue : idValues) {
+      values.add(convertSetId(idValue, null));
+    }
+    return new ArrayBindValue(arrayType, values);
+  }
+
   public void addIdInBindValue(SpiExpressionRequest request, Object value) {
     value = convertSetId(value, null);
     request.addBindValue(value);
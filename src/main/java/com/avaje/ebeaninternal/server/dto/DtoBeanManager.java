@@ -0,0 +1,26 @@
+package com.avaje.ebeaninternal.server.dto;
+
+import com.avaje.ebeaninternal.server.type.TypeManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the meta data for DTO types used with DTO queries.
+ */
+public class DtoBeanManager {
+
+  private final TypeManager typeManager;
+
+  private final ConcurrentHashMap<Class<?>, DtoMeta> metaMap = new ConcurrentHashMap<>();
+
+  public DtoBeanManager(TypeManager typeManager) {
+    this.typeManager = typeManager;
+  }
+
+  /**
+   * Return the meta data for the given DTO type.
+   */
+  public DtoMeta getMeta(Class<?> dtoType) {
+    return metaMap.computeIfAbsent(dtoType, type -> new DtoMeta(type, typeManager));
+  }
+}
@@ -0,0 +1,64 @@
+package com.avaje.ebeaninternal.server.dto;
+
+import com.avaje.ebeaninternal.server.type.ScalarType;
+
+/**
+ * A column in the resultSet of a DTO query.
+ * <p>
+ * The label is matched to a DTO property. The ScalarType is known for ORM queries (from the
+ * bean property) and is otherwise determined by the type of the matching DTO property.
+ * </p>
+ */
+public final class DtoColumn {
+
+  private final String label;
+
+  private final ScalarType<?> scalarType;
+
+  /**
+   * Create for a column with a known ScalarType.
+   */
+  public DtoColumn(String label, ScalarType<?> scalarType) {
+    this.label = label;
+    this.scalarType = scalarType;
+  }
+
+  /**
+   * Create for a column whose ScalarType is determined by the matching DTO property.
+   */
+  public DtoColumn(String label) {
+    this(label, null);
+  }
+
+  /**
+   * Create for a column that is in the resultSet but not mapped (like an inheritance discriminator).
+   */
+  public static DtoColumn ignore() {
+    return new DtoColumn(null, null);
+  }
+
+  /**
+   * Return true if the column is read but not mapped.
+   */
+  boolean isIgnore() {
+    return label == null;
+  }
+
+  /**
+   * Return the column label (property name for ORM queries).
+   */
+  String getLabel() {
+    return label;
+  }
+
+  /**
+   * Return the ScalarType or null if determined by the DTO property.
+   */
+  ScalarType<?> getScalarType() {
+    return scalarType;
+  }
+
+  public String toString() {
+    return label;
+  }
+}
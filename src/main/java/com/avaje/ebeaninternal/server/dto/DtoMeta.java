@@ -0,0 +1,192 @@
+package com.avaje.ebeaninternal.server.dto;
+
+import com.avaje.ebeaninternal.server.type.ScalarType;
+import com.avaje.ebeaninternal.server.type.TypeManager;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Meta data for a DTO type - the public constructors and setter methods.
+ * <p>
+ * The columns of a query are matched to a constructor (by position) when there is a
+ * constructor with the same number of parameters and otherwise to setter methods (by name
+ * ignoring case and underscores such that a column <code>customer_name</code> maps to
+ * <code>setCustomerName()</code>).
+ * </p>
+ */
+public final class DtoMeta {
+
+  private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+  private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+  private static final MethodType DEFAULT_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+  private final Class<?> dtoType;
+
+  private final MethodHandle defaultConstructor;
+
+  private final List<DtoMetaConstructor> constructors = new ArrayList<>();
+
+  private final Map<String, DtoMetaProperty> properties = new HashMap<>();
+
+  DtoMeta(Class<?> dtoType, TypeManager typeManager) {
+    this.dtoType = dtoType;
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    try {
+      MethodHandle noArgs = null;
+      for (Constructor<?> constructor : dtoType.getConstructors()) {
+        constructor.setAccessible(true);
+        MethodHandle handle = lookup.unreflectConstructor(constructor);
+        Class<?>[] paramTypes = constructor.getParameterTypes();
+        if (paramTypes.length == 0) {
+          noArgs = handle.asType(DEFAULT_CONSTRUCTOR_TYPE);
+        } else {
+          ScalarType<?>[] scalarTypes = new ScalarType<?>[paramTypes.length];
+          for (int i = 0; i < paramTypes.length; i++) {
+            scalarTypes[i] = scalarType(typeManager, paramTypes[i]);
+          }
+          handle = handle.asSpreader(Object[].class, paramTypes.length).asType(CONSTRUCTOR_TYPE);
+          constructors.add(new DtoMetaConstructor(paramTypes, scalarTypes, handle));
+        }
+      }
+      this.defaultConstructor = noArgs;
+
+      for (Method method : dtoType.getMethods()) {
+        if (isSetter(method)) {
+          String name = Character.toLowerCase(method.getName().charAt(3)) + method.getName().substring(4);
+          Class<?> propertyType = method.getParameterTypes()[0];
+          method.setAccessible(true);
+          MethodHandle setter = lookup.unreflect(method).asType(SETTER_TYPE);
+          properties.put(normalise(name), new DtoMetaProperty(name, propertyType, setter, scalarType(typeManager, propertyType)));
+        }
+      }
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException("Unable to access constructors and setters of DTO " + dtoType.getName(), e);
+    }
+  }
+
+  private static boolean isSetter(Method method) {
+    return method.getName().length() > 3
+        && method.getName().startsWith("set")
+        && method.getParameterCount() == 1
+        && !Modifier.isStatic(method.getModifiers());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ScalarType<?> scalarType(TypeManager typeManager, Class<?> type) {
+    ScalarType<?> scalarType = typeManager.getScalarType(type);
+    if (scalarType == null && type.isEnum()) {
+      scalarType = typeManager.createEnumScalarType((Class<? extends Enum<?>>) type);
+    }
+    return scalarType;
+  }
+
+  /**
+   * Normalise a property name or column label for matching (lower case without underscores).
+   */
+  private static String normalise(String name) {
+    return name.replace("_", "").toLowerCase(Locale.ENGLISH);
+  }
+
+  /**
+   * Return true if a value of the given type can be passed as the parameter type.
+   */
+  static boolean isAssignable(Class<?> paramType, Class<?> valueType) {
+    return wrap(paramType).isAssignableFrom(wrap(valueType));
+  }
+
+  /**
+   * Return the wrapper type for a primitive type.
+   */
+  private static Class<?> wrap(Class<?> type) {
+    return MethodType.methodType(type).wrap().returnType();
+  }
+
+  public String toString() {
+    return dtoType.getName();
+  }
+
+  /**
+   * Return the DTO type.
+   */
+  public Class<?> getDtoType() {
+    return dtoType;
+  }
+
+  /**
+   * Return true if the property should be selected by a DTO query without a select clause.
+   * <p>
+   * This is true when the DTO has a setter for the property or has no setters at all (and
+   * is expected to map the columns to a constructor).
+   * </p>
+   */
+  public boolean isSelectProperty(String name) {
+    return properties.isEmpty() || properties.containsKey(normalise(name));
+  }
+
+  /**
+   * Return the read plan for the given columns.
+   * <p>
+   * This is expected to be called once per query plan with the resulting read plan used for
+   * each row.
+   * </p>
+   */
+  public DtoReadPlan match(DtoColumn[] columns) {
+
+    int mappedCount = 0;
+    for (DtoColumn column : columns) {
+      if (!column.isIgnore()) {
+        mappedCount++;
+      }
+    }
+
+    for (DtoMetaConstructor constructor : constructors) {
+      if (constructor.getParamCount() == mappedCount) {
+        DtoReadPlan plan = constructor.match(dtoType, columns);
+        if (plan != null) {
+          return plan;
+        }
+      }
+    }
+
+    if (defaultConstructor == null) {
+      throw new IllegalStateException("Unable to map the " + mappedCount + " columns of the query to a constructor of DTO " + dtoType.getName());
+    }
+
+    ScalarType<?>[] scalarTypes = new ScalarType<?>[columns.length];
+    DtoMetaProperty[] setters = new DtoMetaProperty[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      DtoColumn column = columns[i];
+      if (column.isIgnore()) {
+        continue;
+      }
+      DtoMetaProperty property = properties.get(normalise(column.getLabel()));
+      if (property == null) {
+        throw new IllegalStateException("Unable to map column [" + column.getLabel() + "] to a setter method on DTO " + dtoType.getName());
+      }
+      ScalarType<?> scalarType = column.getScalarType();
+      if (scalarType == null) {
+        scalarType = property.getScalarType();
+        if (scalarType == null) {
+          throw new IllegalStateException("No ScalarType for property [" + property.getName() + "] of type " + property.getPropertyType() + " on DTO " + dtoType.getName());
+        }
+      } else if (!isAssignable(property.getPropertyType(), scalarType.getType())) {
+        throw new IllegalStateException("Column [" + column.getLabel() + "] of type " + scalarType.getType() + " is not assignable to property [" + property.getName() + "] of DTO " + dtoType.getName());
+      }
+      scalarTypes[i] = scalarType;
+      setters[i] = property;
+    }
+    return new DtoReadPlanSetters(dtoType, defaultConstructor, scalarTypes, setters);
+  }
+}
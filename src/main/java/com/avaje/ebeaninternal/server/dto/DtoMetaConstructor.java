@@ -0,0 +1,58 @@
+package com.avaje.ebeaninternal.server.dto;
+
+import com.avaje.ebeaninternal.server.type.ScalarType;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * A constructor of a DTO type that can be matched to the columns of a query by position.
+ */
+final class DtoMetaConstructor {
+
+  private final Class<?>[] paramTypes;
+
+  private final ScalarType<?>[] scalarTypes;
+
+  /**
+   * Constructor handle taking the arguments as an Object[].
+   */
+  private final MethodHandle handle;
+
+  DtoMetaConstructor(Class<?>[] paramTypes, ScalarType<?>[] scalarTypes, MethodHandle handle) {
+    this.paramTypes = paramTypes;
+    this.scalarTypes = scalarTypes;
+    this.handle = handle;
+  }
+
+  int getParamCount() {
+    return paramTypes.length;
+  }
+
+  /**
+   * Return a read plan if the columns match the constructor parameters by position or null if they don't.
+   */
+  DtoReadPlan match(Class<?> dtoType, DtoColumn[] columns) {
+
+    ScalarType<?>[] readTypes = new ScalarType<?>[columns.length];
+    int pos = 0;
+    for (int i = 0; i < columns.length; i++) {
+      DtoColumn column = columns[i];
+      if (column.isIgnore()) {
+        continue;
+      }
+      ScalarType<?> columnType = column.getScalarType();
+      if (columnType == null) {
+        // type determined by the constructor parameter
+        columnType = scalarTypes[pos];
+        if (columnType == null) {
+          return null;
+        }
+      } else if (!DtoMeta.isAssignable(paramTypes[pos], columnType.getType())) {
+        return null;
+      }
+      readTypes[i] = columnType;
+      pos++;
+    }
+    return new DtoReadPlanConstructor(dtoType, handle, readTypes, pos);
+  }
+}
@@ -0,0 +1,54 @@
+package com.avaje.ebeaninternal.server.dto;
+
+import com.avaje.ebeaninternal.server.type.ScalarType;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * A property of a DTO type set via a setter method.
+ */
+final class DtoMetaProperty {
+
+  private final String name;
+
+  private final Class<?> propertyType;
+
+  private final MethodHandle setter;
+
+  private final ScalarType<?> scalarType;
+
+  DtoMetaProperty(String name, Class<?> propertyType, MethodHandle setter, ScalarType<?> scalarType) {
+    this.name = name;
+    this.propertyType = propertyType;
+    this.setter = setter;
+    this.scalarType = scalarType;
+  }
+
+  public String toString() {
+    return name;
+  }
+
+  String getName() {
+    return name;
+  }
+
+  Class<?> getPropertyType() {
+    return propertyType;
+  }
+
+  /**
+   * Return the ScalarType based on the property type (null if the type is not supported).
+   */
+  ScalarType<?> getScalarType() {
+    return scalarType;
+  }
+
+  /**
+   * Set the value on the DTO bean. A null value for a primitive property is ignored.
+   */
+  void set(Object bean, Object value) throws Throwable {
+    if (value != null || !propertyType.isPrimitive()) {
+      setter.invokeExact(bean, value);
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package com.avaje.ebeaninternal.server.dto;
+
+import com.avaje.ebeaninternal.server.type.DataReader;
+
+import java.sql.SQLException;
+
+/**
+ * Reads a row from the resultSet into a DTO bean.
+ * <p>
+ * This is the columns of a query matched to the constructor or setter methods of the DTO type
+ * and is determined once per query plan (not per row).
+ * </p>
+ */
+public interface DtoReadPlan {
+
+  /**
+   * Return the DTO type this plan creates.
+   */
+  Class<?> getDtoType();
+
+  /**
+   * Read the current row returning the DTO bean.
+   */
+  Object readRow(DataReader dataReader) throws SQLException;
+}
@@ -0,0 +1,58 @@
+package com.avaje.ebeaninternal.server.dto;
+
+import com.avaje.ebeaninternal.server.type.DataReader;
+import com.avaje.ebeaninternal.server.type.ScalarType;
+
+import javax.persistence.PersistenceException;
+import java.lang.invoke.MethodHandle;
+import java.sql.SQLException;
+
+/**
+ * Read plan creating the DTO bean via a constructor with the column values as arguments.
+ */
+final class DtoReadPlanConstructor implements DtoReadPlan {
+
+  private final Class<?> dtoType;
+
+  private final MethodHandle constructor;
+
+  /**
+   * The ScalarType per column (null for an ignored column).
+   */
+  private final ScalarType<?>[] scalarTypes;
+
+  private final int argCount;
+
+  DtoReadPlanConstructor(Class<?> dtoType, MethodHandle constructor, ScalarType<?>[] scalarTypes, int argCount) {
+    this.dtoType = dtoType;
+    this.constructor = constructor;
+    this.scalarTypes = scalarTypes;
+    this.argCount = argCount;
+  }
+
+  @Override
+  public Class<?> getDtoType() {
+    return dtoType;
+  }
+
+  @Override
+  public Object readRow(DataReader dataReader) throws SQLException {
+
+    Object[] args = new Object[argCount];
+    int pos = 0;
+    for (ScalarType<?> scalarType : scalarTypes) {
+      if (scalarType == null) {
+        dataReader.incrementPos(1);
+      } else {
+        args[pos++] = scalarType.read(dataReader);
+      }
+    }
+    try {
+      return constructor.invokeExact(args);
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new PersistenceException("Error constructing DTO " + dtoType.getName(), e);
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package com.avaje.ebeaninternal.server.dto;
+
+import com.avaje.ebeaninternal.server.type.DataReader;
+import com.avaje.ebeaninternal.server.type.ScalarType;
+
+import javax.persistence.PersistenceException;
+import java.lang.invoke.MethodHandle;
+import java.sql.SQLException;
+
+/**
+ * Read plan creating the DTO bean via the default constructor and setting the column values
+ * via setter methods.
+ */
+final class DtoReadPlanSetters implements DtoReadPlan {
+
+  private final Class<?> dtoType;
+
+  private final MethodHandle defaultConstructor;
+
+  /**
+   * The ScalarType per column (null for an ignored column).
+   */
+  private final ScalarType<?>[] scalarTypes;
+
+  /**
+   * The property per column (null for an ignored column).
+   */
+  private final DtoMetaProperty[] properties;
+
+  DtoReadPlanSetters(Class<?> dtoType, MethodHandle defaultConstructor, ScalarType<?>[] scalarTypes, DtoMetaProperty[] properties) {
+    this.dtoType = dtoType;
+    this.defaultConstructor = defaultConstructor;
+    this.scalarTypes = scalarTypes;
+    this.properties = properties;
+  }
+
+  @Override
+  public Class<?> getDtoType() {
+    return dtoType;
+  }
+
+  @Override
+  public Object readRow(DataReader dataReader) throws SQLException {
+
+    Object bean = newInstance();
+    for (int i = 0; i < properties.length; i++) {
+      DtoMetaProperty property = properties[i];
+      if (property == null) {
+        dataReader.incrementPos(1);
+      } else {
+        Object value = scalarTypes[i].read(dataReader);
+        try {
+          property.set(bean, value);
+        } catch (RuntimeException e) {
+          throw e;
+        } catch (Throwable e) {
+          throw new PersistenceException("Error setting DTO property " + dtoType.getName() + "." + property.getName(), e);
+        }
+      }
+    }
+    return bean;
+  }
+
+  private Object newInstance() {
+    try {
+      return defaultConstructor.invokeExact();
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new PersistenceException("Error constructing DTO " + dtoType.getName(), e);
+    }
+  }
+}
@@ -0,0 +1 @@
+package com.avaje.ebeaninternal.server.dto;
\ No newline at end of file
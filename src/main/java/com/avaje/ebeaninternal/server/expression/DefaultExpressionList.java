@@ -382,6 +382,11 @@ public class DefaultExpressionList<T> implements SpiExpressionList<T> {
     return query.findSingleAttributeList();
   }
 
+  @Override
+  public <D> DtoQuery<D> asDto(Class<D> dtoType) {
+    return query.asDto(dtoType);
+  }
+
   @Override
   public T findUnique() {
     return query.findUnique();
@@ -141,6 +141,6 @@ class ExistsQueryExpression implements SpiExpression, UnsupportedDocStoreExpress
 
   @Override
   public void validate(SpiExpressionValidation validation) {
-    // Nothing to do for exists expression
+    validation.validateRaw();
   }
 }
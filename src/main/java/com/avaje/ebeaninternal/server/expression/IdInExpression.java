@@ -22,6 +22,13 @@ public class IdInExpression extends NonPrepareExpression {
     this.idList = idList;
   }
 
+  /**
+   * Return the list of id values.
+   */
+  public List<?> getIdList() {
+    return idList;
+  }
+
   @Override
   public String nestedPath(BeanDescriptor<?> desc) {
     return null;
@@ -50,6 +57,10 @@ public class IdInExpression extends NonPrepareExpression {
     BeanDescriptor<?> descriptor = r.getBeanDescriptor();
     IdBinder idBinder = descriptor.getIdBinder();
 
+    if (idBinder.isIdInArrayBinding(idList.size())) {
+      request.addBindValue(idBinder.getIdInArrayBindValue(idList));
+      return;
+    }
     for (Object anIdList : idList) {
       idBinder.addIdInBindValue(request, anIdList);
     }
@@ -62,11 +73,7 @@ public class IdInExpression extends NonPrepareExpression {
 
     DefaultExpressionRequest r = (DefaultExpressionRequest) request;
     BeanDescriptor<?> descriptor = r.getBeanDescriptor();
-    IdBinder idBinder = descriptor.getIdBinder();
-
-    request.append(descriptor.getIdBinder().getBindIdInSql(null));
-    String inClause = idBinder.getIdInValueExpr(idList.size());
-    request.append(inClause);
+    appendIn(request, descriptor.getIdBinder().getBindIdInSql(null), descriptor.getIdBinder());
   }
 
   @Override
@@ -74,20 +81,49 @@ public class IdInExpression extends NonPrepareExpression {
 
     DefaultExpressionRequest r = (DefaultExpressionRequest) request;
     BeanDescriptor<?> descriptor = r.getBeanDescriptor();
-    IdBinder idBinder = descriptor.getIdBinder();
+    appendIn(request, descriptor.getIdBinderInLHSSql(), descriptor.getIdBinder());
+  }
 
-    request.append(descriptor.getIdBinderInLHSSql());
-    String inClause = idBinder.getIdInValueExpr(idList.size());
-    request.append(inClause);
+  /**
+   * Append the IN expression binding the ids as a single ARRAY or in chunks within the
+   * platform limit of bind values per IN expression.
+   */
+  private void appendIn(SpiExpressionRequest request, String lhsSql, IdBinder idBinder) {
+
+    int size = idList.size();
+    if (idBinder.isIdInArrayBinding(size)) {
+      request.append(lhsSql).append(idBinder.getIdInArrayExpr());
+      return;
+    }
+
+    int maxInBinding = idBinder.getMaxInBinding();
+    if (maxInBinding == 0 || size <= maxInBinding) {
+      request.append(lhsSql).append(idBinder.getIdInValueExpr(size));
+      return;
+    }
+
+    // (lhs in (...) or lhs in (...) ...) with each chunk within the limit
+    request.append("(");
+    for (int start = 0; start < size; start += maxInBinding) {
+      if (start > 0) {
+        request.append(" or ");
+      }
+      int chunkSize = Math.min(maxInBinding, size - start);
+      request.append(lhsSql).append(idBinder.getIdInValueExpr(chunkSize));
+    }
+    request.append(")");
   }
 
   /**
-   * Incorporates the number of Id values to bind.
+   * Incorporates the number of Id values to bind (unless bound as a single ARRAY).
    */
   @Override
   public void queryPlanHash(HashQueryPlanBuilder builder) {
-    builder.add(IdInExpression.class).add(idList.size());
-    builder.bind(idList.size());
+    BeanDescriptor<?> descriptor = builder.getBeanDescriptor();
+    boolean arrayBinding = descriptor != null && descriptor.getIdBinder().isIdInArrayBinding(idList.size());
+    int size = arrayBinding ? -1 : idList.size();
+    builder.add(IdInExpression.class).add(size);
+    builder.bind(arrayBinding ? 1 : size);
   }
 
   @Override
@@ -102,7 +138,14 @@ public class IdInExpression extends NonPrepareExpression {
     }
 
     IdInExpression that = (IdInExpression) other;
-    return this.idList.size() == that.idList.size();
+    int size = idList.size();
+    int thatSize = that.idList.size();
+    if (size == thatSize) {
+      return true;
+    }
+    // different sizes only share a plan when bound as a single ARRAY, the plan key has
+    // already compared the plan hash and bind count which include the array binding
+    return size >= IdBinder.ARRAY_BINDING_MIN_SIZE && thatSize >= IdBinder.ARRAY_BINDING_MIN_SIZE;
   }
 
   @Override
@@ -5,6 +5,7 @@ import com.avaje.ebeaninternal.api.HashQueryPlanBuilder;
 import com.avaje.ebeaninternal.api.SpiEbeanServer;
 import com.avaje.ebeaninternal.api.SpiExpression;
 import com.avaje.ebeaninternal.api.SpiExpressionRequest;
+import com.avaje.ebeaninternal.api.SpiExpressionValidation;
 import com.avaje.ebeaninternal.api.SpiQuery;
 import com.avaje.ebeaninternal.server.query.CQuery;
 
@@ -71,6 +72,12 @@ class InQueryExpression extends AbstractExpression implements UnsupportedDocStor
     return ebeanServer.compileQuery(subQuery, queryRequest.getTransaction());
   }
 
+  @Override
+  public void validate(SpiExpressionValidation validation) {
+    super.validate(validation);
+    validation.validateRaw();
+  }
+
   @Override
   public int queryBindHash() {
     return subQuery.queryBindHash();
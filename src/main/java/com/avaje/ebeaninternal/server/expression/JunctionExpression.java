@@ -1,5 +1,6 @@
 package com.avaje.ebeaninternal.server.expression;
 
+import com.avaje.ebean.DtoQuery;
 import com.avaje.ebean.Expression;
 import com.avaje.ebean.ExpressionList;
 import com.avaje.ebean.FetchPath;
@@ -397,6 +398,11 @@ class JunctionExpression<T> implements SpiJunction<T>, SpiExpression, Expression
     return exprList.findSingleAttributeList();
   }
 
+  @Override
+  public <D> DtoQuery<D> asDto(Class<D> dtoType) {
+    return exprList.asDto(dtoType);
+  }
+
   @Override
   public PagedList<T> findPagedList() {
     return exprList.findPagedList();
@@ -0,0 +1,99 @@
+package com.avaje.ebeaninternal.server.grammer;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of parsed EQL keyed by bean type and EQL statement.
+ * <p>
+ * Once the maximum size is reached no more statements are added. Applications that build
+ * EQL with inlined literal values produce an unbounded number of distinct statements that
+ * gain nothing from caching, where as the statements that are executed repeatedly are
+ * typically cached early.
+ * </p>
+ */
+public final class EqlCache {
+
+  private final ConcurrentHashMap<Key, EqlTemplate<?>> map = new ConcurrentHashMap<>();
+
+  private final int maxSize;
+
+  /**
+   * Create with the maximum number of statements held (0 to disable the cache).
+   */
+  public EqlCache(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Return the template for the given bean type and EQL (or null if not cached).
+   */
+  @SuppressWarnings("unchecked")
+  public <T> EqlTemplate<T> get(Class<T> beanType, String eql) {
+    if (maxSize <= 0) {
+      return null;
+    }
+    return (EqlTemplate<T>) map.get(new Key(beanType, eql));
+  }
+
+  /**
+   * Put the template into the cache if there is room.
+   */
+  public <T> void put(Class<T> beanType, String eql, EqlTemplate<T> template) {
+    if (map.size() < maxSize) {
+      map.put(new Key(beanType, eql), template);
+    }
+  }
+
+  /**
+   * Return true if no more statements can be added.
+   */
+  public boolean isFull() {
+    return map.size() >= maxSize;
+  }
+
+  /**
+   * Return the number of statements held.
+   */
+  public int size() {
+    return map.size();
+  }
+
+  /**
+   * Clear the cache.
+   */
+  public void clear() {
+    map.clear();
+  }
+
+  private static final class Key {
+
+    private final Class<?> beanType;
+
+    private final String eql;
+
+    private final int hash;
+
+    Key(Class<?> beanType, String eql) {
+      this.beanType = beanType;
+      this.eql = eql;
+      this.hash = 31 * beanType.hashCode() + eql.hashCode();
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return beanType == other.beanType && eql.equals(other.eql);
+    }
+  }
+}
@@ -21,12 +21,28 @@ public class EqlParser {
    * Parse the raw EQL query and apply it to the supplied query.
    */
   public static <T> void parse(String raw, SpiQuery<T> query) {
+    apply(parseTree(raw), query);
+  }
+
+  /**
+   * Parse the raw EQL query returning the parse tree.
+   * <p>
+   * The parse tree is not modified when walked and can be applied to many queries.
+   * </p>
+   */
+  static EQLParser.Select_statementContext parseTree(String raw) {
 
     EQLLexer lexer = new EQLLexer(new ANTLRInputStream(raw));
     CommonTokenStream tokens = new CommonTokenStream(lexer);
     EQLParser parser = new EQLParser(tokens);
     parser.addErrorListener(errorListener);
-    EQLParser.Select_statementContext context = parser.select_statement();
+    return parser.select_statement();
+  }
+
+  /**
+   * Apply the parsed EQL to the supplied query.
+   */
+  static <T> void apply(EQLParser.Select_statementContext context, SpiQuery<T> query) {
 
     EqlAdapter<T> adapter = new EqlAdapter<>(query);
 
@@ -0,0 +1,48 @@
+package com.avaje.ebeaninternal.server.grammer;
+
+import com.avaje.ebeaninternal.api.SpiQuery;
+import com.avaje.ebeaninternal.server.grammer.antlr.EQLParser;
+
+/**
+ * Parsed EQL statement used to create queries without parsing the EQL again.
+ * <p>
+ * Creating a query walks the parse tree applying it to a copy of the blank query which
+ * skips the lexing and parsing. The expressions are built for each query as they hold
+ * state (named parameters and the bind values of prepared expressions) that can not be
+ * shared between queries.
+ * </p>
+ * <p>
+ * The blank query and parse tree are not modified after construction.
+ * </p>
+ */
+public final class EqlTemplate<T> {
+
+  private final EQLParser.Select_statementContext context;
+
+  private final SpiQuery<T> blank;
+
+  /**
+   * Parse the raw EQL applying it to the supplied (empty) query and return the template.
+   */
+  public static <T> EqlTemplate<T> parse(String raw, SpiQuery<T> query) {
+
+    SpiQuery<T> blank = query.copy();
+    EQLParser.Select_statementContext context = EqlParser.parseTree(raw);
+    EqlParser.apply(context, query);
+    return new EqlTemplate<>(context, blank);
+  }
+
+  private EqlTemplate(EQLParser.Select_statementContext context, SpiQuery<T> blank) {
+    this.context = context;
+    this.blank = blank;
+  }
+
+  /**
+   * Create a new query for this EQL.
+   */
+  public SpiQuery<T> createQuery() {
+    SpiQuery<T> query = blank.copy();
+    EqlParser.apply(context, query);
+    return query;
+  }
+}
@@ -3,8 +3,8 @@ package com.avaje.ebeaninternal.server.lib;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -20,7 +20,7 @@ public final class DaemonExecutorService {
 
   private final int shutdownWaitSeconds;
 
-  private final ExecutorService service;
+  private final ThreadPoolExecutor service;
 
   /**
    * Construct the DaemonThreadPool.
@@ -29,7 +29,7 @@ public final class DaemonExecutorService {
    *                            this the pool is forced to shutdown.
    */
   public DaemonExecutorService(int shutdownWaitSeconds, String namePrefix) {
-    this.service = Executors.newCachedThreadPool(new DaemonThreadFactory(namePrefix));
+    this.service = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), new DaemonThreadFactory(namePrefix));
     this.shutdownWaitSeconds = shutdownWaitSeconds;
     this.namePrefix = namePrefix;
   }
@@ -41,6 +41,13 @@ public final class DaemonExecutorService {
     service.execute(runnable);
   }
 
+  /**
+   * Return the approximate number of threads actively executing tasks.
+   */
+  public int getActiveCount() {
+    return service.getActiveCount();
+  }
+
   /**
    * Shutdown this thread pool nicely if possible.
    * <p>
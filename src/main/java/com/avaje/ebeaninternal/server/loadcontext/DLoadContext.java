@@ -6,6 +6,7 @@ import com.avaje.ebean.bean.EntityBeanIntercept;
 import com.avaje.ebean.bean.ObjectGraphNode;
 import com.avaje.ebean.bean.ObjectGraphOrigin;
 import com.avaje.ebean.bean.PersistenceContext;
+import com.avaje.ebean.bean.PersistenceContextUtil;
 import com.avaje.ebeaninternal.api.LoadContext;
 import com.avaje.ebeaninternal.api.LoadSecondaryQuery;
 import com.avaje.ebeaninternal.api.SpiEbeanServer;
@@ -20,9 +21,15 @@ import com.avaje.ebeaninternal.server.el.ElPropertyValue;
 import com.avaje.ebeaninternal.server.querydefn.OrmQueryProperties;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * Default implementation of LoadContext.
@@ -185,13 +192,82 @@ public class DLoadContext implements LoadContext {
   public void executeSecondaryQueries(OrmQueryRequest<?> parentRequest, boolean forEach) {
 
     if (secQuery != null) {
-      for (OrmQueryProperties aSecQuery : secQuery) {
-        LoadSecondaryQuery load = getLoadSecondaryQuery(aSecQuery.getPath());
-        load.loadSecondaryQuery(parentRequest, forEach);
+      if (!forEach && secQuery.size() > 1 && parentRequest.isParallelSecondaryQueries() && isIndependentSecondaryQueries()) {
+        executeSecondaryQueriesParallel(parentRequest);
+      } else {
+        for (OrmQueryProperties aSecQuery : secQuery) {
+          LoadSecondaryQuery load = getLoadSecondaryQuery(aSecQuery.getPath());
+          load.loadSecondaryQuery(parentRequest, forEach, false);
+        }
+      }
+    }
+  }
+
+  /**
+   * Execute the secondary queries concurrently.
+   * <p>
+   * The first secondary query executes in this thread using the transaction of the origin query and
+   * the others execute via the BackgroundExecutor each using their own transaction. The loaded beans
+   * are merged into the (thread safe) persistence context.
+   * </p>
+   */
+  private void executeSecondaryQueriesParallel(OrmQueryRequest<?> parentRequest) {
+
+    Executor executor = ebeanServer.getBackgroundExecutor()::execute;
+
+    List<CompletableFuture<Void>> futures = new ArrayList<>(secQuery.size() - 1);
+    for (int i = 1; i < secQuery.size(); i++) {
+      LoadSecondaryQuery load = getLoadSecondaryQuery(secQuery.get(i).getPath());
+      futures.add(CompletableFuture.runAsync(() -> load.loadSecondaryQuery(parentRequest, false, true), executor));
+    }
+
+    getLoadSecondaryQuery(secQuery.get(0).getPath()).loadSecondaryQuery(parentRequest, false, false);
+
+    try {
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
       }
+      throw e;
     }
   }
 
+  /**
+   * Return true if the secondary queries are independent of each other.
+   * <p>
+   * That is, no path is nested under another (and so dependent on the beans it loads) and the
+   * bean types each secondary query populates are not populated by any other secondary query
+   * (such that the same bean instance is not modified concurrently). Note that a secondary query
+   * on a 'many' path also populates the collections of its owning beans.
+   * </p>
+   */
+  private boolean isIndependentSecondaryQueries() {
+
+    Set<Class<?>> beanTypes = new HashSet<>();
+    for (OrmQueryProperties aSecQuery : secQuery) {
+      String path = aSecQuery.getPath();
+      for (OrmQueryProperties other : secQuery) {
+        if (other != aSecQuery && path.startsWith(other.getPath() + ".")) {
+          return false;
+        }
+      }
+      BeanPropertyAssoc<?> assoc = (BeanPropertyAssoc<?>) getBeanProperty(rootDescriptor, path);
+      if (!beanTypes.add(rootType(assoc.getTargetDescriptor()))) {
+        return false;
+      }
+      if (assoc.containsMany() && !beanTypes.add(rootType(assoc.getBeanDescriptor()))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private Class<?> rootType(BeanDescriptor<?> desc) {
+    return PersistenceContextUtil.root(desc.getBeanType());
+  }
+
   /**
    * Return the LoadBeanContext or LoadManyContext for the given path.
    */
@@ -88,7 +88,7 @@ public class DLoadManyContext extends DLoadBaseContext implements LoadManyContex
     bc.setLoader(currentBuffer);
   }
 
-  public void loadSecondaryQuery(OrmQueryRequest<?> parentRequest, boolean forEach) {
+  public void loadSecondaryQuery(OrmQueryRequest<?> parentRequest, boolean forEach, boolean ownTransaction) {
 
     if (!queryFetch) {
       throw new IllegalStateException("Not expecting loadSecondaryQuery() to be called?");
@@ -97,7 +97,7 @@ public class DLoadManyContext extends DLoadBaseContext implements LoadManyContex
       if (bufferList != null) {
         for (LoadBuffer loadBuffer : bufferList) {
           if (!loadBuffer.list.isEmpty()) {
-            LoadManyRequest req = new LoadManyRequest(loadBuffer, parentRequest);
+            LoadManyRequest req = new LoadManyRequest(loadBuffer, parentRequest, ownTransaction);
             parent.getEbeanServer().loadMany(req);
             if (!queryProps.isQueryFetchAll()) {
               // Stop - only fetch the first batch ... the rest will be lazy loaded
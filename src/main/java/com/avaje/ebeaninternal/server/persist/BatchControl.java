@@ -1,5 +1,7 @@
 package com.avaje.ebeaninternal.server.persist;
 
+import com.avaje.ebean.config.BulkInsertMode;
+import com.avaje.ebean.meta.BatchFlushCause;
 import com.avaje.ebeaninternal.api.SpiTransaction;
 import com.avaje.ebeaninternal.server.core.PersistRequest;
 import com.avaje.ebeaninternal.server.core.PersistRequestBean;
@@ -8,6 +10,7 @@ import javax.persistence.PersistenceException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 
 /**
  * Controls the batch ordering of persist requests.
@@ -22,6 +25,11 @@ import java.util.HashMap;
  * One cascades reduce the depth (-1) and associated many's increase the depth.
  * The initial depth of a request is 0.
  * </p>
+ * <p>
+ * By default the batch is flushed when the type of the top level bean changes. With
+ * batchFlushOnTypeChange set to false the entries for each type stay open across
+ * interleaved top level types and are executed in foreign key dependency order.
+ * </p>
  */
 public final class BatchControl {
 
@@ -30,6 +38,11 @@ public final class BatchControl {
    */
   private static final BatchDepthComparator depthComparator = new BatchDepthComparator();
 
+  /**
+   * Used to sort queue entries by foreign key dependency and then depth.
+   */
+  private static final BatchDependencyComparator dependencyComparator = new BatchDependencyComparator();
+
   /**
    * Controls batching of the PreparedStatements. This should be flushed after
    * each 'depth'.
@@ -44,6 +57,11 @@ public final class BatchControl {
 
   private final SpiTransaction transaction;
 
+  /**
+   * Server wide counts of flushes by cause.
+   */
+  private final BatchFlushStatistics flushStatistics;
+
   /**
    * The size at which the batch queue will flush. This should be close to the
    * number of statements that are batched into a single PreparedStatement. This
@@ -59,13 +77,21 @@ public final class BatchControl {
 
   private boolean batchFlushOnMixed = true;
 
+  private boolean batchFlushOnTypeChange = true;
+
+  /**
+   * The bulk insert mode used for batched inserts.
+   */
+  private BulkInsertMode bulkInsert = BulkInsertMode.NONE;
+
   /**
    * Create for a given transaction, PersistExecute, default size and getGeneratedKeys.
    */
-  public BatchControl(SpiTransaction t, int batchSize, boolean getGenKeys) {
+  public BatchControl(SpiTransaction t, int batchSize, boolean getGenKeys, BatchFlushStatistics flushStatistics) {
     this.transaction = t;
     this.batchSize = batchSize;
     this.getGeneratedKeys = getGenKeys;
+    this.flushStatistics = flushStatistics;
     transaction.setBatchControl(this);
   }
 
@@ -83,6 +109,25 @@ public final class BatchControl {
     this.batchFlushOnMixed = flushBatchOnMixed;
   }
 
+  /**
+   * Set this flag to false to keep batching when the type of the top level bean changes.
+   * <p>
+   * The batch is then only flushed when the batch size is reached or when the statement
+   * order requires it (deletes or bean types with cyclic foreign keys) and the batched
+   * statements are executed in foreign key dependency order.
+   * </p>
+   */
+  public void setBatchFlushOnTypeChange(boolean batchFlushOnTypeChange) {
+    this.batchFlushOnTypeChange = batchFlushOnTypeChange;
+  }
+
+  /**
+   * Set the bulk insert mode used for batched inserts.
+   */
+  public void setBulkInsert(BulkInsertMode bulkInsert) {
+    this.bulkInsert = (bulkInsert == null) ? BulkInsertMode.NONE : bulkInsert;
+  }
+
   /**
    * Return the batchSize.
    */
@@ -123,17 +168,17 @@ public final class BatchControl {
    * </p>
    */
   public int executeStatementOrBatch(PersistRequest request, boolean batch) {
-    if (!batch || (batchFlushOnMixed && !isBeansEmpty())) {
-      // flush when mixing beans and updateSql
-      flush();
-    }
     if (!batch) {
+      flush(BatchFlushCause.NON_BATCH);
       // execute the request immediately without batching
       return request.executeNow();
     }
-
+    if (batchFlushOnMixed && !isBeansEmpty()) {
+      // flush when mixing beans and updateSql
+      flush(BatchFlushCause.MIXED);
+    }
     if (pstmtHolder.getMaxSize() >= batchSize) {
-      flush();
+      flush(BatchFlushCause.BATCH_SIZE);
     }
     // for OrmUpdate, SqlUpdate, CallableSql there is no queue...
     // so straight to jdbc prepared statement and use addBatch().
@@ -149,16 +194,17 @@ public final class BatchControl {
    */
   public int executeOrQueue(PersistRequestBean<?> request, boolean batch) {
 
-    if (!batch || (batchFlushOnMixed && !pstmtHolder.isEmpty())) {
-      // flush when mixing beans and updateSql
-      flush();
-    }
     if (!batch) {
+      flush(BatchFlushCause.NON_BATCH);
       return request.executeNow();
     }
+    if (batchFlushOnMixed && !pstmtHolder.isEmpty()) {
+      // flush when mixing beans and updateSql
+      flush(BatchFlushCause.MIXED);
+    }
     if (addToBatch(request)) {
       // flush as the top level has hit the batch size
-      flush();
+      flush(BatchFlushCause.BATCH_SIZE);
     }
     return -1;
   }
@@ -171,8 +217,11 @@ public final class BatchControl {
     BatchedBeanHolder beanHolder = getBeanHolder(request);
     int bufferSize = beanHolder.append(request);
 
-    // return true if top level has hit batch size
-    return bufferSize == batchSize && beanHolder.getOrder() == 100;
+    if (bufferSize != batchSize) {
+      return false;
+    }
+    // return true if top level has hit batch size (or any level when interleaving types)
+    return beanHolder.getOrder() == 100 || (!batchFlushOnTypeChange && !beanHolder.hasDeletes());
   }
 
   /**
@@ -210,18 +259,65 @@ public final class BatchControl {
     flushPstmtHolder();
   }
 
+  /**
+   * Execute the insert requests using bulk insert if enabled.
+   * <p>
+   * Beans that already have their id value are bulk inserted. Beans that rely on DB identity
+   * (getGeneratedKeys) are executed as normal via JDBC batch.
+   * </p>
+   */
+  protected void executeInserts(ArrayList<PersistRequest> list) {
+    if (bulkInsert == BulkInsertMode.NONE || list.size() == 1) {
+      executeNow(list);
+      return;
+    }
+
+    ArrayList<PersistRequest> rowByRow = new ArrayList<>();
+    List<PersistRequestBean<?>> bulk = new ArrayList<>(list.size());
+    for (PersistRequest request : list) {
+      PersistRequestBean<?> beanRequest = (PersistRequestBean<?>) request;
+      if (beanRequest.isBulkInsert()) {
+        bulk.add(beanRequest);
+      } else {
+        rowByRow.add(request);
+      }
+    }
+    if (!rowByRow.isEmpty()) {
+      executeNow(rowByRow);
+    }
+    if (!bulk.isEmpty()) {
+      bulk.get(0).getBeanManager().getBeanPersister().insertBulk(bulk, bulkInsert, batchSize);
+      // flush any that fell back to JDBC batch
+      flushPstmtHolder();
+    }
+  }
+
   /**
    * Flush without resetting the topOrder (maintains the depth info).
    */
   public void flush() throws PersistenceException {
-    flush(false);
+    flush(false, BatchFlushCause.EXPLICIT);
+  }
+
+  /**
+   * Flush for the given cause without resetting the topOrder.
+   */
+  public void flush(BatchFlushCause cause) throws PersistenceException {
+    flush(false, cause);
   }
 
   /**
    * Flush with a reset the topOrder (fully empty the batch).
    */
   public void flushReset() throws PersistenceException {
-    flush(true);
+    flush(true, BatchFlushCause.EXPLICIT);
+  }
+
+  /**
+   * Flush for the given cause with a reset of the topOrder.
+   */
+  public void flushReset(BatchFlushCause cause) throws PersistenceException {
+    flush(true, cause);
   }
 
   /**
@@ -235,8 +331,13 @@ public final class BatchControl {
   /**
    * execute all the requests currently queued or batched.
    */
-  private void flush(boolean resetTop) throws PersistenceException {
+  private void flush(boolean resetTop, BatchFlushCause cause) throws PersistenceException {
 
+    if (isEmpty()) {
+      // Nothing in queue to flush
+      return;
+    }
+    flushStatistics.add(cause, size());
     if (!pstmtHolder.isEmpty()) {
       // Flush existing pstmts (updateSql or callableSql)
       flushPstmtHolder();
@@ -248,11 +349,11 @@ public final class BatchControl {
 
     // convert entry map to array for sorting
     BatchedBeanHolder[] bsArray = getBeanHolderArray();
-    // sort the entries by depth
-    Arrays.sort(bsArray, depthComparator);
+    // sort the entries by dependency or depth
+    Arrays.sort(bsArray, isDependencyOrder(bsArray) ? dependencyComparator : depthComparator);
 
     if (transaction.isLogSummary()) {
-      transaction.logSummary("BatchControl flush " + Arrays.toString(bsArray));
+      transaction.logSummary("BatchControl flush " + cause + " " + Arrays.toString(bsArray));
     }
     for (BatchedBeanHolder aBsArray : bsArray) {
       aBsArray.executeNow();
@@ -274,9 +375,14 @@ public final class BatchControl {
     if (batchBeanHolder == null) {
       int relativeDepth = transaction.depth();
       if (relativeDepth == 0 && !beanHoldMap.isEmpty()) {
-        // flush and reset the batch as we are changing the type of our top level
-        // bean so just keep it simple and flush and reset the top
-        flushReset();
+        if (batchFlushOnTypeChange) {
+          // flush and reset the batch as we are changing the type of our top level
+          // bean so just keep it simple and flush and reset the top
+          flushReset(BatchFlushCause.TYPE_CHANGE);
+        } else if (isDependencyFlush(request)) {
+          // the statement order can not be determined by dependency
+          flushReset(BatchFlushCause.DEPENDENCY);
+        }
       }
 
       batchBeanHolder = new BatchedBeanHolder(this, beanDescriptor, 100 + relativeDepth);
@@ -285,6 +391,52 @@ public final class BatchControl {
     return batchBeanHolder;
   }
 
+  /**
+   * Return true if adding a new top level type requires a flush to maintain the
+   * statement order when interleaving types.
+   * <p>
+   * Deletes execute in depth order (children before parents) and bean types with cyclic
+   * foreign keys have no dependency order so these are not interleaved with other types.
+   * </p>
+   */
+  private boolean isDependencyFlush(PersistRequestBean<?> request) {
+    if (request.getType() == PersistRequest.Type.DELETE || request.getBeanDescriptor().getDependencyRank() < 0) {
+      return true;
+    }
+    for (BatchedBeanHolder beanHolder : beanHoldMap.values()) {
+      if (beanHolder.hasDeletes() || beanHolder.getDependencyRank() < 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Return true if the holders should execute in foreign key dependency order.
+   */
+  private boolean isDependencyOrder(BatchedBeanHolder[] holders) {
+    if (batchFlushOnTypeChange) {
+      return false;
+    }
+    for (BatchedBeanHolder holder : holders) {
+      if (holder.hasDeletes() || holder.getDependencyRank() < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Return the number of batched statements and beans.
+   */
+  private int size() {
+    int size = pstmtHolder.size();
+    for (BatchedBeanHolder beanHolder : beanHoldMap.values()) {
+      size += beanHolder.size();
+    }
+    return size;
+  }
+
   /**
    * Return true if this holds no persist requests.
    */
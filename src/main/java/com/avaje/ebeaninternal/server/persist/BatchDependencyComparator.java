@@ -0,0 +1,29 @@
+package com.avaje.ebeaninternal.server.persist;
+
+import java.io.Serializable;
+import java.util.Comparator;
+
+/**
+ * Used to sort BatchedBeanHolder by the foreign key dependency of their bean types
+ * and then by their depth.
+ * <p>
+ * Used when the batch is not flushed on a change of the top level bean type such that
+ * the batch holds beans of interleaved types. Executing in dependency order means the
+ * referenced rows are inserted (and their generated keys available) before the rows
+ * that reference them regardless of the order the beans were added to the batch.
+ * </p>
+ */
+public class BatchDependencyComparator implements Comparator<BatchedBeanHolder>, Serializable {
+
+  private static final long serialVersionUID = -2416311926430172283L;
+
+  public int compare(BatchedBeanHolder b1, BatchedBeanHolder b2) {
+
+    int rank = Integer.compare(b1.getDependencyRank(), b2.getDependencyRank());
+    if (rank != 0) {
+      return rank;
+    }
+    return Integer.compare(b1.getOrder(), b2.getOrder());
+  }
+
+}
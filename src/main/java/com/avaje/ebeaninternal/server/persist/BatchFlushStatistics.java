@@ -0,0 +1,121 @@
+package com.avaje.ebeaninternal.server.persist;
+
+import com.avaje.ebean.meta.BatchFlushCause;
+import com.avaje.ebean.meta.MetaBatchFlushStatistic;
+import com.avaje.ebean.meta.MetaHistogram;
+import com.avaje.ebeaninternal.server.util.LogBucketHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Server wide counters of batch flushes by their cause and the distribution of their sizes.
+ * <p>
+ * The flushes are counted twice, once for collectBatchFlushStatistic() and once for the
+ * server metrics, such that resetting one does not reset the other.
+ * </p>
+ */
+public final class BatchFlushStatistics {
+
+  private static final BatchFlushCause[] CAUSES = BatchFlushCause.values();
+
+  private final Counts counts;
+
+  private final Counts metricsCounts;
+
+  public BatchFlushStatistics(int histogramPrecision) {
+    this.counts = new Counts(histogramPrecision);
+    this.metricsCounts = new Counts(histogramPrecision);
+  }
+
+  /**
+   * Increment the count for the given cause recording the number of statements flushed.
+   */
+  public void add(BatchFlushCause cause, int size) {
+    counts.add(cause, size);
+    metricsCounts.add(cause, size);
+  }
+
+  /**
+   * Return the current statistics optionally resetting the counters.
+   */
+  public MetaBatchFlushStatistic getStatistic(boolean reset) {
+    return counts.getStatistic(reset);
+  }
+
+  /**
+   * Return the statistics for the server metrics optionally resetting the counters.
+   */
+  public MetaBatchFlushStatistic getMetricsStatistic(boolean reset) {
+    return metricsCounts.getStatistic(reset);
+  }
+
+  private static final class Counts {
+
+    private final LongAdder[] counters = new LongAdder[CAUSES.length];
+
+    private final LogBucketHistogram sizeHistogram;
+
+    Counts(int histogramPrecision) {
+      this.sizeHistogram = new LogBucketHistogram(histogramPrecision);
+      for (int i = 0; i < counters.length; i++) {
+        counters[i] = new LongAdder();
+      }
+    }
+
+    void add(BatchFlushCause cause, int size) {
+      counters[cause.ordinal()].increment();
+      sizeHistogram.add(size);
+    }
+
+    MetaBatchFlushStatistic getStatistic(boolean reset) {
+      long[] counts = new long[counters.length];
+      for (int i = 0; i < counters.length; i++) {
+        counts[i] = reset ? counters[i].sumThenReset() : counters[i].sum();
+      }
+      return new Statistic(counts, sizeHistogram.snapshot(reset));
+    }
+  }
+
+  private static final class Statistic implements MetaBatchFlushStatistic {
+
+    private final long[] counts;
+
+    private final MetaHistogram sizeHistogram;
+
+    Statistic(long[] counts, MetaHistogram sizeHistogram) {
+      this.counts = counts;
+      this.sizeHistogram = sizeHistogram;
+    }
+
+    @Override
+    public long getCount(BatchFlushCause cause) {
+      return counts[cause.ordinal()];
+    }
+
+    @Override
+    public long getTotalCount() {
+      long total = 0;
+      for (long count : counts) {
+        total += count;
+      }
+      return total;
+    }
+
+    @Override
+    public MetaHistogram getSizeHistogram() {
+      return sizeHistogram;
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder(80).append("total:").append(getTotalCount());
+      for (BatchFlushCause cause : CAUSES) {
+        long count = counts[cause.ordinal()];
+        if (count > 0) {
+          sb.append(' ').append(cause).append(':').append(count);
+        }
+      }
+      return sb.append(" sizes[").append(sizeHistogram).append(']').toString();
+    }
+  }
+}
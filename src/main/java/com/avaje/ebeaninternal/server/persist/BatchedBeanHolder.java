@@ -35,6 +35,11 @@ public class BatchedBeanHolder {
    */
   private final int order;
 
+  /**
+   * The rank of the bean type in foreign key dependency order.
+   */
+  private final int dependencyRank;
+
   /**
    * The list of bean insert requests.
    */
@@ -63,6 +68,7 @@ public class BatchedBeanHolder {
     this.control = control;
     this.shortDesc = beanDescriptor.getName() + ":" + order;
     this.order = order;
+    this.dependencyRank = beanDescriptor.getDependencyRank();
   }
 
   /**
@@ -72,6 +78,20 @@ public class BatchedBeanHolder {
     return order;
   }
 
+  /**
+   * Return the rank of the bean type in foreign key dependency order (-1 for cyclic dependencies).
+   */
+  public int getDependencyRank() {
+    return dependencyRank;
+  }
+
+  /**
+   * Return true if this holds delete requests.
+   */
+  public boolean hasDeletes() {
+    return deletes != null && !deletes.isEmpty();
+  }
+
   /**
    * Execute all the persist requests in this entry.
    * <p>
@@ -85,7 +105,7 @@ public class BatchedBeanHolder {
     // Note updates and deletes can result in many PreparedStatements
     // if their where clauses differ via use of IS NOT NULL.
     if (inserts != null && !inserts.isEmpty()) {
-      control.executeNow(inserts);
+      control.executeInserts(inserts);
       inserts.clear();
     }
     if (updates != null && !updates.isEmpty()) {
@@ -157,6 +177,13 @@ public class BatchedBeanHolder {
     }
   }
 
+  /**
+   * Return the number of batched beans.
+   */
+  public int size() {
+    return persistedBeans.size();
+  }
+
   /**
    * Return true if this is empty containing no batched beans.
    */
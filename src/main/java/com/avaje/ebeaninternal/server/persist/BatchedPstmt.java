@@ -31,13 +31,26 @@ public class BatchedPstmt {
 
   private final String sql;
 
+  /**
+   * The execution statistics of the statement (null when not collected).
+   */
+  private final DmlStatistics statistics;
+
   /**
    * Create with a given statement.
    */
   public BatchedPstmt(PreparedStatement pstmt, boolean isGenKeys, String sql) {
+    this(pstmt, isGenKeys, sql, null);
+  }
+
+  /**
+   * Create with a given statement recording the batch executions to the statistics.
+   */
+  public BatchedPstmt(PreparedStatement pstmt, boolean isGenKeys, String sql, DmlStatistics statistics) {
     this.pstmt = pstmt;
     this.isGenKeys = isGenKeys;
     this.sql = sql;
+    this.statistics = statistics;
   }
 
   /**
@@ -100,7 +113,11 @@ public class BatchedPstmt {
 
   private void executeAndCheckRowCounts() throws SQLException {
 
+    long startNanos = System.nanoTime();
     int[] results = pstmt.executeBatch();
+    if (statistics != null) {
+      statistics.add((System.nanoTime() - startNanos) / 1000L, list.size());
+    }
     if (results.length != list.size()) {
       String s = "results array error " + results.length + " " + list.size();
       throw new SQLException(s);
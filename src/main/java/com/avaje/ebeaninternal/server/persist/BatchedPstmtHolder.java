@@ -73,6 +73,17 @@ public class BatchedPstmtHolder {
     return stmtMap.isEmpty();
   }
 
+  /**
+   * Return the number of batched statements (rows) across all the PreparedStatements.
+   */
+  public int size() {
+    int size = 0;
+    for (BatchedPstmt bs : stmtMap.values()) {
+      size += bs.size();
+    }
+    return size;
+  }
+
   /**
    * Execute all batched PreparedStatements.
    *
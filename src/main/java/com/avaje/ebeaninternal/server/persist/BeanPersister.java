@@ -1,9 +1,11 @@
 package com.avaje.ebeaninternal.server.persist;
 
-import javax.persistence.PersistenceException;
-
+import com.avaje.ebean.config.BulkInsertMode;
 import com.avaje.ebeaninternal.server.core.PersistRequestBean;
 
+import javax.persistence.PersistenceException;
+import java.util.List;
+
 /**
  * Defines bean insert update and delete implementation.
  */
@@ -14,6 +16,15 @@ public interface BeanPersister {
    */
   void insert(PersistRequestBean<?> request) throws PersistenceException;
 
+  /**
+   * Execute the insert requests using multi-row insert or COPY as per the bulk insert mode.
+   * <p>
+   * The requests are for beans with id values and the batch size is the maximum number of
+   * rows in a single statement.
+   * </p>
+   */
+  void insertBulk(List<PersistRequestBean<?>> requests, BulkInsertMode mode, int batchSize) throws PersistenceException;
+
   /**
    * execute the update bean request.
    */
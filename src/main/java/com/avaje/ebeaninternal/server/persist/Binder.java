@@ -16,6 +16,7 @@ import com.avaje.ebeaninternal.api.BindParams;
 import com.avaje.ebeaninternal.server.core.DbExpressionHandler;
 import com.avaje.ebeaninternal.server.core.Message;
 import com.avaje.ebeaninternal.server.core.timezone.DataTimeZone;
+import com.avaje.ebeaninternal.server.type.ArrayBindValue;
 import com.avaje.ebeaninternal.server.type.DataBind;
 import com.avaje.ebeaninternal.server.type.ScalarType;
 import com.avaje.ebeaninternal.server.type.TypeManager;
@@ -179,6 +180,11 @@ public class Binder {
       bindObject(dataBind, null, Types.OTHER);
       return null;
 
+    } else if (value instanceof ArrayBindValue) {
+      // list of values bound as a single DB ARRAY
+      ((ArrayBindValue) value).bind(dataBind);
+      return value;
+
     } else {
 
       ScalarType<?> type = typeManager.getScalarType(value.getClass());
@@ -1,5 +1,6 @@
 package com.avaje.ebeaninternal.server.persist;
 
+import com.avaje.ebean.meta.MetaBatchFlushStatistic;
 import com.avaje.ebeaninternal.api.SpiTransaction;
 import com.avaje.ebeaninternal.server.core.PersistRequestCallableSql;
 import com.avaje.ebeaninternal.server.core.PersistRequestOrmUpdate;
@@ -24,21 +25,37 @@ final class DefaultPersistExecute implements PersistExecute {
    */
   private final int defaultBatchSize;
 
+  /**
+   * Counts of batch flushes by cause.
+   */
+  private final BatchFlushStatistics flushStatistics;
+
   /**
    * Construct this DmlPersistExecute.
    */
-  DefaultPersistExecute(Binder binder, int defaultBatchSize) {
+  DefaultPersistExecute(Binder binder, int defaultBatchSize, int histogramPrecision) {
 
     this.exeOrmUpdate = new ExeOrmUpdate(binder);
     this.exeUpdateSql = new ExeUpdateSql(binder);
     this.exeCallableSql = new ExeCallableSql(binder);
     this.defaultBatchSize = defaultBatchSize;
+    this.flushStatistics = new BatchFlushStatistics(histogramPrecision);
   }
 
   public BatchControl createBatchControl(SpiTransaction t) {
 
     // create a BatchControl and set its defaults
-    return new BatchControl(t, defaultBatchSize, true);
+    return new BatchControl(t, defaultBatchSize, true, flushStatistics);
+  }
+
+  @Override
+  public MetaBatchFlushStatistic getBatchFlushStatistic(boolean reset) {
+    return flushStatistics.getStatistic(reset);
+  }
+
+  @Override
+  public MetaBatchFlushStatistic getBatchFlushMetrics(boolean reset) {
+    return flushStatistics.getMetricsStatistic(reset);
   }
 
   /**
@@ -10,6 +10,8 @@ import com.avaje.ebean.bean.BeanCollection.ModifyListenMode;
 import com.avaje.ebean.bean.EntityBean;
 import com.avaje.ebean.bean.EntityBeanIntercept;
 import com.avaje.ebean.bean.PersistenceContext;
+import com.avaje.ebean.config.ServerConfig;
+import com.avaje.ebean.meta.MetaBatchFlushStatistic;
 import com.avaje.ebeaninternal.api.SpiEbeanServer;
 import com.avaje.ebeaninternal.api.SpiTransaction;
 import com.avaje.ebeaninternal.api.SpiUpdate;
@@ -30,6 +32,7 @@ import com.avaje.ebeaninternal.server.deploy.BeanPropertyAssocMany;
 import com.avaje.ebeaninternal.server.deploy.BeanPropertyAssocOne;
 import com.avaje.ebeaninternal.server.deploy.IntersectionRow;
 import com.avaje.ebeaninternal.server.deploy.ManyType;
+import com.avaje.ebeaninternal.server.deploy.id.IdBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -78,7 +81,18 @@ public final class DefaultPersister implements Persister {
     this.server = server;
     this.updatesDeleteMissingChildren = server.getServerConfig().isUpdatesDeleteMissingChildren();
     this.beanDescriptorManager = descMgr;
-    this.persistExecute = new DefaultPersistExecute(binder, server.getServerConfig().getPersistBatchSize());
+    ServerConfig serverConfig = server.getServerConfig();
+    this.persistExecute = new DefaultPersistExecute(binder, serverConfig.getPersistBatchSize(), serverConfig.getStatsHistogramPrecision());
+  }
+
+  @Override
+  public MetaBatchFlushStatistic collectBatchFlushStatistic(boolean reset) {
+    return persistExecute.getBatchFlushStatistic(reset);
+  }
+
+  @Override
+  public MetaBatchFlushStatistic collectBatchFlushMetrics(boolean reset) {
+    return persistExecute.getBatchFlushMetrics(reset);
   }
 
   /**
@@ -598,6 +612,20 @@ public final class DefaultPersister implements Persister {
    */
   private int delete(BeanDescriptor<?> descriptor, Object id, List<Object> idList, Transaction transaction, boolean softDelete) {
 
+    if (idList != null) {
+      IdBinder idBinder = descriptor.getIdBinder();
+      int maxInBinding = idBinder.getMaxInBinding();
+      if (maxInBinding > 0 && idList.size() > maxInBinding && !idBinder.isIdInArrayBinding(idList.size())) {
+        // delete in chunks keeping the bind values per statement within the platform limit
+        int rows = 0;
+        for (int start = 0; start < idList.size(); start += maxInBinding) {
+          int end = Math.min(start + maxInBinding, idList.size());
+          rows += delete(descriptor, null, new ArrayList<>(idList.subList(start, end)), transaction, softDelete);
+        }
+        return rows;
+      }
+    }
+
     SpiTransaction t = (SpiTransaction) transaction;
     if (t.isPersistCascade()) {
       BeanPropertyAssocOne<?>[] propImportDelete = descriptor.propertiesOneImportedDelete();
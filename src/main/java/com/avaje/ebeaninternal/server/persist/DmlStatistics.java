@@ -0,0 +1,112 @@
+package com.avaje.ebeaninternal.server.persist;
+
+import com.avaje.ebean.meta.MetaHistogram;
+import com.avaje.ebean.meta.MetaPersistStatistic;
+import com.avaje.ebeaninternal.server.util.LogBucketHistogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Execution statistics for an insert, update or delete statement that can accumulate.
+ */
+public final class DmlStatistics {
+
+  private final Class<?> beanType;
+
+  private final MetaPersistStatistic.Type type;
+
+  private final String sql;
+
+  private final LogBucketHistogram timeHistogram;
+
+  private final LogBucketHistogram rowsHistogram;
+
+  private final AtomicLong startTime = new AtomicLong(System.currentTimeMillis());
+
+  /**
+   * Create for the given statement.
+   */
+  public DmlStatistics(Class<?> beanType, MetaPersistStatistic.Type type, String sql, int histogramPrecision) {
+    this.beanType = beanType;
+    this.type = type;
+    this.sql = sql;
+    this.timeHistogram = new LogBucketHistogram(histogramPrecision);
+    this.rowsHistogram = new LogBucketHistogram(histogramPrecision);
+  }
+
+  /**
+   * Add an execution of the statement.
+   */
+  public void add(long timeMicros, long rows) {
+    timeHistogram.add(timeMicros);
+    rowsHistogram.add(rows);
+  }
+
+  /**
+   * Return a snapshot of the statistics potentially resetting them.
+   */
+  public Snapshot getSnapshot(boolean reset) {
+    MetaHistogram times = timeHistogram.snapshot(reset);
+    MetaHistogram rows = rowsHistogram.snapshot(reset);
+    long start = reset ? startTime.getAndSet(System.currentTimeMillis()) : startTime.get();
+    return new Snapshot(this, start, times, rows);
+  }
+
+  /**
+   * A snapshot of the statistics for a statement.
+   */
+  public static final class Snapshot implements MetaPersistStatistic {
+
+    private final DmlStatistics statistics;
+    private final long startTime;
+    private final MetaHistogram timeHistogram;
+    private final MetaHistogram rowsHistogram;
+
+    Snapshot(DmlStatistics statistics, long startTime, MetaHistogram timeHistogram, MetaHistogram rowsHistogram) {
+      this.statistics = statistics;
+      this.startTime = startTime;
+      this.timeHistogram = timeHistogram;
+      this.rowsHistogram = rowsHistogram;
+    }
+
+    public String toString() {
+      return statistics.beanType.getName() + " " + statistics.type + " times[" + timeHistogram + "] rows["
+          + rowsHistogram + "] sql:" + statistics.sql;
+    }
+
+    @Override
+    public Class<?> getBeanType() {
+      return statistics.beanType;
+    }
+
+    @Override
+    public Type getType() {
+      return statistics.type;
+    }
+
+    @Override
+    public String getSql() {
+      return statistics.sql;
+    }
+
+    @Override
+    public long getExecutionCount() {
+      return timeHistogram.getCount();
+    }
+
+    @Override
+    public long getCollectionStart() {
+      return startTime;
+    }
+
+    @Override
+    public MetaHistogram getTimeHistogram() {
+      return timeHistogram;
+    }
+
+    @Override
+    public MetaHistogram getRowsHistogram() {
+      return rowsHistogram;
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.avaje.ebeaninternal.server.persist;
 
+import com.avaje.ebean.meta.MetaBatchFlushStatistic;
 import com.avaje.ebeaninternal.api.SpiTransaction;
 import com.avaje.ebeaninternal.server.core.PersistRequestCallableSql;
 import com.avaje.ebeaninternal.server.core.PersistRequestOrmUpdate;
@@ -19,6 +20,16 @@ public interface PersistExecute {
    */
   BatchControl createBatchControl(SpiTransaction t);
 
+  /**
+   * Return the counts of batch flushes by cause.
+   */
+  MetaBatchFlushStatistic getBatchFlushStatistic(boolean reset);
+
+  /**
+   * Return the counts of batch flushes for the server metrics.
+   */
+  MetaBatchFlushStatistic getBatchFlushMetrics(boolean reset);
+
   /**
    * Execute a Update.
    */
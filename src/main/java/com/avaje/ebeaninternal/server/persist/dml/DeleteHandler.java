@@ -1,5 +1,6 @@
 package com.avaje.ebeaninternal.server.persist.dml;
 
+import com.avaje.ebean.meta.MetaPersistStatistic;
 import com.avaje.ebeaninternal.api.SpiTransaction;
 import com.avaje.ebeaninternal.server.core.PersistRequestBean;
 
@@ -15,7 +16,7 @@ public class DeleteHandler extends DmlHandler {
 	private final DeleteMeta meta;
 
 	public DeleteHandler(PersistRequestBean<?> persist, DeleteMeta meta) {
-		super(persist, meta.isEmptyStringAsNull());
+		super(persist, meta.isEmptyStringAsNull(), MetaPersistStatistic.Type.DELETE);
 		this.meta = meta;
 	}
 
@@ -1,11 +1,13 @@
 package com.avaje.ebeaninternal.server.persist.dml;
 
+import com.avaje.ebean.config.BulkInsertMode;
 import com.avaje.ebeaninternal.server.core.PersistRequestBean;
 import com.avaje.ebeaninternal.server.lib.util.StringHelper;
 import com.avaje.ebeaninternal.server.persist.BeanPersister;
 
 import javax.persistence.PersistenceException;
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * Bean persister that uses the Handler and Meta objects.
@@ -50,6 +52,24 @@ public final class DmlBeanPersister implements BeanPersister {
 		execute(request, insert);
 	}
 
+	/**
+	 * execute the insert requests as multi-row inserts or COPY.
+	 */
+	public void insertBulk(List<PersistRequestBean<?>> requests, BulkInsertMode mode, int batchSize) {
+
+		if (insertMeta.isMultiRowInsert() || (mode == BulkInsertMode.COPY && insertMeta.isCopyInsert())) {
+			new InsertBulk(insertMeta, mode, batchSize).insert(requests);
+
+		} else {
+			// platform does not support multi-row insert so use JDBC batch
+			for (PersistRequestBean<?> request : requests) {
+				if (request.preBulkInsert()) {
+					insert(request);
+				}
+			}
+		}
+	}
+
 	/**
 	 * execute the bean update request.
 	 */
@@ -72,7 +92,10 @@ public final class DmlBeanPersister implements BeanPersister {
         return -1;
 
 			} else {
-				return handler.execute();
+				long startNanos = System.nanoTime();
+				int rowCount = handler.execute();
+				handler.addStatistics((System.nanoTime() - startNanos) / 1000L, rowCount);
+				return rowCount;
 			}
 
 		} catch (SQLException e) {
@@ -1,11 +1,13 @@
 package com.avaje.ebeaninternal.server.persist.dml;
 
+import com.avaje.ebean.meta.MetaPersistStatistic;
 import com.avaje.ebeaninternal.api.SpiTransaction;
 import com.avaje.ebeaninternal.server.core.PersistRequestBean;
 import com.avaje.ebeaninternal.server.deploy.BeanProperty;
 import com.avaje.ebeaninternal.server.lib.util.Str;
 import com.avaje.ebeaninternal.server.persist.BatchedPstmt;
 import com.avaje.ebeaninternal.server.persist.BatchedPstmtHolder;
+import com.avaje.ebeaninternal.server.persist.DmlStatistics;
 import com.avaje.ebeaninternal.server.persist.dmlbind.BindableRequest;
 import com.avaje.ebeaninternal.server.transaction.TransactionManager;
 import com.avaje.ebeaninternal.server.type.DataBind;
@@ -39,6 +41,11 @@ public abstract class DmlHandler implements PersistHandler, BindableRequest {
 
   protected final long now;
 
+  /**
+   * The type of statement for the execution statistics.
+   */
+  private final MetaPersistStatistic.Type statisticsType;
+
   /**
    * The PreparedStatement used for the dml.
    */
@@ -51,8 +58,9 @@ public abstract class DmlHandler implements PersistHandler, BindableRequest {
    */
   protected Object versionValue;
 
-  protected DmlHandler(PersistRequestBean<?> persistRequest, boolean emptyStringToNull) {
+  protected DmlHandler(PersistRequestBean<?> persistRequest, boolean emptyStringToNull, MetaPersistStatistic.Type statisticsType) {
     this.now = System.currentTimeMillis();
+    this.statisticsType = statisticsType;
     this.persistRequest = persistRequest;
     this.emptyStringToNull = emptyStringToNull;
     this.transaction = persistRequest.getTransaction();
@@ -116,6 +124,20 @@ public abstract class DmlHandler implements PersistHandler, BindableRequest {
     dataBind.getPstmt().addBatch();
   }
 
+  /**
+   * Add the non-batch execution to the statistics of the statement.
+   */
+  @Override
+  public void addStatistics(long timeMicros, int rows) {
+    if (sql != null) {
+      getStatistics().add(timeMicros, rows);
+    }
+  }
+
+  private DmlStatistics getStatistics() {
+    return persistRequest.getBeanDescriptor().getDmlStatistics(statisticsType, sql);
+  }
+
   /**
    * Close the underlying statement.
    */
@@ -283,7 +305,7 @@ public abstract class DmlHandler implements PersistHandler, BindableRequest {
 
     stmt = getPstmt(t, sql, genKeys);
 
-    BatchedPstmt bs = new BatchedPstmt(stmt, genKeys, sql);
+    BatchedPstmt bs = new BatchedPstmt(stmt, genKeys, sql, getStatistics());
     batch.addStmt(bs, request);
     return stmt;
   }
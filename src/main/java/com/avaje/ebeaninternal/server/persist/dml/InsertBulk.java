@@ -0,0 +1,146 @@
+package com.avaje.ebeaninternal.server.persist.dml;
+
+import com.avaje.ebean.config.BulkInsertMode;
+import com.avaje.ebeaninternal.api.SpiTransaction;
+import com.avaje.ebeaninternal.server.core.PersistRequestBean;
+import com.avaje.ebeaninternal.server.lib.util.StringHelper;
+import com.avaje.ebeaninternal.server.type.DataBind;
+
+import javax.persistence.PersistenceException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Executes batched inserts of a bean type as multi-row insert statements or Postgres COPY.
+ * <p>
+ * The beans already have their id values (assigned, UUID or from a sequence) so there are no
+ * generated keys to fetch back. The post insert processing (L2 cache, listeners, change log etc)
+ * occurs per bean after the statement has executed.
+ * </p>
+ */
+final class InsertBulk {
+
+  private final InsertMeta meta;
+
+  private final BulkInsertMode mode;
+
+  private final int batchSize;
+
+  InsertBulk(InsertMeta meta, BulkInsertMode mode, int batchSize) {
+    this.meta = meta;
+    this.mode = mode;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Execute the inserts.
+   */
+  void insert(List<PersistRequestBean<?>> requests) {
+
+    List<InsertHandler> published = new ArrayList<>(requests.size());
+    List<InsertHandler> drafts = new ArrayList<>();
+    for (PersistRequestBean<?> request : requests) {
+      if (request.preBulkInsert()) {
+        InsertHandler handler = new InsertHandler(request, meta);
+        if (request.isPublish()) {
+          published.add(handler);
+        } else {
+          drafts.add(handler);
+        }
+      }
+    }
+    insert(published, true);
+    insert(drafts, false);
+  }
+
+  private void insert(List<InsertHandler> rows, boolean publish) {
+
+    if (rows.isEmpty()) {
+      return;
+    }
+    InsertMeta.MultiRowSql multiRow = meta.getMultiRowSql(publish);
+    SpiTransaction transaction = rows.get(0).getPersistRequest().getTransaction();
+    try {
+      if (mode == BulkInsertMode.COPY && meta.isCopyInsert() && multiRow.getCopySql() != null) {
+        if (copy(transaction, rows, multiRow)) {
+          return;
+        }
+      }
+      int maxRows = meta.getMaxRows(multiRow, batchSize);
+      for (int start = 0; start < rows.size(); start += maxRows) {
+        int end = Math.min(start + maxRows, rows.size());
+        multiRow(transaction, rows.subList(start, end), multiRow);
+      }
+    } catch (SQLException e) {
+      String errMsg = StringHelper.replaceStringMulti(e.getMessage(), new String[]{"\r", "\n"}, "\\n ");
+      String msg = "ERROR executing bulk insert of " + rows.size() + " rows error[" + errMsg + "]";
+      if (transaction.isLogSummary()) {
+        transaction.logSummary(msg);
+      }
+      throw new PersistenceException(msg, e);
+    }
+  }
+
+  /**
+   * Insert the rows using a single multi-row insert statement.
+   */
+  private void multiRow(SpiTransaction transaction, List<InsertHandler> rows, InsertMeta.MultiRowSql multiRow) throws SQLException {
+
+    String sql = multiRow.getSql(rows.size());
+    Connection connection = transaction.getInternalConnection();
+    PersistRequestBean<?> first = rows.get(0).getPersistRequest();
+
+    DataBind dataBind = new DataBind(first.getDataTimeZone(), connection.prepareStatement(sql), connection);
+    try {
+      for (InsertHandler row : rows) {
+        row.bindRow(dataBind);
+      }
+      int rowCount = dataBind.executeUpdate();
+      if (rowCount != rows.size()) {
+        throw new PersistenceException("Bulk insert rowCount " + rowCount + " expected " + rows.size() + " sql[" + sql + "]");
+      }
+      if (transaction.isLogSql()) {
+        transaction.logSql(multiRow.getSql(1) + " -- bulk rows[" + rows.size() + "]");
+      }
+    } finally {
+      dataBind.close();
+    }
+    postInsert(rows);
+  }
+
+  /**
+   * Insert the rows using COPY returning false if COPY is not supported for the bound values.
+   */
+  private boolean copy(SpiTransaction transaction, List<InsertHandler> rows, InsertMeta.MultiRowSql multiRow) throws SQLException {
+
+    Connection connection = transaction.getInternalConnection();
+    PersistRequestBean<?> first = rows.get(0).getPersistRequest();
+
+    PostgresCopy copy = new PostgresCopy(multiRow.getBindCount());
+    for (InsertHandler row : rows) {
+      row.bindRow(new DataBind(first.getDataTimeZone(), copy.statement(), connection));
+      if (!copy.endRow()) {
+        // a value that COPY does not support (LOB streams etc)
+        return false;
+      }
+    }
+    String copySql = multiRow.getCopySql();
+    long rowCount = copy.copyIn(connection, copySql);
+    if (rowCount != rows.size()) {
+      throw new PersistenceException("Bulk insert rowCount " + rowCount + " expected " + rows.size() + " sql[" + copySql + "]");
+    }
+    if (transaction.isLogSql()) {
+      transaction.logSql(copySql + " -- bulk rows[" + rows.size() + "]");
+    }
+    postInsert(rows);
+    return true;
+  }
+
+  private void postInsert(List<InsertHandler> rows) {
+    for (InsertHandler row : rows) {
+      row.postBulkInsert();
+    }
+  }
+}
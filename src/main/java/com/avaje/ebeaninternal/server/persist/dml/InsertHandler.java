@@ -1,11 +1,13 @@
 package com.avaje.ebeaninternal.server.persist.dml;
 
 import com.avaje.ebean.bean.EntityBean;
+import com.avaje.ebean.meta.MetaPersistStatistic;
 import com.avaje.ebeaninternal.api.SpiTransaction;
 import com.avaje.ebeaninternal.server.core.Message;
 import com.avaje.ebeaninternal.server.core.PersistRequestBean;
 import com.avaje.ebeaninternal.server.deploy.BeanDescriptor;
 import com.avaje.ebeaninternal.server.persist.DmlUtil;
+import com.avaje.ebeaninternal.server.type.DataBind;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,7 +50,7 @@ public class InsertHandler extends DmlHandler {
    * Create to handle the insert execution.
    */
   public InsertHandler(PersistRequestBean<?> persist, InsertMeta meta) {
-    super(persist, meta.isEmptyStringToNull());
+    super(persist, meta.isEmptyStringToNull(), MetaPersistStatistic.Type.INSERT);
     this.meta = meta;
     this.concatinatedKey = meta.isConcatenatedKey();
   }
@@ -99,6 +101,21 @@ public class InsertHandler extends DmlHandler {
     logSql(sql);
   }
 
+  /**
+   * Bind the bean (which has its id value) as a row of a bulk insert.
+   */
+  void bindRow(DataBind dataBind) throws SQLException {
+    this.dataBind = dataBind;
+    meta.bind(this, persistRequest.getEntityBean(), true, persistRequest.isPublish());
+  }
+
+  /**
+   * Post processing of the row after the bulk insert has executed.
+   */
+  void postBulkInsert() {
+    checkRowCount(1);
+  }
+
   /**
    * Check with useGeneratedKeys to get appropriate PreparedStatement.
    */
@@ -1,6 +1,7 @@
 package com.avaje.ebeaninternal.server.persist.dml;
 
 import com.avaje.ebean.bean.EntityBean;
+import com.avaje.ebean.config.Platform;
 import com.avaje.ebean.config.dbplatform.DatabasePlatform;
 import com.avaje.ebeaninternal.server.core.PersistRequestBean;
 import com.avaje.ebeaninternal.server.deploy.BeanDescriptor;
@@ -46,6 +47,16 @@ public final class InsertMeta {
 
   private final boolean emptyStringToNull;
 
+  private final boolean multiRowInsert;
+
+  private final boolean copyInsert;
+
+  private final int maxBindParameters;
+
+  private final MultiRowSql multiRowSql;
+
+  private final MultiRowSql multiRowSqlDraft;
+
   public InsertMeta(DatabasePlatform dbPlatform, BeanDescriptor<?> desc, Bindable shadowFKey, BindableId id, BindableList all) {
 
     this.emptyStringToNull = dbPlatform.isTreatEmptyStringsAsNull();
@@ -61,6 +72,12 @@ public final class InsertMeta {
     this.sqlWithId = genSql(false, tableName, false);
     this.sqlDraftWithId = desc.isDraftable() ? genSql(false, draftTableName, true) : sqlWithId;
 
+    this.multiRowInsert = dbPlatform.isMultiRowInsert();
+    this.copyInsert = dbPlatform.isPlatform(Platform.POSTGRES);
+    this.maxBindParameters = dbPlatform.getMaxBindParameters();
+    this.multiRowSql = new MultiRowSql(sqlWithId);
+    this.multiRowSqlDraft = desc.isDraftable() ? new MultiRowSql(sqlDraftWithId) : multiRowSql;
+
     // only available for single Id property
     if (id.isConcatenated()) {
       // concatenated key
@@ -163,6 +180,38 @@ public final class InsertMeta {
     }
   }
 
+  /**
+   * Return true if the platform supports multi-row insert.
+   */
+  public boolean isMultiRowInsert() {
+    return multiRowInsert;
+  }
+
+  /**
+   * Return true if the platform supports bulk insert via COPY.
+   */
+  public boolean isCopyInsert() {
+    return copyInsert;
+  }
+
+  /**
+   * Return the multi-row insert sql (inserting with id values).
+   */
+  MultiRowSql getMultiRowSql(boolean publish) {
+    return publish ? multiRowSql : multiRowSqlDraft;
+  }
+
+  /**
+   * Return the max number of rows in a multi-row insert given the platform bind parameter limit.
+   */
+  int getMaxRows(MultiRowSql multiRow, int batchSize) {
+    int maxRows = Math.max(1, batchSize);
+    if (maxBindParameters > 0) {
+      maxRows = Math.min(maxRows, maxBindParameters / multiRow.getBindCount());
+    }
+    return Math.max(1, maxRows);
+  }
+
   /**
    * get the sql based whether the id value(s) are null.
    */
@@ -208,4 +257,74 @@ public final class InsertMeta {
     return request.toString();
   }
 
+  /**
+   * Multi-row insert and COPY sql derived from the single row insert sql.
+   */
+  static final class MultiRowSql {
+
+    private final String sql;
+
+    private final String valuesRow;
+
+    private final int bindCount;
+
+    private final String copySql;
+
+    MultiRowSql(String sql) {
+      this.sql = sql;
+      int pos = sql.lastIndexOf(") values (");
+      this.valuesRow = sql.substring(pos + 9);
+      this.bindCount = count(valuesRow, '?');
+      String columns = sql.substring("insert into ".length(), pos + 1);
+      this.copySql = isPlainBind(columns) ? "copy " + columns + " from stdin" : null;
+    }
+
+    /**
+     * Return true if each column binds a single value (no functions such as encryption).
+     */
+    private boolean isPlainBind(String columns) {
+      StringBuilder sb = new StringBuilder(bindCount * 2 + 1).append("(");
+      for (int i = 0; i < bindCount; i++) {
+        sb.append(i == 0 ? "?" : ",?");
+      }
+      sb.append(")");
+      return valuesRow.equals(sb.toString()) && count(columns, ',') + 1 == bindCount;
+    }
+
+    private static int count(String content, char ch) {
+      int count = 0;
+      for (int i = 0; i < content.length(); i++) {
+        if (content.charAt(i) == ch) {
+          count++;
+        }
+      }
+      return count;
+    }
+
+    /**
+     * Return the number of bind values per row.
+     */
+    int getBindCount() {
+      return bindCount;
+    }
+
+    /**
+     * Return the COPY ... FROM STDIN sql or null if COPY is not supported for this bean type.
+     */
+    String getCopySql() {
+      return copySql;
+    }
+
+    /**
+     * Return the insert sql for the given number of rows.
+     */
+    String getSql(int rows) {
+      StringBuilder sb = new StringBuilder(sql.length() + (valuesRow.length() + 1) * rows);
+      sb.append(sql);
+      for (int i = 1; i < rows; i++) {
+        sb.append(",").append(valuesRow);
+      }
+      return sb.toString();
+    }
+  }
 }
@@ -27,6 +27,11 @@ public interface PersistHandler {
    */
   int execute() throws SQLException;
 
+  /**
+   * Add the non-batch execution time and rows to the statistics of the statement.
+   */
+  void addStatistics(long timeMicros, int rows);
+
   /**
    * Close resources including underlying preparedStatement.
    */
@@ -0,0 +1,254 @@
+package com.avaje.ebeaninternal.server.persist.dml;
+
+import org.postgresql.PGConnection;
+import org.postgresql.util.PGobject;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.TimeZone;
+import java.util.UUID;
+
+/**
+ * Bulk insert rows using Postgres COPY ... FROM STDIN (text format).
+ * <p>
+ * The beans are bound as normal but to a PreparedStatement that captures the JDBC values and
+ * formats each row in COPY text format. If a value of an unsupported type is bound (LOB streams
+ * etc) then {@link #endRow()} returns false and the caller should fall back to multi-row insert.
+ * </p>
+ * <p>
+ * This is the only class that uses the Postgres JDBC driver COPY API and is only loaded when
+ * COPY is used.
+ * </p>
+ */
+final class PostgresCopy implements InvocationHandler {
+
+  private static final String NULL = "\\N";
+
+  private final String[] values;
+
+  private final StringBuilder buffer = new StringBuilder(4096);
+
+  private final PreparedStatement statement;
+
+  private int rows;
+
+  private boolean unsupported;
+
+  PostgresCopy(int columnCount) {
+    this.values = new String[columnCount];
+    this.statement = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, this);
+  }
+
+  /**
+   * Return the PreparedStatement that captures the bound values of a row.
+   */
+  PreparedStatement statement() {
+    return statement;
+  }
+
+  /**
+   * Add the captured values as a row returning false if any value is not supported by COPY.
+   */
+  boolean endRow() {
+    if (unsupported) {
+      return false;
+    }
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        buffer.append('\t');
+      }
+      buffer.append(values[i] == null ? NULL : values[i]);
+      values[i] = null;
+    }
+    buffer.append('\n');
+    rows++;
+    return true;
+  }
+
+  /**
+   * Return the number of rows added.
+   */
+  int getRows() {
+    return rows;
+  }
+
+  /**
+   * Execute the COPY returning the number of rows loaded.
+   */
+  long copyIn(Connection connection, String copySql) throws SQLException {
+    PGConnection pgConnection = connection.unwrap(PGConnection.class);
+    try {
+      return pgConnection.getCopyAPI().copyIn(copySql, new StringReader(buffer.toString()));
+    } catch (IOException e) {
+      throw new SQLException("Error executing " + copySql, e);
+    }
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+    String name = method.getName();
+    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+      int column = ((Integer) args[0]) - 1;
+      if (name.equals("setNull")) {
+        values[column] = null;
+      } else if (name.equals("setTimestamp") && args.length == 3) {
+        values[column] = formatTimestamp((Timestamp) args[1], (Calendar) args[2]);
+      } else {
+        values[column] = format(args[1]);
+      }
+      return null;
+    }
+    switch (name) {
+      case "close":
+      case "clearParameters":
+        return null;
+      case "isClosed":
+        return false;
+      case "hashCode":
+        return System.identityHashCode(proxy);
+      case "equals":
+        return proxy == args[0];
+      case "toString":
+        return "PostgresCopy rows:" + rows;
+      default:
+        throw new SQLFeatureNotSupportedException(name + " not supported capturing COPY values");
+    }
+  }
+
+  /**
+   * Format the value in COPY text format (null for unsupported types).
+   */
+  private String format(Object value) {
+
+    if (value == null) {
+      return null;
+    }
+    if (value instanceof String) {
+      return escape((String) value);
+    }
+    if (value instanceof BigDecimal) {
+      return ((BigDecimal) value).toPlainString();
+    }
+    if (value instanceof Number || value instanceof UUID) {
+      return value.toString();
+    }
+    if (value instanceof Boolean) {
+      return ((Boolean) value) ? "t" : "f";
+    }
+    if (value instanceof Timestamp) {
+      return formatTimestamp((Timestamp) value, null);
+    }
+    if (value instanceof java.sql.Date || value instanceof Time) {
+      return value.toString();
+    }
+    if (value instanceof java.util.Date) {
+      return formatTimestamp(new Timestamp(((java.util.Date) value).getTime()), null);
+    }
+    if (value instanceof Character) {
+      return escape(value.toString());
+    }
+    if (value instanceof byte[]) {
+      return formatBytes((byte[]) value);
+    }
+    if (value instanceof PGobject) {
+      String content = ((PGobject) value).getValue();
+      return content == null ? null : escape(content);
+    }
+    if (value instanceof Array) {
+      return escape(value.toString());
+    }
+    // LOB streams etc
+    unsupported = true;
+    return null;
+  }
+
+  /**
+   * Escape backslash and the delimiter and line characters.
+   */
+  private static String escape(String value) {
+
+    StringBuilder sb = null;
+    for (int i = 0; i < value.length(); i++) {
+      char ch = value.charAt(i);
+      String replace;
+      switch (ch) {
+        case '\\':
+          replace = "\\\\";
+          break;
+        case '\t':
+          replace = "\\t";
+          break;
+        case '\n':
+          replace = "\\n";
+          break;
+        case '\r':
+          replace = "\\r";
+          break;
+        default:
+          replace = null;
+      }
+      if (replace != null) {
+        if (sb == null) {
+          sb = new StringBuilder(value.length() + 16).append(value, 0, i);
+        }
+        sb.append(replace);
+      } else if (sb != null) {
+        sb.append(ch);
+      }
+    }
+    return sb == null ? value : sb.toString();
+  }
+
+  /**
+   * Format as bytea hex format (with the backslash escaped for COPY text).
+   */
+  private static String formatBytes(byte[] bytes) {
+    char[] hex = "0123456789abcdef".toCharArray();
+    StringBuilder sb = new StringBuilder(bytes.length * 2 + 3).append("\\\\x");
+    for (byte b : bytes) {
+      sb.append(hex[(b >> 4) & 0xF]).append(hex[b & 0xF]);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Format the timestamp with nanos and offset (the same as the JDBC driver sends).
+   */
+  private static String formatTimestamp(Timestamp value, Calendar calendar) {
+
+    TimeZone timeZone = (calendar == null) ? TimeZone.getDefault() : calendar.getTimeZone();
+    SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+    format.setTimeZone(timeZone);
+
+    StringBuilder sb = new StringBuilder(35);
+    sb.append(format.format(value));
+    String nanos = Integer.toString(value.getNanos());
+    sb.append('.');
+    for (int i = nanos.length(); i < 9; i++) {
+      sb.append('0');
+    }
+    sb.append(nanos);
+
+    int offsetMinutes = timeZone.getOffset(value.getTime()) / 60000;
+    sb.append(offsetMinutes < 0 ? '-' : '+');
+    offsetMinutes = Math.abs(offsetMinutes);
+    int hours = offsetMinutes / 60;
+    int minutes = offsetMinutes % 60;
+    sb.append(hours < 10 ? "0" : "").append(hours).append(':').append(minutes < 10 ? "0" : "").append(minutes);
+    return sb.toString();
+  }
+}
@@ -1,5 +1,6 @@
 package com.avaje.ebeaninternal.server.persist.dml;
 
+import com.avaje.ebean.meta.MetaPersistStatistic;
 import com.avaje.ebeaninternal.api.SpiTransaction;
 import com.avaje.ebeaninternal.api.SpiUpdatePlan;
 import com.avaje.ebeaninternal.server.core.PersistRequestBean;
@@ -18,7 +19,7 @@ public class UpdateHandler extends DmlHandler {
   private boolean emptySetClause;
 
   public UpdateHandler(PersistRequestBean<?> persist, UpdateMeta meta) {
-    super(persist, meta.isEmptyStringAsNull());
+    super(persist, meta.isEmptyStringAsNull(), MetaPersistStatistic.Type.UPDATE);
     this.meta = meta;
   }
 
@@ -197,6 +197,38 @@ class CQueryBuilder {
     return buildFetchAttributeQuery(request);
   }
 
+  /**
+   * Build the DTO query reading the root level properties into DTO beans.
+   */
+  <T> CQueryFetchDto buildFetchDtoQuery(OrmQueryRequest<T> request) {
+
+    CQueryPredicates predicates = new CQueryPredicates(binder, request);
+    CQueryPlan queryPlan = request.getQueryPlan();
+    if (queryPlan != null) {
+      predicates.prepare(false);
+      return new CQueryFetchDto(request, predicates, queryPlan);
+    }
+
+    predicates.prepare(true);
+
+    SpiQuery<T> query = request.getQuery();
+    SqlTree sqlTree = createSqlTree(request, predicates, getHistorySupport(query), getDraftSupport(query));
+    if (query.isAsOfQuery()) {
+      sqlTree.addAsOfTableAlias(query);
+    } else if (SpiQuery.TemporalMode.CURRENT == query.getTemporalMode()) {
+      sqlTree.addSoftDeletePredicate(query);
+    }
+
+    SqlLimitResponse res = buildSql(null, request, predicates, sqlTree);
+    if (request.isRawSql()) {
+      queryPlan = new CQueryPlanRawSql(request, res, sqlTree, predicates.getLogWhereSql());
+    } else {
+      queryPlan = new CQueryPlan(request, res, sqlTree, false, predicates.getLogWhereSql());
+    }
+    request.putQueryPlan(queryPlan);
+    return new CQueryFetchDto(request, predicates, queryPlan);
+  }
+
   /**
    * Return the history support if this query needs it (is a 'as of' type query).
    */
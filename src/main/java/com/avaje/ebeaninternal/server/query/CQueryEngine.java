@@ -1,5 +1,6 @@
 package com.avaje.ebeaninternal.server.query;
 
+import com.avaje.ebean.QueryEachWhileConsumer;
 import com.avaje.ebean.ValuePair;
 import com.avaje.ebean.Version;
 import com.avaje.ebean.bean.BeanCollection;
@@ -10,8 +11,10 @@ import com.avaje.ebean.config.dbplatform.DatabasePlatform;
 import com.avaje.ebeaninternal.api.SpiQuery;
 import com.avaje.ebeaninternal.server.core.DiffHelp;
 import com.avaje.ebeaninternal.server.core.OrmQueryRequest;
+import com.avaje.ebeaninternal.server.core.ServerMetrics;
 import com.avaje.ebean.QueryIterator;
 import com.avaje.ebeaninternal.server.deploy.BeanDescriptor;
+import com.avaje.ebeaninternal.server.dto.DtoMeta;
 import com.avaje.ebeaninternal.server.lib.util.Str;
 import com.avaje.ebeaninternal.server.persist.Binder;
 import com.avaje.ebeaninternal.server.transaction.TransactionManager;
@@ -45,7 +48,11 @@ public class CQueryEngine {
 
   private final CQueryHistorySupport historySupport;
 
-  public CQueryEngine(ServerConfig serverConfig, DatabasePlatform dbPlatform, Binder binder, Map<String, String> asOfTableMapping, Map<String, String> draftTableMap) {
+  private final ServerMetrics metrics;
+
+  public CQueryEngine(ServerConfig serverConfig, DatabasePlatform dbPlatform, Binder binder, Map<String, String> asOfTableMapping,
+                      Map<String, String> draftTableMap, ServerMetrics metrics) {
+    this.metrics = metrics;
     this.defaultFetchSizeFindEach = serverConfig.getJdbcFetchSizeFindEach();
     this.defaultFetchSizeFindList = serverConfig.getJdbcFetchSizeFindList();
     this.forwardOnlyHintOnFindIterate = dbPlatform.isForwardOnlyHintOnFindIterate();
@@ -98,6 +105,7 @@ public class CQueryEngine {
 
   @SuppressWarnings("unchecked")
   private <A> List<A> findAttributeList(OrmQueryRequest<?> request, CQueryFetchSingleAttribute rcQuery) {
+    metrics.query(request.getQuery().getMode());
     try {
       List<A> list = (List<A>)rcQuery.findList();
       if (request.isLogSql()) {
@@ -122,6 +130,27 @@ public class CQueryEngine {
     return findAttributeList(request, rcQuery);
   }
 
+  /**
+   * Build and execute the DTO query passing each DTO bean to the consumer.
+   */
+  public <D> void findDtoEach(OrmQueryRequest<?> request, DtoMeta dtoMeta, QueryEachWhileConsumer<D> consumer) {
+
+    CQueryFetchDto dtoQuery = queryBuilder.buildFetchDtoQuery(request);
+    metrics.query(request.getQuery().getMode());
+    try {
+      dtoQuery.findEach(dtoMeta, consumer);
+      if (request.isLogSql()) {
+        logGeneratedSql(request, dtoQuery.getGeneratedSql(), dtoQuery.getBindLog());
+      }
+      if (request.isLogSummary()) {
+        request.getTransaction().logSummary(dtoQuery.getSummary());
+      }
+
+    } catch (SQLException e) {
+      throw CQuery.createPersistenceException(e, request.getTransaction(), dtoQuery.getBindLog(), dtoQuery.getGeneratedSql());
+    }
+  }
+
   private <T> void logGeneratedSql(OrmQueryRequest<T> request, String sql, String bindLog) {
     String logSql = sql;
     if (TransactionManager.SQL_LOGGER.isTraceEnabled()) {
@@ -136,6 +165,7 @@ public class CQueryEngine {
   public <T> int findRowCount(OrmQueryRequest<T> request) {
 
     CQueryRowCount rcQuery = queryBuilder.buildRowCountQuery(request);
+    metrics.query(request.getQuery().getMode());
     try {
 
       int rowCount = rcQuery.findRowCount();
@@ -167,6 +197,7 @@ public class CQueryEngine {
 
     CQuery<T> cquery = queryBuilder.buildQuery(request);
     request.setCancelableQuery(cquery);
+    metrics.query(request.getQuery().getMode());
 
     try {
       if (defaultFetchSizeFindEach > 0) {
@@ -216,6 +247,7 @@ public class CQueryEngine {
   public <T> List<Version<T>> findVersions(OrmQueryRequest<T> request) {
 
     SpiQuery<T> query = request.getQuery();
+    metrics.query(query.getMode());
 
     String sysPeriodLower = getSysPeriodLower(query);
     if (query.isVersionsBetween() && !historySupport.isStandardsBased()) {
@@ -311,6 +343,7 @@ public class CQueryEngine {
 
     CQuery<T> cquery = queryBuilder.buildQuery(request);
     request.setCancelableQuery(cquery);
+    metrics.query(query.getMode());
 
     try {
       if (defaultFetchSizeFindList > 0) {
@@ -364,6 +397,7 @@ public class CQueryEngine {
     EntityBean bean = null;
 
     CQuery<T> cquery = queryBuilder.buildQuery(request);
+    metrics.query(request.getQuery().getMode());
 
     try {
       cquery.prepareBindExecuteQuery();
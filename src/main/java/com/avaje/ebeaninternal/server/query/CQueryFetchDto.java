@@ -0,0 +1,180 @@
+package com.avaje.ebeaninternal.server.query;
+
+import com.avaje.ebean.QueryEachWhileConsumer;
+import com.avaje.ebeaninternal.api.SpiQuery;
+import com.avaje.ebeaninternal.api.SpiTransaction;
+import com.avaje.ebeaninternal.server.core.OrmQueryRequest;
+import com.avaje.ebeaninternal.server.deploy.BeanDescriptor;
+import com.avaje.ebeaninternal.server.dto.DtoMeta;
+import com.avaje.ebeaninternal.server.dto.DtoReadPlan;
+import com.avaje.ebeaninternal.server.type.DataBind;
+import com.avaje.ebeaninternal.server.type.DataReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compiled query request reading the rows into DTO beans.
+ * <p>
+ * The rows are read directly into the DTO beans with no persistence context, no
+ * EntityBeanIntercept and no lazy loading.
+ * </p>
+ */
+class CQueryFetchDto {
+
+  private static final Logger logger = LoggerFactory.getLogger(CQueryFetchDto.class);
+
+  /**
+   * The overall find request wrapper object.
+   */
+  private final OrmQueryRequest<?> request;
+
+  private final BeanDescriptor<?> desc;
+
+  private final SpiQuery<?> query;
+
+  /**
+   * Where clause predicates.
+   */
+  private final CQueryPredicates predicates;
+
+  private final CQueryPlan queryPlan;
+
+  /**
+   * The final sql that is generated.
+   */
+  private final String sql;
+
+  private DataReader dataReader;
+
+  /**
+   * The statement used to create the resultSet.
+   */
+  private PreparedStatement pstmt;
+
+  private String bindLog;
+
+  private long executionTimeMicros;
+
+  private int rowCount;
+
+  /**
+   * Create the Sql select based on the request.
+   */
+  CQueryFetchDto(OrmQueryRequest<?> request, CQueryPredicates predicates, CQueryPlan queryPlan) {
+    this.request = request;
+    this.query = request.getQuery();
+    this.queryPlan = queryPlan;
+    this.sql = queryPlan.getSql();
+    this.desc = request.getBeanDescriptor();
+    this.predicates = predicates;
+
+    query.setGeneratedSql(sql);
+  }
+
+  /**
+   * Return a summary description of this query.
+   */
+  protected String getSummary() {
+    StringBuilder sb = new StringBuilder(80);
+    sb.append("FindDto exeMicros[").append(executionTimeMicros)
+        .append("] rows[").append(rowCount)
+        .append("] type[").append(desc.getName())
+        .append("] predicates[").append(predicates.getLogWhereSql())
+        .append("] bind[").append(bindLog).append("]");
+
+    return sb.toString();
+  }
+
+  /**
+   * Execute the query reading each row into a DTO bean passed to the consumer.
+   */
+  @SuppressWarnings("unchecked")
+  protected <D> void findEach(DtoMeta dtoMeta, QueryEachWhileConsumer<D> consumer) throws SQLException {
+
+    long startNano = System.nanoTime();
+    try {
+      DtoReadPlan readPlan = queryPlan.getDtoReadPlan(dtoMeta);
+      prepareExecute();
+
+      int maxRows = query.getMaxRows();
+      while (dataReader.next()) {
+        D dto = (D) readPlan.readRow(dataReader);
+        dataReader.resetColumnPosition();
+        rowCount++;
+        if (!consumer.accept(dto) || (maxRows > 0 && rowCount >= maxRows)) {
+          break;
+        }
+      }
+
+      executionTimeMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNano);
+      queryPlan.executionTime(rowCount, executionTimeMicros, null);
+
+    } finally {
+      close();
+    }
+  }
+
+  /**
+   * Return the bind log.
+   */
+  protected String getBindLog() {
+    return bindLog;
+  }
+
+  /**
+   * Return the generated sql.
+   */
+  protected String getGeneratedSql() {
+    return sql;
+  }
+
+  private void prepareExecute() throws SQLException {
+
+    SpiTransaction t = request.getTransaction();
+    Connection conn = t.getInternalConnection();
+    pstmt = conn.prepareStatement(sql);
+
+    if (query.getBufferFetchSizeHint() > 0) {
+      pstmt.setFetchSize(query.getBufferFetchSizeHint());
+    }
+    if (query.getTimeout() > 0) {
+      pstmt.setQueryTimeout(query.getTimeout());
+    }
+
+    DataBind dataBind = queryPlan.bindEncryptedProperties(pstmt, conn);
+    bindLog = predicates.bind(dataBind);
+    dataReader = queryPlan.createDataReader(pstmt.executeQuery());
+  }
+
+  /**
+   * Close the resources.
+   * <p>
+   * The jdbc resultSet and statement need to be closed. Its important that
+   * this method is called.
+   * </p>
+   */
+  private void close() {
+    try {
+      if (dataReader != null) {
+        dataReader.close();
+        dataReader = null;
+      }
+    } catch (SQLException e) {
+      logger.error("Error closing DataReader", e);
+    }
+    try {
+      if (pstmt != null) {
+        pstmt.close();
+        pstmt = null;
+      }
+    } catch (SQLException e) {
+      logger.error("Error closing PreparedStatement", e);
+    }
+  }
+
+}
@@ -6,6 +6,9 @@ import com.avaje.ebeaninternal.api.CQueryPlanKey;
 import com.avaje.ebeaninternal.api.SpiEbeanServer;
 import com.avaje.ebeaninternal.server.core.OrmQueryRequest;
 import com.avaje.ebeaninternal.server.deploy.BeanProperty;
+import com.avaje.ebeaninternal.server.dto.DtoColumn;
+import com.avaje.ebeaninternal.server.dto.DtoMeta;
+import com.avaje.ebeaninternal.server.dto.DtoReadPlan;
 import com.avaje.ebeaninternal.server.query.CQueryPlanStats.Snapshot;
 import com.avaje.ebeaninternal.server.type.DataBind;
 import com.avaje.ebeaninternal.server.type.DataReader;
@@ -19,6 +22,8 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents a query for a given SQL statement.
@@ -72,11 +77,21 @@ public class CQueryPlan {
 
   private final int asOfTableCount;
 
+  /**
+   * The time this query plan was created.
+   */
+  private final long createTime = System.currentTimeMillis();
+
   /**
    * Key used to identify the query plan in audit logging.
    */
   private volatile String auditQueryHash;
 
+  /**
+   * Mapping of the columns to a DTO type for asDto queries using this plan.
+   */
+  private volatile DtoReadPlan dtoReadPlan;
+
   /**
    * Create a query plan based on a OrmQueryRequest.
    */
@@ -94,7 +109,7 @@ public class CQueryPlan {
     this.rawSql = rawSql;
     this.logWhereSql = logWhereSql;
     this.encryptedProps = sqlTree.getEncryptedProps();
-    this.stats = new CQueryPlanStats(this, server.isCollectQueryOrigins());
+    this.stats = new CQueryPlanStats(this, server.isCollectQueryOrigins(), server.getServerConfig().getStatsHistogramPrecision());
   }
 
   /**
@@ -115,7 +130,7 @@ public class CQueryPlan {
     this.rowNumberIncluded = rowNumberIncluded;
     this.logWhereSql = logWhereSql;
     this.encryptedProps = sqlTree.getEncryptedProps();
-    this.stats = new CQueryPlanStats(this, server.isCollectQueryOrigins());
+    this.stats = new CQueryPlanStats(this, server.isCollectQueryOrigins(), server.getServerConfig().getStatsHistogramPrecision());
   }
 
 
@@ -247,7 +262,41 @@ public class CQueryPlan {
     return stats.getLastQueryTime();
   }
 
+  /**
+   * Return the time this query plan was created.
+   */
+  public long getCreateTime() {
+    return createTime;
+  }
+
+  /**
+   * Return the number of times this query plan has been executed (since the last reset).
+   */
+  public long getExecutionCount() {
+    return stats.getExecutionCount();
+  }
+
   BeanProperty getSingleProperty() {
     return sqlTree.getRootNode().getSingleProperty();
   }
+
+  /**
+   * Return the read plan mapping the columns of this query plan to the DTO type.
+   */
+  DtoReadPlan getDtoReadPlan(DtoMeta dtoMeta) {
+
+    DtoReadPlan readPlan = dtoReadPlan;
+    if (readPlan == null || readPlan.getDtoType() != dtoMeta.getDtoType()) {
+      List<DtoColumn> columns = new ArrayList<>();
+      if (rowNumberIncluded) {
+        // row_number() column used for limit features
+        columns.add(DtoColumn.ignore());
+      }
+      sqlTree.getRootNode().dtoColumns(columns);
+      readPlan = dtoMeta.match(columns.toArray(new DtoColumn[columns.size()]));
+      // volatile assignment (the same plan used with different DTO types just rebuilds)
+      dtoReadPlan = readPlan;
+    }
+    return readPlan;
+  }
 }
@@ -0,0 +1,237 @@
+package com.avaje.ebeaninternal.server.query;
+
+import com.avaje.ebean.meta.MetaQueryPlanCacheStatistic;
+import com.avaje.ebeaninternal.api.CQueryPlanKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of the query plans for a bean type.
+ * <p>
+ * When the maximum size for the bean type (or the server wide maximum) is exceeded the
+ * coldest query plans are evicted. Query plans are ranked by their last query time (or
+ * creation time if not yet executed) and then execution count such that the hot query
+ * plans are kept. Using the creation time means a query plan that was just created and
+ * is about to be executed is not evicted ahead of query plans that have gone cold.
+ * </p>
+ * <p>
+ * Lookups are a plain ConcurrentHashMap get. Only a put that exceeds the limit takes
+ * a lock and trims the cache down to 90% of its maximum size.
+ * </p>
+ */
+public final class CQueryPlanCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(CQueryPlanCache.class);
+
+  /**
+   * Orders the query plans coldest first.
+   */
+  static final Comparator<Candidate> COLDEST_FIRST =
+    Comparator.comparingLong((Candidate c) -> c.lastUsedTime).thenComparingLong(c -> c.executionCount);
+
+  private final ConcurrentHashMap<CQueryPlanKey, CQueryPlan> map = new ConcurrentHashMap<>();
+
+  private final Object trimMonitor = new Object();
+
+  private final Class<?> beanType;
+
+  private final CQueryPlanCacheLimit limit;
+
+  private final int maxSize;
+
+  private final int trimSize;
+
+  private final LongAdder hitCount = new LongAdder();
+
+  private final LongAdder missCount = new LongAdder();
+
+  private final LongAdder evictCount = new LongAdder();
+
+  /**
+   * Create for the given bean type and shared limit.
+   */
+  public CQueryPlanCache(Class<?> beanType, CQueryPlanCacheLimit limit) {
+    this.beanType = beanType;
+    this.limit = limit;
+    this.maxSize = limit.getMaxSize();
+    this.trimSize = Math.max(1, maxSize * 90 / 100);
+  }
+
+  /**
+   * Return the query plan for the given key (or null if not in the cache).
+   */
+  public CQueryPlan get(CQueryPlanKey key) {
+    CQueryPlan plan = map.get(key);
+    if (plan == null) {
+      missCount.increment();
+    } else {
+      hitCount.increment();
+    }
+    return plan;
+  }
+
+  /**
+   * Put the query plan into the cache evicting cold query plans if the limit is exceeded.
+   */
+  public void put(CQueryPlanKey key, CQueryPlan plan) {
+    if (map.put(key, plan) == null) {
+      boolean totalExceeded = limit.increment();
+      if (totalExceeded || (maxSize > 0 && map.size() > maxSize)) {
+        trim(key);
+      }
+    }
+  }
+
+  /**
+   * Return the current number of query plans.
+   */
+  public int size() {
+    return map.size();
+  }
+
+  /**
+   * Return all the query plans.
+   */
+  public Collection<CQueryPlan> values() {
+    return map.values();
+  }
+
+  /**
+   * Return the statistics for the query plan cache.
+   */
+  public MetaQueryPlanCacheStatistic getStatistic(boolean reset) {
+    if (reset) {
+      return new Statistic(beanType, map.size(), maxSize, hitCount.sumThenReset(), missCount.sumThenReset(), evictCount.sumThenReset());
+    }
+    return new Statistic(beanType, map.size(), maxSize, hitCount.sum(), missCount.sum(), evictCount.sum());
+  }
+
+  /**
+   * Evict the coldest query plans excluding the newly added one.
+   */
+  private void trim(CQueryPlanKey addedKey) {
+
+    synchronized (trimMonitor) {
+      int size = map.size();
+      int removeCount;
+      if (maxSize > 0 && size > maxSize) {
+        removeCount = size - trimSize;
+      } else if (limit.isTotalExceeded()) {
+        // server wide limit so trim this bean type by 10%
+        removeCount = Math.max(1, size / 10);
+      } else {
+        // trimmed concurrently
+        return;
+      }
+
+      // sort a snapshot as the plans statistics change concurrently
+      List<Candidate> candidates = new ArrayList<>(size);
+      for (Map.Entry<CQueryPlanKey, CQueryPlan> entry : map.entrySet()) {
+        candidates.add(new Candidate(entry.getKey(), entry.getValue()));
+      }
+      candidates.sort(COLDEST_FIRST);
+
+      int evicted = 0;
+      for (Candidate candidate : candidates) {
+        if (evicted >= removeCount) {
+          break;
+        }
+        if (!candidate.key.equals(addedKey) && map.remove(candidate.key, candidate.plan)) {
+          evicted++;
+        }
+      }
+      limit.decrement(evicted);
+      evictCount.add(evicted);
+      if (logger.isDebugEnabled()) {
+        logger.debug("Evicted {} query plans for {} size:{} total:{}", evicted, beanType.getName(), map.size(), limit.getTotal());
+      }
+    }
+  }
+
+  /**
+   * A query plan with its last used time and execution count read once for sorting.
+   */
+  static final class Candidate {
+
+    final CQueryPlanKey key;
+    final CQueryPlan plan;
+    final long lastUsedTime;
+    final long executionCount;
+
+    Candidate(CQueryPlanKey key, CQueryPlan plan) {
+      this(key, plan, Math.max(plan.getLastQueryTime(), plan.getCreateTime()), plan.getExecutionCount());
+    }
+
+    Candidate(CQueryPlanKey key, CQueryPlan plan, long lastUsedTime, long executionCount) {
+      this.key = key;
+      this.plan = plan;
+      this.lastUsedTime = lastUsedTime;
+      this.executionCount = executionCount;
+    }
+  }
+
+  /**
+   * Snapshot of the query plan cache statistics.
+   */
+  private static class Statistic implements MetaQueryPlanCacheStatistic {
+
+    private final Class<?> beanType;
+    private final int size;
+    private final int maxSize;
+    private final long hitCount;
+    private final long missCount;
+    private final long evictCount;
+
+    Statistic(Class<?> beanType, int size, int maxSize, long hitCount, long missCount, long evictCount) {
+      this.beanType = beanType;
+      this.size = size;
+      this.maxSize = maxSize;
+      this.hitCount = hitCount;
+      this.missCount = missCount;
+      this.evictCount = evictCount;
+    }
+
+    public String toString() {
+      return beanType.getName() + " size:" + size + " maxSize:" + maxSize + " hit:" + hitCount
+        + " miss:" + missCount + " evict:" + evictCount;
+    }
+
+    @Override
+    public Class<?> getBeanType() {
+      return beanType;
+    }
+
+    @Override
+    public int getSize() {
+      return size;
+    }
+
+    @Override
+    public int getMaxSize() {
+      return maxSize;
+    }
+
+    @Override
+    public long getHitCount() {
+      return hitCount;
+    }
+
+    @Override
+    public long getMissCount() {
+      return missCount;
+    }
+
+    @Override
+    public long getEvictCount() {
+      return evictCount;
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.avaje.ebeaninternal.server.query;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The limits on the number of query plans held per bean type and server wide.
+ * <p>
+ * One instance is shared by all the CQueryPlanCache of a server such that it
+ * maintains the total number of query plans held.
+ * </p>
+ */
+public final class CQueryPlanCacheLimit {
+
+  private final int maxSize;
+
+  private final int maxSizeTotal;
+
+  private final AtomicInteger total = new AtomicInteger();
+
+  /**
+   * Create with the max size per bean type and the max total size (0 for no limit).
+   */
+  public CQueryPlanCacheLimit(int maxSize, int maxSizeTotal) {
+    this.maxSize = maxSize;
+    this.maxSizeTotal = maxSizeTotal;
+  }
+
+  /**
+   * Return the maximum number of query plans per bean type (0 for no limit).
+   */
+  int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Return the current total number of query plans.
+   */
+  public int getTotal() {
+    return total.get();
+  }
+
+  /**
+   * Increment the total returning true if the server wide limit is exceeded.
+   */
+  boolean increment() {
+    int current = total.incrementAndGet();
+    return maxSizeTotal > 0 && current > maxSizeTotal;
+  }
+
+  /**
+   * Decrement the total by the number of evicted or removed query plans.
+   */
+  void decrement(int count) {
+    total.addAndGet(-count);
+  }
+
+  /**
+   * Return true if the server wide limit is exceeded.
+   */
+  boolean isTotalExceeded() {
+    return maxSizeTotal > 0 && total.get() > maxSizeTotal;
+  }
+}
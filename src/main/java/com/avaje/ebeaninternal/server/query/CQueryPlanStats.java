@@ -1,8 +1,10 @@
 package com.avaje.ebeaninternal.server.query;
 
 import com.avaje.ebean.bean.ObjectGraphNode;
+import com.avaje.ebean.meta.MetaHistogram;
 import com.avaje.ebean.meta.MetaQueryPlanOriginCount;
 import com.avaje.ebean.meta.MetaQueryPlanStatistic;
+import com.avaje.ebeaninternal.server.util.LogBucketHistogram;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -28,6 +30,10 @@ public final class CQueryPlanStats {
 
   private final LongAccumulator maxTime = new LongAccumulator(Math::max, Long.MIN_VALUE);
 
+  private final LogBucketHistogram timeHistogram;
+
+  private final LogBucketHistogram beansHistogram;
+
   private final AtomicLong startTime = new AtomicLong(System.currentTimeMillis());
 
   private long lastQueryTime;
@@ -37,10 +43,12 @@ public final class CQueryPlanStats {
   /**
    * Construct for a given query plan.
    */
-  CQueryPlanStats(CQueryPlan queryPlan, boolean collectQueryOrigins) {
+  CQueryPlanStats(CQueryPlan queryPlan, boolean collectQueryOrigins, int histogramPrecision) {
 
     this.queryPlan = queryPlan;
     this.origins = !collectQueryOrigins ? null : new ConcurrentHashMap<>();
+    this.timeHistogram = new LogBucketHistogram(histogramPrecision);
+    this.beansHistogram = new LogBucketHistogram(histogramPrecision);
   }
 
   /**
@@ -52,6 +60,8 @@ public final class CQueryPlanStats {
     totalBeans.add(loadedBeanCount);
     totalTime.add(timeMicros);
     maxTime.accumulate(timeMicros);
+    timeHistogram.add(timeMicros);
+    beansHistogram.add(loadedBeanCount);
 
     // not safe but should be atomic
     lastQueryTime = System.currentTimeMillis();
@@ -80,6 +90,8 @@ public final class CQueryPlanStats {
     totalBeans.reset();
     totalTime.reset();
     maxTime.reset();
+    timeHistogram.reset();
+    beansHistogram.reset();
     startTime.set(System.currentTimeMillis());
 
     if (origins != null) {
@@ -96,6 +108,13 @@ public final class CQueryPlanStats {
     return lastQueryTime;
   }
 
+  /**
+   * Return the number of executions (since the last reset).
+   */
+  long getExecutionCount() {
+    return count.sum();
+  }
+
   /**
    * Return a Snapshot of the query execution statistics potentially resetting the internal counters.
    */
@@ -105,10 +124,12 @@ public final class CQueryPlanStats {
 
     // not guaranteed to be consistent due to time gaps between getting each value out of LongAdders but can live with that
     // relative to the cost of making sure count and totalTime etc are all guaranteed to be consistent
+    MetaHistogram times = timeHistogram.snapshot(reset);
+    MetaHistogram beans = beansHistogram.snapshot(reset);
     if (reset) {
-      return new Snapshot(queryPlan, count.sumThenReset(), totalTime.sumThenReset(), totalBeans.sumThenReset(), maxTime.getThenReset(), startTime.getAndSet(System.currentTimeMillis()), lastQueryTime, origins);
+      return new Snapshot(queryPlan, count.sumThenReset(), totalTime.sumThenReset(), totalBeans.sumThenReset(), maxTime.getThenReset(), startTime.getAndSet(System.currentTimeMillis()), lastQueryTime, origins, times, beans);
     }
-    return new Snapshot(queryPlan, count.sum(), totalTime.sum(), totalBeans.sum(), maxTime.get(), startTime.get(), lastQueryTime, origins);
+    return new Snapshot(queryPlan, count.sum(), totalTime.sum(), totalBeans.sum(), maxTime.get(), startTime.get(), lastQueryTime, origins, times, beans);
   }
 
   /**
@@ -171,9 +192,11 @@ public final class CQueryPlanStats {
     private final long startTime;
     private final long lastQueryTime;
     private final List<MetaQueryPlanOriginCount> origins;
+    private final MetaHistogram timeHistogram;
+    private final MetaHistogram beansHistogram;
 
     Snapshot(CQueryPlan queryPlan, long count, long totalTime, long totalBeans, long maxTime, long startTime, long lastQueryTime,
-                    List<MetaQueryPlanOriginCount> origins) {
+                    List<MetaQueryPlanOriginCount> origins, MetaHistogram timeHistogram, MetaHistogram beansHistogram) {
 
       this.queryPlan = queryPlan;
       this.count = count;
@@ -183,11 +206,13 @@ public final class CQueryPlanStats {
       this.startTime = startTime;
       this.lastQueryTime = lastQueryTime;
       this.origins = origins;
+      this.timeHistogram = timeHistogram;
+      this.beansHistogram = beansHistogram;
     }
 
     public String toString() {
       return queryPlan + " count:" + count + " time:" + totalTime + " maxTime:" + maxTime + " beans:" + totalBeans
-          + " start:" + startTime + " lastQuery:" + lastQueryTime + " origins:" + origins;
+          + " start:" + startTime + " lastQuery:" + lastQueryTime + " times[" + timeHistogram + "] origins:" + origins;
     }
 
     @Override
@@ -255,6 +280,16 @@ public final class CQueryPlanStats {
       return origins;
     }
 
+    @Override
+    public MetaHistogram getTimeHistogram() {
+      return timeHistogram;
+    }
+
+    @Override
+    public MetaHistogram getLoadedBeansHistogram() {
+      return beansHistogram;
+    }
+
   }
 
 }
\ No newline at end of file
@@ -16,6 +16,7 @@ public class CallableQueryRowCount<T> extends CallableQuery<T> implements Callab
   /**
    * Note that the transaction passed in is always a new transaction solely to
    * find the row count so it must be cleaned up by this CallableQueryRowCount.
+   * It is null when the row count is expected to be found in the query cache.
    */
   public CallableQueryRowCount(SpiEbeanServer server, SpiQuery<T> query, Transaction t) {
     super(server, query, t);
@@ -28,8 +29,10 @@ public class CallableQueryRowCount<T> extends CallableQuery<T> implements Callab
     try {
       return server.findRowCountWithCopy(query, transaction);
     } finally {
-      // cleanup the underlying connection
-      transaction.end();
+      if (transaction != null) {
+        // cleanup the underlying connection
+        transaction.end();
+      }
     }
   }
 
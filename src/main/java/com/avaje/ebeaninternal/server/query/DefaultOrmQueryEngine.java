@@ -1,5 +1,6 @@
 package com.avaje.ebeaninternal.server.query;
 
+import com.avaje.ebean.QueryEachWhileConsumer;
 import com.avaje.ebean.QueryIterator;
 import com.avaje.ebean.Version;
 import com.avaje.ebean.bean.BeanCollection;
@@ -10,8 +11,11 @@ import com.avaje.ebeaninternal.api.SpiTransaction;
 import com.avaje.ebeaninternal.server.core.OrmQueryEngine;
 import com.avaje.ebeaninternal.server.core.OrmQueryRequest;
 import com.avaje.ebeaninternal.server.deploy.BeanDescriptor;
+import com.avaje.ebeaninternal.server.dto.DtoMeta;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -42,7 +46,7 @@ public class DefaultOrmQueryEngine implements OrmQueryEngine {
       // before we perform a query, we need to flush any
       // previous persist requests that are queued/batched.
       // The query may read data affected by those requests.
-      t.flushBatch();
+      t.flushBatchOnQuery();
     }
   }
 
@@ -61,19 +65,42 @@ public class DefaultOrmQueryEngine implements OrmQueryEngine {
   public <T> int findRowCount(OrmQueryRequest<T> request) {
 
     flushJdbcBatchOnQuery(request);
-    return queryEngine.findRowCount(request);
+    int count = queryEngine.findRowCount(request);
+    if (request.getQuery().isUseQueryCache()) {
+      request.putToQueryCache(count);
+    }
+    return count;
   }
 
   public <A> List<A> findIds(OrmQueryRequest<?> request) {
 
     flushJdbcBatchOnQuery(request);
-    return queryEngine.findIds(request);
+    List<A> ids = queryEngine.findIds(request);
+    return putListToQueryCache(request, ids);
   }
 
   @Override
   public <A> List<A> findSingleAttributeList(OrmQueryRequest<?> request) {
     flushJdbcBatchOnQuery(request);
-    return queryEngine.findSingleAttributeList(request);
+    List<A> values = queryEngine.findSingleAttributeList(request);
+    return putListToQueryCache(request, values);
+  }
+
+  @Override
+  public <D> void findDtoEach(OrmQueryRequest<?> request, DtoMeta dtoMeta, QueryEachWhileConsumer<D> consumer) {
+    flushJdbcBatchOnQuery(request);
+    queryEngine.findDtoEach(request, dtoMeta, consumer);
+  }
+
+  /**
+   * Put a read only copy of the ids or attribute values into the query cache.
+   */
+  private <A> List<A> putListToQueryCache(OrmQueryRequest<?> request, List<A> list) {
+    if (request.getQuery().isUseQueryCache()) {
+      // the cached list is shared so it must be read only
+      request.putToQueryCache(Collections.unmodifiableList(new ArrayList<>(list)));
+    }
+    return list;
   }
 
   public <T> QueryIterator<T> findIterate(OrmQueryRequest<T> request) {
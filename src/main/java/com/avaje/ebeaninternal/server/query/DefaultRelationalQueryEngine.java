@@ -2,16 +2,21 @@ package com.avaje.ebeaninternal.server.query;
 
 import com.avaje.ebean.QueryEachConsumer;
 import com.avaje.ebean.QueryEachWhileConsumer;
+import com.avaje.ebean.QueryIterator;
 import com.avaje.ebean.SqlRow;
 import com.avaje.ebeaninternal.server.core.Message;
 import com.avaje.ebeaninternal.server.core.RelationalQueryEngine;
 import com.avaje.ebeaninternal.server.core.RelationalQueryRequest;
+import com.avaje.ebeaninternal.server.dto.DtoMeta;
+import com.avaje.ebeaninternal.server.dto.DtoReadPlan;
 import com.avaje.ebeaninternal.server.persist.Binder;
+import com.avaje.ebeaninternal.server.type.DataReader;
 
 import javax.persistence.PersistenceException;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * Perform native sql fetches.
@@ -68,6 +73,47 @@ public class DefaultRelationalQueryEngine implements RelationalQueryEngine {
     }
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public <D> void findDtoEach(RelationalQueryRequest request, DtoMeta dtoMeta, QueryEachWhileConsumer<D> consumer) {
+
+    long startTime = System.currentTimeMillis();
+    try {
+      request.executeSql(binder);
+      // the columns are only known after execution so the plan is matched per query
+      DtoReadPlan readPlan = request.createDtoReadPlan(dtoMeta);
+      DataReader dataReader = request.createDataReader();
+      while (request.next()) {
+        D dto = (D) readPlan.readRow(dataReader);
+        dataReader.resetColumnPosition();
+        if (!consumer.accept(dto)) {
+          break;
+        }
+      }
+      logSummary(request, startTime);
+
+    } catch (Exception e) {
+      throw new PersistenceException(Message.msg("fetch.error", e.getMessage(), request.getSql()), e);
+
+    } finally {
+      request.close();
+    }
+  }
+
+  @Override
+  public QueryIterator<SqlRow> findIterate(RelationalQueryRequest request) {
+
+    long startTime = System.currentTimeMillis();
+    try {
+      request.executeSql(binder);
+      return new RowIterator(request, startTime);
+
+    } catch (Exception e) {
+      request.close();
+      throw new PersistenceException(Message.msg("fetch.error", e.getMessage(), request.getSql()), e);
+    }
+  }
+
   public List<SqlRow> findList(RelationalQueryRequest request) {
 
     long startTime = System.currentTimeMillis();
@@ -106,4 +152,63 @@ public class DefaultRelationalQueryEngine implements RelationalQueryEngine {
     return request.createNewRow(dbTrueValue);
   }
 
+  /**
+   * Iterator reading a row at a time from the resultSet.
+   */
+  private final class RowIterator implements QueryIterator<SqlRow> {
+
+    private final RelationalQueryRequest request;
+
+    private final long startTime;
+
+    private SqlRow nextRow;
+
+    private boolean finished;
+
+    RowIterator(RelationalQueryRequest request, long startTime) {
+      this.request = request;
+      this.startTime = startTime;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (nextRow == null && !finished) {
+        try {
+          if (request.next()) {
+            nextRow = readRow(request);
+          } else {
+            finished = true;
+          }
+        } catch (SQLException e) {
+          throw new PersistenceException(Message.msg("fetch.error", e.getMessage(), request.getSql()), e);
+        }
+      }
+      return nextRow != null;
+    }
+
+    @Override
+    public SqlRow next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      SqlRow row = nextRow;
+      nextRow = null;
+      return row;
+    }
+
+    @Override
+    public void remove() {
+      throw new PersistenceException("Remove not allowed");
+    }
+
+    @Override
+    public void close() {
+      try {
+        logSummary(request, startTime);
+        request.close();
+      } finally {
+        request.endTransIfRequired();
+      }
+    }
+  }
 }
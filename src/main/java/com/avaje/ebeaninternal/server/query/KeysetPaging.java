@@ -0,0 +1,215 @@
+package com.avaje.ebeaninternal.server.query;
+
+import com.avaje.ebean.Junction;
+import com.avaje.ebean.KeysetPagedList;
+import com.avaje.ebean.OrderBy;
+import com.avaje.ebeaninternal.api.SpiQuery;
+import com.avaje.ebeaninternal.server.deploy.BeanDescriptor;
+import com.avaje.ebeaninternal.server.deploy.BeanProperty;
+import com.avaje.ebeaninternal.server.el.ElPropertyValue;
+
+import javax.persistence.PersistenceException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset (seek) pagination for a query.
+ * <p>
+ * The order by of the query is made unique by adding the id property (if not already included).
+ * For order by properties p1, p2, id and the values v1, v2, v3 of the last bean of the prior
+ * page the next page uses the predicate:
+ * </p>
+ * <pre>
+ *   (p1 > v1) or (p1 = v1 and p2 > v2) or (p1 = v1 and p2 = v2 and id > v3)
+ * </pre>
+ * <p>
+ * (with less than used for descending properties). This expanded form rather than a row value
+ * comparison supports mixed ascending/descending ordering and all the database platforms.
+ * </p>
+ * <p>
+ * The cursor holds the formatted values of the last bean prefixed by a hash of the order by
+ * such that a cursor can not be used with a query that has a different ordering.
+ * </p>
+ */
+public final class KeysetPaging<T> {
+
+  private static final char SEPARATOR = ':';
+
+  private final SpiQuery<T> query;
+
+  private final String[] paths;
+
+  private final boolean[] ascending;
+
+  private final ElPropertyValue[] elProps;
+
+  private final String signature;
+
+  /**
+   * Create for the given query (that is modified with the unique order by).
+   */
+  public KeysetPaging(SpiQuery<T> query) {
+
+    BeanDescriptor<T> desc = query.getBeanDescriptor();
+    BeanProperty idProperty = desc.getIdProperty();
+    if (idProperty == null || idProperty.isEmbedded()) {
+      throw new PersistenceException("Keyset paging requires a scalar id property on " + desc.getFullName());
+    }
+
+    OrderBy<T> orderBy = query.getOrderBy();
+    List<OrderBy.Property> properties = new ArrayList<>();
+    boolean containsId = false;
+    if (orderBy != null) {
+      for (OrderBy.Property property : orderBy.getProperties()) {
+        properties.add(property);
+        if (property.getProperty().equals(idProperty.getName())) {
+          // remaining properties can not change the ordering
+          containsId = true;
+          break;
+        }
+      }
+    }
+    if (!containsId) {
+      properties.add(new OrderBy.Property(idProperty.getName(), true));
+    }
+
+    int size = properties.size();
+    this.query = query;
+    this.paths = new String[size];
+    this.ascending = new boolean[size];
+    this.elProps = new ElPropertyValue[size];
+
+    OrderBy<T> uniqueOrderBy = new OrderBy<>();
+    for (int i = 0; i < size; i++) {
+      OrderBy.Property property = properties.get(i);
+      String path = property.getProperty();
+      ElPropertyValue elProp = desc.getElGetValue(path);
+      if (elProp == null || elProp.containsMany() || elProp.isAssocProperty() || elProp.getBeanProperty() == null) {
+        throw new PersistenceException("Keyset paging order by property [" + path + "] must be a scalar property (not a OneToMany or bean)");
+      }
+      OrderBy.Property plain = new OrderBy.Property(path, property.isAscending());
+      if (!plain.toStringFormat().equals(property.toStringFormat())) {
+        throw new PersistenceException("Keyset paging does not support nulls ordering on order by property [" + path + "]");
+      }
+      paths[i] = path;
+      ascending[i] = property.isAscending();
+      elProps[i] = elProp;
+      uniqueOrderBy.add(plain);
+    }
+
+    query.setOrderBy(uniqueOrderBy);
+    this.signature = Integer.toHexString((desc.getFullName() + " " + uniqueOrderBy.toStringFormat()).hashCode());
+  }
+
+  /**
+   * Add the predicate for the page that follows the given cursor.
+   */
+  public void applyCursor(String cursor) {
+
+    if (cursor == null || cursor.isEmpty()) {
+      return;
+    }
+    Object[] values = decode(cursor);
+
+    Junction<T> or = query.where().or();
+    for (int i = 0; i < paths.length; i++) {
+      Junction<T> and = or.and();
+      for (int j = 0; j < i; j++) {
+        and.eq(paths[j], values[j]);
+      }
+      if (ascending[i]) {
+        and.gt(paths[i], values[i]);
+      } else {
+        and.lt(paths[i], values[i]);
+      }
+      and.endAnd();
+    }
+    or.endOr();
+  }
+
+  /**
+   * Return the cursor for the page following the given (last) bean.
+   */
+  public String cursor(T lastBean) {
+
+    Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+
+    StringBuilder sb = new StringBuilder(50).append(signature);
+    for (int i = 0; i < elProps.length; i++) {
+      Object value = elProps[i].pathGet(lastBean);
+      if (value == null) {
+        throw new PersistenceException("Keyset paging order by property [" + paths[i] + "] has a null value which is not supported");
+      }
+      String formatted = elProps[i].getBeanProperty().getScalarType().format(value);
+      sb.append(SEPARATOR).append(encoder.encodeToString(formatted.getBytes(StandardCharsets.UTF_8)));
+    }
+    return sb.toString();
+  }
+
+  private Object[] decode(String cursor) {
+
+    String[] parts = cursor.split(String.valueOf(SEPARATOR));
+    if (parts.length != paths.length + 1 || !parts[0].equals(signature)) {
+      throw new IllegalArgumentException("Invalid cursor [" + cursor + "] for query with order by " + query.getOrderBy());
+    }
+
+    Base64.Decoder decoder = Base64.getUrlDecoder();
+    Object[] values = new Object[paths.length];
+    try {
+      for (int i = 0; i < paths.length; i++) {
+        String formatted = new String(decoder.decode(parts[i + 1]), StandardCharsets.UTF_8);
+        values[i] = elProps[i].getBeanProperty().getScalarType().parse(formatted);
+      }
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Invalid cursor [" + cursor + "]", e);
+    }
+    return values;
+  }
+
+  /**
+   * Return the page of results.
+   */
+  public KeysetPagedList<T> page(List<T> list, int pageSize, String nextCursor) {
+    return new Page<>(list, pageSize, nextCursor);
+  }
+
+  /**
+   * The page of results.
+   */
+  static final class Page<T> implements KeysetPagedList<T> {
+
+    private final List<T> list;
+
+    private final int pageSize;
+
+    private final String nextCursor;
+
+    Page(List<T> list, int pageSize, String nextCursor) {
+      this.list = list;
+      this.pageSize = pageSize;
+      this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public List<T> getList() {
+      return list;
+    }
+
+    @Override
+    public int getPageSize() {
+      return pageSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return nextCursor != null;
+    }
+
+    @Override
+    public String getNextCursor() {
+      return nextCursor;
+    }
+  }
+}
@@ -6,6 +6,7 @@ import com.avaje.ebeaninternal.api.SpiQuery;
 import com.avaje.ebeaninternal.server.deploy.BeanProperty;
 import com.avaje.ebeaninternal.server.deploy.DbReadContext;
 import com.avaje.ebeaninternal.server.deploy.DbSqlContext;
+import com.avaje.ebeaninternal.server.dto.DtoColumn;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -79,4 +80,9 @@ interface SqlTreeNode {
    */
   BeanProperty getSingleProperty();
 
+  /**
+   * Add the columns read for a DTO query.
+   */
+  void dtoColumns(List<DtoColumn> columns);
+
 }
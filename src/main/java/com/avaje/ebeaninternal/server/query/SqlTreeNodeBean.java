@@ -11,11 +11,13 @@ import com.avaje.ebeaninternal.server.deploy.BeanDescriptor;
 import com.avaje.ebeaninternal.server.deploy.BeanProperty;
 import com.avaje.ebeaninternal.server.deploy.BeanPropertyAssoc;
 import com.avaje.ebeaninternal.server.deploy.BeanPropertyAssocMany;
+import com.avaje.ebeaninternal.server.deploy.BeanPropertyCompound;
 import com.avaje.ebeaninternal.server.deploy.DbReadContext;
 import com.avaje.ebeaninternal.server.deploy.DbSqlContext;
 import com.avaje.ebeaninternal.server.deploy.InheritInfo;
 import com.avaje.ebeaninternal.server.deploy.TableJoin;
 import com.avaje.ebeaninternal.server.deploy.id.IdBinder;
+import com.avaje.ebeaninternal.server.dto.DtoColumn;
 import com.avaje.ebeaninternal.server.lib.util.StringHelper;
 
 import java.sql.SQLException;
@@ -138,6 +140,39 @@ class SqlTreeNodeBean implements SqlTreeNode {
     return properties[0];
   }
 
+  @Override
+  public void dtoColumns(List<DtoColumn> columns) {
+
+    if (temporalVersions || lazyLoadParent != null) {
+      throw new IllegalStateException("DTO query not supported for findVersions() or lazy loading");
+    }
+    for (SqlTreeNode child : children) {
+      if (child instanceof SqlTreeNodeBean) {
+        throw new IllegalStateException("DTO query does not support fetch joins");
+      }
+    }
+    if (inheritInfo != null) {
+      // discriminator column always proceeds id column
+      columns.add(DtoColumn.ignore());
+    }
+    if (readId) {
+      dtoColumn(columns, idBinder.getBeanProperty());
+    }
+    boolean draftQuery = temporalMode == SpiQuery.TemporalMode.DRAFT;
+    for (BeanProperty property : properties) {
+      if (property.isLoadProperty(draftQuery)) {
+        dtoColumn(columns, property);
+      }
+    }
+  }
+
+  private void dtoColumn(List<DtoColumn> columns, BeanProperty property) {
+    if (property instanceof BeanPropertyAssoc<?> || property instanceof BeanPropertyCompound) {
+      throw new IllegalStateException("Property " + property.getFullBeanName() + " is not a scalar property and can not be read by a DTO query");
+    }
+    columns.add(new DtoColumn(property.getName(), property.getScalarType()));
+  }
+
   private Map<String, String> createPathMap(String prefix, BeanDescriptor<?> desc) {
 
     BeanPropertyAssocMany<?>[] manys = desc.propertiesMany();
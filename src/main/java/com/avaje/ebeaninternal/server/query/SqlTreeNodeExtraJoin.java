@@ -9,6 +9,7 @@ import com.avaje.ebeaninternal.server.deploy.BeanPropertyAssocMany;
 import com.avaje.ebeaninternal.server.deploy.DbReadContext;
 import com.avaje.ebeaninternal.server.deploy.DbSqlContext;
 import com.avaje.ebeaninternal.server.deploy.TableJoin;
+import com.avaje.ebeaninternal.server.dto.DtoColumn;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -71,6 +72,11 @@ class SqlTreeNodeExtraJoin implements SqlTreeNode {
     throw new IllegalStateException("No expected");
   }
 
+  @Override
+  public void dtoColumns(List<DtoColumn> columns) {
+    throw new IllegalStateException("No expected");
+  }
+
   /**
    * Return true if the extra join is a many join.
    * <p>
@@ -10,6 +10,7 @@ import com.avaje.ebeaninternal.server.deploy.BeanPropertyAssocOne;
 import com.avaje.ebeaninternal.server.deploy.DbReadContext;
 import com.avaje.ebeaninternal.server.deploy.DbSqlContext;
 import com.avaje.ebeaninternal.server.deploy.TableJoin;
+import com.avaje.ebeaninternal.server.dto.DtoColumn;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -45,6 +46,11 @@ class SqlTreeNodeManyWhereJoin implements SqlTreeNode {
     throw new IllegalStateException("No expected");
   }
 
+  @Override
+  public void dtoColumns(List<DtoColumn> columns) {
+    throw new IllegalStateException("No expected");
+  }
+
   @Override
   public void addAsOfTableAlias(SpiQuery<?> query) {
     // do nothing here ...
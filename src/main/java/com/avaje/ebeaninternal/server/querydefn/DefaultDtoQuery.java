@@ -0,0 +1,65 @@
+package com.avaje.ebeaninternal.server.querydefn;
+
+import com.avaje.ebean.DtoQuery;
+import com.avaje.ebean.QueryEachConsumer;
+import com.avaje.ebean.QueryEachWhileConsumer;
+import com.avaje.ebeaninternal.api.SpiEbeanServer;
+import com.avaje.ebeaninternal.api.SpiQuery;
+
+import javax.persistence.NonUniqueResultException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Default implementation of DtoQuery based on an ORM query.
+ */
+public class DefaultDtoQuery<T> implements DtoQuery<T> {
+
+  private final SpiEbeanServer server;
+
+  private final SpiQuery<?> query;
+
+  private final Class<T> dtoType;
+
+  public DefaultDtoQuery(SpiEbeanServer server, SpiQuery<?> query, Class<T> dtoType) {
+    this.server = server;
+    this.query = query;
+    this.dtoType = dtoType;
+  }
+
+  @Override
+  public List<T> findList() {
+    List<T> list = new ArrayList<>();
+    server.findDtoEach(query, dtoType, dto -> {
+      list.add(dto);
+      return true;
+    }, null);
+    return list;
+  }
+
+  @Override
+  public void findEach(QueryEachConsumer<T> consumer) {
+    server.findDtoEach(query, dtoType, dto -> {
+      consumer.accept(dto);
+      return true;
+    }, null);
+  }
+
+  @Override
+  public void findEachWhile(QueryEachWhileConsumer<T> consumer) {
+    server.findDtoEach(query, dtoType, consumer, null);
+  }
+
+  @Override
+  public T findUnique() {
+    List<T> list = findList();
+    if (list.size() > 1) {
+      throw new NonUniqueResultException("Unique expecting 0 or 1 results but got [" + list.size() + "]");
+    }
+    return list.isEmpty() ? null : list.get(0);
+  }
+
+  public String toString() {
+    return "DtoQuery [" + dtoType.getName() + "] " + query;
+  }
+}
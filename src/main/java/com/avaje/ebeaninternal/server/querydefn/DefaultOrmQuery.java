@@ -13,6 +13,7 @@ import com.avaje.ebeaninternal.api.BindParams;
 import com.avaje.ebeaninternal.api.CQueryPlanKey;
 import com.avaje.ebeaninternal.api.HashQuery;
 import com.avaje.ebeaninternal.api.ManyWhereJoins;
+import com.avaje.ebeaninternal.api.SpiEbeanServer;
 import com.avaje.ebeaninternal.api.SpiExpression;
 import com.avaje.ebeaninternal.api.SpiExpressionList;
 import com.avaje.ebeaninternal.api.SpiExpressionValidation;
@@ -35,6 +36,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Default implementation of an Object Relational query.
@@ -85,6 +87,11 @@ public class DefaultOrmQuery<T> implements SpiQuery<T> {
    */
   private boolean disableLazyLoading;
 
+  /**
+   * Set to execute independent secondary queries concurrently (null means use the server default).
+   */
+  private Boolean parallelSecondaryQueries;
+
   /**
    * Lazy loading batch size (can override server wide default).
    */
@@ -554,7 +561,8 @@ public class DefaultOrmQuery<T> implements SpiQuery<T> {
    */
   @Override
   public boolean isWithId() {
-    return !distinct && !singleAttribute;
+    // DTO queries only include the id when selected
+    return !distinct && !singleAttribute && type != Type.DTO;
   }
 
   @Override
@@ -612,6 +620,7 @@ public class DefaultOrmQuery<T> implements SpiQuery<T> {
     copy.excludeBeanCache = excludeBeanCache;
     copy.useQueryCache = useQueryCache;
     copy.readOnly = readOnly;
+    copy.parallelSecondaryQueries = parallelSecondaryQueries;
     if (detail != null) {
       copy.detail = detail.copy();
     }
@@ -873,7 +882,7 @@ public class DefaultOrmQuery<T> implements SpiQuery<T> {
    */
   CQueryPlanKey createQueryPlanKey() {
 
-    queryPlanKey = new OrmQueryPlanKey(m2mIncludeJoin, type, detail, maxRows, firstRow,
+    queryPlanKey = new OrmQueryPlanKey(beanDescriptor, m2mIncludeJoin, type, detail, maxRows, firstRow,
         disableLazyLoading, orderBy,
         distinct, sqlDistinct, mapKey, id, bindParams, whereExpressions, havingExpressions,
         temporalMode, forUpdate, rootTableAlias, rawSql, updateProperties);
@@ -1117,6 +1126,11 @@ public class DefaultOrmQuery<T> implements SpiQuery<T> {
     return server.findIterate(this, null);
   }
 
+  @Override
+  public Stream<T> findStream() {
+    return server.findStream(this, null);
+  }
+
   @Override
   public List<Version<T>> findVersions() {
     this.temporalMode = TemporalMode.VERSIONS;
@@ -1155,6 +1169,11 @@ public class DefaultOrmQuery<T> implements SpiQuery<T> {
     return (List<A>)server.findSingleAttributeList(this, null);
   }
 
+  @Override
+  public <D> DtoQuery<D> asDto(Class<D> dtoType) {
+    return new DefaultDtoQuery<>((SpiEbeanServer) server, this, dtoType);
+  }
+
   @Override
   public T findUnique() {
     return server.findUnique(this, null);
@@ -1180,6 +1199,11 @@ public class DefaultOrmQuery<T> implements SpiQuery<T> {
     return server.findPagedList(this, null);
   }
 
+  @Override
+  public KeysetPagedList<T> findKeysetPagedList(String cursor) {
+    return server.findKeysetPagedList(this, cursor, null);
+  }
+
   /**
    * Set an ordered bind parameter according to its position. Note that the position starts at 1 to
    * be consistent with JDBC PreparedStatement. You need to set a parameter value for each ? you
@@ -1325,6 +1349,17 @@ public class DefaultOrmQuery<T> implements SpiQuery<T> {
     return disableLazyLoading;
   }
 
+  @Override
+  public Query<T> setParallelSecondaryQueries(boolean parallelSecondaryQueries) {
+    this.parallelSecondaryQueries = parallelSecondaryQueries;
+    return this;
+  }
+
+  @Override
+  public Boolean getParallelSecondaryQueries() {
+    return parallelSecondaryQueries;
+  }
+
   @Override
   public int getFirstRow() {
     return firstRow;
@@ -1566,6 +1601,12 @@ public class DefaultOrmQuery<T> implements SpiQuery<T> {
   public Set<String> validate(BeanType<T> desc) {
 
     SpiExpressionValidation validation = new SpiExpressionValidation(desc);
+    validate(validation);
+    return validation.getUnknownProperties();
+  }
+
+  @Override
+  public void validate(SpiExpressionValidation validation) {
     if (whereExpressions != null) {
       whereExpressions.validate(validation);
     }
@@ -1577,7 +1618,6 @@ public class DefaultOrmQuery<T> implements SpiQuery<T> {
         validation.validate(property.getProperty());
       }
     }
-    return validation.getUnknownProperties();
   }
 
   void setUpdateProperties(OrmUpdateProperties updateProperties) {
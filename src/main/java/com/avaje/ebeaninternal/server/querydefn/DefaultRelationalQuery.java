@@ -5,9 +5,12 @@ import com.avaje.ebean.QueryEachConsumer;
 import com.avaje.ebean.QueryEachWhileConsumer;
 import com.avaje.ebean.SqlRow;
 import com.avaje.ebeaninternal.api.BindParams;
+import com.avaje.ebeaninternal.api.SpiEbeanServer;
 import com.avaje.ebeaninternal.api.SpiSqlQuery;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Default implementation of SQuery - SQL Query.
@@ -56,6 +59,11 @@ public class DefaultRelationalQuery implements SpiSqlQuery {
     server.findEachWhile(this, consumer, null);
   }
 
+  @Override
+  public Stream<SqlRow> findStream() {
+    return server.findStream(this, null);
+  }
+
   public List<SqlRow> findList() {
     return server.findList(this, null);
   }
@@ -64,6 +72,16 @@ public class DefaultRelationalQuery implements SpiSqlQuery {
     return server.findUnique(this, null);
   }
 
+  @Override
+  public <D> List<D> findDto(Class<D> dtoType) {
+    List<D> list = new ArrayList<>();
+    ((SpiEbeanServer) server).findDtoEach(this, dtoType, dto -> {
+      list.add(dto);
+      return true;
+    }, null);
+    return list;
+  }
+
   public DefaultRelationalQuery setParameter(int position, Object value) {
     bindParams.setParameter(position, value);
     return this;
@@ -7,6 +7,7 @@ import com.avaje.ebeaninternal.api.CQueryPlanKey;
 import com.avaje.ebeaninternal.api.HashQueryPlanBuilder;
 import com.avaje.ebeaninternal.api.SpiExpression;
 import com.avaje.ebeaninternal.api.SpiQuery;
+import com.avaje.ebeaninternal.server.deploy.BeanDescriptor;
 import com.avaje.ebeaninternal.server.deploy.TableJoin;
 
 /**
@@ -35,7 +36,7 @@ class OrmQueryPlanKey implements CQueryPlanKey {
   private final int planHash;
   private final int bindCount;
 
-  OrmQueryPlanKey(TableJoin m2mIncludeTable, SpiQuery.Type type, OrmQueryDetail detail, int maxRows, int firstRow, boolean disableLazyLoading, OrderBy<?> orderBy, boolean distinct, boolean sqlDistinct, String mapKey, Object id, BindParams bindParams, SpiExpression whereExpressions, SpiExpression havingExpressions, SpiQuery.TemporalMode temporalMode, boolean forUpdate, String rootTableAlias, RawSql rawSql, OrmUpdateProperties updateProperties) {
+  OrmQueryPlanKey(BeanDescriptor<?> descriptor, TableJoin m2mIncludeTable, SpiQuery.Type type, OrmQueryDetail detail, int maxRows, int firstRow, boolean disableLazyLoading, OrderBy<?> orderBy, boolean distinct, boolean sqlDistinct, String mapKey, Object id, BindParams bindParams, SpiExpression whereExpressions, SpiExpression havingExpressions, SpiQuery.TemporalMode temporalMode, boolean forUpdate, String rootTableAlias, RawSql rawSql, OrmUpdateProperties updateProperties) {
 
     this.m2mIncludeTable = m2mIncludeTable == null ? null : m2mIncludeTable.getTable();
     this.type = type;
@@ -56,7 +57,7 @@ class OrmQueryPlanKey implements CQueryPlanKey {
     this.rawSqlKey = (rawSql == null) ? null : rawSql.getKey();
 
     // exclude bind values and things unrelated to the sql being generated
-    HashQueryPlanBuilder builder = new HashQueryPlanBuilder();
+    HashQueryPlanBuilder builder = new HashQueryPlanBuilder(descriptor);
 
     builder.add((type == null ? 0 : type.ordinal() + 1));
     builder.add(distinct).add(sqlDistinct);
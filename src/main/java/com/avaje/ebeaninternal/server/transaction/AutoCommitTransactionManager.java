@@ -4,6 +4,7 @@ import com.avaje.ebean.BackgroundExecutor;
 import com.avaje.ebean.config.ServerConfig;
 import com.avaje.ebeaninternal.api.SpiTransaction;
 import com.avaje.ebeaninternal.server.cluster.ClusterManager;
+import com.avaje.ebeaninternal.server.core.ServerMetrics;
 import com.avaje.ebeaninternal.server.deploy.BeanDescriptorManager;
 import com.avaje.ebeanservice.docstore.api.DocStoreUpdateProcessor;
 
@@ -17,9 +18,9 @@ import java.sql.Connection;
 public class AutoCommitTransactionManager extends TransactionManager {
 
   public AutoCommitTransactionManager(boolean localL2Caching, ServerConfig serverConfig, ClusterManager clusterManager, BackgroundExecutor backgroundExecutor,
-          DocStoreUpdateProcessor indexUpdateProcessor, BeanDescriptorManager descMgr) {
+          DocStoreUpdateProcessor indexUpdateProcessor, BeanDescriptorManager descMgr, ServerMetrics metrics) {
     
-    super(localL2Caching, serverConfig, clusterManager, backgroundExecutor, indexUpdateProcessor, descMgr);
+    super(localL2Caching, serverConfig, clusterManager, backgroundExecutor, indexUpdateProcessor, descMgr, metrics);
   }
 
   /**
@@ -1,6 +1,7 @@
 package com.avaje.ebeaninternal.server.transaction;
 
 import com.avaje.ebeaninternal.api.SpiEbeanServer;
+import com.avaje.ebeaninternal.server.cache.CacheChangeSet;
 import com.avaje.ebeaninternal.server.cluster.BinaryMessage;
 import com.avaje.ebeaninternal.server.cluster.BinaryMessageList;
 import com.avaje.ebeaninternal.server.core.PersistRequest;
@@ -12,7 +13,9 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Wraps the information representing a Inserted Updated or Deleted Bean.
@@ -134,7 +137,7 @@ public class BeanPersistIds {
         os.writeInt(BinaryMessage.TYPE_BEANIUD);
         os.writeUTF(descriptorId);
         os.writeInt(iudType);
-        os.writeInt(count);
+        os.writeInt(endOfLoop - i);
 
         for (; i < endOfLoop; i++) {
           idBinder.writeData(os, idList.get(i));
@@ -166,7 +169,7 @@ public class BeanPersistIds {
     return sb.toString();
   }
 
-  void addId(PersistRequest.Type type, Serializable id) {
+  public void addId(PersistRequest.Type type, Serializable id) {
     switch (type) {
       case INSERT:
         addInsertId(id);
@@ -205,6 +208,66 @@ public class BeanPersistIds {
     deleteIds.add(id);
   }
 
+  /**
+   * Add the ids of another BeanPersistIds (of the same bean type) to this one.
+   * <p>
+   * Used to coalesce the events of many transactions into a single cluster message.
+   * </p>
+   */
+  void merge(BeanPersistIds other) {
+    insertIds = mergeIds(insertIds, other.insertIds);
+    updateIds = mergeIds(updateIds, other.updateIds);
+    deleteIds = mergeIds(deleteIds, other.deleteIds);
+  }
+
+  private static List<Object> mergeIds(List<Object> ids, List<Object> otherIds) {
+    if (otherIds == null) {
+      return ids;
+    }
+    if (ids == null) {
+      ids = new ArrayList<>(otherIds.size());
+    }
+    ids.addAll(otherIds);
+    return ids;
+  }
+
+  /**
+   * Remove duplicate ids returning the number of ids removed.
+   * <p>
+   * An update and a delete both invalidate the cached bean on the remote side so an updated
+   * id that is also deleted only needs to be sent as a delete.
+   * </p>
+   */
+  int removeDuplicateIds() {
+
+    int before = size(insertIds) + size(updateIds) + size(deleteIds);
+
+    Set<Object> deleted = unique(deleteIds);
+    Set<Object> updated = unique(updateIds);
+    if (updated != null && deleted != null) {
+      updated.removeAll(deleted);
+    }
+    Set<Object> inserted = unique(insertIds);
+
+    insertIds = toList(inserted);
+    updateIds = toList(updated);
+    deleteIds = toList(deleted);
+
+    return before - (size(insertIds) + size(updateIds) + size(deleteIds));
+  }
+
+  private static Set<Object> unique(List<Object> ids) {
+    return (ids == null) ? null : new LinkedHashSet<>(ids);
+  }
+
+  private static List<Object> toList(Set<Object> ids) {
+    return (ids == null || ids.isEmpty()) ? null : new ArrayList<>(ids);
+  }
+
+  private static int size(List<Object> ids) {
+    return (ids == null) ? 0 : ids.size();
+  }
+
   public BeanDescriptor<?> getBeanDescriptor() {
     return beanDescriptor;
   }
@@ -218,8 +281,24 @@ public class BeanPersistIds {
    */
   void notifyCacheAndListener() {
 
-    // any change invalidates the query cache
-    beanDescriptor.queryCacheClear();
+    CacheChangeSet changeSet = new CacheChangeSet(false);
+    if (insertIds != null) {
+      // the inserted values are not known so any insert invalidates the query cache
+      beanDescriptor.queryCacheClear(changeSet);
+    } else {
+      // the changed properties are not known
+      if (updateIds != null) {
+        for (Object id : updateIds) {
+          beanDescriptor.queryCacheUpdate(id, null, changeSet);
+        }
+      }
+      if (deleteIds != null) {
+        for (Object id : deleteIds) {
+          beanDescriptor.queryCacheDelete(id, changeSet);
+        }
+      }
+    }
+    changeSet.apply();
 
     if (updateIds != null) {
       for (Object id : updateIds) {
@@ -1,12 +1,12 @@
 package com.avaje.ebeaninternal.server.transaction;
 
 import com.avaje.ebean.bean.PersistenceContext;
-import com.avaje.ebeaninternal.api.Monitor;
 
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Default implementation of PersistenceContext.
@@ -16,8 +16,16 @@ import java.util.Set;
  * </p>
  * <p>
  * PersistenceContext lives on a Transaction and as such is expected to only
- * have a single thread accessing it at a time. This is not expected to be used
- * concurrently.
+ * have a single thread accessing it at a time. However beans hold a reference to
+ * the persistence context (for lazy loading) and can be passed to other threads
+ * so it is made safe for concurrent use.
+ * </p>
+ * <p>
+ * The lookup of the per bean type context is lock free (remembering the last type
+ * used as query results typically hit the same type repeatedly) and each bean type
+ * is guarded by its own monitor such that loading different bean types concurrently
+ * does not contend. Beans with Long or Integer ids are held in a primitive long keyed
+ * map rather than a boxed key HashMap.
  * </p>
  * <p>
  * Duplicate beans are ones having the same type and unique id value. These are
@@ -30,9 +38,12 @@ public final class DefaultPersistenceContext implements PersistenceContext {
   /**
    * Map used hold caches. One cache per bean type.
    */
-  private final HashMap<Class<?>, ClassContext> typeCache = new HashMap<>();
+  private final ConcurrentHashMap<Class<?>, ClassContext> typeCache = new ConcurrentHashMap<>();
 
-  private final Monitor monitor = new Monitor();
+  /**
+   * The last ClassContext used (racy but ClassContext is immutable in terms of its rootType).
+   */
+  private ClassContext last;
 
   /**
    * Create a new PersistenceContext.
@@ -44,153 +55,194 @@ public final class DefaultPersistenceContext implements PersistenceContext {
    * Set an object into the PersistenceContext.
    */
   public void put(Class<?> rootType, Object id, Object bean) {
-    synchronized (monitor) {
-      getClassContext(rootType).put(id, bean);
-    }
+    getClassContext(rootType).put(id, bean);
   }
 
   public Object putIfAbsent(Class<?> rootType, Object id, Object bean) {
-    synchronized (monitor) {
-      return getClassContext(rootType).putIfAbsent(id, bean);
-    }
+    return getClassContext(rootType).putIfAbsent(id, bean);
   }
 
   /**
    * Return an object given its type and unique id.
    */
   public Object get(Class<?> rootType, Object id) {
-    synchronized (monitor) {
-      return getClassContext(rootType).get(id);
-    }
+    return getClassContext(rootType).get(id);
   }
 
   public WithOption getWithOption(Class<?> rootType, Object id) {
-    synchronized (monitor) {
-      return getClassContext(rootType).getWithOption(id);
-    }
+    return getClassContext(rootType).getWithOption(id);
   }
 
   /**
    * Return the number of beans of the given type in the persistence context.
    */
   public int size(Class<?> rootType) {
-    synchronized (monitor) {
-      ClassContext classMap = typeCache.get(rootType);
-      return classMap == null ? 0 : classMap.size();
-    }
+    ClassContext classMap = typeCache.get(rootType);
+    return classMap == null ? 0 : classMap.size();
   }
 
   /**
    * Clear the PersistenceContext.
    */
   public void clear() {
-    synchronized (monitor) {
-      typeCache.clear();
+    // clear rather than remove the ClassContext such that 'last' is never stale
+    for (ClassContext classMap : typeCache.values()) {
+      classMap.clearAll();
     }
   }
 
   public void clear(Class<?> rootType) {
-    synchronized (monitor) {
-      ClassContext classMap = typeCache.get(rootType);
-      if (classMap != null) {
-        classMap.clear();
-      }
+    ClassContext classMap = typeCache.get(rootType);
+    if (classMap != null) {
+      classMap.clear();
     }
   }
 
   public void deleted(Class<?> rootType, Object id) {
-    synchronized (monitor) {
-      ClassContext classMap = typeCache.get(rootType);
-      if (classMap != null && id != null) {
-        classMap.deleted(id);
-      }
+    ClassContext classMap = typeCache.get(rootType);
+    if (classMap != null && id != null) {
+      classMap.deleted(id);
     }
   }
 
   public void clear(Class<?> rootType, Object id) {
-    synchronized (monitor) {
-      ClassContext classMap = typeCache.get(rootType);
-      if (classMap != null && id != null) {
-        classMap.remove(id);
-      }
+    ClassContext classMap = typeCache.get(rootType);
+    if (classMap != null && id != null) {
+      classMap.remove(id);
     }
   }
 
   public String toString() {
-    synchronized (monitor) {
-      return typeCache.toString();
-    }
+    return typeCache.toString();
   }
 
   private ClassContext getClassContext(Class<?> rootType) {
 
-    ClassContext classMap = typeCache.get(rootType);
+    ClassContext classMap = last;
+    if (classMap != null && classMap.rootType == rootType) {
+      return classMap;
+    }
+    classMap = typeCache.get(rootType);
     if (classMap == null) {
-      classMap = new ClassContext();
-      typeCache.put(rootType, classMap);
+      classMap = typeCache.computeIfAbsent(rootType, ClassContext::new);
     }
+    last = classMap;
     return classMap;
   }
 
-  private static class ClassContext {
+  /**
+   * Return true if the id is held in the primitive long keyed map.
+   */
+  private static boolean isLongKey(Object id) {
+    return id instanceof Long || id instanceof Integer;
+  }
+
+  private static long longKey(Object id) {
+    return ((Number) id).longValue();
+  }
 
-    private final Map<Object, Object> map = new HashMap<>();
+  private static final class ClassContext {
+
+    private final Class<?> rootType;
+
+    /**
+     * Beans with Long or Integer ids.
+     */
+    private final LongKeyMap longMap = new LongKeyMap();
+
+    /**
+     * Beans with other id types (created on demand).
+     */
+    private Map<Object, Object> map;
 
     private Set<Object> deleteSet;
 
-    private ClassContext() {
+    private ClassContext(Class<?> rootType) {
+      this.rootType = rootType;
     }
 
-    public String toString() {
-      return "size:" + map.size();
+    public synchronized String toString() {
+      return "size:" + size();
     }
 
-    private WithOption getWithOption(Object id) {
+    private synchronized WithOption getWithOption(Object id) {
       if (deleteSet != null && deleteSet.contains(id)) {
         return WithOption.DELETED;
       }
-      Object bean = map.get(id);
+      Object bean = getBean(id);
       return (bean == null) ? null : new WithOption(bean);
     }
 
-    private Object get(Object id) {
-      return map.get(id);
+    private synchronized Object get(Object id) {
+      return getBean(id);
     }
 
-    private Object putIfAbsent(Object id, Object bean) {
+    private synchronized Object putIfAbsent(Object id, Object bean) {
 
-      Object existingValue = map.get(id);
+      Object existingValue = getBean(id);
       if (existingValue != null) {
         // it is not absent
         return existingValue;
       }
       // put the new value and return null indicating the put was successful
-      map.put(id, bean);
+      putBean(id, bean);
       return null;
     }
 
-    private void put(Object id, Object b) {
-      map.put(id, b);
+    private synchronized void put(Object id, Object b) {
+      putBean(id, b);
+    }
+
+    private synchronized int size() {
+      return longMap.size() + (map == null ? 0 : map.size());
     }
 
-    private int size() {
-      return map.size();
+    private synchronized void clear() {
+      longMap.clear();
+      map = null;
     }
 
-    private void clear() {
-      map.clear();
+    private synchronized void clearAll() {
+      clear();
+      deleteSet = null;
     }
 
-    private void remove(Object id) {
-      map.remove(id);
+    private synchronized void remove(Object id) {
+      removeBean(id);
     }
 
-    private void deleted(Object id) {
+    private synchronized void deleted(Object id) {
       if (deleteSet == null) {
         deleteSet = new HashSet<>();
       }
       deleteSet.add(id);
-      map.remove(id);
+      removeBean(id);
+    }
+
+    private Object getBean(Object id) {
+      if (isLongKey(id)) {
+        return longMap.get(longKey(id));
+      }
+      return (map == null) ? null : map.get(id);
+    }
+
+    private void putBean(Object id, Object bean) {
+      if (isLongKey(id)) {
+        longMap.put(longKey(id), bean);
+      } else {
+        if (map == null) {
+          map = new HashMap<>();
+        }
+        map.put(id, bean);
+      }
+    }
+
+    private void removeBean(Object id) {
+      if (isLongKey(id)) {
+        longMap.remove(longKey(id));
+      } else if (map != null) {
+        map.remove(id);
+      }
     }
   }
 
@@ -30,7 +30,6 @@ public final class DeleteByIdMap {
       BeanDescriptor<?> d = deleteIds.getBeanDescriptor();
       List<Object> idValues = deleteIds.getDeleteIds();
       if (idValues != null) {
-        d.queryCacheClear(changeSet);
         for (Object idValue : idValues) {
           d.cacheHandleDeleteById(idValue, changeSet);
         }
@@ -66,6 +65,15 @@ public final class DeleteByIdMap {
     }
   }
 
+  /**
+   * Add all the deletes of another DeleteByIdMap.
+   */
+  public void addAll(DeleteByIdMap other) {
+    for (BeanPersistIds otherIds : other.beanMap.values()) {
+      getPersistIds(otherIds.getBeanDescriptor()).merge(otherIds);
+    }
+  }
+
   private BeanPersistIds getPersistIds(BeanDescriptor<?> desc) {
     String beanType = desc.getFullName();
     BeanPersistIds r = beanMap.get(beanType);
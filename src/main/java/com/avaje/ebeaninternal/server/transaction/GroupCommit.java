@@ -0,0 +1,239 @@
+package com.avaje.ebeaninternal.server.transaction;
+
+import com.avaje.ebeaninternal.api.SpiTransaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.PersistenceException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Group commit of implicit transactions.
+ * <p>
+ * Rather than each implicit transaction obtaining a connection and committing, concurrent
+ * callers join a group that shares one transaction (on one of a small number of writers) and
+ * the group is committed once. This means the post commit processing (L2 cache, listeners,
+ * cluster) also occurs once per group.
+ * </p>
+ * <p>
+ * Each caller executes its work in its own thread (such that thread locals used by
+ * persist controllers, WhoCreated etc work as normal) while holding the writer lock. A savepoint
+ * is taken before the work such that a failure is rolled back to the savepoint and thrown to
+ * that caller only. The changes of each caller (the transaction event and change log) are collected
+ * separately and only added to the group when that caller succeeds. The first caller of a group is the leader. Callers that are waiting on the
+ * (fair) writer lock while the leader executes its work join the group ahead of the leader
+ * committing it. Each caller blocks until the group has committed.
+ * </p>
+ * <p>
+ * Work executed by a caller that itself uses group commit (persisting from a persist controller
+ * or listener) is executed inline as part of the callers work and group transaction.
+ * </p>
+ */
+final class GroupCommit {
+
+  private static final Logger logger = LoggerFactory.getLogger(GroupCommit.class);
+
+  private final TransactionManager manager;
+
+  private final Writer[] writers;
+
+  private final AtomicInteger next = new AtomicInteger();
+
+  private final AtomicLong groupCount = new AtomicLong();
+
+  private final AtomicLong memberCount = new AtomicLong();
+
+  GroupCommit(TransactionManager manager, int writerCount) {
+    this.manager = manager;
+    this.writers = new Writer[Math.max(1, writerCount)];
+    for (int i = 0; i < writers.length; i++) {
+      writers[i] = new Writer();
+    }
+  }
+
+  /**
+   * Execute the work as part of a group returning the result once the group has committed.
+   */
+  <T> T execute(Function<SpiTransaction, T> work) {
+    for (Writer writer : writers) {
+      Group running = writer.running();
+      if (running != null) {
+        // nested in the work of this thread so part of the same group transaction
+        return work.apply(running.transaction);
+      }
+    }
+    Writer writer = writers[(next.getAndIncrement() & Integer.MAX_VALUE) % writers.length];
+    return writer.execute(work);
+  }
+
+  /**
+   * Return the number of groups committed.
+   */
+  long getGroupCount() {
+    return groupCount.get();
+  }
+
+  /**
+   * Return the number of callers that have executed work in a group.
+   */
+  long getMemberCount() {
+    return memberCount.get();
+  }
+
+  /**
+   * A writer executing one group at a time.
+   */
+  private final class Writer {
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+
+    /**
+     * The group that callers join (guarded by lock).
+     */
+    private Group open;
+
+    /**
+     * Return the group whose work the current thread is executing (or null).
+     */
+    Group running() {
+      return lock.isHeldByCurrentThread() ? open : null;
+    }
+
+    <T> T execute(Function<SpiTransaction, T> work) {
+
+      Group group;
+      boolean leader;
+      T result = null;
+      RuntimeException error = null;
+
+      lock.lock();
+      try {
+        leader = (open == null);
+        if (leader) {
+          // transactions created by the TransactionManager are JdbcTransactions
+          open = new Group((JdbcTransaction) manager.createTransaction(false, -1));
+        }
+        group = open;
+        try {
+          result = group.run(work);
+        } catch (RuntimeException e) {
+          error = e;
+        }
+      } finally {
+        lock.unlock();
+      }
+
+      if (leader) {
+        // callers waiting on the lock join the group before the leader commits it
+        lock.lock();
+        try {
+          open = null;
+          group.commit();
+        } finally {
+          lock.unlock();
+        }
+      } else {
+        group.awaitCommit();
+      }
+
+      if (error != null) {
+        throw error;
+      }
+      if (group.commitError != null) {
+        throw new PersistenceException("Group commit failed", group.commitError);
+      }
+      return result;
+    }
+  }
+
+  /**
+   * The callers sharing a transaction.
+   */
+  private final class Group {
+
+    private final JdbcTransaction transaction;
+
+    private final CountDownLatch committed = new CountDownLatch(1);
+
+    private int size;
+
+    private volatile RuntimeException commitError;
+
+    Group(JdbcTransaction transaction) {
+      this.transaction = transaction;
+    }
+
+    /**
+     * Execute the work of a caller rolling back to the savepoint on failure.
+     */
+    <T> T run(Function<SpiTransaction, T> work) {
+
+      memberCount.incrementAndGet();
+      size++;
+      Connection connection = transaction.getInternalConnection();
+      Savepoint savepoint;
+      try {
+        savepoint = connection.setSavepoint();
+      } catch (SQLException e) {
+        throw new PersistenceException(e);
+      }
+      transaction.startGroupMember();
+      try {
+        T result = work.apply(transaction);
+        // execute any statements batched by this caller
+        transaction.flushBatch();
+        transaction.endGroupMember(true);
+        return result;
+
+      } catch (RuntimeException e) {
+        transaction.flushBatchOnRollback();
+        // discard the events of this caller
+        transaction.endGroupMember(false);
+        try {
+          connection.rollback(savepoint);
+        } catch (SQLException rollbackError) {
+          logger.error("Error rolling back to savepoint", rollbackError);
+        }
+        throw e;
+      }
+    }
+
+    void commit() {
+      try {
+        transaction.commit();
+        groupCount.incrementAndGet();
+        if (logger.isTraceEnabled()) {
+          logger.trace("group commit of {} callers", size);
+        }
+      } catch (RuntimeException e) {
+        commitError = e;
+        transaction.rollbackIfActive();
+      } finally {
+        committed.countDown();
+      }
+    }
+
+    void awaitCommit() {
+      boolean interrupted = false;
+      while (true) {
+        try {
+          committed.await();
+          break;
+        } catch (InterruptedException e) {
+          // the work is already part of the group so wait for the outcome
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
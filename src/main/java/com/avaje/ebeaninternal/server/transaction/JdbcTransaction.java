@@ -3,11 +3,13 @@ package com.avaje.ebeaninternal.server.transaction;
 import com.avaje.ebean.TransactionCallback;
 import com.avaje.ebean.annotation.DocStoreMode;
 import com.avaje.ebean.bean.PersistenceContext;
+import com.avaje.ebean.config.BulkInsertMode;
 import com.avaje.ebean.config.PersistBatch;
 import com.avaje.ebean.config.ServerConfig;
 import com.avaje.ebean.config.dbplatform.DatabasePlatform.OnQueryOnly;
 import com.avaje.ebean.event.changelog.BeanChange;
 import com.avaje.ebean.event.changelog.ChangeSet;
+import com.avaje.ebean.meta.BatchFlushCause;
 import com.avaje.ebeaninternal.api.SpiTransaction;
 import com.avaje.ebeaninternal.api.TransactionEvent;
 import com.avaje.ebeaninternal.server.core.PersistDeferredRelationship;
@@ -117,6 +119,10 @@ public class JdbcTransaction implements SpiTransaction {
 
   protected Boolean batchFlushOnMixed;
 
+  protected Boolean batchFlushOnTypeChange;
+
+  protected BulkInsertMode bulkInsert;
+
   protected String logPrefix;
 
   /**
@@ -143,6 +149,16 @@ public class JdbcTransaction implements SpiTransaction {
 
   protected TChangeLogHolder changeLogHolder;
 
+  /**
+   * The event of the group while the changes of a group commit member are collected separately.
+   */
+  protected TransactionEvent groupEvent;
+
+  /**
+   * The bean changes of a group commit member (null when not collecting for a member).
+   */
+  protected List<BeanChange> memberBeanChanges;
+
   protected List<PersistDeferredRelationship> deferredList;
 
   /**
@@ -241,6 +257,11 @@ public class JdbcTransaction implements SpiTransaction {
 
   @Override
   public void addBeanChange(BeanChange beanChange) {
+    if (memberBeanChanges != null) {
+      // added to the change log when the group member succeeds
+      memberBeanChanges.add(beanChange);
+      return;
+    }
     if (changeLogHolder == null) {
       changeLogHolder = new TChangeLogHolder(this, 100);
     }
@@ -541,6 +562,27 @@ public class JdbcTransaction implements SpiTransaction {
     }
   }
 
+  @Override
+  public void setBatchFlushOnTypeChange(boolean batchFlushOnTypeChange) {
+    this.batchFlushOnTypeChange = batchFlushOnTypeChange;
+    if (batchControl != null) {
+      batchControl.setBatchFlushOnTypeChange(batchFlushOnTypeChange);
+    }
+  }
+
+  @Override
+  public void setBulkInsert(BulkInsertMode bulkInsert) {
+    this.bulkInsert = bulkInsert;
+    if (batchControl != null) {
+      batchControl.setBulkInsert(bulkInsert);
+    }
+  }
+
+  @Override
+  public BulkInsertMode getBulkInsert() {
+    return bulkInsert == null ? BulkInsertMode.NONE : bulkInsert;
+  }
+
   /**
    * Return the batchSize specifically set for this transaction or 0.
    * <p>
@@ -616,7 +658,7 @@ public class JdbcTransaction implements SpiTransaction {
         if (logger.isTraceEnabled()) {
           logger.trace("... flushBatchOnCollection");
         }
-        batchControl.flushReset();
+        batchControl.flushReset(BatchFlushCause.CASCADE);
       }
       // restore the previous batch mode of NONE
       batchMode = PersistBatch.NONE;
@@ -632,7 +674,7 @@ public class JdbcTransaction implements SpiTransaction {
       if (logger.isTraceEnabled()) {
         logger.trace("... flushBatchOnCascade");
       }
-      batchControl.flushReset();
+      batchControl.flushReset(BatchFlushCause.CASCADE);
     }
     // restore the previous batch mode
     batchMode = oldBatchMode;
@@ -664,7 +706,7 @@ public class JdbcTransaction implements SpiTransaction {
       batchMode = PersistBatch.ALL;
       if (batchControl != null) {
         // flush with reset so that this request goes into it's own batch buffer
-        batchControl.flushReset();
+        batchControl.flushReset(BatchFlushCause.CASCADE);
       }
       // skip using jdbc batch for the top level bean (no gain there)
       request.setSkipBatchForTopLevel();
@@ -675,7 +717,7 @@ public class JdbcTransaction implements SpiTransaction {
       if (logger.isTraceEnabled()) {
         logger.trace("... flush from batchOnCascade ");
       }
-      batchControl.flushReset();
+      batchControl.flushReset(BatchFlushCause.NON_BATCH);
     }
     return false;
   }
@@ -703,6 +745,12 @@ public class JdbcTransaction implements SpiTransaction {
     if (batchFlushOnMixed != null) {
       batchControl.setBatchFlushOnMixed(batchFlushOnMixed);
     }
+    if (batchFlushOnTypeChange != null) {
+      batchControl.setBatchFlushOnTypeChange(batchFlushOnTypeChange);
+    }
+    if (bulkInsert != null) {
+      batchControl.setBulkInsert(bulkInsert);
+    }
   }
 
   /**
@@ -714,18 +762,32 @@ public class JdbcTransaction implements SpiTransaction {
    */
   @Override
   public void flushBatch() {
+    flushBatch(BatchFlushCause.EXPLICIT);
+  }
+
+  @Override
+  public void flushBatchOnQuery() {
+    flushBatch(BatchFlushCause.QUERY);
+  }
+
+  @Override
+  public void flushBatchOnGetter() {
+    flushBatch(BatchFlushCause.GETTER);
+  }
+
+  private void flushBatch(BatchFlushCause cause) {
     if (!isActive()) {
       throw new IllegalStateException(illegalStateMessage);
     }
-    internalBatchFlush();
+    internalBatchFlush(cause);
   }
 
   /**
    * Flush the JDBC batch and execute derived relationship statements if necessary.
    */
-  private void internalBatchFlush() {
+  private void internalBatchFlush(BatchFlushCause cause) {
     if (batchControl != null) {
-      batchControl.flush();
+      batchControl.flush(cause);
     }
     if (deferredList != null) {
       for (PersistDeferredRelationship deferred : deferredList) {
@@ -771,6 +833,40 @@ public class JdbcTransaction implements SpiTransaction {
     return event;
   }
 
+  /**
+   * Start collecting the event and bean changes of a group commit member separately.
+   * <p>
+   * These are added to the transaction when the member succeeds such that the changes of a
+   * member that failed (and was rolled back to its savepoint) are not included in the post
+   * commit processing (L2 cache, persist listeners, change log, doc store).
+   * </p>
+   */
+  void startGroupMember() {
+    groupEvent = event;
+    event = null;
+    memberBeanChanges = new ArrayList<>();
+  }
+
+  /**
+   * End collecting the changes of a group commit member adding them to the transaction
+   * on success and otherwise discarding them.
+   */
+  void endGroupMember(boolean success) {
+    TransactionEvent memberEvent = event;
+    List<BeanChange> beanChanges = memberBeanChanges;
+    event = groupEvent;
+    groupEvent = null;
+    memberBeanChanges = null;
+    if (success) {
+      if (memberEvent != null) {
+        getEvent().add(memberEvent);
+      }
+      for (BeanChange beanChange : beanChanges) {
+        addBeanChange(beanChange);
+      }
+    }
+  }
+
   /**
    * Return true if this was an explicitly created transaction.
    */
@@ -901,10 +997,14 @@ public class JdbcTransaction implements SpiTransaction {
    * Batch flush, jdbc commit, trigger registered TransactionCallbacks, notify l2 cache etc.
    */
   private void flushCommitAndNotify() throws SQLException {
-    internalBatchFlush();
+    long startNanos = System.nanoTime();
+    internalBatchFlush(BatchFlushCause.COMMIT);
     firePreCommit();
     // only performCommit can throw an exception
     performCommit();
+    if (manager != null) {
+      manager.commitMetrics(startNanos);
+    }
     firePostCommit();
     notifyCommit();
   }
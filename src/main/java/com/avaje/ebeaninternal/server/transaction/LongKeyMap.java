@@ -0,0 +1,158 @@
+package com.avaje.ebeaninternal.server.transaction;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map keyed by primitive long values.
+ * <p>
+ * Used by the persistence context for beans with Long and Integer ids such that
+ * there is no boxing of the key and no entry object per bean. Uses linear probing
+ * with backward shift deletion (no tombstones). Null values are not supported.
+ * </p>
+ * <p>
+ * This is NOT thread safe.
+ * </p>
+ */
+final class LongKeyMap {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private long[] keys;
+
+  private Object[] values;
+
+  private int mask;
+
+  private int resizeAt;
+
+  private int size;
+
+  LongKeyMap() {
+    init(DEFAULT_CAPACITY);
+  }
+
+  private void init(int capacity) {
+    this.keys = new long[capacity];
+    this.values = new Object[capacity];
+    this.mask = capacity - 1;
+    this.resizeAt = capacity >> 1;
+  }
+
+  /**
+   * Return the number of entries.
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Return the value for the given key or null if there is no entry.
+   */
+  Object get(long key) {
+    int i = indexOf(key);
+    while (true) {
+      Object value = values[i];
+      if (value == null) {
+        return null;
+      }
+      if (keys[i] == key) {
+        return value;
+      }
+      i = (i + 1) & mask;
+    }
+  }
+
+  /**
+   * Put the value returning the previous value or null if there was no entry.
+   */
+  Object put(long key, Object value) {
+    int i = indexOf(key);
+    while (true) {
+      Object existing = values[i];
+      if (existing == null) {
+        keys[i] = key;
+        values[i] = value;
+        if (++size > resizeAt) {
+          resize();
+        }
+        return null;
+      }
+      if (keys[i] == key) {
+        values[i] = value;
+        return existing;
+      }
+      i = (i + 1) & mask;
+    }
+  }
+
+  /**
+   * Remove the entry returning its value or null if there was no entry.
+   */
+  Object remove(long key) {
+    int i = indexOf(key);
+    while (true) {
+      Object value = values[i];
+      if (value == null) {
+        return null;
+      }
+      if (keys[i] == key) {
+        shiftBack(i);
+        size--;
+        return value;
+      }
+      i = (i + 1) & mask;
+    }
+  }
+
+  /**
+   * Remove all the entries.
+   */
+  void clear() {
+    Arrays.fill(values, null);
+    size = 0;
+  }
+
+  /**
+   * Close the gap at the given slot by moving back following entries of the same probe sequence.
+   */
+  private void shiftBack(int gap) {
+    int i = gap;
+    while (true) {
+      i = (i + 1) & mask;
+      Object value = values[i];
+      if (value == null) {
+        break;
+      }
+      int ideal = indexOf(keys[i]);
+      boolean move = (i > gap) ? (ideal <= gap || ideal > i) : (ideal <= gap && ideal > i);
+      if (move) {
+        keys[gap] = keys[i];
+        values[gap] = value;
+        gap = i;
+      }
+    }
+    values[gap] = null;
+  }
+
+  private void resize() {
+    long[] oldKeys = keys;
+    Object[] oldValues = values;
+    init(oldKeys.length << 1);
+    for (int i = 0; i < oldKeys.length; i++) {
+      Object value = oldValues[i];
+      if (value != null) {
+        int j = indexOf(oldKeys[i]);
+        while (values[j] != null) {
+          j = (j + 1) & mask;
+        }
+        keys[j] = oldKeys[i];
+        values[j] = value;
+      }
+    }
+  }
+
+  private int indexOf(long key) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+}
@@ -153,10 +153,14 @@ public final class PostCommitProcessing {
    */
   Runnable backgroundNotify() {
     return () -> {
-      processCacheChanges(cacheChanges);
-      localPersistListenersNotify();
-      notifyCluster();
-      processDocStoreUpdates();
+      try {
+        processCacheChanges(cacheChanges);
+        localPersistListenersNotify();
+        notifyCluster();
+        processDocStoreUpdates();
+      } finally {
+        manager.postCommitProcessed();
+      }
     };
   }
 
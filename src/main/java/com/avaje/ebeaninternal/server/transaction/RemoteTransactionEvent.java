@@ -82,6 +82,70 @@ public class RemoteTransactionEvent implements Runnable {
     tableList.add(tableIud);
   }
 
+  /**
+   * Merge the events of another transaction (for the same server) into this event.
+   * <p>
+   * This coalesces the events of many transactions into one event such that they are sent
+   * to the other members of the cluster as a single message. The events of the other
+   * transaction are copied and not modified.
+   * </p>
+   */
+  public void merge(RemoteTransactionEvent other) {
+
+    if (other.tableList != null) {
+      for (TableIUD tableIUD : other.tableList) {
+        mergeTableIUD(tableIUD);
+      }
+    }
+    if (other.deleteByIdMap != null) {
+      for (BeanPersistIds deleteIds : other.deleteByIdMap.values()) {
+        mergeBeanPersistIds(deleteIds);
+      }
+    }
+    for (BeanPersistIds beanPersist : other.beanPersistList) {
+      mergeBeanPersistIds(beanPersist);
+    }
+  }
+
+  private void mergeTableIUD(TableIUD tableIUD) {
+    if (tableList != null) {
+      for (int i = 0; i < tableList.size(); i++) {
+        TableIUD existing = tableList.get(i);
+        if (existing.getTableName().equals(tableIUD.getTableName())) {
+          tableList.set(i, new TableIUD(existing.getTableName(),
+            existing.isInsert() || tableIUD.isInsert(),
+            existing.isUpdate() || tableIUD.isUpdate(),
+            existing.isDelete() || tableIUD.isDelete()));
+          return;
+        }
+      }
+    }
+    addTableIUD(new TableIUD(tableIUD.getTableName(), tableIUD.isInsert(), tableIUD.isUpdate(), tableIUD.isDelete()));
+  }
+
+  private void mergeBeanPersistIds(BeanPersistIds beanPersist) {
+    for (BeanPersistIds existing : beanPersistList) {
+      if (existing.getBeanDescriptor() == beanPersist.getBeanDescriptor()) {
+        existing.merge(beanPersist);
+        return;
+      }
+    }
+    BeanPersistIds copy = new BeanPersistIds(beanPersist.getBeanDescriptor());
+    copy.merge(beanPersist);
+    beanPersistList.add(copy);
+  }
+
+  /**
+   * Remove duplicate ids (typically after merging) returning the number of ids removed.
+   */
+  public int removeDuplicateIds() {
+    int removed = 0;
+    for (BeanPersistIds beanPersist : beanPersistList) {
+      removed += beanPersist.removeDuplicateIds();
+    }
+    return removed;
+  }
+
   public String getServerName() {
     return serverName;
   }
@@ -12,6 +12,7 @@ import com.avaje.ebeaninternal.api.TransactionEvent;
 import com.avaje.ebeaninternal.api.TransactionEventTable;
 import com.avaje.ebeaninternal.api.TransactionEventTable.TableIUD;
 import com.avaje.ebeaninternal.server.cluster.ClusterManager;
+import com.avaje.ebeaninternal.server.core.ServerMetrics;
 import com.avaje.ebeaninternal.server.deploy.BeanDescriptorManager;
 import com.avaje.ebeanservice.docstore.api.DocStoreUpdateProcessor;
 import com.avaje.ebeanservice.docstore.api.DocStoreUpdates;
@@ -25,7 +26,9 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 /**
  * Manages transactions.
@@ -59,6 +62,22 @@ public class TransactionManager {
    */
   protected final DataSource dataSource;
 
+  /**
+   * The read only dataSource (typically a read replica) used for query only transactions.
+   * This is null when there is no read only dataSource.
+   */
+  protected final DataSource readOnlyDataSource;
+
+  /**
+   * Nanos after a commit that queries from the same thread use the main dataSource.
+   */
+  private final long readYourWritesNanos;
+
+  /**
+   * The time (nanoTime) until which the current thread uses the main dataSource for queries.
+   */
+  private final ThreadLocal<Long> primaryUntil = new ThreadLocal<>();
+
   /**
    * Flag to indicate the default Isolation is READ COMMITTED. This enables us
    * to close queryOnly transactions rather than commit or rollback them.
@@ -106,11 +125,21 @@ public class TransactionManager {
 
   private final boolean skipCacheAfterWrite;
 
+  /**
+   * Group commit of implicit transactions (null when not enabled).
+   */
+  private final GroupCommit groupCommit;
+
+  /**
+   * Server wide transaction counters.
+   */
+  private final ServerMetrics metrics;
+
   /**
    * Create the TransactionManager
    */
   public TransactionManager(boolean localL2Caching, ServerConfig config, ClusterManager clusterManager, BackgroundExecutor backgroundExecutor,
-                            DocStoreUpdateProcessor docStoreUpdateProcessor, BeanDescriptorManager descMgr) {
+                            DocStoreUpdateProcessor docStoreUpdateProcessor, BeanDescriptorManager descMgr, ServerMetrics metrics) {
 
     this.skipCacheAfterWrite = config.isSkipCacheAfterWrite();
     this.localL2Caching = localL2Caching;
@@ -123,7 +152,10 @@ public class TransactionManager {
     this.clusterManager = clusterManager;
     this.serverName = config.getName();
     this.backgroundExecutor = backgroundExecutor;
+    this.metrics = metrics;
     this.dataSource = config.getDataSource();
+    this.readOnlyDataSource = config.getReadOnlyDataSource();
+    this.readYourWritesNanos = TimeUnit.MILLISECONDS.toNanos(config.getReadYourWritesMillis());
     this.docStoreActive = config.getDocStoreConfig().isActive();
     this.docStoreUpdateProcessor = docStoreUpdateProcessor;
     this.bulkEventListenerMap = new BulkEventListenerMap(config.getBulkTableEventListeners());
@@ -132,12 +164,16 @@ public class TransactionManager {
     this.externalTransPrefix = "e";
 
     this.onQueryOnly = initOnQueryOnly(config.getDatabasePlatform().getOnQueryOnly(), dataSource);
+    this.groupCommit = config.isGroupCommit() ? new GroupCommit(this, config.getGroupCommitWriters()) : null;
   }
 
   public void shutdown(boolean shutdownDataSource, boolean deregisterDriver) {
     if (shutdownDataSource && (dataSource instanceof DataSourcePool)) {
       ((DataSourcePool) dataSource).shutdown(deregisterDriver);
     }
+    if (shutdownDataSource && (readOnlyDataSource instanceof DataSourcePool)) {
+      ((DataSourcePool) readOnlyDataSource).shutdown(deregisterDriver);
+    }
   }
 
   public boolean isDocStoreActive() {
@@ -148,6 +184,24 @@ public class TransactionManager {
     return skipCacheAfterWrite;
   }
 
+  /**
+   * Return true if implicit transactions are group committed.
+   */
+  public boolean isGroupCommit() {
+    return groupCommit != null;
+  }
+
+  /**
+   * Execute the work of an implicit transaction using group commit.
+   * <p>
+   * The work is executed in the current thread with a transaction shared by the group and
+   * this returns (or throws) once the group has committed.
+   * </p>
+   */
+  public <T> T groupCommit(Function<SpiTransaction, T> work) {
+    return groupCommit.execute(work);
+  }
+
   public BeanDescriptorManager getBeanDescriptorManager() {
     return beanDescriptorManager;
   }
@@ -196,6 +250,39 @@ public class TransactionManager {
     return dataSource;
   }
 
+  /**
+   * Return the read only DataSource (or null if there is not one).
+   */
+  public DataSource getReadOnlyDataSource() {
+    return readOnlyDataSource;
+  }
+
+  /**
+   * Return the DataSource to use for a query only transaction.
+   * <p>
+   * This is the read only DataSource unless there is not one or the current thread has
+   * recently committed a transaction (read your writes).
+   * </p>
+   */
+  protected DataSource queryDataSource() {
+    if (readOnlyDataSource == null || isPinnedToPrimary()) {
+      return dataSource;
+    }
+    return readOnlyDataSource;
+  }
+
+  private boolean isPinnedToPrimary() {
+    Long until = primaryUntil.get();
+    if (until == null) {
+      return false;
+    }
+    if (System.nanoTime() - until < 0) {
+      return true;
+    }
+    primaryUntil.remove();
+    return false;
+  }
+
   /**
    * Defines the type of behavior to use when closing a transaction that was used to query data only.
    */
@@ -228,9 +315,25 @@ public class TransactionManager {
    * Create a new Transaction.
    */
   public SpiTransaction createTransaction(boolean explicit, int isolationLevel) {
+    return createTransaction(dataSource, explicit, isolationLevel);
+  }
+
+  /**
+   * Create a new explicit read only Transaction.
+   * <p>
+   * The connection is obtained from the read only DataSource if there is one.
+   * </p>
+   */
+  public SpiTransaction createReadOnlyTransaction(int isolationLevel) {
+    SpiTransaction t = createTransaction(queryDataSource(), true, isolationLevel);
+    t.setReadOnly(true);
+    return t;
+  }
+
+  private SpiTransaction createTransaction(DataSource ds, boolean explicit, int isolationLevel) {
     Connection c = null;
     try {
-      c = dataSource.getConnection();
+      c = getConnection(ds);
       long id = transactionCounter.incrementAndGet();
 
       SpiTransaction t = createTransaction(explicit, c, id);
@@ -257,10 +360,16 @@ public class TransactionManager {
     }
   }
 
+  /**
+   * Create a transaction to execute queries only.
+   * <p>
+   * The connection is obtained from the read only DataSource if there is one.
+   * </p>
+   */
   public SpiTransaction createQueryTransaction() {
     Connection c = null;
     try {
-      c = dataSource.getConnection();
+      c = getConnection(queryDataSource());
       long id = transactionCounter.incrementAndGet();
 
       return createTransaction(false, c, id);
@@ -282,6 +391,23 @@ public class TransactionManager {
     }
   }
 
+  /**
+   * Obtain a connection from the DataSource recording the wait time.
+   */
+  private Connection getConnection(DataSource ds) throws SQLException {
+    long startNanos = System.nanoTime();
+    Connection c = ds.getConnection();
+    metrics.transactionBegin((System.nanoTime() - startNanos) / 1000L);
+    return c;
+  }
+
+  /**
+   * Record the commit of a transaction that started the commit at the given nanoTime.
+   */
+  public void commitMetrics(long startNanos) {
+    metrics.transactionCommit((System.nanoTime() - startNanos) / 1000L);
+  }
+
   /**
    * Create a new transaction.
    */
@@ -294,6 +420,7 @@ public class TransactionManager {
    */
   public void notifyOfRollback(SpiTransaction transaction, Throwable cause) {
 
+    metrics.transactionRollback();
     try {
       if (TXN_LOGGER.isDebugEnabled()) {
         String msg = transaction.getLogPrefix() + "Rollback";
@@ -353,9 +480,14 @@ public class TransactionManager {
         TXN_LOGGER.debug(transaction.getLogPrefix() + "Commit");
       }
 
+      if (readOnlyDataSource != null && readYourWritesNanos > 0) {
+        // subsequent queries from this thread use the main DataSource for a while
+        primaryUntil.set(System.nanoTime() + readYourWritesNanos);
+      }
+
       PostCommitProcessing postCommit = new PostCommitProcessing(clusterManager, this, transaction);
       postCommit.notifyLocalCache();
-      backgroundExecutor.execute(postCommit.backgroundNotify());
+      backgroundNotify(postCommit);
 
     } catch (Exception ex) {
       logger.error("NotifyOfCommit failed. L2 Cache potentially not notified.", ex);
@@ -376,9 +508,24 @@ public class TransactionManager {
 
     PostCommitProcessing postCommit = new PostCommitProcessing(clusterManager, this, event);
     postCommit.notifyLocalCache();
+    backgroundNotify(postCommit);
+  }
+
+  /**
+   * Queue the post commit processing for background execution.
+   */
+  private void backgroundNotify(PostCommitProcessing postCommit) {
+    metrics.postCommitQueued();
     backgroundExecutor.execute(postCommit.backgroundNotify());
   }
 
+  /**
+   * The background post commit processing has completed.
+   */
+  void postCommitProcessed() {
+    metrics.postCommitProcessed();
+  }
+
   /**
    * Notify local BeanPersistListeners etc of events from another server in the cluster.
    */
@@ -0,0 +1,38 @@
+package com.avaje.ebeaninternal.server.type;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * A list of values that is bound as a single DB ARRAY (used for large IN expressions).
+ */
+public final class ArrayBindValue {
+
+  private final ScalarTypeArrayList arrayType;
+
+  private final List<?> values;
+
+  public ArrayBindValue(ScalarTypeArrayList arrayType, List<?> values) {
+    this.arrayType = arrayType;
+    this.values = values;
+  }
+
+  /**
+   * Bind the values as a single ARRAY.
+   */
+  public void bind(DataBind dataBind) throws SQLException {
+    arrayType.bind(dataBind, values);
+  }
+
+  /**
+   * Return the number of values in the array.
+   */
+  public int size() {
+    return values.size();
+  }
+
+  @Override
+  public String toString() {
+    return "array[" + values.size() + "]";
+  }
+}
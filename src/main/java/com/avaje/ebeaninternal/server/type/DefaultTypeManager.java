@@ -429,6 +429,25 @@ public final class DefaultTypeManager implements TypeManager, KnownImmutable {
     throw new IllegalStateException("Type [" + type + "] not supported for @DbArray");
   }
 
+  @Override
+  public ScalarTypeArrayList getIdInArrayType(Class<?> idType) {
+
+    if (arrayTypeFactory == null) {
+      return null;
+    }
+    // only types that bind the same as their id column irrespective of platform mapping
+    if (idType.equals(Long.class) || idType.equals(long.class)) {
+      return (ScalarTypeArrayList) arrayTypeFactory.typeFor(Long.class);
+    }
+    if (idType.equals(Integer.class) || idType.equals(int.class)) {
+      return (ScalarTypeArrayList) arrayTypeFactory.typeFor(Integer.class);
+    }
+    if (idType.equals(String.class)) {
+      return (ScalarTypeArrayList) arrayTypeFactory.typeFor(String.class);
+    }
+    return null;
+  }
+
   @Override
   public ScalarType<?> getJsonScalarType(Class<?> type, int dbType, int dbLength, Type genericType) {
 
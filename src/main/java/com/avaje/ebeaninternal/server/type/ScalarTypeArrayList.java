@@ -56,7 +56,7 @@ public class ScalarTypeArrayList extends ScalarTypeJsonCollection<List> {
     }
   }
 
-  private final String arrayType;
+  protected final String arrayType;
 
   private final ArrayElementConverter converter;
 
@@ -78,6 +78,13 @@ public class ScalarTypeArrayList extends ScalarTypeJsonCollection<List> {
     return arrayType + "[]";
   }
 
+  /**
+   * Return the SQL for an IN expression that binds all the values as a single ARRAY.
+   */
+  public String getInArrayExpr() {
+    return " = any(?) ";
+  }
+
   @SuppressWarnings("unchecked")
   private List fromArray(Object[] array1) {
     List list = new ArrayList();
@@ -56,6 +56,11 @@ class ScalarTypeArrayListH2 extends ScalarTypeArrayList {
     return "array";
   }
 
+  @Override
+  public String getInArrayExpr() {
+    return " in (select * from table(x " + arrayType + " = ?)) ";
+  }
+
   @Override
   public void bind(DataBind bind, List value) throws SQLException {
     if (value == null) {
@@ -78,6 +78,15 @@ public interface TypeManager {
    */
   ScalarType<?> getArrayScalarType(Class<?> type, DbArray dbArray, Type genericType);
 
+  /**
+   * Return the DB ARRAY type that can bind a list of id values of the given type.
+   * <p>
+   * Returns null if the platform does not support binding an ARRAY for IN expressions
+   * or the id type is not supported.
+   * </p>
+   */
+  ScalarTypeArrayList getIdInArrayType(Class<?> idType);
+
   /**
    * Return the ScalarType used to handle HSTORE (Map<String,String>).
    */
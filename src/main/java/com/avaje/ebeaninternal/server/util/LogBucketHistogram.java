@@ -0,0 +1,189 @@
+package com.avaje.ebeaninternal.server.util;
+
+import com.avaje.ebean.meta.MetaHistogram;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free histogram of non negative values using log scaled buckets.
+ * <p>
+ * Each power of 2 range is split into 2^precision sub buckets so a value is reported with
+ * a relative error of at most 1/2^precision (12.5% for precision 3). Recording a value is
+ * an index calculation and an atomic increment which is cheap enough to do per execution.
+ * </p>
+ * <p>
+ * Values of 2^41 and above (about 25 days in microseconds) are counted in the last bucket.
+ * </p>
+ */
+public final class LogBucketHistogram {
+
+  private static final int MAX_EXPONENT = 41;
+
+  private final int precision;
+
+  private final int subBucketMask;
+
+  private final AtomicLongArray counts;
+
+  private final LongAdder total = new LongAdder();
+
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Create with the given precision (0 to 6) which is the number of bits of each value kept.
+   */
+  public LogBucketHistogram(int precision) {
+    this.precision = Math.max(0, Math.min(precision, 6));
+    this.subBucketMask = (1 << this.precision) - 1;
+    this.counts = new AtomicLongArray((MAX_EXPONENT - this.precision + 1) << this.precision);
+  }
+
+  /**
+   * Record a value.
+   */
+  public void add(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+    counts.incrementAndGet(index(value));
+    total.add(value);
+    max.accumulate(value);
+  }
+
+  /**
+   * Reset the histogram.
+   */
+  public void reset() {
+    for (int i = 0; i < counts.length(); i++) {
+      counts.set(i, 0);
+    }
+    total.reset();
+    max.reset();
+  }
+
+  /**
+   * Return a snapshot of the histogram potentially resetting it.
+   */
+  public Snapshot snapshot(boolean reset) {
+
+    // not guaranteed to be consistent with concurrent recording but near enough
+    long[] snap = new long[counts.length()];
+    long count = 0;
+    for (int i = 0; i < snap.length; i++) {
+      long bucketCount = reset ? counts.getAndSet(i, 0) : counts.get(i);
+      snap[i] = bucketCount;
+      count += bucketCount;
+    }
+    long sum = reset ? total.sumThenReset() : total.sum();
+    long maxValue = reset ? max.getThenReset() : max.get();
+    return new Snapshot(this, snap, count, sum, maxValue);
+  }
+
+  /**
+   * Return the bucket index for the value.
+   */
+  int index(long value) {
+    if (value <= subBucketMask) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    if (exponent >= MAX_EXPONENT) {
+      return counts.length() - 1;
+    }
+    int shift = exponent - precision;
+    int subBucket = (int) (value >>> shift) & subBucketMask;
+    return ((shift + 1) << precision) + subBucket;
+  }
+
+  /**
+   * Return the largest value counted in the bucket.
+   */
+  long upperBound(int index) {
+    if (index <= subBucketMask) {
+      return index;
+    }
+    int shift = (index >>> precision) - 1;
+    long lower = ((long) (subBucketMask + 1) + (index & subBucketMask)) << shift;
+    return lower + (1L << shift) - 1;
+  }
+
+  /**
+   * Snapshot of the histogram.
+   */
+  public static final class Snapshot implements MetaHistogram {
+
+    private final LogBucketHistogram histogram;
+    private final long[] counts;
+    private final long count;
+    private final long total;
+    private final long max;
+
+    Snapshot(LogBucketHistogram histogram, long[] counts, long count, long total, long max) {
+      this.histogram = histogram;
+      this.counts = counts;
+      this.count = count;
+      this.total = total;
+      this.max = max;
+    }
+
+    public String toString() {
+      return "count:" + count + " mean:" + getMean() + " p50:" + getP50() + " p95:" + getP95() + " p99:" + getP99() + " max:" + max;
+    }
+
+    @Override
+    public long getCount() {
+      return count;
+    }
+
+    @Override
+    public long getTotal() {
+      return total;
+    }
+
+    @Override
+    public long getMax() {
+      return max;
+    }
+
+    @Override
+    public long getMean() {
+      return count < 1 ? 0 : total / count;
+    }
+
+    @Override
+    public long getValueAtPercentile(double percentile) {
+      if (count == 0) {
+        return 0;
+      }
+      long target = (long) Math.ceil(Math.min(percentile, 100d) / 100d * count);
+      if (target < 1) {
+        target = 1;
+      }
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= target) {
+          return Math.min(histogram.upperBound(i), max);
+        }
+      }
+      return max;
+    }
+
+    @Override
+    public long getP50() {
+      return getValueAtPercentile(50d);
+    }
+
+    @Override
+    public long getP95() {
+      return getValueAtPercentile(95d);
+    }
+
+    @Override
+    public long getP99() {
+      return getValueAtPercentile(99d);
+    }
+  }
+}
@@ -0,0 +1,214 @@
+package com.avaje.ebean.bean;
+
+import org.junit.Test;
+
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EntityBeanIntercept_BitsTest {
+
+  /**
+   * Non enhanced bean with a given number of properties.
+   */
+  static class WideBean implements EntityBean {
+
+    final String[] names;
+    final Object[] values;
+    final EntityBeanIntercept intercept;
+
+    WideBean(int propertyCount) {
+      names = new String[propertyCount];
+      for (int i = 0; i < propertyCount; i++) {
+        names[i] = "p" + i;
+      }
+      values = new Object[propertyCount];
+      intercept = new EntityBeanIntercept(this);
+    }
+
+    @Override
+    public String[] _ebean_getPropertyNames() {
+      return names;
+    }
+
+    @Override
+    public String _ebean_getPropertyName(int pos) {
+      return names[pos];
+    }
+
+    @Override
+    public String _ebean_getMarker() {
+      return "WideBean";
+    }
+
+    @Override
+    public Object _ebean_newInstance() {
+      return new WideBean(names.length);
+    }
+
+    @Override
+    public void addPropertyChangeListener(PropertyChangeListener listener) {
+    }
+
+    @Override
+    public void removePropertyChangeListener(PropertyChangeListener listener) {
+    }
+
+    @Override
+    public void _ebean_setEmbeddedLoaded() {
+    }
+
+    @Override
+    public boolean _ebean_isEmbeddedNewOrDirty() {
+      return false;
+    }
+
+    @Override
+    public EntityBeanIntercept _ebean_getIntercept() {
+      return intercept;
+    }
+
+    @Override
+    public EntityBeanIntercept _ebean_intercept() {
+      return intercept;
+    }
+
+    @Override
+    public void _ebean_setField(int fieldIndex, Object value) {
+      values[fieldIndex] = value;
+    }
+
+    @Override
+    public void _ebean_setFieldIntercept(int fieldIndex, Object value) {
+      values[fieldIndex] = value;
+    }
+
+    @Override
+    public Object _ebean_getField(int fieldIndex) {
+      return values[fieldIndex];
+    }
+
+    @Override
+    public Object _ebean_getFieldIntercept(int fieldIndex) {
+      return values[fieldIndex];
+    }
+  }
+
+  private static List<Integer> loaded(EntityBeanIntercept ebi) {
+    List<Integer> list = new ArrayList<>();
+    for (int i = ebi.nextLoadedProperty(0); i > -1; i = ebi.nextLoadedProperty(i + 1)) {
+      list.add(i);
+    }
+    return list;
+  }
+
+  private static List<Integer> dirty(EntityBeanIntercept ebi) {
+    List<Integer> list = new ArrayList<>();
+    for (int i = ebi.nextDirtyProperty(0); i > -1; i = ebi.nextDirtyProperty(i + 1)) {
+      list.add(i);
+    }
+    return list;
+  }
+
+  @Test
+  public void loaded_acrossWords() {
+
+    EntityBeanIntercept ebi = new WideBean(130).intercept;
+    assertThat(loaded(ebi)).isEmpty();
+
+    ebi.setLoadedProperty(0);
+    ebi.setLoadedProperty(63);
+    ebi.setLoadedProperty(64);
+    ebi.setLoadedProperty(129);
+
+    assertThat(loaded(ebi)).containsExactly(0, 63, 64, 129);
+    assertThat(ebi.isLoadedProperty(64)).isTrue();
+    assertThat(ebi.isLoadedProperty(65)).isFalse();
+    assertThat(ebi.getLoaded()).hasSize(130);
+    assertThat(ebi.getLoaded()[129]).isTrue();
+
+    ebi.setPropertyUnloaded(64);
+    assertThat(loaded(ebi)).containsExactly(0, 63, 129);
+    assertThat(ebi.getLoadedPropertyNames()).containsExactly("p0", "p63", "p129");
+  }
+
+  @Test
+  public void isPartial() {
+
+    isPartial(10);
+    isPartial(64);
+    isPartial(65);
+    isPartial(128);
+  }
+
+  private void isPartial(int propertyCount) {
+
+    EntityBeanIntercept ebi = new WideBean(propertyCount).intercept;
+    for (int i = 0; i < propertyCount - 1; i++) {
+      ebi.setLoadedProperty(i);
+    }
+    assertThat(ebi.isPartial()).isTrue();
+
+    ebi.setLoadedProperty(propertyCount - 1);
+    assertThat(ebi.isPartial()).isFalse();
+  }
+
+  @Test
+  public void hasIdOnly_and_setReference() {
+
+    EntityBeanIntercept ebi = new WideBean(70).intercept;
+    ebi.setLoadedProperty(0);
+    assertThat(ebi.hasIdOnly(0)).isTrue();
+
+    ebi.setLoadedProperty(66);
+    assertThat(ebi.hasIdOnly(0)).isFalse();
+
+    ebi.setReference(0);
+    assertThat(ebi.isReference()).isTrue();
+    assertThat(loaded(ebi)).containsExactly(0);
+    assertThat(ebi.hasIdOnly(0)).isTrue();
+  }
+
+  @Test
+  public void changed_acrossWords() {
+
+    EntityBeanIntercept ebi = new WideBean(130).intercept;
+    assertThat(ebi.getChanged()).isNull();
+    assertThat(dirty(ebi)).isEmpty();
+
+    ebi.markPropertyAsChanged(3);
+    ebi.markPropertyAsChanged(100);
+
+    assertThat(ebi.isDirty()).isTrue();
+    assertThat(ebi.isChangedProperty(100)).isTrue();
+    assertThat(ebi.isDirtyProperty(99)).isFalse();
+    assertThat(dirty(ebi)).containsExactly(3, 100);
+    assertThat(ebi.getDirtyPropertyNames()).containsExactly("p3", "p100");
+    assertThat(ebi.getDirtyPropertyBits()).containsExactly(1L << 3, 1L << 36, 0L);
+
+    boolean[] dirtyProperties = ebi.getDirtyProperties();
+    assertThat(dirtyProperties).hasSize(130);
+    assertThat(dirtyProperties[3]).isTrue();
+    assertThat(dirtyProperties[100]).isTrue();
+    assertThat(dirtyProperties[4]).isFalse();
+
+    ebi.setLoaded();
+    assertThat(ebi.getChanged()).isNull();
+    assertThat(dirty(ebi)).isEmpty();
+    assertThat(ebi.getDirtyPropertyHash()).isEqualTo(37);
+  }
+
+  @Test
+  public void setNewBeanForUpdate_loadedBecomeChanged() {
+
+    EntityBeanIntercept ebi = new WideBean(70).intercept;
+    ebi.setLoadedProperty(1);
+    ebi.setLoadedProperty(68);
+
+    ebi.setNewBeanForUpdate();
+    assertThat(dirty(ebi)).containsExactly(1, 68);
+    assertThat(ebi.getDirtyPropertyHash()).isEqualTo(ebi.getLoadedPropertyHash());
+  }
+}
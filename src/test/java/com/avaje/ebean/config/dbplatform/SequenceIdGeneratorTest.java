@@ -0,0 +1,151 @@
+package com.avaje.ebean.config.dbplatform;
+
+import com.avaje.ebean.BackgroundExecutor;
+import com.avaje.ebean.Transaction;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SequenceIdGeneratorTest {
+
+  /**
+   * Executes the background tasks immediately.
+   */
+  static class SyncExecutor implements BackgroundExecutor {
+
+    @Override
+    public void execute(Runnable r) {
+      r.run();
+    }
+
+    @Override
+    public void executePeriodically(Runnable r, long delay, TimeUnit unit) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  /**
+   * Generator that does not hit a database.
+   */
+  static class TestSequenceIdGenerator extends SequenceIdGenerator {
+
+    final AtomicLong sequence = new AtomicLong();
+
+    int loads;
+
+    TestSequenceIdGenerator(int batchSize) {
+      super(new SyncExecutor(), null, "test_seq", batchSize);
+    }
+
+    @Override
+    public String getSql(int batchSize) {
+      return null;
+    }
+
+    @Override
+    protected synchronized long[] loadIds(int loadSize, Transaction t) {
+      loads++;
+      long[] ids = new long[loadSize];
+      for (int i = 0; i < loadSize; i++) {
+        ids[i] = sequence.incrementAndGet();
+      }
+      return ids;
+    }
+  }
+
+  @Test
+  public void nextId_inOrder() {
+
+    TestSequenceIdGenerator generator = new TestSequenceIdGenerator(20);
+    for (long i = 1; i <= 100; i++) {
+      assertThat(generator.nextId(null)).isEqualTo(i);
+    }
+  }
+
+  @Test
+  public void nextId_adaptsLoadSize_when_consumedQuickly() {
+
+    TestSequenceIdGenerator generator = new TestSequenceIdGenerator(20);
+    for (int i = 0; i < 10000; i++) {
+      generator.nextId(null);
+    }
+    assertThat(generator.getLoadSize()).isGreaterThan(20);
+    assertThat(generator.getLoadSize()).isLessThanOrEqualTo(5000);
+    // far fewer loads than 10000 / 20
+    assertThat(generator.loads).isLessThan(100);
+  }
+
+  @Test
+  public void preAllocateIds_when_large() {
+
+    TestSequenceIdGenerator generator = new TestSequenceIdGenerator(20);
+    generator.preAllocateIds(12000);
+    assertThat(generator.getAvailable()).isEqualTo(12000);
+    assertThat(generator.loads).isEqualTo(3);
+
+    // only the shortfall is loaded
+    generator.preAllocateIds(12500);
+    assertThat(generator.getAvailable()).isEqualTo(12500);
+  }
+
+  @Test
+  public void preAllocateIds_when_maxBatchSizeSmall() {
+
+    TestSequenceIdGenerator generator = new TestSequenceIdGenerator(20) {
+      @Override
+      protected int getMaxBatchSize() {
+        return 100;
+      }
+    };
+    generator.preAllocateIds(1000);
+    assertThat(generator.getAvailable()).isEqualTo(1000);
+    assertThat(generator.loads).isEqualTo(10);
+  }
+
+  @Test
+  public void nextId_when_concurrent_expect_unique() throws InterruptedException {
+
+    final TestSequenceIdGenerator generator = new TestSequenceIdGenerator(50);
+    final Set<Object> ids = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    int threads = 8;
+    final int perThread = 5000;
+    final CountDownLatch latch = new CountDownLatch(threads);
+    for (int t = 0; t < threads; t++) {
+      new Thread(() -> {
+        for (int i = 0; i < perThread; i++) {
+          ids.add(generator.nextId(null));
+        }
+        latch.countDown();
+      }).start();
+    }
+    latch.await(30, TimeUnit.SECONDS);
+    assertThat(ids.size()).isEqualTo(threads * perThread);
+  }
+
+  @Test
+  public void pool_pollAndAdd() {
+
+    SequenceIdPool pool = new SequenceIdPool();
+    assertThat(pool.poll()).isNull();
+    pool.add(new long[]{1, 2, 3}, 1);
+    pool.add(new long[]{4}, 0);
+    assertThat(pool.available()).isEqualTo(3);
+
+    Set<Long> taken = new HashSet<>();
+    Long id;
+    while ((id = pool.poll()) != null) {
+      taken.add(id);
+    }
+    assertThat(taken).containsOnly(2L, 3L, 4L);
+    assertThat(pool.available()).isEqualTo(0);
+  }
+}
@@ -26,6 +26,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 
 /**
@@ -195,6 +196,16 @@ public class TDSpiEbeanServer implements SpiEbeanServer {
     return 0;
   }
 
+  @Override
+  public <T, D> void findDtoEach(Query<T> query, Class<D> dtoType, QueryEachWhileConsumer<D> consumer, Transaction t) {
+
+  }
+
+  @Override
+  public <D> void findDtoEach(SqlQuery query, Class<D> dtoType, QueryEachWhileConsumer<D> consumer, Transaction t) {
+
+  }
+
   @Override
   public void loadBean(LoadBeanRequest loadRequest) {
 
@@ -470,6 +481,11 @@ public class TDSpiEbeanServer implements SpiEbeanServer {
     return null;
   }
 
+  @Override
+  public <T> Stream<T> findStream(Query<T> query, Transaction transaction) {
+    return null;
+  }
+
   @Override
   public <T> void findEach(Query<T> query, QueryEachConsumer<T> consumer, Transaction transaction) {
 
@@ -505,6 +521,11 @@ public class TDSpiEbeanServer implements SpiEbeanServer {
     return null;
   }
 
+  @Override
+  public <T> KeysetPagedList<T> findKeysetPagedList(Query<T> query, String cursor, Transaction transaction) {
+    return null;
+  }
+
   @Override
   public <T> Set<T> findSet(Query<T> query, Transaction transaction) {
     return null;
@@ -538,6 +559,11 @@ public class TDSpiEbeanServer implements SpiEbeanServer {
   public void findEachWhile(SqlQuery query, QueryEachWhileConsumer<SqlRow> consumer, Transaction transaction) {
   }
 
+  @Override
+  public Stream<SqlRow> findStream(SqlQuery query, Transaction transaction) {
+    return null;
+  }
+
   @Override
   public SqlRow findUnique(SqlQuery query, Transaction transaction) {
     return null;
@@ -15,12 +15,16 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 
 
@@ -120,6 +124,110 @@ public class CachedBeanDataSerializeTest extends BaseTestCase {
     assertTrue(Arrays.equals(loadBean.getContent(), bean.getContent()));
   }
 
+  @Test
+  public void positional_smallerThanMap() throws IOException, ClassNotFoundException {
+
+    ResetBasicData.reset();
+
+    Customer customer = Ebean.find(Customer.class).orderBy().asc("id").setMaxRows(1).findList().get(0);
+
+    BeanDescriptor<Customer> desc = getBeanDescriptor(Customer.class);
+    CachedBeanData positional = CachedBeanDataFromBean.extract(desc, (EntityBean) customer);
+    CachedBeanData map = new CachedBeanData(null, positional.getDiscValue(), positional.getData(), positional.getVersion());
+
+    ByteArrayOutputStream positionalOs = new ByteArrayOutputStream();
+    writeToStream(positional, positionalOs);
+    ByteArrayOutputStream mapOs = new ByteArrayOutputStream();
+    writeToStream(map, mapOs);
+
+    assertNotNull(desc.getCacheBeanSchema());
+    assertTrue(positionalOs.size() < mapOs.size());
+    assertEquals(positional.getData(), readFromStream(positionalOs.toByteArray()).getData());
+    assertEquals(map.getData(), readFromStream(mapOs.toByteArray()).getData());
+  }
+
+  @Test
+  public void schema_release_removesFromRegistry() {
+
+    BeanDescriptor<Customer> desc = getBeanDescriptor(Customer.class);
+    CachedBeanSchema serverSchema = desc.getCacheBeanSchema();
+    assertNotNull(serverSchema);
+
+    long hash = serverSchema.getHash();
+    int registered = CachedBeanSchema.registeredCount(hash);
+
+    // another server with the same bean type registers its own schema
+    CachedBeanSchema otherSchema = CachedBeanSchema.of(desc);
+    assertNotSame(serverSchema, otherSchema);
+    assertEquals(registered + 1, CachedBeanSchema.registeredCount(hash));
+
+    otherSchema.release();
+    assertEquals(registered, CachedBeanSchema.registeredCount(hash));
+    assertNotNull(CachedBeanSchema.forHash(hash));
+  }
+
+  @Test
+  public void positional_staleLayout() throws IOException, ClassNotFoundException {
+
+    TBytesOnly bean = new TBytesOnly();
+    bean.setId(43);
+    bean.setContent("stale".getBytes("UTF-8"));
+
+    BeanDescriptor<TBytesOnly> desc = getBeanDescriptor(TBytesOnly.class);
+    CachedBeanData extract = CachedBeanDataFromBean.extract(desc, (EntityBean) bean);
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    writeToStream(extract, os);
+    byte[] bytes = os.toByteArray();
+
+    // change the schema hash as if written with a different layout of the bean type
+    byte[] hash = ByteBuffer.allocate(8).putLong(desc.getCacheBeanSchema().getHash()).array();
+    int pos = indexOf(bytes, hash);
+    assertTrue(pos > 0);
+    bytes[pos + 7] ^= 1;
+
+    CachedBeanData read = readFromStream(bytes);
+    assertTrue(read.isStale());
+    assertFalse(read.isLoaded("id"));
+    assertFalse(extract.isStale());
+  }
+
+  @Test
+  public void earlierFormat_readAsStale() throws IOException, ClassNotFoundException {
+
+    // written in the layout of earlier versions (no marker)
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    ObjectOutputStream oos = new ObjectOutputStream(os);
+    oos.writeLong(3);
+    oos.writeLong(System.currentTimeMillis());
+    oos.writeBoolean(false);
+    oos.writeInt(1);
+    oos.writeUTF("name");
+    oos.writeObject("rob");
+    oos.flush();
+    oos.close();
+
+    ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(os.toByteArray()));
+    CachedBeanData read = new CachedBeanData();
+    read.readExternal(ois);
+
+    assertTrue(read.isStale());
+    assertFalse(read.isLoaded("name"));
+  }
+
+  private static int indexOf(byte[] bytes, byte[] match) {
+    for (int i = 0; i <= bytes.length - match.length; i++) {
+      int j = 0;
+      while (j < match.length && bytes[i + j] == match[j]) {
+        j++;
+      }
+      if (j == match.length) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
   private CachedBeanData readFromStream(byte[] bytes) throws IOException, ClassNotFoundException {
 
     ByteArrayInputStream is = new ByteArrayInputStream(bytes);
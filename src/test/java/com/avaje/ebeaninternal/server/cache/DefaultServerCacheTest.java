@@ -3,6 +3,11 @@ package com.avaje.ebeaninternal.server.cache;
 import com.avaje.ebean.cache.ServerCacheOptions;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import static org.junit.Assert.*;
 
 public class DefaultServerCacheTest {
@@ -85,4 +90,26 @@ public class DefaultServerCacheTest {
     assertEquals(cache.trimFrequency, 42);
   }
 
-}
\ No newline at end of file
+  @Test
+  public void getAll_putAll_removeAll() throws Exception {
+
+    DefaultServerCache cache = createCache();
+
+    Map<Object, Object> values = new LinkedHashMap<>();
+    values.put("A", "a");
+    values.put("B", "b");
+    cache.putAll(values);
+    assertEquals(2, cache.size());
+
+    Map<Object, Object> found = cache.getAll(new HashSet<>(Arrays.asList("A", "B", "C")));
+    assertEquals(2, found.size());
+    assertEquals("a", found.get("A"));
+    assertEquals("b", found.get("B"));
+    assertFalse(found.containsKey("C"));
+
+    cache.removeAll(new HashSet<>(Arrays.asList("A", "C")));
+    assertEquals(1, cache.size());
+    assertNull(cache.get("A"));
+  }
+
+}
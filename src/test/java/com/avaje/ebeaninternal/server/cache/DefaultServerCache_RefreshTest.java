@@ -0,0 +1,145 @@
+package com.avaje.ebeaninternal.server.cache;
+
+import com.avaje.ebean.BackgroundExecutor;
+import com.avaje.ebean.cache.ServerCacheOptions;
+import com.avaje.ebean.cache.ServerCacheStatistics;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DefaultServerCache_RefreshTest {
+
+  /**
+   * Holds the background tasks until they are run by the test.
+   */
+  static class QueuedExecutor implements BackgroundExecutor {
+
+    final List<Runnable> tasks = new ArrayList<>();
+
+    @Override
+    public void execute(Runnable r) {
+      tasks.add(r);
+    }
+
+    @Override
+    public void executePeriodically(Runnable r, long delay, TimeUnit unit) {
+      throw new UnsupportedOperationException();
+    }
+
+    void runAll() {
+      List<Runnable> run = new ArrayList<>(tasks);
+      tasks.clear();
+      run.forEach(Runnable::run);
+    }
+  }
+
+  private final QueuedExecutor executor = new QueuedExecutor();
+
+  private final AtomicInteger loads = new AtomicInteger();
+
+  private DefaultServerCache createCache(int refreshAheadSecs, boolean staleWhileRevalidate) {
+    return createCache(1, refreshAheadSecs, staleWhileRevalidate);
+  }
+
+  private DefaultServerCache createCache(int maxSecsToLive, int refreshAheadSecs, boolean staleWhileRevalidate) {
+
+    ServerCacheOptions cacheOptions = new ServerCacheOptions();
+    cacheOptions.setMaxSize(100);
+    cacheOptions.setMaxSecsToLive(maxSecsToLive);
+    cacheOptions.setTrimFrequency(1);
+    cacheOptions.setRefreshAheadSecs(refreshAheadSecs);
+    cacheOptions.setStaleWhileRevalidate(staleWhileRevalidate);
+
+    DefaultServerCache cache = new DefaultServerCache("foo", cacheOptions);
+    cache.refreshWith(executor);
+    cache.setLoader(key -> cache.put(key, "reloaded-" + loads.incrementAndGet()));
+    return cache;
+  }
+
+  @Test
+  public void get_nearingTimeToLive_reloadInBackground() throws InterruptedException {
+
+    DefaultServerCache cache = createCache(2, 1, false);
+    cache.put("A", "initial");
+
+    assertThat(cache.get("A")).isEqualTo("initial");
+    assertThat(executor.tasks).isEmpty();
+
+    Thread.sleep(1100);
+    // within the refresh ahead window of the 2 second time to live
+    assertThat(cache.get("A")).isEqualTo("initial");
+    assertThat(cache.get("A")).isEqualTo("initial");
+    assertThat(executor.tasks).hasSize(1);
+
+    executor.runAll();
+    assertThat(cache.get("A")).isEqualTo("reloaded-1");
+    assertThat(cache.getStatistics(false).getRefreshCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void get_expired_withoutStale_miss() throws InterruptedException {
+
+    DefaultServerCache cache = createCache(0, false);
+    cache.put("A", "initial");
+
+    Thread.sleep(1100);
+    assertThat(cache.get("A")).isNull();
+    assertThat(executor.tasks).isEmpty();
+  }
+
+  @Test
+  public void get_expired_staleWhileRevalidate() throws InterruptedException {
+
+    DefaultServerCache cache = createCache(0, true);
+    cache.put("A", "initial");
+
+    Thread.sleep(1100);
+    // served stale while the reload is in progress
+    assertThat(cache.get("A")).isEqualTo("initial");
+    assertThat(cache.get("A")).isEqualTo("initial");
+    assertThat(executor.tasks).hasSize(1);
+
+    executor.runAll();
+    assertThat(cache.get("A")).isEqualTo("reloaded-1");
+
+    ServerCacheStatistics statistics = cache.getStatistics(false);
+    assertThat(statistics.getStaleHitCount()).isEqualTo(2);
+    assertThat(statistics.getRefreshCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void get_expired_reloadDidNotReplace_miss() throws InterruptedException {
+
+    DefaultServerCache cache = createCache(0, true);
+    cache.setLoader(key -> loads.incrementAndGet());
+    cache.put("A", "initial");
+
+    Thread.sleep(1100);
+    assertThat(cache.get("A")).isEqualTo("initial");
+    executor.runAll();
+
+    // the stale entry is only served while the reload is in progress
+    assertThat(cache.get("A")).isNull();
+    assertThat(loads.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void runEviction_keepsRecentlyReadStaleEntry() throws InterruptedException {
+
+    DefaultServerCache cache = createCache(0, true);
+    cache.put("A", "initial");
+    cache.put("B", "initial");
+
+    Thread.sleep(1100);
+    assertThat(cache.get("A")).isEqualTo("initial");
+
+    cache.runEviction();
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.get("A")).isEqualTo("initial");
+  }
+}
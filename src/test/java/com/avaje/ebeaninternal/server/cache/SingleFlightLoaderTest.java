@@ -0,0 +1,126 @@
+package com.avaje.ebeaninternal.server.cache;
+
+import com.avaje.ebean.cache.ServerCacheOptions;
+import com.avaje.ebean.cache.ServerCacheStatistics;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SingleFlightLoaderTest {
+
+  private DefaultServerCache createCache() {
+    ServerCacheOptions cacheOptions = new ServerCacheOptions();
+    cacheOptions.setMaxSize(100);
+    cacheOptions.setMaxIdleSecs(60);
+    cacheOptions.setMaxSecsToLive(600);
+    return new DefaultServerCache("foo", cacheOptions);
+  }
+
+  @Test
+  public void load_concurrentMisses_loadOnce() throws InterruptedException {
+
+    DefaultServerCache cache = createCache();
+    SingleFlightLoader loader = new SingleFlightLoader(cache, 5000);
+
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    List<String> results = new ArrayList<>();
+    Thread first = new Thread(() -> {
+      String value = loader.load("A", () -> {
+        loads.incrementAndGet();
+        loading.countDown();
+        await(release);
+        cache.put("A", "loaded");
+        return "loaded";
+      }, () -> (String) cache.get("A"));
+      synchronized (results) {
+        results.add(value);
+      }
+    });
+    first.start();
+    loading.await();
+
+    List<Thread> waiters = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      Thread waiter = new Thread(() -> {
+        String value = loader.load("A", () -> {
+          loads.incrementAndGet();
+          return "other";
+        }, () -> (String) cache.get("A"));
+        synchronized (results) {
+          results.add(value);
+        }
+      });
+      waiters.add(waiter);
+      waiter.start();
+    }
+
+    // give the waiters time to join the load in progress
+    Thread.sleep(100);
+    release.countDown();
+    first.join();
+    for (Thread waiter : waiters) {
+      waiter.join();
+    }
+
+    assertThat(loads.get()).isEqualTo(1);
+    assertThat(results).hasSize(6).containsOnly("loaded");
+
+    ServerCacheStatistics statistics = cache.getStatistics(true);
+    assertThat(statistics.getCoalescedCount()).isEqualTo(5);
+    assertThat(statistics.getCoalescedTimeoutCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void load_waitTimeout_fallbackToLoad() throws InterruptedException {
+
+    DefaultServerCache cache = createCache();
+    SingleFlightLoader loader = new SingleFlightLoader(cache, 20);
+
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    Thread first = new Thread(() -> loader.load("A", () -> {
+      loading.countDown();
+      await(release);
+      return "slow";
+    }, () -> null));
+    first.start();
+    loading.await();
+
+    String value = loader.load("A", () -> "fallback", () -> null);
+    release.countDown();
+    first.join();
+
+    assertThat(value).isEqualTo("fallback");
+    ServerCacheStatistics statistics = cache.getStatistics(true);
+    assertThat(statistics.getCoalescedCount()).isEqualTo(1);
+    assertThat(statistics.getCoalescedTimeoutCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void load_afterCompletion_loadsAgain() {
+
+    DefaultServerCache cache = createCache();
+    SingleFlightLoader loader = new SingleFlightLoader(cache, 5000);
+
+    assertThat(loader.load("A", () -> "one", () -> null)).isEqualTo("one");
+    assertThat(loader.load("A", () -> "two", () -> null)).isEqualTo("two");
+    assertThat(cache.getStatistics(false).getCoalescedCount()).isEqualTo(0);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package com.avaje.ebeaninternal.server.cache;
+
+import com.avaje.ebean.cache.ServerCacheEviction;
+import com.avaje.ebean.cache.ServerCacheOptions;
+import com.avaje.ebean.cache.ServerCacheStatistics;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TinyLfuServerCacheTest {
+
+  private TinyLfuServerCache createCache(int maxSize) {
+
+    ServerCacheOptions cacheOptions = new ServerCacheOptions();
+    cacheOptions.setMaxSize(maxSize);
+    cacheOptions.setEviction(ServerCacheEviction.TINY_LFU);
+    return new TinyLfuServerCache("foo", cacheOptions);
+  }
+
+  @Test
+  public void factory_selectedByOptions() {
+
+    ServerCacheOptions cacheOptions = new ServerCacheOptions();
+    cacheOptions.setMaxSize(100);
+    DefaultServerCacheFactory factory = new DefaultServerCacheFactory();
+    assertTrue(factory.createCache(null, "a", cacheOptions) instanceof DefaultServerCache);
+    assertFalse(factory.createCache(null, "a", cacheOptions) instanceof TinyLfuServerCache);
+
+    cacheOptions.setEviction(ServerCacheEviction.TINY_LFU);
+    assertTrue(factory.createCache(null, "a", cacheOptions) instanceof TinyLfuServerCache);
+  }
+
+  @Test
+  public void getPutRemove() {
+
+    TinyLfuServerCache cache = createCache(100);
+    assertNull(cache.get("A"));
+    assertNull(cache.put("A", "a1"));
+    assertEquals("a1", cache.get("A"));
+    assertEquals("a1", cache.put("A", "a2"));
+    assertEquals("a2", cache.get("A"));
+    assertEquals(1, cache.size());
+
+    assertEquals("a2", cache.remove("A"));
+    assertNull(cache.get("A"));
+    assertEquals(0, cache.size());
+
+    ServerCacheStatistics statistics = cache.getStatistics(true);
+    assertEquals(1, statistics.getInsertCount());
+    assertEquals(1, statistics.getUpdateCount());
+    assertEquals(1, statistics.getRemoveCount());
+    assertEquals(2, statistics.getHitCount());
+    assertEquals(2, statistics.getMissCount());
+  }
+
+  @Test
+  public void size_boundedOnPut() {
+
+    TinyLfuServerCache cache = createCache(100);
+    for (int i = 0; i < 10000; i++) {
+      cache.put(i, i);
+      assertTrue(cache.size() <= 100);
+    }
+    assertEquals(100, cache.size());
+    assertEquals(9900, cache.getStatistics(false).getEvictByLRU());
+  }
+
+  @Test
+  public void hotEntries_surviveScan() {
+
+    TinyLfuServerCache cache = createCache(100);
+    for (int i = 0; i < 50; i++) {
+      cache.put("hot" + i, i);
+    }
+    for (int j = 0; j < 5; j++) {
+      for (int i = 0; i < 50; i++) {
+        cache.get("hot" + i);
+      }
+    }
+
+    // scan of many entries accessed once
+    for (int i = 0; i < 5000; i++) {
+      cache.put("scan" + i, i);
+    }
+
+    int hotHits = 0;
+    for (int i = 0; i < 50; i++) {
+      if (cache.get("hot" + i) != null) {
+        hotHits++;
+      }
+    }
+    assertTrue("hotHits:" + hotHits, hotHits > 45);
+    assertTrue(cache.size() <= 100);
+  }
+
+  @Test
+  public void clear() {
+
+    TinyLfuServerCache cache = createCache(10);
+    for (int i = 0; i < 20; i++) {
+      cache.put(i, i);
+      cache.get(i);
+    }
+    cache.clear();
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.frequency(1));
+
+    for (int i = 0; i < 20; i++) {
+      cache.put(i, i);
+    }
+    assertEquals(10, cache.size());
+  }
+
+  @Test
+  public void unbounded() {
+
+    TinyLfuServerCache cache = createCache(0);
+    for (int i = 0; i < 1000; i++) {
+      cache.put(i, i);
+      cache.get(i);
+    }
+    assertEquals(1000, cache.size());
+    cache.remove(1);
+    assertEquals(999, cache.size());
+  }
+
+  @Test
+  public void frequencySketch() {
+
+    FrequencySketch sketch = new FrequencySketch(100);
+    assertEquals(0, sketch.frequency("a"));
+    sketch.increment("a");
+    sketch.increment("a");
+    assertEquals(2, sketch.frequency("a"));
+    for (int i = 0; i < 20; i++) {
+      sketch.increment("a");
+    }
+    // 4 bit counters max out at 15
+    assertEquals(15, sketch.frequency("a"));
+  }
+}
@@ -0,0 +1,244 @@
+package com.avaje.ebeaninternal.server.cluster.socket;
+
+import com.avaje.ebean.BaseTestCase;
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.cache.ServerCache;
+import com.avaje.ebean.config.ContainerConfig;
+import com.avaje.ebeaninternal.api.SpiEbeanServer;
+import com.avaje.ebeaninternal.api.TransactionEventTable.TableIUD;
+import com.avaje.ebeaninternal.server.cluster.ClusterManager;
+import com.avaje.ebeaninternal.server.core.PersistRequest;
+import com.avaje.ebeaninternal.server.deploy.BeanDescriptor;
+import com.avaje.ebeaninternal.server.transaction.BeanPersistIds;
+import com.avaje.ebeaninternal.server.transaction.RemoteTransactionEvent;
+import com.avaje.tests.model.basic.Customer;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SocketClusterBroadcastTest extends BaseTestCase {
+
+  private final SpiEbeanServer server = (SpiEbeanServer) Ebean.getDefaultServer();
+
+  private final BeanDescriptor<Customer> desc = server.getBeanDescriptor(Customer.class);
+
+  private ClusterManager manager() {
+    ClusterManager manager = new ClusterManager(new ContainerConfig());
+    manager.registerServer(server);
+    return manager;
+  }
+
+  private RemoteTransactionEvent event(PersistRequest.Type type, int from, int to) {
+    BeanPersistIds ids = new BeanPersistIds(desc);
+    for (int i = from; i < to; i++) {
+      ids.addId(type, i);
+    }
+    RemoteTransactionEvent event = new RemoteTransactionEvent(server.getName());
+    event.addBeanPersistIds(ids);
+    event.addTableIUD(new TableIUD("O_CUSTOMER", false, true, false));
+    return event;
+  }
+
+  private RemoteTransactionEvent roundTrip(RemoteTransactionEvent event, int compressThreshold) throws IOException {
+    byte[] frame = SocketFrame.encode(event, compressThreshold);
+    byte[] content = SocketFrame.read(new DataInputStream(new ByteArrayInputStream(frame)));
+    return SocketFrame.decode(content, manager());
+  }
+
+  @Test
+  public void frame_roundTrip_moreThanOneChunkOfIds() throws IOException {
+
+    RemoteTransactionEvent decoded = roundTrip(event(PersistRequest.Type.UPDATE, 0, 250), 0);
+
+    // ids are written in chunks of 100
+    List<BeanPersistIds> beanPersistList = decoded.getBeanPersistList();
+    assertThat(beanPersistList).hasSize(3);
+    assertThat(beanPersistList.get(2).toString()).contains("updateIds:[200, ").endsWith("249]");
+    assertThat(decoded.getTableIUDList()).hasSize(1);
+    assertThat(decoded.getTableIUDList().get(0).isUpdate()).isTrue();
+  }
+
+  @Test
+  public void frame_roundTrip_compressed() throws IOException {
+
+    RemoteTransactionEvent event = event(PersistRequest.Type.DELETE, 0, 1000);
+
+    byte[] plain = SocketFrame.encode(event, 0);
+    byte[] compressed = SocketFrame.encode(event, 100);
+    assertThat(compressed.length).isLessThan(plain.length);
+
+    RemoteTransactionEvent decoded = roundTrip(event, 100);
+    assertThat(decoded.getBeanPersistList()).hasSize(10);
+    assertThat(decoded.getBeanPersistList().get(9).toString()).endsWith("999]");
+  }
+
+  @Test
+  public void merge_removesDuplicateIds() {
+
+    RemoteTransactionEvent merged = new RemoteTransactionEvent(server.getName());
+    merged.merge(event(PersistRequest.Type.UPDATE, 0, 10));
+    merged.merge(event(PersistRequest.Type.UPDATE, 5, 15));
+    merged.merge(event(PersistRequest.Type.DELETE, 12, 13));
+
+    // 20 update ids, 5 duplicates and 1 that is also deleted
+    assertThat(merged.removeDuplicateIds()).isEqualTo(6);
+    assertThat(merged.getBeanPersistList()).hasSize(1);
+    assertThat(merged.getTableIUDList()).hasSize(1);
+
+    String ids = merged.getBeanPersistList().get(0).toString();
+    assertThat(ids).contains("updateIds:[0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 13, 14]");
+    assertThat(ids).contains("deleteIds:[12]");
+  }
+
+  @Test
+  public void broadcast_coalescedIntoFrame() throws Exception {
+
+    InetSocketAddress address0 = new InetSocketAddress("127.0.0.1", freePort());
+    InetSocketAddress address1 = new InetSocketAddress("127.0.0.1", freePort());
+
+    SocketClusterBroadcast member0 = new SocketClusterBroadcast(manager(), config(address0, address0, address1));
+    SocketClusterBroadcast member1 = new SocketClusterBroadcast(manager(), config(address1, address0, address1));
+    member0.startup();
+    member1.startup();
+    try {
+      for (int i = 0; i < 50; i++) {
+        member0.broadcast(event(PersistRequest.Type.UPDATE, i % 5, i % 5 + 1));
+      }
+
+      long until = System.currentTimeMillis() + 5000;
+      while (member1.getFramesReceived() == 0 && System.currentTimeMillis() < until) {
+        Thread.sleep(20);
+      }
+
+      assertThat(member0.getEventsSent()).isEqualTo(50);
+      assertThat(member1.getFramesReceived()).isGreaterThan(0);
+      assertThat(member0.getFramesSent()).isLessThan(50);
+      assertThat(member0.getIdsRemoved()).isGreaterThan(0);
+
+    } finally {
+      member0.shutdown();
+      member1.shutdown();
+    }
+  }
+
+  @Test
+  public void broadcast_stalledMember_doesNotBlockOthers() throws Exception {
+
+    // accepts connections (via the backlog) but never reads
+    try (ServerSocket stalled = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"))) {
+
+      InetSocketAddress address0 = new InetSocketAddress("127.0.0.1", freePort());
+      InetSocketAddress address1 = new InetSocketAddress("127.0.0.1", freePort());
+      InetSocketAddress stalledAddress = new InetSocketAddress("127.0.0.1", stalled.getLocalPort());
+
+      SocketConfig config0 = config(address0, address0, stalledAddress, address1);
+      config0.setCoalesceMillis(0);
+      config0.setCompressThreshold(0);
+      config0.setSendQueueSize(5);
+
+      SocketClusterBroadcast member0 = new SocketClusterBroadcast(manager(), config0);
+      SocketClusterBroadcast member1 = new SocketClusterBroadcast(manager(), config(address1, address0, address1));
+      member0.startup();
+      member1.startup();
+      try {
+        // large frames to fill the socket buffers of the stalled member
+        for (int i = 0; i < 100; i++) {
+          member0.broadcast(event(PersistRequest.Type.UPDATE, i * 50_000, (i + 1) * 50_000));
+          Thread.sleep(20);
+        }
+
+        long until = System.currentTimeMillis() + 10000;
+        while ((member0.getFramesDropped() == 0 || member1.getFramesReceived() < member0.getFramesSent())
+          && System.currentTimeMillis() < until) {
+          Thread.sleep(20);
+        }
+
+        assertThat(member0.getFramesDropped()).isGreaterThan(0);
+        assertThat(member1.getFramesReceived()).isEqualTo(member0.getFramesSent());
+
+      } finally {
+        member0.shutdown();
+        member1.shutdown();
+      }
+    }
+  }
+
+  @Test
+  public void member_overflow_sendsClearAllOnReconnect() throws Exception {
+
+    // accepts connections (via the backlog) but does not read until the queue has overflowed
+    try (ServerSocket remote = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"))) {
+
+      SocketClusterMember member = new SocketClusterMember(new InetSocketAddress("127.0.0.1", remote.getLocalPort()), 1);
+      try {
+        byte[] frame = SocketFrame.encode(event(PersistRequest.Type.UPDATE, 0, 50_000), 0);
+        long until = System.currentTimeMillis() + 10000;
+        while (member.getFramesDropped() == 0 && System.currentTimeMillis() < until) {
+          member.offer(frame);
+          Thread.sleep(5);
+        }
+        assertThat(member.getFramesDropped()).isGreaterThan(0);
+
+        // the connection made after the overflow starts with a clear all frame
+        remote.setSoTimeout(5000);
+        boolean clearAll = false;
+        while (!clearAll) {
+          try (Socket connection = remote.accept()) {
+            byte[] content = SocketFrame.read(new DataInputStream(connection.getInputStream()));
+            clearAll = (content != null && SocketFrame.isClearAll(content));
+          } catch (SocketTimeoutException e) {
+            throw e;
+          } catch (IOException e) {
+            // the aborted connection holds a partial frame
+          }
+        }
+        assertThat(clearAll).isTrue();
+
+      } finally {
+        member.shutdown(0);
+      }
+    }
+  }
+
+  @Test
+  public void receive_clearAll_clearsCaches() throws IOException {
+
+    ServerCache beanCache = server.getServerCacheManager().getBeanCache(Customer.class);
+    beanCache.put("clearAllTest", "value");
+    assertThat(beanCache.size()).isGreaterThan(0);
+
+    InetSocketAddress address = new InetSocketAddress("127.0.0.1", freePort());
+    SocketClusterBroadcast broadcast = new SocketClusterBroadcast(manager(), config(address, address));
+
+    byte[] content = SocketFrame.read(new DataInputStream(new ByteArrayInputStream(SocketFrame.CLEAR_ALL)));
+    broadcast.receive(content);
+
+    assertThat(broadcast.getClearAllReceived()).isEqualTo(1);
+    assertThat(beanCache.size()).isEqualTo(0);
+  }
+
+  private SocketConfig config(InetSocketAddress local, InetSocketAddress... members) {
+    SocketConfig config = new SocketConfig();
+    config.setLocalAddress(local);
+    config.setMembers(Arrays.asList(members));
+    config.setCoalesceMillis(200);
+    return config;
+  }
+
+  private int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.avaje.ebeaninternal.server.expression;
 
+import com.avaje.ebeaninternal.api.HashQueryPlanBuilder;
 import org.jetbrains.annotations.NotNull;
 import org.junit.Test;
 
@@ -33,6 +34,32 @@ public class IdInExpressionTest {
     assertThat(exp(10).isSameByPlan(exp(10, 20))).isFalse();
   }
 
+  @Test
+  public void isSameByPlan_when_arrayBindingSizes() {
+
+    assertThat(exp(ids(200)).isSameByPlan(exp(ids(300)))).isTrue();
+    assertThat(exp(ids(199)).isSameByPlan(exp(ids(300)))).isFalse();
+  }
+
+  @Test
+  public void queryPlanHash_when_noDescriptor_expect_sizeIncluded() {
+
+    HashQueryPlanBuilder b1 = new HashQueryPlanBuilder();
+    exp(ids(200)).queryPlanHash(b1);
+    HashQueryPlanBuilder b2 = new HashQueryPlanBuilder();
+    exp(ids(300)).queryPlanHash(b2);
+
+    assertThat(b1.build()).isNotEqualTo(b2.build());
+  }
+
+  private Object[] ids(int count) {
+    Object[] ids = new Object[count];
+    for (int i = 0; i < count; i++) {
+      ids[i] = i;
+    }
+    return ids;
+  }
+
   @Test
   public void isSameByBind_when_sameBindValues() {
 
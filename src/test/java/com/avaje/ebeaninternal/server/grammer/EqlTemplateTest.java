@@ -0,0 +1,107 @@
+package com.avaje.ebeaninternal.server.grammer;
+
+import com.avaje.ebean.BaseTestCase;
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.Query;
+import com.avaje.ebeaninternal.api.SpiQuery;
+import com.avaje.ebeaninternal.server.core.DefaultServer;
+import com.avaje.tests.model.basic.Customer;
+import com.avaje.tests.model.basic.ResetBasicData;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EqlTemplateTest extends BaseTestCase {
+
+  private EqlTemplate<Customer> template(String eql) {
+    DefaultServer server = (DefaultServer) Ebean.getDefaultServer();
+    return EqlTemplate.parse(eql, server.createQuery(Customer.class));
+  }
+
+  @Test
+  public void createQuery_notShared() {
+
+    ResetBasicData.reset();
+
+    EqlTemplate<Customer> template = template("select (name) where name istartsWith 'Rob' order by name limit 10");
+
+    SpiQuery<Customer> query0 = template.createQuery();
+    SpiQuery<Customer> query1 = template.createQuery();
+    assertThat(query0).isNotSameAs(query1);
+
+    // the expressions (that hold bind state when prepared) are not shared
+    assertThat(query0.getWhereExpressions().getUnderlyingList().get(0))
+      .isNotSameAs(query1.getWhereExpressions().getUnderlyingList().get(0));
+
+    // modifying one query does not effect the other or the template
+    query0.where().gt("id", 1);
+    query0.findList();
+    query1.findList();
+
+    assertThat(query0.getGeneratedSql()).contains("t0.id > ?");
+    assertThat(query1.getGeneratedSql()).doesNotContain("t0.id > ?");
+    assertThat(query1.getGeneratedSql()).contains("order by t0.name");
+    assertThat(template.createQuery().getWhereExpressions().getUnderlyingList()).hasSize(1);
+  }
+
+  @Test
+  public void createQuery_namedParams() {
+
+    ResetBasicData.reset();
+
+    EqlTemplate<Customer> template = template("where name = :name");
+
+    Query<Customer> query0 = template.createQuery().setParameter("name", "Rob");
+    Query<Customer> query1 = template.createQuery().setParameter("name", "NotValid");
+
+    // the named parameters are not shared
+    List<Customer> list0 = query0.findList();
+    List<Customer> list1 = query1.findList();
+    assertThat(list0).isNotEmpty();
+    assertThat(list1).isEmpty();
+  }
+
+  @Test
+  public void serverCreateQuery_cached() {
+
+    ResetBasicData.reset();
+
+    String eql = "where name = :name order by id";
+    List<Customer> list0 = server().createQuery(Customer.class, eql).setParameter("name", "Rob").findList();
+    List<Customer> list1 = server().createQuery(Customer.class, eql).setParameter("name", "Rob").findList();
+    List<Customer> list2 = server().createQuery(Customer.class, eql).setParameter("name", "NotValid").findList();
+
+    assertThat(list0).isNotEmpty();
+    assertThat(list1).hasSameSizeAs(list0);
+    assertThat(list2).isEmpty();
+  }
+
+  @Test
+  public void eqlCache() {
+
+    EqlCache cache = new EqlCache(2);
+    EqlTemplate<Customer> template = template("where name = 'Rob'");
+
+    cache.put(Customer.class, "a", template);
+    cache.put(Customer.class, "b", template);
+    cache.put(Customer.class, "c", template);
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.isFull()).isTrue();
+    assertThat(cache.get(Customer.class, "a")).isSameAs(template);
+    assertThat(cache.get(Customer.class, "c")).isNull();
+
+    cache.clear();
+    assertThat(cache.get(Customer.class, "a")).isNull();
+  }
+
+  @Test
+  public void eqlCache_disabled() {
+
+    EqlCache cache = new EqlCache(0);
+    assertThat(cache.isFull()).isTrue();
+    cache.put(Customer.class, "a", template("where name = 'Rob'"));
+    assertThat(cache.get(Customer.class, "a")).isNull();
+  }
+}
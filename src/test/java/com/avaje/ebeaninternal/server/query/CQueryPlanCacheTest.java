@@ -0,0 +1,135 @@
+package com.avaje.ebeaninternal.server.query;
+
+import com.avaje.ebean.BaseTestCase;
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.meta.MetaQueryPlanCacheStatistic;
+import com.avaje.ebeaninternal.api.SpiEbeanServer;
+import com.avaje.ebeaninternal.server.deploy.BeanDescriptor;
+import com.avaje.tests.model.basic.Customer;
+import com.avaje.tests.model.basic.ResetBasicData;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CQueryPlanCacheTest extends BaseTestCase {
+
+  private List<CQueryPlan> queryPlans() {
+
+    ResetBasicData.reset();
+
+    Ebean.find(Customer.class).where().gt("id", 0).findList();
+    Ebean.find(Customer.class).where().lt("id", 1000).findList();
+    Ebean.find(Customer.class).where().eq("name", "Rob").findList();
+    Ebean.find(Customer.class).where().ne("name", "Rob").findList();
+    for (int i = 0; i < 3; i++) {
+      Ebean.find(Customer.class).where().ge("id", 1).findList();
+    }
+
+    SpiEbeanServer server = (SpiEbeanServer) Ebean.getServer(null);
+    BeanDescriptor<Customer> desc = server.getBeanDescriptor(Customer.class);
+    return new ArrayList<>(desc.getQueryPlanCache().values());
+  }
+
+  @Test
+  public void statistics_hitAndMiss() {
+
+    SpiEbeanServer server = (SpiEbeanServer) Ebean.getServer(null);
+    BeanDescriptor<Customer> desc = server.getBeanDescriptor(Customer.class);
+
+    Ebean.find(Customer.class).where().eq("name", "plan-cache-stats").findList();
+    desc.getQueryPlanCacheStatistic(true);
+
+    Ebean.find(Customer.class).where().eq("name", "plan-cache-stats").findList();
+    Ebean.find(Customer.class).where().eq("name", "plan-cache-stats").findList();
+
+    MetaQueryPlanCacheStatistic statistic = desc.getQueryPlanCacheStatistic(true);
+    assertThat(statistic.getBeanType()).isEqualTo(Customer.class);
+    assertThat(statistic.getHitCount()).isEqualTo(2);
+    assertThat(statistic.getMissCount()).isEqualTo(0);
+    assertThat(statistic.getSize()).isGreaterThan(0);
+
+    List<MetaQueryPlanCacheStatistic> all = server.getMetaInfoManager().collectQueryPlanCacheStatistics(false);
+    assertThat(all).isNotEmpty();
+  }
+
+  @Test
+  public void put_when_maxSizeExceeded_expect_coldestEvicted() {
+
+    List<CQueryPlan> plans = queryPlans();
+    assertThat(plans.size()).isGreaterThanOrEqualTo(5);
+
+    CQueryPlanCacheLimit limit = new CQueryPlanCacheLimit(4, 0);
+    CQueryPlanCache cache = new CQueryPlanCache(Customer.class, limit);
+
+    // the hottest plan is added first so is the oldest entry
+    CQueryPlan hottest = plans.get(0);
+    for (CQueryPlan plan : plans) {
+      if (plan.getLastQueryTime() > hottest.getLastQueryTime()) {
+        hottest = plan;
+      }
+    }
+    cache.put(hottest.getPlanKey(), hottest);
+
+    CQueryPlan last = null;
+    for (CQueryPlan plan : plans) {
+      if (plan != hottest) {
+        cache.put(plan.getPlanKey(), plan);
+        last = plan;
+      }
+      assertThat(cache.size()).isLessThanOrEqualTo(4);
+    }
+
+    assertThat(cache.values()).contains(hottest, last);
+    assertThat(limit.getTotal()).isEqualTo(cache.size());
+
+    MetaQueryPlanCacheStatistic statistic = cache.getStatistic(false);
+    assertThat(statistic.getEvictCount()).isEqualTo(plans.size() - cache.size());
+    assertThat(statistic.getMaxSize()).isEqualTo(4);
+  }
+
+  @Test
+  public void put_when_totalExceeded_expect_evicted() {
+
+    List<CQueryPlan> plans = queryPlans();
+
+    CQueryPlanCacheLimit limit = new CQueryPlanCacheLimit(0, 3);
+    CQueryPlanCache cache = new CQueryPlanCache(Customer.class, limit);
+    CQueryPlanCache other = new CQueryPlanCache(Customer.class, limit);
+
+    CQueryPlan first = plans.get(0);
+    other.put(first.getPlanKey(), first);
+    for (CQueryPlan plan : plans.subList(1, plans.size())) {
+      cache.put(plan.getPlanKey(), plan);
+      assertThat(limit.getTotal()).isLessThanOrEqualTo(3);
+    }
+
+    assertThat(other.size()).isEqualTo(1);
+    assertThat(limit.getTotal()).isEqualTo(cache.size() + other.size());
+  }
+
+  @Test
+  public void coldestFirst_when_notExecuted_expect_rankedByCreateTime() {
+
+    List<CQueryPlan> plans = queryPlans();
+    CQueryPlan executed = plans.get(0);
+    CQueryPlan created = plans.get(1);
+
+    CQueryPlanCache.Candidate candidate = new CQueryPlanCache.Candidate(executed.getPlanKey(), executed);
+    assertThat(candidate.lastUsedTime).isGreaterThanOrEqualTo(executed.getCreateTime());
+
+    // a plan just created (last query time 0) ranks by its creation time
+    long now = System.currentTimeMillis();
+    CQueryPlanCache.Candidate cold = new CQueryPlanCache.Candidate(executed.getPlanKey(), executed, now - 60000, 5);
+    CQueryPlanCache.Candidate fresh = new CQueryPlanCache.Candidate(created.getPlanKey(), created, now, 0);
+
+    List<CQueryPlanCache.Candidate> candidates = new ArrayList<>();
+    candidates.add(fresh);
+    candidates.add(cold);
+    candidates.sort(CQueryPlanCache.COLDEST_FIRST);
+
+    assertThat(candidates.get(0)).isSameAs(cold);
+  }
+}
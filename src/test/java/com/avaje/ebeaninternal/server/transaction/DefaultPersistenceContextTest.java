@@ -159,4 +159,47 @@ public class DefaultPersistenceContextTest {
     pc.clear(Customer.class, 43);
     assertThat(pc.size(Customer.class)).isEqualTo(0);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void put_get_when_longAndObjectIds() throws Exception {
+
+    PersistenceContext pc = pc();
+    Customer other = new Customer();
+    pc.put(Customer.class, 42L, customer42);
+    pc.put(Customer.class, "42", other);
+
+    assertThat(pc.get(Customer.class, 42L)).isSameAs(customer42);
+    assertThat(pc.get(Customer.class, "42")).isSameAs(other);
+    assertThat(pc.size(Customer.class)).isEqualTo(2);
+
+    pc.clear(Customer.class, 42L);
+    assertThat(pc.get(Customer.class, 42L)).isNull();
+    assertThat(pc.size(Customer.class)).isEqualTo(1);
+  }
+
+  @Test
+  public void clear_when_deleted_expect_deletedCleared() throws Exception {
+
+    PersistenceContext pc = pcWith42();
+    pc.deleted(Customer.class, 42);
+    pc.clear();
+
+    assertThat(pc.getWithOption(Customer.class, 42)).isNull();
+    pc.put(Customer.class, 42, customer42);
+    assertThat(pc.get(Customer.class, 42)).isSameAs(customer42);
+  }
+
+  @Test
+  public void put_get_when_manyTypes() throws Exception {
+
+    PersistenceContext pc = pc();
+    for (int i = 0; i < 1000; i++) {
+      pc.put(Customer.class, i, customer42);
+      pc.put(root(Car.class), i, car1);
+    }
+    assertThat(pc.size(Customer.class)).isEqualTo(1000);
+    assertThat(pc.size(root(Car.class))).isEqualTo(1000);
+    assertThat(pc.get(Customer.class, 999)).isSameAs(customer42);
+    assertThat(pc.get(root(Vehicle.class), 999)).isSameAs(car1);
+  }
+}
@@ -0,0 +1,58 @@
+package com.avaje.ebeaninternal.server.transaction;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.StrictAssertions.assertThat;
+
+public class LongKeyMapTest {
+
+  @Test
+  public void put_get_remove() {
+
+    LongKeyMap map = new LongKeyMap();
+    assertThat(map.get(1)).isNull();
+    assertThat(map.put(1, "a")).isNull();
+    assertThat(map.put(0, "zero")).isNull();
+    assertThat(map.put(-1, "minus")).isNull();
+    assertThat(map.get(1)).isEqualTo("a");
+    assertThat(map.get(0)).isEqualTo("zero");
+    assertThat(map.get(-1)).isEqualTo("minus");
+
+    assertThat(map.put(1, "b")).isEqualTo("a");
+    assertThat(map.size()).isEqualTo(3);
+
+    assertThat(map.remove(1)).isEqualTo("b");
+    assertThat(map.remove(1)).isNull();
+    assertThat(map.get(1)).isNull();
+    assertThat(map.size()).isEqualTo(2);
+
+    map.clear();
+    assertThat(map.size()).isEqualTo(0);
+    assertThat(map.get(0)).isNull();
+  }
+
+  @Test
+  public void matches_hashMap_when_randomOperations() {
+
+    LongKeyMap map = new LongKeyMap();
+    Map<Long, Object> expected = new HashMap<>();
+
+    Random random = new Random(42);
+    for (int i = 0; i < 100000; i++) {
+      long key = random.nextInt(2000);
+      if (random.nextInt(3) == 0) {
+        assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+      } else {
+        assertThat(map.put(key, i)).isEqualTo(expected.put(key, i));
+      }
+    }
+    assertThat(map.size()).isEqualTo(expected.size());
+    for (long key = 0; key < 2000; key++) {
+      assertThat(map.get(key)).isEqualTo(expected.get(key));
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package com.avaje.ebeaninternal.server.util;
+
+import com.avaje.ebean.meta.MetaHistogram;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LogBucketHistogramTest {
+
+  @Test
+  public void index_upperBound() {
+
+    LogBucketHistogram histogram = new LogBucketHistogram(3);
+    for (long value = 0; value < 100000; value++) {
+      int index = histogram.index(value);
+      assertThat(histogram.upperBound(index)).isGreaterThanOrEqualTo(value);
+      if (index > 0) {
+        assertThat(histogram.upperBound(index - 1)).isLessThan(value);
+      }
+    }
+    assertThat(histogram.index(Long.MAX_VALUE)).isEqualTo(histogram.index(1L << 41));
+  }
+
+  @Test
+  public void snapshot_percentiles() {
+
+    LogBucketHistogram histogram = new LogBucketHistogram(3);
+    for (int i = 1; i <= 1000; i++) {
+      histogram.add(i);
+    }
+
+    MetaHistogram snapshot = histogram.snapshot(false);
+    assertThat(snapshot.getCount()).isEqualTo(1000);
+    assertThat(snapshot.getTotal()).isEqualTo(500500);
+    assertThat(snapshot.getMean()).isEqualTo(500);
+    assertThat(snapshot.getMax()).isEqualTo(1000);
+
+    // within the relative error of 1/8
+    assertThat(snapshot.getP50()).isBetween(500L, 563L);
+    assertThat(snapshot.getP95()).isBetween(950L, 1000L);
+    assertThat(snapshot.getP99()).isBetween(990L, 1000L);
+    assertThat(snapshot.getValueAtPercentile(100)).isEqualTo(1000);
+  }
+
+  @Test
+  public void snapshot_withReset() {
+
+    LogBucketHistogram histogram = new LogBucketHistogram(2);
+    histogram.add(10);
+    histogram.add(20);
+
+    MetaHistogram snapshot = histogram.snapshot(true);
+    assertThat(snapshot.getCount()).isEqualTo(2);
+    assertThat(snapshot.getMax()).isEqualTo(20);
+
+    MetaHistogram empty = histogram.snapshot(false);
+    assertThat(empty.getCount()).isEqualTo(0);
+    assertThat(empty.getMax()).isEqualTo(0);
+    assertThat(empty.getP99()).isEqualTo(0);
+  }
+}
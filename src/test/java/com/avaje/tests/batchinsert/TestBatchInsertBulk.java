@@ -0,0 +1,113 @@
+package com.avaje.tests.batchinsert;
+
+import com.avaje.ebean.BaseTestCase;
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.Transaction;
+import com.avaje.ebean.config.BulkInsertMode;
+import com.avaje.tests.model.basic.EBasic;
+import com.avaje.tests.model.basic.UUOne;
+import org.avaje.ebeantest.LoggedSqlCollector;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestBatchInsertBulk extends BaseTestCase {
+
+  private List<UUOne> createBeans(String prefix, int count) {
+    List<UUOne> beans = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      UUOne bean = new UUOne();
+      bean.setName(prefix + i);
+      beans.add(bean);
+    }
+    return beans;
+  }
+
+  private List<String> bulkSql(List<String> sql) {
+    List<String> bulk = new ArrayList<>();
+    for (String statement : sql) {
+      if (statement.contains("-- bulk rows[")) {
+        bulk.add(statement);
+      }
+    }
+    return bulk;
+  }
+
+  @Test
+  public void multiRow() {
+
+    List<UUOne> beans = createBeans("bulkMulti", 120);
+
+    LoggedSqlCollector.start();
+    try (Transaction transaction = Ebean.beginTransaction()) {
+      transaction.setBulkInsert(BulkInsertMode.MULTI_ROW);
+      transaction.setBatchSize(50);
+      Ebean.saveAll(beans);
+      transaction.commit();
+    }
+    List<String> bulk = bulkSql(LoggedSqlCollector.stop());
+
+    if (isH2() || isPostgres()) {
+      assertThat(bulk).hasSize(3);
+      assertThat(bulk.get(0)).contains("insert into uuone").contains("-- bulk rows[50]");
+      assertThat(bulk.get(2)).contains("-- bulk rows[20]");
+    }
+    for (UUOne bean : beans) {
+      assertThat(bean.getId()).isNotNull();
+      assertThat(Ebean.getBeanState(bean).isNew()).isFalse();
+    }
+    assertThat(Ebean.find(UUOne.class).where().startsWith("name", "bulkMulti").findCount()).isEqualTo(120);
+  }
+
+  @Test
+  public void copy() {
+
+    List<UUOne> beans = createBeans("bulkCopy", 30);
+
+    LoggedSqlCollector.start();
+    try (Transaction transaction = Ebean.beginTransaction()) {
+      transaction.setBulkInsert(BulkInsertMode.COPY);
+      Ebean.saveAll(beans);
+      transaction.commit();
+    }
+    List<String> bulk = bulkSql(LoggedSqlCollector.stop());
+
+    if (isPostgres()) {
+      assertThat(bulk).hasSize(1);
+      assertThat(bulk.get(0)).contains("copy uuone (id, name) from stdin");
+    } else if (isH2()) {
+      // falls back to multi-row insert
+      assertThat(bulk).hasSize(1);
+      assertThat(bulk.get(0)).contains("insert into uuone");
+    }
+    assertThat(Ebean.find(UUOne.class).where().startsWith("name", "bulkCopy").findCount()).isEqualTo(30);
+  }
+
+  @Test
+  public void identity_usesJdbcBatch() {
+
+    List<EBasic> beans = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      beans.add(new EBasic("bulkIdentity" + i));
+    }
+
+    LoggedSqlCollector.start();
+    try (Transaction transaction = Ebean.beginTransaction()) {
+      transaction.setBulkInsert(BulkInsertMode.MULTI_ROW);
+      Ebean.saveAll(beans);
+      transaction.commit();
+    }
+    List<String> bulk = bulkSql(LoggedSqlCollector.stop());
+
+    if (isH2()) {
+      // ids generated by DB identity so not bulk inserted
+      assertThat(bulk).isEmpty();
+    }
+    for (EBasic bean : beans) {
+      assertThat(bean.getId()).isNotNull();
+    }
+  }
+}
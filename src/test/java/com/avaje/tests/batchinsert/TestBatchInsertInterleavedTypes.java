@@ -0,0 +1,96 @@
+package com.avaje.tests.batchinsert;
+
+import com.avaje.ebean.BaseTestCase;
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.Transaction;
+import com.avaje.ebean.config.PersistBatch;
+import com.avaje.ebean.meta.BatchFlushCause;
+import com.avaje.ebean.meta.MetaBatchFlushStatistic;
+import com.avaje.ebean.meta.MetaInfoManager;
+import com.avaje.tests.model.basic.xtra.EdChild;
+import com.avaje.tests.model.basic.xtra.EdExtendedParent;
+import com.avaje.tests.model.basic.xtra.EdParent;
+import org.avaje.ebeantest.LoggedSqlCollector;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestBatchInsertInterleavedTypes extends BaseTestCase {
+
+  private EdParent parent(EdParent parent, String name) {
+    parent.setName(name);
+    EdChild child = new EdChild();
+    child.setName(name + "-child");
+    List<EdChild> children = new ArrayList<>();
+    children.add(child);
+    parent.setChildren(children);
+    return parent;
+  }
+
+  private MetaInfoManager metaInfo() {
+    return Ebean.getDefaultServer().getMetaInfoManager();
+  }
+
+  @Test
+  public void interleaved_noFlushOnTypeChange() {
+
+    if (isMsSqlServer()) return;
+
+    metaInfo().collectBatchFlushStatistic(true);
+
+    List<String> sql;
+    LoggedSqlCollector.start();
+    try (Transaction transaction = Ebean.beginTransaction()) {
+      transaction.setBatch(PersistBatch.ALL);
+      transaction.setBatchFlushOnTypeChange(false);
+
+      Ebean.save(parent(new EdParent(), "interleave0"));
+      Ebean.save(parent(new EdExtendedParent(), "interleave1"));
+      Ebean.save(parent(new EdParent(), "interleave2"));
+
+      // nothing flushed with the change of top level type
+      assertThat(LoggedSqlCollector.start()).isEmpty();
+
+      transaction.commit();
+      sql = LoggedSqlCollector.stop();
+    }
+
+    // parents inserted before the children that reference them
+    assertThat(sql).hasSize(6);
+    for (int i = 0; i < 3; i++) {
+      assertThat(sql.get(i)).contains("insert into td_parent");
+    }
+    for (int i = 3; i < 6; i++) {
+      assertThat(sql.get(i)).contains("insert into td_child");
+    }
+
+    MetaBatchFlushStatistic statistic = metaInfo().collectBatchFlushStatistic(true);
+    assertThat(statistic.getCount(BatchFlushCause.TYPE_CHANGE)).isEqualTo(0);
+    assertThat(statistic.getCount(BatchFlushCause.COMMIT)).isEqualTo(1);
+  }
+
+  @Test
+  public void flushOnTypeChange_counted() {
+
+    if (isMsSqlServer()) return;
+
+    metaInfo().collectBatchFlushStatistic(true);
+
+    try (Transaction transaction = Ebean.beginTransaction()) {
+      transaction.setBatch(PersistBatch.ALL);
+
+      Ebean.save(parent(new EdParent(), "typeChange0"));
+      Ebean.save(parent(new EdExtendedParent(), "typeChange1"));
+      Ebean.save(parent(new EdParent(), "typeChange2"));
+      transaction.commit();
+    }
+
+    MetaBatchFlushStatistic statistic = metaInfo().collectBatchFlushStatistic(true);
+    assertThat(statistic.getCount(BatchFlushCause.TYPE_CHANGE)).isEqualTo(2);
+    assertThat(statistic.getCount(BatchFlushCause.COMMIT)).isEqualTo(1);
+    assertThat(statistic.getTotalCount()).isGreaterThanOrEqualTo(3);
+  }
+}
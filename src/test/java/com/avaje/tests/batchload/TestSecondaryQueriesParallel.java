@@ -0,0 +1,140 @@
+package com.avaje.tests.batchload;
+
+import com.avaje.ebean.BaseTestCase;
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.Query;
+import com.avaje.ebean.Transaction;
+import com.avaje.ebeaninternal.api.SpiQuery;
+import com.avaje.tests.model.basic.Order;
+import com.avaje.tests.model.basic.ResetBasicData;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import org.avaje.ebeantest.LoggedSqlCollector;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestSecondaryQueriesParallel extends BaseTestCase {
+
+  private Query<Order> query() {
+    Query<Order> query = Ebean.find(Order.class)
+      .select("status")
+      .fetchQuery("customer", "name")
+      .fetchQuery("details")
+      .setParallelSecondaryQueries(true);
+
+    ((SpiQuery<?>) query).setLogSecondaryQuery(true);
+    return query;
+  }
+
+  /**
+   * Collects the names of the threads that execute the SQL.
+   */
+  private static class SqlThreads extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    final Logger logger = (Logger) LoggerFactory.getLogger("org.avaje.ebean.SQL");
+
+    final Queue<String> threadNames = new ConcurrentLinkedQueue<>();
+
+    SqlThreads() {
+      setContext(logger.getLoggerContext());
+      logger.addAppender(this);
+      start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+      threadNames.add(event.getThreadName());
+    }
+
+    List<String> end() {
+      stop();
+      logger.detachAppender(this);
+      return new ArrayList<>(threadNames);
+    }
+  }
+
+  @Test
+  public void parallel() {
+
+    ResetBasicData.reset();
+
+    Query<Order> query = query();
+
+    LoggedSqlCollector.start();
+    SqlThreads sqlThreads = new SqlThreads();
+    List<Order> orders = query.findList();
+    List<String> threads = sqlThreads.end();
+    List<String> sql = LoggedSqlCollector.stop();
+
+    assertThat(sql).hasSize(3);
+    assertThat(((SpiQuery<?>) query).getLoggedSecondaryQueries()).hasSize(2);
+
+    // the origin query and one secondary query execute in this thread, the other in the background
+    String current = Thread.currentThread().getName();
+    assertThat(threads).hasSize(3);
+    assertThat(threads.get(0)).isEqualTo(current);
+    Set<String> distinct = new HashSet<>(threads);
+    assertThat(distinct).hasSize(2).contains(current);
+
+    // all loaded by the secondary queries (no lazy loading)
+    LoggedSqlCollector.start();
+    for (Order order : orders) {
+      assertThat(order.getCustomer().getName()).isNotNull();
+      order.getDetails().size();
+    }
+    assertThat(LoggedSqlCollector.stop()).isEmpty();
+  }
+
+  @Test
+  public void parallel_when_explicitTransaction_expect_sequential() {
+
+    ResetBasicData.reset();
+
+    Transaction transaction = Ebean.beginTransaction();
+    try {
+      Query<Order> query = query();
+      List<Order> orders = query.findList();
+
+      assertThat(orders).isNotEmpty();
+      assertThat(((SpiQuery<?>) query).getLoggedSecondaryQueries()).hasSize(2);
+      for (Order order : orders) {
+        assertThat(order.getCustomer().getName()).isNotNull();
+      }
+    } finally {
+      transaction.end();
+    }
+  }
+
+  @Test
+  public void parallel_when_notIndependent_expect_sequential() {
+
+    ResetBasicData.reset();
+
+    // details and shipments both populate collections of the orders
+    Query<Order> query = Ebean.find(Order.class)
+      .select("status")
+      .fetchQuery("details")
+      .fetchQuery("shipments")
+      .setParallelSecondaryQueries(true);
+
+    LoggedSqlCollector.start();
+    SqlThreads sqlThreads = new SqlThreads();
+    List<Order> orders = query.findList();
+    List<String> threads = sqlThreads.end();
+    List<String> sql = LoggedSqlCollector.stop();
+
+    assertThat(orders).isNotEmpty();
+    assertThat(sql).hasSize(3);
+    assertThat(threads).hasSize(3).containsOnly(Thread.currentThread().getName());
+  }
+}
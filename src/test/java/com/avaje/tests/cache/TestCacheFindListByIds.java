@@ -0,0 +1,127 @@
+package com.avaje.tests.cache;
+
+import com.avaje.ebean.BaseTestCase;
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.Query;
+import com.avaje.ebean.Transaction;
+import com.avaje.ebean.cache.ServerCache;
+import com.avaje.ebean.cache.ServerCacheStatistics;
+import com.avaje.ebeaninternal.api.SpiQuery;
+import com.avaje.ebeaninternal.server.expression.IdInExpression;
+import com.avaje.tests.model.basic.UUOne;
+import org.avaje.ebeantest.LoggedSqlCollector;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestCacheFindListByIds extends BaseTestCase {
+
+  private UUOne insert(String name) {
+    UUOne one = new UUOne();
+    one.setName("testCFLBI" + name);
+    Ebean.save(one);
+    return one;
+  }
+
+  @Test
+  public void findList_idIn_hitsBeanCacheThenQueriesMisses() {
+
+    List<UUID> ids = new ArrayList<>();
+    for (String name : "A,B,C,D".split(",")) {
+      ids.add(insert(name).getId());
+    }
+
+    ServerCache beanCache = Ebean.getServerCacheManager().getBeanCache(UUOne.class);
+    beanCache.clear();
+
+    // load 2 of the beans into the bean cache
+    Ebean.find(UUOne.class, ids.get(0));
+    Ebean.find(UUOne.class, ids.get(1));
+    beanCache.getStatistics(true);
+
+    LoggedSqlCollector.start();
+
+    List<UUOne> list = Ebean.find(UUOne.class)
+        .where().idIn(ids)
+        .findList();
+
+    List<String> sql = LoggedSqlCollector.stop();
+
+    assertThat(list).hasSize(4);
+    assertThat(sql).hasSize(1);
+    assertThat(sql.get(0)).contains("from uuone t0 where t0.id in ");
+    assertThat(sql.get(0)).contains("(?,?)");
+
+    ServerCacheStatistics statistics = beanCache.getStatistics(true);
+    assertThat(statistics.getHitCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void findList_idIn_allInBeanCache_noQuery() {
+
+    List<UUID> ids = new ArrayList<>();
+    for (String name : "E,F".split(",")) {
+      ids.add(insert(name).getId());
+    }
+
+    Ebean.find(UUOne.class, ids.get(0));
+    Ebean.find(UUOne.class, ids.get(1));
+
+    LoggedSqlCollector.start();
+
+    List<UUOne> list = Ebean.find(UUOne.class)
+        .where().idIn(ids)
+        .findList();
+
+    List<String> sql = LoggedSqlCollector.stop();
+
+    assertThat(list).hasSize(2);
+    assertThat(list.get(0).getName()).startsWith("testCFLBI");
+    assertThat(sql).isEmpty();
+  }
+
+  @Test
+  public void findList_idIn_partialBeanInContext_queriedAsMiss() {
+
+    List<UUID> ids = new ArrayList<>();
+    for (String name : "G,H,I".split(",")) {
+      ids.add(insert(name).getId());
+    }
+
+    ServerCache beanCache = Ebean.getServerCacheManager().getBeanCache(UUOne.class);
+    beanCache.clear();
+
+    // first bean fully loaded into the bean cache
+    Ebean.find(UUOne.class, ids.get(0));
+
+    Transaction transaction = Ebean.beginTransaction();
+    try {
+      // second bean partially loaded into the persistence context
+      Ebean.find(UUOne.class).select("id").where().idEq(ids.get(1)).findUnique();
+
+      Query<UUOne> query = Ebean.find(UUOne.class).where().idIn(ids).query();
+
+      LoggedSqlCollector.start();
+      List<UUOne> list = query.findList();
+      for (UUOne one : list) {
+        assertThat(one.getName()).startsWith("testCFLBI");
+      }
+      List<String> sql = LoggedSqlCollector.stop();
+
+      assertThat(list).hasSize(3);
+      assertThat(sql).hasSize(1);
+      assertThat(sql.get(0)).contains("(?,?)");
+
+      // the query itself is left unchanged
+      IdInExpression idIn = (IdInExpression) ((SpiQuery<?>) query).getWhereExpressions().getUnderlyingList().get(0);
+      assertThat(idIn.getIdList()).hasSize(3);
+
+    } finally {
+      transaction.end();
+    }
+  }
+}
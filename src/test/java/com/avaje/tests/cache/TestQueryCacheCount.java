@@ -0,0 +1,83 @@
+package com.avaje.tests.cache;
+
+import com.avaje.ebean.BaseTestCase;
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.FutureRowCount;
+import com.avaje.ebean.Query;
+import com.avaje.tests.model.basic.EBasicVer;
+import org.avaje.ebeantest.LoggedSqlCollector;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestQueryCacheCount extends BaseTestCase {
+
+  private Query<EBasicVer> query() {
+    return Ebean.find(EBasicVer.class)
+        .setUseQueryCache(true)
+        .where().startsWith("name", "qcc-")
+        .order().asc("id");
+  }
+
+  private List<String> names() {
+    return query().select("name").findSingleAttributeList();
+  }
+
+  @Test
+  public void findCount_findIds_findSingleAttributeList_useQueryCache() throws Exception {
+
+    EBasicVer a = new EBasicVer("qcc-a");
+    EBasicVer b = new EBasicVer("qcc-b");
+    Ebean.saveAll(Arrays.asList(a, b));
+    awaitL2Cache();
+
+    int count = query().findCount();
+    List<Object> ids = query().findIds();
+    List<String> names = names();
+    assertThat(count).isEqualTo(2);
+    assertThat(ids).containsExactly(a.getId(), b.getId());
+    assertThat(names).containsExactly("qcc-a", "qcc-b");
+
+    LoggedSqlCollector.start();
+    assertThat(query().findCount()).isEqualTo(2);
+    assertThat(query().findIds()).isEqualTo(ids);
+    assertThat(names()).isEqualTo(names);
+    FutureRowCount<EBasicVer> futureCount = query().findFutureCount();
+    assertThat(futureCount.isDone()).isTrue();
+    assertThat(futureCount.get()).isEqualTo(2);
+    assertThat(LoggedSqlCollector.stop()).isEmpty();
+
+    // a property the queries do not depend on
+    EBasicVer updA = Ebean.find(EBasicVer.class, a.getId());
+    updA.setDescription("changed");
+    Ebean.save(updA);
+    awaitL2Cache();
+
+    LoggedSqlCollector.start();
+    assertThat(query().findCount()).isEqualTo(2);
+    assertThat(query().findIds()).isEqualTo(ids);
+    assertThat(names()).isEqualTo(names);
+    assertThat(LoggedSqlCollector.stop()).isEmpty();
+
+    // the selected attribute and predicate property
+    EBasicVer updB = Ebean.find(EBasicVer.class, b.getId());
+    updB.setName("qcc-c");
+    Ebean.save(updB);
+    awaitL2Cache();
+
+    LoggedSqlCollector.start();
+    assertThat(names()).containsExactly("qcc-a", "qcc-c");
+    assertThat(LoggedSqlCollector.stop()).isNotEmpty();
+
+    // insert invalidates the count and ids
+    EBasicVer c = new EBasicVer("qcc-d");
+    Ebean.save(c);
+    awaitL2Cache();
+
+    assertThat(query().findCount()).isEqualTo(3);
+    assertThat(query().findIds()).containsExactly(a.getId(), b.getId(), c.getId());
+  }
+}
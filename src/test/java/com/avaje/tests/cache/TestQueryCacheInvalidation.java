@@ -0,0 +1,113 @@
+package com.avaje.tests.cache;
+
+import com.avaje.ebean.BaseTestCase;
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.cache.ServerCache;
+import com.avaje.ebean.cache.ServerCacheStatistics;
+import com.avaje.tests.model.basic.Customer;
+import com.avaje.tests.model.basic.EBasicVer;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestQueryCacheInvalidation extends BaseTestCase {
+
+  private List<EBasicVer> findByName(String name) {
+    return Ebean.find(EBasicVer.class)
+        .setUseQueryCache(true)
+        .where().eq("name", name)
+        .findList();
+  }
+
+  private List<Customer> findByStatus(Customer.Status status) {
+    return Ebean.find(Customer.class)
+        .setUseQueryCache(true)
+        .where().eq("status", status)
+        .findList();
+  }
+
+  @Test
+  public void update_onlyInvalidatesEntriesContainingBeanOrDependingOnProperty() {
+
+    EBasicVer a = new EBasicVer("qci-a");
+    EBasicVer b = new EBasicVer("qci-b");
+    Ebean.saveAll(Arrays.asList(a, b));
+
+    ServerCache queryCache = Ebean.getServerCacheManager().getQueryCache(EBasicVer.class);
+
+    List<EBasicVer> listA = findByName("qci-a");
+    List<EBasicVer> listB = findByName("qci-b");
+    assertThat(listA).hasSize(1);
+    queryCache.getStatistics(true);
+
+    // a property that no cached query filters on
+    EBasicVer updA = Ebean.find(EBasicVer.class, a.getId());
+    updA.setDescription("changed");
+    Ebean.save(updA);
+    awaitL2Cache();
+
+    assertThat(findByName("qci-a")).isNotSameAs(listA);
+    assertThat(findByName("qci-b")).isSameAs(listB);
+
+    // a property the cached queries filter on
+    EBasicVer updA2 = Ebean.find(EBasicVer.class, a.getId());
+    updA2.setName("qci-b");
+    Ebean.save(updA2);
+    awaitL2Cache();
+
+    List<EBasicVer> listB2 = findByName("qci-b");
+    assertThat(listB2).isNotSameAs(listB);
+    assertThat(listB2).hasSize(2);
+
+    ServerCacheStatistics statistics = queryCache.getStatistics(true);
+    assertThat(statistics.getClearCount()).isEqualTo(0);
+    assertThat(statistics.getRemoveCount()).isGreaterThan(0);
+    assertThat(statistics.getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void delete_onlyInvalidatesEntriesContainingBean() {
+
+    EBasicVer c = new EBasicVer("qci-c");
+    EBasicVer d = new EBasicVer("qci-d");
+    Ebean.saveAll(Arrays.asList(c, d));
+
+    List<EBasicVer> listC = findByName("qci-c");
+    List<EBasicVer> listD = findByName("qci-d");
+
+    Ebean.delete(c);
+    awaitL2Cache();
+
+    assertThat(findByName("qci-c")).isEmpty();
+    assertThat(findByName("qci-d")).isSameAs(listD);
+    assertThat(listC).hasSize(1);
+  }
+
+  @Test
+  public void insert_equalityPredicate_onlyInvalidatesMatchingEntries() {
+
+    Customer active = new Customer();
+    active.setName("qci-active");
+    active.setStatus(Customer.Status.ACTIVE);
+    Ebean.save(active);
+
+    List<Customer> activeList = findByStatus(Customer.Status.ACTIVE);
+    List<Customer> newList = findByStatus(Customer.Status.NEW);
+
+    Customer other = new Customer();
+    other.setName("qci-new");
+    other.setStatus(Customer.Status.NEW);
+    Ebean.save(other);
+    awaitL2Cache();
+
+    // the inserted bean can not match status = ACTIVE
+    assertThat(findByStatus(Customer.Status.ACTIVE)).isSameAs(activeList);
+
+    List<Customer> newList2 = findByStatus(Customer.Status.NEW);
+    assertThat(newList2).isNotSameAs(newList);
+    assertThat(newList2).hasSize(newList.size() + 1);
+  }
+}
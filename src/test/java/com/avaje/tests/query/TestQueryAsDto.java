@@ -0,0 +1,214 @@
+package com.avaje.tests.query;
+
+import com.avaje.ebean.BaseTestCase;
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.Query;
+import com.avaje.ebeaninternal.api.SpiQuery;
+import com.avaje.tests.model.basic.Customer;
+import com.avaje.tests.model.basic.ResetBasicData;
+import org.avaje.ebeantest.LoggedSqlCollector;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestQueryAsDto extends BaseTestCase {
+
+  public static class CustomerDto {
+
+    Integer id;
+    String name;
+    Customer.Status status;
+
+    public Integer getId() {
+      return id;
+    }
+
+    public void setId(Integer id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public Customer.Status getStatus() {
+      return status;
+    }
+
+    public void setStatus(Customer.Status status) {
+      this.status = status;
+    }
+  }
+
+  public static class CustomerNameDto {
+
+    final int id;
+    final String name;
+
+    public CustomerNameDto(int id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+  }
+
+  public static class CustomerStatusDto {
+
+    Integer id;
+    Customer.Status status;
+
+    public void setId(Integer id) {
+      this.id = id;
+    }
+
+    public void setStatus(Customer.Status status) {
+      this.status = status;
+    }
+  }
+
+  public static class CustomerRowDto {
+
+    long customerId;
+    String customerName;
+
+    public void setCustomerId(long customerId) {
+      this.customerId = customerId;
+    }
+
+    public void setCustomerName(String customerName) {
+      this.customerName = customerName;
+    }
+  }
+
+  @Test
+  public void asDto_withSelect_setters() {
+
+    ResetBasicData.reset();
+
+    List<CustomerDto> list =
+      Ebean.find(Customer.class)
+        .select("id, name")
+        .where().isNotNull("name")
+        .orderBy().asc("id")
+        .asDto(CustomerDto.class)
+        .findList();
+
+    assertThat(list).isNotEmpty();
+    for (CustomerDto dto : list) {
+      assertThat(dto.getId()).isNotNull();
+      assertThat(dto.getName()).isNotNull();
+      assertThat(dto.getStatus()).isNull();
+    }
+  }
+
+  @Test
+  public void asDto_withoutSelect_selectsSetterProperties() {
+
+    ResetBasicData.reset();
+
+    LoggedSqlCollector.start();
+
+    List<CustomerDto> list =
+      Ebean.find(Customer.class)
+        .where().eq("status", Customer.Status.NEW)
+        .asDto(CustomerDto.class)
+        .findList();
+
+    List<String> sql = LoggedSqlCollector.stop();
+
+    assertThat(list).isNotEmpty();
+    for (CustomerDto dto : list) {
+      assertThat(dto.getStatus()).isEqualTo(Customer.Status.NEW);
+    }
+    assertThat(sql).hasSize(1);
+    assertThat(sql.get(0)).contains("t0.status").contains("t0.name").contains(" from o_customer t0");
+    assertThat(sql.get(0)).doesNotContain("t0.smallnote");
+  }
+
+  @Test
+  public void asDto_withoutSelect_queryReusedForOtherDtoTypes() {
+
+    ResetBasicData.reset();
+
+    Query<Customer> query = Ebean.find(Customer.class)
+      .where().isNotNull("name")
+      .orderBy().asc("id");
+
+    List<CustomerDto> dtos = query.asDto(CustomerDto.class).findList();
+    List<CustomerStatusDto> statusDtos = query.asDto(CustomerStatusDto.class).findList();
+
+    assertThat(dtos).isNotEmpty();
+    assertThat(statusDtos).hasSameSizeAs(dtos);
+    assertThat(statusDtos.get(0).id).isEqualTo(dtos.get(0).getId());
+    assertThat(statusDtos.get(0).status).isEqualTo(dtos.get(0).getStatus());
+
+    // the query itself is unchanged
+    assertThat(((SpiQuery<Customer>) query).getDetail().isEmpty()).isTrue();
+    assertThat(query.findList()).hasSameSizeAs(dtos);
+  }
+
+  @Test
+  public void asDto_constructor() {
+
+    ResetBasicData.reset();
+
+    List<CustomerNameDto> list = new ArrayList<>();
+    Ebean.find(Customer.class)
+      .select("id, name")
+      .orderBy().asc("id")
+      .asDto(CustomerNameDto.class)
+      .findEach(list::add);
+
+    assertThat(list).isNotEmpty();
+    assertThat(list.get(0).id).isGreaterThan(0);
+    assertThat(list.get(0).name).isNotNull();
+  }
+
+  @Test
+  public void asDto_findUnique() {
+
+    ResetBasicData.reset();
+
+    Customer customer = Ebean.find(Customer.class).setMaxRows(1).findUnique();
+
+    CustomerNameDto dto =
+      Ebean.find(Customer.class)
+        .select("id, name")
+        .where().idEq(customer.getId())
+        .asDto(CustomerNameDto.class)
+        .findUnique();
+
+    assertThat(dto.id).isEqualTo(customer.getId());
+    assertThat(dto.name).isEqualTo(customer.getName());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void asDto_fetchJoin_notSupported() {
+
+    Ebean.find(Customer.class)
+      .select("id, name")
+      .fetch("billingAddress")
+      .asDto(CustomerDto.class)
+      .findList();
+  }
+
+  @Test
+  public void sqlQuery_findDto_snakeCaseLabels() {
+
+    ResetBasicData.reset();
+
+    List<CustomerRowDto> list =
+      Ebean.createSqlQuery("select id as customer_id, name as customer_name from o_customer where name is not null order by id")
+        .findDto(CustomerRowDto.class);
+
+    assertThat(list).isNotEmpty();
+    assertThat(list.get(0).customerId).isGreaterThan(0);
+    assertThat(list.get(0).customerName).isNotNull();
+  }
+}
@@ -0,0 +1,106 @@
+package com.avaje.tests.query;
+
+import com.avaje.ebean.BaseTestCase;
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.KeysetPagedList;
+import com.avaje.ebean.Query;
+import com.avaje.tests.model.basic.Order;
+import com.avaje.tests.model.basic.ResetBasicData;
+import org.avaje.ebeantest.LoggedSqlCollector;
+import org.junit.Test;
+
+import javax.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestQueryFindKeysetPagedList extends BaseTestCase {
+
+  private Query<Order> query() {
+    return Ebean.find(Order.class)
+      .order().desc("orderDate")
+      .setMaxRows(2);
+  }
+
+  @Test(expected = PersistenceException.class)
+  public void noMaxRows() {
+    Ebean.find(Order.class).findKeysetPagedList(null);
+  }
+
+  @Test(expected = PersistenceException.class)
+  public void firstRow() {
+    Ebean.find(Order.class).setFirstRow(10).setMaxRows(10).findKeysetPagedList(null);
+  }
+
+  @Test
+  public void pageThroughAll() {
+
+    ResetBasicData.reset();
+
+    List<Integer> expectedIds = Ebean.find(Order.class)
+      .order().desc("orderDate").order().asc("id")
+      .findIds();
+
+    List<Integer> pagedIds = new ArrayList<>();
+    String cursor = null;
+    int pageCount = 0;
+    do {
+      KeysetPagedList<Order> page = query().findKeysetPagedList(cursor);
+      assertThat(page.getList().size()).isLessThanOrEqualTo(2);
+      assertThat(page.getPageSize()).isEqualTo(2);
+      for (Order order : page.getList()) {
+        pagedIds.add(order.getId());
+      }
+      cursor = page.getNextCursor();
+      assertThat(page.hasNext()).isEqualTo(cursor != null);
+      pageCount++;
+    } while (cursor != null);
+
+    assertThat(pagedIds).isEqualTo(expectedIds);
+    assertThat(pageCount).isEqualTo((expectedIds.size() + 1) / 2);
+  }
+
+  @Test
+  public void nextPage_predicate() {
+
+    ResetBasicData.reset();
+
+    KeysetPagedList<Order> first = query().findKeysetPagedList(null);
+    assertThat(first.hasNext()).isTrue();
+
+    LoggedSqlCollector.start();
+    query().findKeysetPagedList(first.getNextCursor());
+    List<String> sql = LoggedSqlCollector.stop();
+
+    assertThat(sql).hasSize(1);
+    assertThat(sql.get(0)).contains("t0.order_date < ?");
+    assertThat(sql.get(0)).contains("t0.order_date = ? and t0.id > ?");
+    assertThat(sql.get(0)).contains("order by t0.order_date desc, t0.id");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void cursor_differentOrderBy() {
+
+    ResetBasicData.reset();
+
+    KeysetPagedList<Order> first = query().findKeysetPagedList(null);
+    Ebean.find(Order.class)
+      .order().asc("orderDate")
+      .setMaxRows(2)
+      .findKeysetPagedList(first.getNextCursor());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void cursor_invalid() {
+    query().findKeysetPagedList("junk");
+  }
+
+  @Test(expected = PersistenceException.class)
+  public void orderBy_manyProperty() {
+    Ebean.find(Order.class)
+      .order().asc("details.id")
+      .setMaxRows(2)
+      .findKeysetPagedList(null);
+  }
+}
@@ -0,0 +1,73 @@
+package com.avaje.tests.query;
+
+import com.avaje.ebean.BaseTestCase;
+import com.avaje.ebean.Ebean;
+import com.avaje.tests.model.basic.Customer;
+import com.avaje.tests.model.basic.Order;
+import com.avaje.tests.model.basic.ResetBasicData;
+import org.avaje.ebeantest.LoggedSqlCollector;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestQueryFindStream extends BaseTestCase {
+
+  @Test
+  public void findStream() {
+
+    ResetBasicData.reset();
+
+    int expected = Ebean.find(Customer.class).findCount();
+
+    List<String> names;
+    try (Stream<Customer> stream = Ebean.find(Customer.class).order().asc("id").findStream()) {
+      names = stream.map(Customer::getName).collect(Collectors.toList());
+    }
+
+    assertThat(names).hasSize(expected);
+    assertThat(names).doesNotContainNull();
+  }
+
+  @Test
+  public void findStream_notFullyConsumed() {
+
+    ResetBasicData.reset();
+
+    try (Stream<Customer> stream = Ebean.find(Customer.class).order().asc("id").findStream()) {
+      Customer first = stream.findFirst().orElse(null);
+      assertThat(first).isNotNull();
+      assertThat(first.getId()).isEqualTo(1);
+    }
+
+    // resources released such that other queries execute as normal
+    assertThat(Ebean.find(Customer.class).findCount()).isGreaterThan(0);
+  }
+
+  @Test
+  public void findStream_withSecondaryQuery() {
+
+    ResetBasicData.reset();
+
+    LoggedSqlCollector.start();
+    long count;
+    try (Stream<Order> stream = Ebean.find(Order.class)
+      .fetch("customer", "name")
+      .fetchQuery("details")
+      .findStream()) {
+
+      count = stream
+        .filter(order -> order.getCustomer().getName() != null)
+        .mapToInt(order -> order.getDetails().size())
+        .count();
+    }
+    List<String> sql = LoggedSqlCollector.stop();
+
+    assertThat(count).isGreaterThan(0);
+    // main query and the secondary query loading the details (no lazy loading)
+    assertThat(sql).hasSize(2);
+  }
+}
@@ -0,0 +1,84 @@
+package com.avaje.tests.query;
+
+import com.avaje.ebean.BaseTestCase;
+import com.avaje.ebean.Ebean;
+import com.avaje.tests.model.basic.EBasic;
+import org.avaje.ebeantest.LoggedSqlCollector;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestQueryIdInLargeList extends BaseTestCase {
+
+  private List<Integer> insert(int count) {
+
+    List<EBasic> beans = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      beans.add(new EBasic("idInLarge" + i));
+    }
+    Ebean.saveAll(beans);
+
+    List<Integer> ids = new ArrayList<>();
+    for (EBasic bean : beans) {
+      ids.add(bean.getId());
+    }
+    return ids;
+  }
+
+  @Test
+  public void findList_largeIdIn() {
+
+    List<Integer> ids = insert(300);
+
+    LoggedSqlCollector.start();
+
+    List<EBasic> list = Ebean.find(EBasic.class).where().idIn(ids).findList();
+    List<EBasic> subList = Ebean.find(EBasic.class).where().idIn(ids.subList(0, 250)).findList();
+
+    List<String> sql = LoggedSqlCollector.stop();
+
+    assertThat(list).hasSize(300);
+    assertThat(subList).hasSize(250);
+    assertThat(sql).hasSize(2);
+    if (isH2()) {
+      // bound as a single ARRAY so the same SQL and query plan for both
+      assertThat(sql.get(0)).contains("where t0.id in (select * from table(x integer = ?))");
+      assertThat(sql.get(1)).contains("where t0.id in (select * from table(x integer = ?))");
+    } else if (isPostgres()) {
+      assertThat(sql.get(0)).contains("where t0.id = any(?)");
+    }
+  }
+
+  @Test
+  public void findList_smallIdIn_notArrayBound() {
+
+    List<Integer> ids = insert(3);
+
+    LoggedSqlCollector.start();
+    List<EBasic> list = Ebean.find(EBasic.class).where().idIn(ids).findList();
+    List<String> sql = LoggedSqlCollector.stop();
+
+    assertThat(list).hasSize(3);
+    assertThat(sql.get(0)).contains("where t0.id in (?,?,?)");
+  }
+
+  @Test
+  public void deleteAll_largeIdList() {
+
+    List<Integer> ids = insert(300);
+
+    LoggedSqlCollector.start();
+    int rows = Ebean.deleteAll(EBasic.class, ids);
+    List<String> sql = LoggedSqlCollector.stop();
+
+    assertThat(rows).isEqualTo(300);
+    assertThat(Ebean.find(EBasic.class).where().idIn(ids).findCount()).isEqualTo(0);
+    if (isH2()) {
+      assertThat(sql).hasSize(1);
+      assertThat(sql.get(0)).contains("delete from e_basic where id  in (select * from table(x integer = ?))");
+    }
+  }
+}
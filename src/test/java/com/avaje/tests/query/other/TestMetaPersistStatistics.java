@@ -0,0 +1,59 @@
+package com.avaje.tests.query.other;
+
+import com.avaje.ebean.BaseTestCase;
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.meta.MetaInfoManager;
+import com.avaje.ebean.meta.MetaPersistStatistic;
+import com.avaje.ebean.meta.MetaQueryPlanStatistic;
+import com.avaje.tests.model.basic.EBasicVer;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestMetaPersistStatistics extends BaseTestCase {
+
+  @Test
+  public void collectPersistStatistics() {
+
+    MetaInfoManager infoManager = Ebean.getServer(null).getMetaInfoManager();
+    infoManager.collectPersistStatistics(true);
+
+    EBasicVer bean = new EBasicVer("mps-a");
+    Ebean.save(bean);
+    bean.setName("mps-b");
+    Ebean.save(bean);
+    Ebean.delete(bean);
+
+    List<MetaPersistStatistic> statistics = infoManager.collectPersistStatistics(true).stream()
+        .filter(stat -> stat.getBeanType().equals(EBasicVer.class))
+        .collect(Collectors.toList());
+
+    assertThat(statistics).extracting(MetaPersistStatistic::getType)
+        .contains(MetaPersistStatistic.Type.INSERT, MetaPersistStatistic.Type.UPDATE, MetaPersistStatistic.Type.DELETE);
+
+    for (MetaPersistStatistic stat : statistics) {
+      assertThat(stat.getExecutionCount()).isGreaterThan(0);
+      assertThat(stat.getRowsHistogram().getMax()).isEqualTo(1);
+      assertThat(stat.getTimeHistogram().getP99()).isLessThanOrEqualTo(stat.getTimeHistogram().getMax());
+    }
+
+    // reset so nothing collected
+    assertThat(infoManager.collectPersistStatistics(false)).isEmpty();
+  }
+
+  @Test
+  public void collectQueryPlanStatistics_histograms() {
+
+    MetaInfoManager infoManager = Ebean.getServer(null).getMetaInfoManager();
+    Ebean.find(EBasicVer.class).where().startsWith("name", "mps-").findList();
+
+    List<MetaQueryPlanStatistic> statistics = infoManager.collectQueryPlanStatistics(false);
+    for (MetaQueryPlanStatistic stat : statistics) {
+      assertThat(stat.getTimeHistogram().getCount()).isEqualTo(stat.getExecutionCount());
+      assertThat(stat.getLoadedBeansHistogram().getTotal()).isEqualTo(stat.getTotalLoadedBeans());
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package com.avaje.tests.query.other;
+
+import com.avaje.ebean.BaseTestCase;
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.EbeanServer;
+import com.avaje.ebean.Transaction;
+import com.avaje.ebean.meta.MetaInfoManager;
+import com.avaje.ebean.meta.MetaServerMetrics;
+import com.avaje.tests.model.basic.EBasicVer;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestMetaServerMetrics extends BaseTestCase {
+
+  @Test
+  public void collectServerMetrics() throws Exception {
+
+    EbeanServer server = Ebean.getServer(null);
+    MetaInfoManager infoManager = server.getMetaInfoManager();
+    infoManager.collectServerMetrics(true);
+
+    try (Transaction transaction = server.beginTransaction()) {
+      transaction.setBatchMode(true);
+      for (int i = 0; i < 3; i++) {
+        server.save(new EBasicVer("msm-" + i));
+      }
+      transaction.commit();
+    }
+
+    try (Transaction transaction = server.beginTransaction()) {
+      server.save(new EBasicVer("msm-rollback"));
+      transaction.rollback();
+    }
+
+    server.find(EBasicVer.class).where().startsWith("name", "msm-").findList();
+    server.find(EBasicVer.class).where().startsWith("name", "msm-").findCount();
+
+    MetaServerMetrics metrics = infoManager.collectServerMetrics(true);
+    assertThat(metrics.getTransactionBeginCount()).isGreaterThanOrEqualTo(4);
+    assertThat(metrics.getTransactionCommitCount()).isGreaterThanOrEqualTo(1);
+    assertThat(metrics.getTransactionRollbackCount()).isGreaterThanOrEqualTo(1);
+    assertThat(metrics.getConnectionWaitHistogram().getCount()).isEqualTo(metrics.getTransactionBeginCount());
+    assertThat(metrics.getCommitHistogram().getCount()).isEqualTo(metrics.getTransactionCommitCount());
+    assertThat(metrics.getQueryCount()).isGreaterThanOrEqualTo(2);
+    assertThat(metrics.getBatchFlushStatistic().getSizeHistogram().getMax()).isGreaterThanOrEqualTo(3);
+    assertThat(metrics.getPostCommitBacklog()).isGreaterThanOrEqualTo(0);
+
+    // reset
+    MetaServerMetrics empty = infoManager.collectServerMetrics(false);
+    assertThat(empty.getQueryCount()).isEqualTo(0);
+    assertThat(empty.getCommitHistogram().getCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void collectServerMetrics_doesNotResetOtherStatistics() {
+
+    EbeanServer server = Ebean.getServer(null);
+    MetaInfoManager infoManager = server.getMetaInfoManager();
+
+    try (Transaction transaction = server.beginTransaction()) {
+      transaction.setBatchMode(true);
+      for (int i = 0; i < 2; i++) {
+        server.save(new EBasicVer("msm-noreset-" + i));
+      }
+      transaction.commit();
+    }
+
+    long flushCount = infoManager.collectBatchFlushStatistic(false).getTotalCount();
+    assertThat(flushCount).isGreaterThan(0);
+
+    infoManager.collectServerMetrics(true);
+    assertThat(infoManager.collectBatchFlushStatistic(false).getTotalCount()).isEqualTo(flushCount);
+    assertThat(infoManager.collectServerMetrics(false).getBatchFlushStatistic().getTotalCount()).isEqualTo(0);
+  }
+}
@@ -13,6 +13,8 @@ import org.junit.Test;
 
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
@@ -133,4 +135,29 @@ public class SqlQueryTests extends BaseTestCase {
     assertEquals(3, count.get());
   }
 
+  @Test
+  public void findStream() {
+
+    ResetBasicData.reset();
+
+    int expectedRows = Ebean.find(Order.class).findCount();
+
+    SqlQuery sqlQuery = Ebean.createSqlQuery("select * from o_order order by id");
+    try (Stream<SqlRow> stream = sqlQuery.findStream()) {
+      assertEquals(expectedRows, stream.count());
+    }
+  }
+
+  @Test
+  public void findStream_limit() {
+
+    ResetBasicData.reset();
+
+    SqlQuery sqlQuery = Ebean.createSqlQuery("select * from o_order order by id");
+    try (Stream<SqlRow> stream = sqlQuery.findStream()) {
+      List<Integer> ids = stream.limit(2).map(row -> row.getInteger("id")).collect(Collectors.toList());
+      assertThat(ids).hasSize(2);
+    }
+  }
+
 }
@@ -0,0 +1,251 @@
+package com.avaje.tests.transaction;
+
+import com.avaje.ebean.BaseTestCase;
+import com.avaje.ebean.EbeanServer;
+import com.avaje.ebean.EbeanServerFactory;
+import com.avaje.ebean.Transaction;
+import com.avaje.ebean.config.ServerConfig;
+import com.avaje.ebean.event.AbstractBeanPersistListener;
+import com.avaje.ebean.event.BeanPersistAdapter;
+import com.avaje.ebean.event.BeanPersistRequest;
+import com.avaje.tests.model.basic.EBasic;
+import com.avaje.tests.model.zero.WithZero;
+import com.avaje.tests.model.zero.WithZeroParent;
+import org.junit.Test;
+
+import javax.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class TestGroupCommit extends BaseTestCase {
+
+  private static final Set<Transaction> transactions = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+  private static final CountDownLatch leaderStarted = new CountDownLatch(1);
+
+  private static final List<String> insertedParents = Collections.synchronizedList(new ArrayList<>());
+
+  private static final CountDownLatch parentInserted = new CountDownLatch(1);
+
+  private static final Map<String, Transaction> savedIn = new ConcurrentHashMap<>();
+
+  @Test
+  public void concurrentSaves_sharedCommit_individualFailure() throws InterruptedException {
+
+    System.setProperty("ebean.ignoreExtraDdl", "true");
+
+    ServerConfig config = new ServerConfig();
+    config.setName("h2groupcommit");
+    config.loadFromProperties();
+    config.setDefaultServer(false);
+    config.setRegister(false);
+    config.setGroupCommit(true);
+    config.setGroupCommitWriters(1);
+    config.addClass(EBasic.class);
+    config.add(new SlowLeader());
+    config.setDdlGenerate(true);
+    config.setDdlRun(true);
+
+    EbeanServer server = EbeanServerFactory.create(config);
+
+    AtomicInteger failures = new AtomicInteger();
+    List<Thread> threads = new ArrayList<>();
+
+    Thread leader = new Thread(() -> server.save(new EBasic("slow-leader")));
+    leader.start();
+    leaderStarted.await();
+
+    // these join the group while the leader is executing
+    for (int i = 0; i < 10; i++) {
+      String name = (i == 5) ? tooLong() : "member" + i;
+      Thread thread = new Thread(() -> {
+        try {
+          server.save(new EBasic(name));
+        } catch (PersistenceException e) {
+          failures.incrementAndGet();
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    leader.join();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    // only the caller with the invalid value failed
+    assertThat(failures.get()).isEqualTo(1);
+    assertThat(server.find(EBasic.class).findCount()).isEqualTo(10);
+
+    // the successful saves shared transactions
+    assertThat(transactions.size()).isLessThan(10);
+
+    server.shutdown(true, false);
+  }
+
+  @Test
+  public void failedCascade_eventsOfFailedCallerDiscarded() throws InterruptedException {
+
+    System.setProperty("ebean.ignoreExtraDdl", "true");
+
+    ServerConfig config = new ServerConfig();
+    config.setName("h2groupcommitcascade");
+    config.loadFromProperties();
+    config.setDefaultServer(false);
+    config.setRegister(false);
+    config.setGroupCommit(true);
+    config.setGroupCommitWriters(1);
+    config.addClass(WithZeroParent.class);
+    config.addClass(WithZero.class);
+    config.add(new ParentInserted());
+    config.setDdlGenerate(true);
+    config.setDdlRun(true);
+
+    EbeanServer server = EbeanServerFactory.create(config);
+
+    // the parent is inserted and then the cascade insert of the child fails
+    WithZeroParent failed = new WithZeroParent();
+    failed.setName("failed-cascade");
+    WithZero badChild = new WithZero();
+    badChild.setLang(tooLong());
+    failed.getChildren().add(badChild);
+    try {
+      server.save(failed);
+      fail("expected the cascade to fail");
+    } catch (PersistenceException e) {
+      // expected
+    }
+
+    WithZeroParent saved = new WithZeroParent();
+    saved.setName("saved");
+    saved.getChildren().add(new WithZero());
+    server.save(saved);
+
+    assertThat(parentInserted.await(10, TimeUnit.SECONDS)).isTrue();
+
+    // only the successful caller is notified and in the database
+    assertThat(insertedParents).containsExactly("saved");
+    assertThat(server.find(WithZeroParent.class).where().eq("name", "failed-cascade").findCount()).isEqualTo(0);
+    assertThat(server.find(WithZeroParent.class).where().eq("name", "saved").findCount()).isEqualTo(1);
+
+    server.shutdown(true, false);
+  }
+
+  @Test(timeout = 30000)
+  public void persistFromController_joinsGroupTransaction() {
+
+    System.setProperty("ebean.ignoreExtraDdl", "true");
+
+    ServerConfig config = new ServerConfig();
+    config.setName("h2groupcommitnested");
+    config.loadFromProperties();
+    config.setDefaultServer(false);
+    config.setRegister(false);
+    config.setGroupCommit(true);
+    config.setGroupCommitWriters(1);
+    config.addClass(EBasic.class);
+    config.add(new SaveChild());
+    config.setDdlGenerate(true);
+    config.setDdlRun(true);
+
+    EbeanServer server = EbeanServerFactory.create(config);
+
+    // the controller saves a child while the parent is saved (this deadlocked)
+    server.save(new EBasic("parent1"));
+    server.save(new EBasic("parent2"));
+
+    assertThat(server.find(EBasic.class).findCount()).isEqualTo(4);
+
+    // the child is saved in the transaction of its parent
+    assertThat(savedIn.get("parent1-child")).isSameAs(savedIn.get("parent1"));
+    assertThat(savedIn.get("parent2-child")).isSameAs(savedIn.get("parent2"));
+
+    server.shutdown(true, false);
+  }
+
+  private static String tooLong() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 300; i++) {
+      sb.append('x');
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Saves a child when a parent is inserted.
+   */
+  public static class SaveChild extends BeanPersistAdapter {
+
+    @Override
+    public boolean isRegisterFor(Class<?> cls) {
+      return EBasic.class.equals(cls);
+    }
+
+    @Override
+    public void postInsert(BeanPersistRequest<?> request) {
+      EBasic bean = (EBasic) request.getBean();
+      savedIn.put(bean.getName(), request.getTransaction());
+      if (bean.getName().startsWith("parent") && !bean.getName().endsWith("-child")) {
+        request.getEbeanServer().save(new EBasic(bean.getName() + "-child"));
+      }
+    }
+  }
+
+  /**
+   * Records the names of the parents notified as inserted after commit.
+   */
+  public static class ParentInserted extends AbstractBeanPersistListener {
+
+    @Override
+    public boolean isRegisterFor(Class<?> cls) {
+      return WithZeroParent.class.equals(cls);
+    }
+
+    @Override
+    public void inserted(Object bean) {
+      insertedParents.add(((WithZeroParent) bean).getName());
+      parentInserted.countDown();
+    }
+  }
+
+  /**
+   * Holds the leader of the first group such that the other callers join it.
+   */
+  public static class SlowLeader extends BeanPersistAdapter {
+
+    @Override
+    public boolean isRegisterFor(Class<?> cls) {
+      return EBasic.class.equals(cls);
+    }
+
+    @Override
+    public boolean preInsert(BeanPersistRequest<?> request) {
+      EBasic bean = (EBasic) request.getBean();
+      if ("slow-leader".equals(bean.getName())) {
+        leaderStarted.countDown();
+        try {
+          Thread.sleep(300);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public void postInsert(BeanPersistRequest<?> request) {
+      transactions.add(request.getTransaction());
+    }
+  }
+}
@@ -0,0 +1,154 @@
+package com.avaje.tests.transaction;
+
+import com.avaje.ebean.BaseTestCase;
+import com.avaje.ebean.EbeanServer;
+import com.avaje.ebean.EbeanServerFactory;
+import com.avaje.ebean.Transaction;
+import com.avaje.ebean.TxScope;
+import com.avaje.ebean.config.PropertyMap;
+import com.avaje.ebean.config.ServerConfig;
+import com.avaje.tests.model.basic.EBasic;
+import org.avaje.datasource.DataSourceConfig;
+import org.avaje.datasource.DataSourcePool;
+import org.avaje.datasource.pool.ConnectionPool;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestReadOnlyDataSource extends BaseTestCase {
+
+  @Test
+  public void queryTransactions_useReadOnlyDataSource() throws Exception {
+
+    Properties properties = PropertyMap.defaultProperties();
+
+    DataSourceConfig dsConfig = new DataSourceConfig();
+    dsConfig.loadSettings(properties, "h2readonly");
+    DataSourcePool pool = new ConnectionPool("h2readonly", dsConfig);
+
+    // the "replica" is the same database for the purposes of the test
+    CountingDataSource readOnly = new CountingDataSource(pool);
+
+    System.setProperty("ebean.ignoreExtraDdl", "true");
+
+    ServerConfig config = new ServerConfig();
+    config.setName("h2readonly");
+    config.loadFromProperties();
+    config.setDataSource(pool);
+    config.setReadOnlyDataSource(readOnly);
+    config.setReadYourWritesMillis(300);
+    config.setDefaultServer(false);
+    config.setRegister(false);
+    config.addClass(EBasic.class);
+    config.setDdlGenerate(true);
+    config.setDdlRun(true);
+
+    EbeanServer server = EbeanServerFactory.create(config);
+
+    int start = readOnly.count.get();
+    server.find(EBasic.class).findCount();
+    assertThat(readOnly.count.get()).isEqualTo(start + 1);
+
+    // explicit read only transaction
+    try (Transaction transaction = server.beginTransaction(TxScope.required().setReadOnly(true))) {
+      server.find(EBasic.class).findList();
+      assertThat(transaction.isReadOnly()).isTrue();
+    }
+    assertThat(readOnly.count.get()).isEqualTo(start + 2);
+
+    // future query
+    server.find(EBasic.class).findFutureCount().get();
+    assertThat(readOnly.count.get()).isEqualTo(start + 3);
+
+    server.save(new EBasic("readYourWrites"));
+
+    // pinned to the main DataSource after the commit
+    assertThat(server.find(EBasic.class).findCount()).isEqualTo(1);
+    assertThat(readOnly.count.get()).isEqualTo(start + 3);
+
+    Thread.sleep(400);
+    server.find(EBasic.class).findCount();
+    assertThat(readOnly.count.get()).isEqualTo(start + 4);
+
+    // update and delete queries use the main DataSource
+    int rows = server.update(EBasic.class).set("description", "updated").where().eq("name", "readYourWrites").update();
+    assertThat(rows).isEqualTo(1);
+    assertThat(readOnly.count.get()).isEqualTo(start + 4);
+
+    rows = server.find(EBasic.class).where().eq("name", "readYourWrites").delete();
+    assertThat(rows).isEqualTo(1);
+    assertThat(readOnly.count.get()).isEqualTo(start + 4);
+
+    server.shutdown(true, false);
+  }
+
+  /**
+   * DataSource that counts the connections obtained.
+   */
+  static class CountingDataSource implements DataSource {
+
+    final AtomicInteger count = new AtomicInteger();
+
+    final DataSource delegate;
+
+    CountingDataSource(DataSource delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      count.incrementAndGet();
+      return delegate.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+      count.incrementAndGet();
+      return delegate.getConnection(username, password);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+      return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+      delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+      delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+      return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+      throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+      return delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+      return delegate.isWrapperFor(iface);
+    }
+  }
+}